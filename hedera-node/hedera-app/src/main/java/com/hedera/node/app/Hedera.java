@@ -115,6 +115,7 @@ import com.hedera.node.app.workflows.handle.SystemFileUpdateFacility;
 import com.hedera.node.app.workflows.handle.record.GenesisRecordsConsensusHook;
 import com.hedera.node.config.ConfigProvider;
 import com.hedera.node.config.Utils;
+import com.hedera.node.config.data.CacheConfig;
 import com.hedera.node.config.data.FeesConfig;
 import com.hedera.node.config.data.FilesConfig;
 import com.hedera.node.config.data.HederaConfig;
@@ -632,6 +633,13 @@ public final class Hedera implements SwirldMain {
         // assertion will hold true.
         assert configProvider != null : "Config Provider *must* have been set by now!";
 
+        // Enable the shared on-disk state read cache only after migrations, as some of them change virtual maps
+        // directly, bypassing writable states
+        final var cacheConfig = configProvider.getConfiguration().getConfigData(CacheConfig.class);
+        if (cacheConfig.stateReadsMaxEntriesPerState() > 0) {
+            state.enableOnDiskReadCache(cacheConfig.stateReadsMaxEntriesPerState(), platform.getContext().getMetrics());
+        }
+
         // Some logging on what we found about freeze in the platform state
         logger.info(
                 "Platform state includes freeze time={} and last frozen={}",
@@ -34,6 +34,7 @@ import com.hedera.node.app.spi.state.WritableSingletonState;
 import com.hedera.node.app.spi.state.WritableSingletonStateBase;
 import com.hedera.node.app.spi.state.WritableStates;
 import com.hedera.node.app.state.HederaState;
+import com.hedera.node.app.state.merkle.disk.OnDiskReadCache;
 import com.hedera.node.app.state.merkle.disk.OnDiskReadableKVState;
 import com.hedera.node.app.state.merkle.disk.OnDiskWritableKVState;
 import com.hedera.node.app.state.merkle.memory.InMemoryReadableKVState;
@@ -51,6 +52,7 @@ import com.swirlds.common.merkle.MerkleNode;
 import com.swirlds.common.merkle.impl.PartialNaryMerkleInternal;
 import com.swirlds.common.utility.Labeled;
 import com.swirlds.merkle.map.MerkleMap;
+import com.swirlds.metrics.api.Metrics;
 import com.swirlds.platform.state.PlatformState;
 import com.swirlds.platform.system.InitTrigger;
 import com.swirlds.platform.system.Platform;
@@ -63,6 +65,7 @@ import com.swirlds.platform.system.events.Event;
 import com.swirlds.platform.system.state.notifications.NewRecoveredStateListener;
 import com.swirlds.virtualmap.VirtualMap;
 import edu.umd.cs.findbugs.annotations.NonNull;
+import edu.umd.cs.findbugs.annotations.Nullable;
 import java.io.IOException;
 import java.util.Collections;
 import java.util.HashMap;
@@ -142,6 +145,18 @@ public class MerkleHederaState extends PartialNaryMerkleInternal implements Merk
      */
     private final Map<String, MerkleWritableStates> writableStatesMap = new HashMap<>();
 
+    /**
+     * The read cache for on-disk states, shared by this state and all its copies, or null if
+     * the cache isn't enabled.
+     */
+    private OnDiskReadCache onDiskReadCache;
+
+    /**
+     * The version of this state copy, incremented on every copy. Used to tell what values in
+     * {@link #onDiskReadCache} are valid for this copy.
+     */
+    private long onDiskReadCacheVersion;
+
     /**
      * Create a new instance. This constructor must be used for all creations of this class.
      *
@@ -216,6 +231,8 @@ public class MerkleHederaState extends PartialNaryMerkleInternal implements Merk
 
         this.classId = from.classId;
         this.lifecycles = from.lifecycles;
+        this.onDiskReadCache = from.onDiskReadCache;
+        this.onDiskReadCacheVersion = from.onDiskReadCacheVersion + 1;
 
         // Copy over the metadata
         for (final var entry : from.services.entrySet()) {
@@ -293,6 +310,25 @@ public class MerkleHederaState extends PartialNaryMerkleInternal implements Merk
         });
     }
 
+    /**
+     * Enables a read cache for on-disk states, which is shared by this state and all its future
+     * copies. Readable and writable states created before this call don't use the cache, so this
+     * method must be called on a mutable state, when there are no uncommitted changes in it, e.g.
+     * right after migrations. If a cache was enabled for another state before, e.g. before a
+     * reconnect, cache hit ratio metrics report hit ratios of the new cache after this call.
+     *
+     * @param maxEntriesPerState max number of cached values per state
+     * @param metrics the metrics system to report cache hit ratios to
+     */
+    public void enableOnDiskReadCache(final int maxEntriesPerState, @NonNull final Metrics metrics) {
+        throwIfImmutable();
+        final var cache = new OnDiskReadCache(maxEntriesPerState, onDiskReadCacheVersion);
+        cache.registerMetrics(metrics);
+        onDiskReadCache = cache;
+        readableStatesMap.clear();
+        writableStatesMap.clear();
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -413,6 +449,11 @@ public class MerkleHederaState extends PartialNaryMerkleInternal implements Merk
             writableStates.remove(stateKey);
         }
 
+        // Drop cached values of the state, in case a state with the same key is added later
+        if (onDiskReadCache != null) {
+            onDiskReadCache.clearState(serviceName, stateKey, onDiskReadCacheVersion);
+        }
+
         // Remove the node
         final var index = findNodeIndex(serviceName, stateKey);
         if (index != -1) {
@@ -420,6 +461,18 @@ public class MerkleHederaState extends PartialNaryMerkleInternal implements Merk
         }
     }
 
+    /**
+     * Gets the shared read cache for the given on-disk state.
+     *
+     * @param md the state metadata
+     * @return the state read cache, or null if the read cache isn't enabled
+     */
+    @Nullable
+    private <K, V> OnDiskReadCache.StateCache<K, V> onDiskStateCache(@NonNull final StateMetadata<K, V> md) {
+        final var cache = onDiskReadCache;
+        return cache == null ? null : cache.forState(md.serviceName(), md.stateDefinition().stateKey());
+    }
+
     /**
      * Simple utility method that finds the state node index.
      *
@@ -606,7 +659,7 @@ public class MerkleHederaState extends PartialNaryMerkleInternal implements Merk
         @NonNull
         protected ReadableKVState<?, ?> createReadableKVState(
                 @NonNull final StateMetadata md, @NonNull final VirtualMap v) {
-            return new OnDiskReadableKVState<>(md, v);
+            return new OnDiskReadableKVState<>(md, v, onDiskStateCache(md), onDiskReadCacheVersion);
         }
 
         @Override
@@ -685,7 +738,7 @@ public class MerkleHederaState extends PartialNaryMerkleInternal implements Merk
         @NonNull
         protected WritableKVState<?, ?> createReadableKVState(
                 @NonNull final StateMetadata md, @NonNull final VirtualMap v) {
-            return new OnDiskWritableKVState<>(md, v);
+            return new OnDiskWritableKVState<>(md, v, onDiskStateCache(md), onDiskReadCacheVersion);
         }
 
         @Override
@@ -0,0 +1,334 @@
+/*
+ * Copyright (C) 2024 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hedera.node.app.state.merkle.disk;
+
+import static java.util.Objects.requireNonNull;
+
+import com.hedera.node.app.spi.state.ReadableKVStateBase;
+import com.swirlds.common.metrics.FunctionGauge;
+import com.swirlds.metrics.api.Metrics;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import edu.umd.cs.findbugs.annotations.Nullable;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * A bounded read-through cache of on-disk state values, shared by all copies of a state. Every
+ * {@link ReadableKVStateBase} instance has its own read cache, but these instances are created
+ * per state copy, and for readable states of the mutable copy even per commit, so the same hot keys
+ * are read from virtual maps over and over again, in pre-handle and then in handle. This cache lives as
+ * long as the state copies it's attached to, and it's shared by readable states of immutable
+ * copies (pre-handle, queries) and by writable states of the mutable copy (handle).
+ *
+ * <p>Since different state copies may have different values for the same key, all cache
+ * entries are versioned. Every state copy has a version, the mutable copy has the highest one.
+ * Values are cached with the version of the copy they were read from, and a cached value is only
+ * returned to readers of the same or a later version. When a key is modified in the mutable copy,
+ * its entry is replaced by a "removed" marker with the mutable copy version, so readers of
+ * older copies can't put their, now outdated, values back into the cache. Markers may be evicted,
+ * when the cache is full, but then no values from copies older than the evicted marker are cached
+ * anymore.
+ *
+ * <p>This class is thread safe.
+ */
+public final class OnDiskReadCache {
+
+    /** Metrics category for all cache metrics */
+    private static final String METRICS_CATEGORY = "app";
+
+    /**
+     * The most recent cache registered with each metrics system. A new cache is created for every
+     * state loaded from disk or received in reconnect, but the metrics system lives as long as the
+     * process, so hit ratio gauges are registered once per state name and always report hit ratios
+     * of the current cache. Older caches aren't referenced by gauges and can be collected.
+     */
+    private static final Map<Metrics, AtomicReference<OnDiskReadCache>> CURRENT_CACHES =
+            Collections.synchronizedMap(new WeakHashMap<>());
+
+    /** Max number of cached entries per state */
+    private final int maxEntriesPerState;
+
+    /** The version of the state copy, which the cache was created for */
+    private final long initialVersion;
+
+    /** Caches by service name and state key */
+    private final Map<String, StateCache<?, ?>> stateCaches = new ConcurrentHashMap<>();
+
+    /** Metrics to report hit ratios to, or null if metrics aren't registered */
+    private volatile Metrics metrics;
+
+    /**
+     * Create a new cache.
+     *
+     * @param maxEntriesPerState max number of cached entries per state, must be positive
+     * @param initialVersion the version of the state copy, which the cache is created for. Values
+     *     from older state copies are never cached
+     */
+    public OnDiskReadCache(final int maxEntriesPerState, final long initialVersion) {
+        if (maxEntriesPerState <= 0) {
+            throw new IllegalArgumentException("Max entries per state must be positive");
+        }
+        this.maxEntriesPerState = maxEntriesPerState;
+        this.initialVersion = initialVersion;
+    }
+
+    /**
+     * Gets a cache for the given state, creating it if needed.
+     *
+     * @param serviceName the service name
+     * @param stateKey the state key
+     * @return the state cache
+     * @param <K> the type of keys in the state
+     * @param <V> the type of values in the state
+     */
+    @SuppressWarnings("unchecked")
+    @NonNull
+    public <K, V> StateCache<K, V> forState(@NonNull final String serviceName, @NonNull final String stateKey) {
+        final String name = requireNonNull(serviceName) + "_" + requireNonNull(stateKey);
+        return (StateCache<K, V>) stateCaches.computeIfAbsent(name, n -> {
+            final Metrics m = metrics;
+            if (m != null) {
+                registerHitRatioGauge(m, n);
+            }
+            return new StateCache<>(maxEntriesPerState, initialVersion);
+        });
+    }
+
+    /**
+     * Removes all cached values of the given state, e.g. when the state is removed from the
+     * mutable state copy. Values from older state copies are not cached for this state anymore.
+     *
+     * @param serviceName the service name
+     * @param stateKey the state key
+     * @param version the version of the mutable state copy
+     */
+    public void clearState(@NonNull final String serviceName, @NonNull final String stateKey, final long version) {
+        forState(serviceName, stateKey).clear(version);
+    }
+
+    /**
+     * Registers hit ratio metrics for all existing and future state caches. This cache becomes the
+     * current cache of the metrics system, all hit ratio gauges registered with the metrics system,
+     * including the ones registered by other caches, report hit ratios of this cache after this call.
+     *
+     * @param metrics the metrics system
+     */
+    public void registerMetrics(@NonNull final Metrics metrics) {
+        CURRENT_CACHES.computeIfAbsent(requireNonNull(metrics), m -> new AtomicReference<>()).set(this);
+        this.metrics = metrics;
+        stateCaches.keySet().forEach(name -> registerHitRatioGauge(metrics, name));
+    }
+
+    /**
+     * Gets the hit ratio of the given state cache.
+     *
+     * @param name the state cache name, the service name and the state key
+     * @return the hit ratio, from 0 to 1, or 0 if there is no cache for the state
+     */
+    private double getHitRatio(@NonNull final String name) {
+        final StateCache<?, ?> cache = stateCaches.get(name);
+        return cache != null ? cache.getHitRatio() : 0;
+    }
+
+    /**
+     * Registers a hit ratio gauge for the given state cache, unless it's already registered. The
+     * gauge reports the hit ratio of the current cache of the metrics system rather than of this cache.
+     *
+     * @param metrics the metrics system
+     * @param name the state cache name, the service name and the state key
+     */
+    private static void registerHitRatioGauge(@NonNull final Metrics metrics, @NonNull final String name) {
+        final AtomicReference<OnDiskReadCache> current =
+                CURRENT_CACHES.computeIfAbsent(metrics, m -> new AtomicReference<>());
+        final Supplier<Double> hitRatio = () -> {
+            final OnDiskReadCache cache = current.get();
+            return cache != null ? cache.getHitRatio(name) : 0.0;
+        };
+        metrics.getOrCreate(new FunctionGauge.Config<>(
+                        METRICS_CATEGORY, "readCacheHitRatio_" + name, Double.class, hitRatio)
+                .withDescription("ratio of on-disk state reads served from the shared read cache")
+                .withFormat("%,13.4f"));
+    }
+
+    /**
+     * A cache entry, either a value read from a state copy, or a marker that the key was
+     * modified in a state copy.
+     *
+     * @param value the cached value, may be null if there is no such key in the state
+     * @param version the version of the state copy, which the value was read from, or where the
+     *     key was modified
+     * @param removed whether this entry is a "key modified" marker rather than a value
+     * @param <V> the type of values in the state
+     */
+    public record Entry<V>(@Nullable V value, long version, boolean removed) {}
+
+    /**
+     * A cache of values of a single state.
+     *
+     * @param <K> the type of keys in the state
+     * @param <V> the type of values in the state
+     */
+    public static final class StateCache<K, V> {
+
+        /** Max number of entries in the cache */
+        private final int maxEntries;
+
+        /** Cached entries */
+        private final Map<K, Entry<V>> entries = new ConcurrentHashMap<>();
+
+        /** Values read from state copies older than this version are not cached */
+        private final AtomicLong minVersion;
+
+        /** Indicates that some thread is evicting entries from the cache */
+        private final AtomicBoolean evicting = new AtomicBoolean(false);
+
+        /** Number of cache hits */
+        private final LongAdder hits = new LongAdder();
+
+        /** Number of cache misses */
+        private final LongAdder misses = new LongAdder();
+
+        StateCache(final int maxEntries, final long minVersion) {
+            this.maxEntries = maxEntries;
+            this.minVersion = new AtomicLong(minVersion);
+        }
+
+        /**
+         * Looks up a cached value for the given key, valid for the given state copy.
+         *
+         * @param key the key
+         * @param version the version of the state copy to read from
+         * @return the cached value holder, or null if the value isn't in the cache. The holder
+         *     value may be null, if there is no such key in the state
+         */
+        @Nullable
+        public Entry<V> get(@NonNull final K key, final long version) {
+            final Entry<V> entry = entries.get(key);
+            if ((entry != null) && !entry.removed() && (entry.version() <= version)) {
+                hits.increment();
+                return entry;
+            }
+            misses.increment();
+            return null;
+        }
+
+        /**
+         * Puts a value read from the given state copy to the cache. If the key was modified in
+         * a later state copy, the value is not cached.
+         *
+         * @param key the key
+         * @param value the value read, may be null if there is no such key in the state
+         * @param version the version of the state copy the value was read from
+         */
+        public void put(@NonNull final K key, @Nullable final V value, final long version) {
+            entries.compute(key, (k, existing) -> {
+                if (existing == null) {
+                    return version >= minVersion.get() ? new Entry<>(value, version, false) : null;
+                }
+                if (existing.removed() && (existing.version() <= version)) {
+                    return new Entry<>(value, version, false);
+                }
+                // Either the key was modified after the given version, or there is a value,
+                // which is already valid for the same or more state copies
+                return existing;
+            });
+            if (entries.size() > maxEntries) {
+                evict();
+            }
+        }
+
+        /**
+         * Marks a key as modified in the given state copy. Values from earlier state copies are
+         * not cached for this key anymore.
+         *
+         * @param key the key
+         * @param version the version of the mutable state copy
+         */
+        public void invalidate(@NonNull final K key, final long version) {
+            entries.put(key, new Entry<>(null, version, true));
+            if (entries.size() > maxEntries) {
+                evict();
+            }
+        }
+
+        /**
+         * Removes all entries from the cache. Values from state copies older than the given
+         * version are not cached anymore.
+         *
+         * @param version the version of the mutable state copy
+         */
+        void clear(final long version) {
+            minVersion.accumulateAndGet(version, Math::max);
+            entries.clear();
+        }
+
+        /**
+         * Evicts about a quarter of all entries from the cache. Entries are not ordered, so this
+         * is effectively a random eviction.
+         */
+        private void evict() {
+            if (!evicting.compareAndSet(false, true)) {
+                // Some other thread is evicting entries already
+                return;
+            }
+            try {
+                final int target = maxEntries - maxEntries / 4;
+                final Iterator<Map.Entry<K, Entry<V>>> it = entries.entrySet().iterator();
+                while ((entries.size() > target) && it.hasNext()) {
+                    final Map.Entry<K, Entry<V>> e = it.next();
+                    final Entry<V> entry = e.getValue();
+                    if (entry.removed()) {
+                        // Raise the min version first, so no outdated value can be cached after
+                        // the marker is removed
+                        minVersion.accumulateAndGet(entry.version(), Math::max);
+                    }
+                    entries.remove(e.getKey(), entry);
+                }
+            } finally {
+                evicting.set(false);
+            }
+        }
+
+        /**
+         * Gets the ratio of cache hits to all cache lookups.
+         *
+         * @return the hit ratio, from 0 to 1
+         */
+        public double getHitRatio() {
+            final long h = hits.sum();
+            final long total = h + misses.sum();
+            return total == 0 ? 0 : (double) h / total;
+        }
+
+        /**
+         * Gets the number of entries in the cache.
+         *
+         * @return the number of entries
+         */
+        public int size() {
+            return entries.size();
+        }
+    }
+}
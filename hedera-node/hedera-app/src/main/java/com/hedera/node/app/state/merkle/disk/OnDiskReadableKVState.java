@@ -27,6 +27,7 @@ import com.hedera.node.app.state.merkle.StateMetadata;
 import com.swirlds.virtualmap.VirtualMap;
 import com.swirlds.virtualmap.internal.merkle.VirtualLeafNode;
 import edu.umd.cs.findbugs.annotations.NonNull;
+import edu.umd.cs.findbugs.annotations.Nullable;
 import java.util.Iterator;
 import java.util.NoSuchElementException;
 import java.util.Objects;
@@ -50,6 +51,12 @@ public final class OnDiskReadableKVState<K, V> extends ReadableKVStateBase<K, V>
 
     private final Consumer<Runnable> runner;
 
+    /** The read cache shared by all copies of this state, or null if there is no shared cache */
+    private final OnDiskReadCache.StateCache<K, V> readCache;
+
+    /** The version of the state copy, which this state belongs to, see {@link OnDiskReadCache} */
+    private final long version;
+
     /**
      * Create a new instance
      *
@@ -58,7 +65,23 @@ public final class OnDiskReadableKVState<K, V> extends ReadableKVStateBase<K, V>
      */
     public OnDiskReadableKVState(
             @NonNull final StateMetadata<K, V> md, @NonNull final VirtualMap<OnDiskKey<K>, OnDiskValue<V>> virtualMap) {
-        this(md, virtualMap, DEFAULT_RUNNER);
+        this(md, virtualMap, null, 0);
+    }
+
+    /**
+     * Create a new instance, which reads values through a shared read cache
+     *
+     * @param md the state metadata
+     * @param virtualMap the backing merkle structure to use
+     * @param readCache the read cache shared by all copies of this state, may be null
+     * @param version the version of the state copy
+     */
+    public OnDiskReadableKVState(
+            @NonNull final StateMetadata<K, V> md,
+            @NonNull final VirtualMap<OnDiskKey<K>, OnDiskValue<V>> virtualMap,
+            @Nullable final OnDiskReadCache.StateCache<K, V> readCache,
+            final long version) {
+        this(md, virtualMap, readCache, version, DEFAULT_RUNNER);
     }
 
     @VisibleForTesting
@@ -66,18 +89,39 @@ public final class OnDiskReadableKVState<K, V> extends ReadableKVStateBase<K, V>
             @NonNull final StateMetadata<K, V> md,
             @NonNull final VirtualMap<OnDiskKey<K>, OnDiskValue<V>> virtualMap,
             @NonNull final Consumer<Runnable> runner) {
+        this(md, virtualMap, null, 0, runner);
+    }
+
+    private OnDiskReadableKVState(
+            @NonNull final StateMetadata<K, V> md,
+            @NonNull final VirtualMap<OnDiskKey<K>, OnDiskValue<V>> virtualMap,
+            @Nullable final OnDiskReadCache.StateCache<K, V> readCache,
+            final long version,
+            @NonNull final Consumer<Runnable> runner) {
         super(md.stateDefinition().stateKey());
         this.md = md;
         this.virtualMap = Objects.requireNonNull(virtualMap);
+        this.readCache = readCache;
+        this.version = version;
         this.runner = runner;
     }
 
     /** {@inheritDoc} */
     @Override
     protected V readFromDataSource(@NonNull K key) {
+        if (readCache != null) {
+            final var cached = readCache.get(key, version);
+            if (cached != null) {
+                logMapGet(getStateKey(), key, cached.value());
+                return cached.value();
+            }
+        }
         final var k = new OnDiskKey<>(md, key);
         final var v = virtualMap.get(k);
         final var value = v == null ? null : v.getValue();
+        if (readCache != null) {
+            readCache.put(key, value, version);
+        }
         // Log to transaction state log, what was read
         logMapGet(getStateKey(), key, value);
         return value;
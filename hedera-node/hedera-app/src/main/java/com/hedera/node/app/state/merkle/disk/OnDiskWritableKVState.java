@@ -23,6 +23,7 @@ import com.hedera.node.app.spi.state.WritableKVStateBase;
 import com.hedera.node.app.state.merkle.StateMetadata;
 import com.swirlds.virtualmap.VirtualMap;
 import edu.umd.cs.findbugs.annotations.NonNull;
+import edu.umd.cs.findbugs.annotations.Nullable;
 import java.util.Iterator;
 import java.util.Objects;
 
@@ -39,6 +40,12 @@ public final class OnDiskWritableKVState<K, V> extends WritableKVStateBase<K, V>
 
     private final StateMetadata<K, V> md;
 
+    /** The read cache shared by all copies of this state, or null if there is no shared cache */
+    private final OnDiskReadCache.StateCache<K, V> readCache;
+
+    /** The version of the state copy, which this state belongs to, see {@link OnDiskReadCache} */
+    private final long version;
+
     /**
      * Create a new instance
      *
@@ -47,17 +54,46 @@ public final class OnDiskWritableKVState<K, V> extends WritableKVStateBase<K, V>
      */
     public OnDiskWritableKVState(
             @NonNull final StateMetadata<K, V> md, @NonNull final VirtualMap<OnDiskKey<K>, OnDiskValue<V>> virtualMap) {
+        this(md, virtualMap, null, 0);
+    }
+
+    /**
+     * Create a new instance, which reads values through a shared read cache, and invalidates
+     * cached values on commit
+     *
+     * @param md the state metadata
+     * @param virtualMap the backing merkle data structure to use
+     * @param readCache the read cache shared by all copies of this state, may be null
+     * @param version the version of the state copy
+     */
+    public OnDiskWritableKVState(
+            @NonNull final StateMetadata<K, V> md,
+            @NonNull final VirtualMap<OnDiskKey<K>, OnDiskValue<V>> virtualMap,
+            @Nullable final OnDiskReadCache.StateCache<K, V> readCache,
+            final long version) {
         super(md.stateDefinition().stateKey());
         this.md = md;
         this.virtualMap = Objects.requireNonNull(virtualMap);
+        this.readCache = readCache;
+        this.version = version;
     }
 
     /** {@inheritDoc} */
     @Override
     protected V readFromDataSource(@NonNull K key) {
+        if (readCache != null) {
+            final var cached = readCache.get(key, version);
+            if (cached != null) {
+                logMapGet(getStateKey(), key, cached.value());
+                return cached.value();
+            }
+        }
         final var k = new OnDiskKey<>(md, key);
         final var v = virtualMap.get(k);
         final var value = v == null ? null : v.getValue();
+        if (readCache != null) {
+            readCache.put(key, value, version);
+        }
         // Log to transaction state log, what was read
         logMapGet(getStateKey(), key, value);
         return value;
@@ -91,6 +127,9 @@ public final class OnDiskWritableKVState<K, V> extends WritableKVStateBase<K, V>
         } else {
             virtualMap.put(k, new OnDiskValue<>(md, value));
         }
+        if (readCache != null) {
+            readCache.invalidate(key, version);
+        }
         // Log to transaction state log, what was put
         logMapPut(getStateKey(), key, value);
     }
@@ -100,6 +139,9 @@ public final class OnDiskWritableKVState<K, V> extends WritableKVStateBase<K, V>
     protected void removeFromDataSource(@NonNull K key) {
         final var k = new OnDiskKey<>(md, key);
         final var removed = virtualMap.remove(k);
+        if (readCache != null) {
+            readCache.invalidate(key, version);
+        }
         // Log to transaction state log, what was removed
         logMapRemove(getStateKey(), key, removed);
     }
@@ -0,0 +1,143 @@
+/*
+ * Copyright (C) 2024 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hedera.node.app.state.merkle.disk;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.hedera.node.app.utils.TestUtils;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class OnDiskReadCacheTest {
+    private static final String SERVICE = "TestService";
+    private static final String STATE_KEY = "FRUIT";
+
+    @Test
+    @DisplayName("Max entries per state must be positive")
+    void invalidMaxEntries() {
+        assertThatThrownBy(() -> new OnDiskReadCache(0, 0)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("The same cache is returned for the same state")
+    void sameCacheForState() {
+        final var cache = new OnDiskReadCache(10, 0);
+        assertThat(cache.<String, String>forState(SERVICE, STATE_KEY))
+                .isSameAs(cache.<String, String>forState(SERVICE, STATE_KEY));
+        assertThat(cache.<String, String>forState(SERVICE, "OTHER"))
+                .isNotSameAs(cache.<String, String>forState(SERVICE, STATE_KEY));
+    }
+
+    @Test
+    @DisplayName("Cached values are returned for the same and later state copies only")
+    void valuesAreVersioned() {
+        final OnDiskReadCache.StateCache<String, String> cache =
+                new OnDiskReadCache(10, 0).forState(SERVICE, STATE_KEY);
+        assertThat(cache.get("A", 5)).isNull();
+        cache.put("A", "APPLE", 5);
+        cache.put("B", null, 5);
+        assertThat(cache.get("A", 5).value()).isEqualTo("APPLE");
+        assertThat(cache.get("A", 6).value()).isEqualTo("APPLE");
+        assertThat(cache.get("A", 4)).isNull();
+        // Missing keys are cached, too
+        assertThat(cache.get("B", 5)).isNotNull();
+        assertThat(cache.get("B", 5).value()).isNull();
+        assertThat(cache.getHitRatio()).isEqualTo(4.0 / 6);
+    }
+
+    @Test
+    @DisplayName("Values from copies older than the last modification are not cached")
+    void invalidation() {
+        final OnDiskReadCache.StateCache<String, String> cache =
+                new OnDiskReadCache(10, 0).forState(SERVICE, STATE_KEY);
+        cache.put("A", "APPLE", 5);
+        cache.invalidate("A", 7);
+        assertThat(cache.get("A", 7)).isNull();
+        // An older copy still has the old value, it must not be put back
+        cache.put("A", "APPLE", 6);
+        assertThat(cache.get("A", 7)).isNull();
+        cache.put("A", "ACAI", 7);
+        assertThat(cache.get("A", 7).value()).isEqualTo("ACAI");
+        assertThat(cache.get("A", 6)).isNull();
+    }
+
+    @Test
+    @DisplayName("Values from copies older than the cache are not cached")
+    void initialVersion() {
+        final OnDiskReadCache.StateCache<String, String> cache =
+                new OnDiskReadCache(10, 5).forState(SERVICE, STATE_KEY);
+        cache.put("A", "APPLE", 4);
+        assertThat(cache.get("A", 5)).isNull();
+        cache.put("A", "APPLE", 5);
+        assertThat(cache.get("A", 5)).isNotNull();
+    }
+
+    @Test
+    @DisplayName("The cache is bounded, and evicted markers still block outdated values")
+    void eviction() {
+        final OnDiskReadCache.StateCache<String, String> cache =
+                new OnDiskReadCache(8, 0).forState(SERVICE, STATE_KEY);
+        for (int i = 0; i < 100; i++) {
+            cache.invalidate("K" + i, 3);
+        }
+        assertThat(cache.size()).isLessThanOrEqualTo(8);
+        // Some markers are evicted, but no key may be cached from copies older than them
+        for (int i = 0; i < 100; i++) {
+            cache.put("K" + i, "OLD", 2);
+            assertThat(cache.get("K" + i, 3)).isNull();
+        }
+    }
+
+    @Test
+    @DisplayName("Cleared state caches don't accept values from older copies")
+    void clearState() {
+        final var readCache = new OnDiskReadCache(10, 0);
+        final OnDiskReadCache.StateCache<String, String> cache = readCache.forState(SERVICE, STATE_KEY);
+        cache.put("A", "APPLE", 1);
+        readCache.clearState(SERVICE, STATE_KEY, 3);
+        assertThat(cache.size()).isZero();
+        cache.put("A", "APPLE", 2);
+        assertThat(cache.get("A", 3)).isNull();
+    }
+
+    @Test
+    @DisplayName("Hit ratio metrics follow the most recently registered cache")
+    void metricsFollowCurrentCache() {
+        final var metrics = TestUtils.metrics();
+        final var metricName = "readCacheHitRatio_" + SERVICE + "_" + STATE_KEY;
+        final var oldCache = new OnDiskReadCache(10, 0);
+        oldCache.registerMetrics(metrics);
+        final OnDiskReadCache.StateCache<String, String> oldStateCache = oldCache.forState(SERVICE, STATE_KEY);
+        oldStateCache.put("A", "APPLE", 1);
+        oldStateCache.get("A", 1);
+        assertThat(metrics.getValue("app", metricName)).isEqualTo(1.0);
+
+        // E.g. after a reconnect, a new cache is created for the new state
+        final var newCache = new OnDiskReadCache(10, 0);
+        newCache.registerMetrics(metrics);
+        assertThat(metrics.getValue("app", metricName)).isEqualTo(0.0);
+        final OnDiskReadCache.StateCache<String, String> newStateCache = newCache.forState(SERVICE, STATE_KEY);
+        newStateCache.put("A", "APPLE", 1);
+        newStateCache.get("A", 1);
+        newStateCache.get("B", 1);
+        assertThat(metrics.getValue("app", metricName)).isEqualTo(0.5);
+        // Reads from the old cache aren't reported anymore
+        oldStateCache.get("B", 1);
+        assertThat(metrics.getValue("app", metricName)).isEqualTo(0.5);
+    }
+}
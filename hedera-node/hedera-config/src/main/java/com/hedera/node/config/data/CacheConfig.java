@@ -17,6 +17,7 @@
 package com.hedera.node.config.data;
 
 import com.hedera.node.config.NetworkProperty;
+import com.hedera.node.config.NodeProperty;
 import com.swirlds.config.api.ConfigData;
 import com.swirlds.config.api.ConfigProperty;
 
@@ -24,4 +25,6 @@ import com.swirlds.config.api.ConfigProperty;
 public record CacheConfig(
         @ConfigProperty(value = "records.ttl", defaultValue = "180") @NetworkProperty int recordsTtl,
         @ConfigProperty(value = "cryptoTransfer.warmThreads", defaultValue = "30") @NetworkProperty
-                int cryptoTransferWarmThreads) {}
+                int cryptoTransferWarmThreads,
+        @ConfigProperty(value = "stateReads.maxEntriesPerState", defaultValue = "100000") @NodeProperty
+                int stateReadsMaxEntriesPerState) {}
@@ -17,6 +17,7 @@
 package com.hedera.node.app.service.contract.impl.infra;
 
 import static com.hedera.node.app.service.contract.impl.utils.ConversionUtils.tuweniToPbjBytes;
+import static java.util.Objects.requireNonNull;
 
 import com.hedera.hapi.node.base.ContractID;
 import com.hedera.hapi.node.state.contract.SlotKey;
@@ -30,9 +31,11 @@ import com.hedera.node.app.service.contract.impl.state.StorageSizeChange;
 import com.hedera.pbj.runtime.io.buffer.Bytes;
 import edu.umd.cs.findbugs.annotations.NonNull;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.Objects;
+import java.util.Set;
 import javax.inject.Inject;
 import javax.inject.Singleton;
 import org.apache.logging.log4j.LogManager;
@@ -61,6 +64,10 @@ public class IterableStorageManager {
      * slots used per contract via
      * {@link HandleHederaOperations#updateStorageMetadata(long, Bytes, int)}.
      *
+     * <p>All insertions and removals for a contract are spliced into its linked list in memory first, so
+     * each contract account and each affected slot is read only once, and each changed slot is written
+     * only once, no matter how many of its neighbors were inserted or removed.
+     *
      * @param enhancement the enhancement for the current transaction
      * @param allAccesses the pending changes to storage values
      * @param allSizeChanges the pending changes to storage sizes
@@ -71,28 +78,28 @@ public class IterableStorageManager {
             @NonNull final List<StorageAccesses> allAccesses,
             @NonNull final List<StorageSizeChange> allSizeChanges,
             @NonNull final ContractStateStore store) {
-        // map to store the first storage key for each contract
-        final Map<ContractID, Bytes> firstKeys = new HashMap<>();
-
-        // Adjust the storage linked lists for each contract
+        // Plan the changes to the storage linked list of each contract in memory
+        final Map<ContractID, StorageLinks> allLinks = new LinkedHashMap<>();
         allAccesses.forEach(contractAccesses -> contractAccesses.accesses().forEach(access -> {
             if (access.isUpdate()) {
-                var firstContractKey = contractFirstKeyOf(enhancement, contractAccesses.contractID());
-
+                final var links = allLinks.computeIfAbsent(
+                        contractAccesses.contractID(),
+                        contractID -> new StorageLinks(store, contractID, contractFirstKeyOf(enhancement, contractID)));
                 switch (StorageAccessType.getAccessType(access)) {
-                    case REMOVAL -> firstContractKey = removeAccessedValue(
-                            store, firstContractKey, contractAccesses.contractID(), tuweniToPbjBytes(access.key()));
-                    case INSERTION -> firstContractKey = insertAccessedValue(
-                            store,
-                            firstContractKey,
-                            tuweniToPbjBytes(access.writtenValue()),
-                            contractAccesses.contractID(),
-                            tuweniToPbjBytes(access.key()));
+                    case REMOVAL -> links.remove(tuweniToPbjBytes(access.key()));
+                    case INSERTION -> links.insert(
+                            tuweniToPbjBytes(access.key()), tuweniToPbjBytes(access.writtenValue()));
                 }
-                firstKeys.put(contractAccesses.contractID(), firstContractKey);
             }
         }));
 
+        // Write only the final values of the slots whose links changed, and collect the first key of each contract
+        final Map<ContractID, Bytes> firstKeys = new HashMap<>();
+        allLinks.forEach((contractID, links) -> {
+            links.flush();
+            firstKeys.put(contractID, links.firstKey());
+        });
+
         // Update contract metadata with the net change in slots used
         allSizeChanges.forEach(change -> {
             if (change.netChange() != 0) {
@@ -121,109 +128,129 @@ public class IterableStorageManager {
     }
 
     /**
-     * Removes the given key from the slot storage and from the linked list of storage for the given contract, and removes the
-     *
-     * @param store Contract storage store
-     * @param firstContractKey The first key in the linked list of storage for the given contract
-     * @param contractID The contract id under consideration
-     * @param key The slot key to remove
-     * @return the new first key in the linked list of storage for the given contract
+     * The storage linked list of a single contract, with all the changes made to it in the current scope.
+     * Every slot is read from the store at most once, and the links are spliced in memory; so when the same
+     * slot is a neighbor of several inserted or removed slots, it's still written to the store only once,
+     * with its final links.
      */
-    @NonNull
-    private Bytes removeAccessedValue(
-            @NonNull final ContractStateStore store,
-            @NonNull final Bytes firstContractKey,
-            ContractID contractID,
-            @NonNull final Bytes key) {
-        try {
-            Objects.requireNonNull(store);
-            Objects.requireNonNull(key);
-            final var slotKey = newSlotKeyFor(contractID, key);
-            final var slotValue = slotValueFor(store, false, slotKey, "Missing key ");
-            final var nextKey = slotValue.nextKey();
-            final var prevKey = slotValue.previousKey();
-
-            if (!nextKey.equals(Bytes.EMPTY)) {
-                // Look up the next slot value
-                final var nextSlotKey = newSlotKeyFor(contractID, nextKey);
-                final var nextValue = slotValueFor(store, true, nextSlotKey, "Missing next key ");
-
-                // Create new next value and put into the store
-                final var newNextValue =
-                        nextValue.copyBuilder().previousKey(prevKey).build();
-                store.putSlot(nextSlotKey, newNextValue);
+    private static class StorageLinks {
+        private final ContractStateStore store;
+        private final ContractID contractID;
+        private Bytes firstKey;
+        // The current values of all the slots read or changed so far
+        private final Map<Bytes, SlotValue> slotValues = new HashMap<>();
+        // The keys of the slots whose links or values changed, in the order they changed
+        private final Set<Bytes> changedKeys = new LinkedHashSet<>();
+        // The keys of the removed slots
+        private final Set<Bytes> removedKeys = new LinkedHashSet<>();
+
+        StorageLinks(
+                @NonNull final ContractStateStore store,
+                @NonNull final ContractID contractID,
+                @NonNull final Bytes firstKey) {
+            this.store = requireNonNull(store);
+            this.contractID = requireNonNull(contractID);
+            this.firstKey = requireNonNull(firstKey);
+        }
+
+        /**
+         * Returns the first key in the linked list of storage for the contract, after all changes.
+         *
+         * @return the first key
+         */
+        @NonNull
+        Bytes firstKey() {
+            return firstKey;
+        }
+
+        /**
+         * Removes the given key from the linked list of storage for the contract. If any of the slots involved
+         * is missing, logs an error and leaves the list unchanged.
+         *
+         * @param key the slot key to remove
+         */
+        void remove(@NonNull final Bytes key) {
+            try {
+                final var slotValue = slotValueFor(key, false, "Missing key ");
+                final var nextKey = slotValue.nextKey();
+                final var prevKey = slotValue.previousKey();
+                // Look up both neighbors before changing anything
+                final var nextValue =
+                        nextKey.equals(Bytes.EMPTY) ? null : slotValueFor(nextKey, true, "Missing next key ");
+                final var prevValue =
+                        prevKey.equals(Bytes.EMPTY) ? null : slotValueFor(prevKey, true, "Missing previous key ");
+                if (nextValue != null) {
+                    update(nextKey, nextValue.copyBuilder().previousKey(prevKey).build());
+                }
+                if (prevValue != null) {
+                    update(prevKey, prevValue.copyBuilder().nextKey(nextKey).build());
+                }
+                slotValues.remove(key);
+                changedKeys.remove(key);
+                removedKeys.add(key);
+                if (key.equals(firstKey)) {
+                    firstKey = nextKey;
+                }
+            } catch (Exception irreparable) {
+                log.error(
+                        "Failed link management when removing {}; will be unable to"
+                                + " expire all slots for this contract",
+                        key,
+                        irreparable);
             }
-            if (!prevKey.equals(Bytes.EMPTY)) {
-                // Look up the previous slot value
-                final var prevSlotKey = newSlotKeyFor(contractID, prevKey);
-                final var prevValue = slotValueFor(store, true, prevSlotKey, "Missing previous key ");
-
-                // Create new previous value and put into the store
-                final var newPrevValue =
-                        prevValue.copyBuilder().nextKey(nextKey).build();
-                store.putSlot(prevSlotKey, newPrevValue);
+        }
+
+        /**
+         * Inserts the given key at the head of the linked list of storage for the contract.
+         *
+         * @param key the slot key to insert
+         * @param value the new value for the slot
+         */
+        void insert(@NonNull final Bytes key, @NonNull final Bytes value) {
+            if (!firstKey.equals(Bytes.EMPTY)) {
+                try {
+                    final var firstValue = slotValueFor(firstKey, true, "Missing first key ");
+                    update(firstKey, firstValue.copyBuilder().previousKey(key).build());
+                } catch (Exception irreparable) {
+                    log.error("Failed link management when inserting {}", key, irreparable);
+                }
             }
-            store.removeSlot(slotKey);
-            return key.equals(firstContractKey) ? slotValue.nextKey() : firstContractKey;
-        } catch (Exception irreparable) {
-            log.error(
-                    "Failed link management when removing {}; will be unable to"
-                            + " expire all slots for this contract",
+            removedKeys.remove(key);
+            update(
                     key,
-                    irreparable);
+                    SlotValue.newBuilder()
+                            .value(value)
+                            .previousKey(Bytes.EMPTY)
+                            .nextKey(firstKey)
+                            .build());
+            firstKey = key;
         }
-        return firstContractKey;
-    }
 
-    /**
-     * Inserts the given key into the slot storage and into the linked list of storage for the given contract.
-     *
-     * @param store Contract storage store
-     * @param firstContractKey The first key in the linked list of storage for the given contract
-     * @param newValue The new value for the slot
-     * @param contractID The contract id under consideration
-     * @param newKey The slot key to insert
-     * @return the new first key in the linked list of storage for the given contract
-     */
-    @NonNull
-    private Bytes insertAccessedValue(
-            @NonNull final ContractStateStore store,
-            @NonNull final Bytes firstContractKey,
-            @NonNull final Bytes newValue,
-            ContractID contractID,
-            @NonNull final Bytes newKey) {
-        try {
-            Objects.requireNonNull(store);
-            Objects.requireNonNull(newValue);
-            Objects.requireNonNull(newKey);
-            // Create new slot key and value and put into the store
-            final var newSlotKey = newSlotKeyFor(contractID, newKey);
-            final var newSlotValue = SlotValue.newBuilder()
-                    .value(newValue)
-                    .previousKey(Bytes.EMPTY)
-                    .nextKey(firstContractKey)
-                    .build();
-            store.putSlot(newSlotKey, newSlotValue);
-            return newKey;
-        } catch (Exception irreparable) {
-            log.error("Failed link management when inserting {}", newKey, irreparable);
+        /**
+         * Writes the final values of all changed slots to the store, and removes all removed slots.
+         */
+        void flush() {
+            removedKeys.forEach(key -> store.removeSlot(new SlotKey(contractID, key)));
+            changedKeys.forEach(key -> store.putSlot(new SlotKey(contractID, key), slotValues.get(key)));
         }
-        return firstContractKey;
-    }
 
-    @NonNull
-    private SlotKey newSlotKeyFor(ContractID contractNumber, @NonNull final Bytes key) {
-        return new SlotKey(contractNumber, key);
-    }
+        private void update(@NonNull final Bytes key, @NonNull final SlotValue slotValue) {
+            slotValues.put(key, slotValue);
+            changedKeys.add(key);
+        }
 
-    @NonNull
-    private SlotValue slotValueFor(
-            @NonNull final ContractStateStore store,
-            final boolean forModify,
-            @NonNull final SlotKey slotKey,
-            @NonNull final String msgOnError) {
-        return forModify
-                ? Objects.requireNonNull(store.getSlotValueForModify(slotKey), () -> msgOnError + slotKey.key())
-                : Objects.requireNonNull(store.getSlotValue(slotKey), () -> msgOnError + slotKey.key());
+        @NonNull
+        private SlotValue slotValueFor(
+                @NonNull final Bytes key, final boolean forModify, @NonNull final String msgOnError) {
+            var slotValue = slotValues.get(key);
+            if (slotValue == null && !removedKeys.contains(key)) {
+                final var slotKey = new SlotKey(contractID, key);
+                slotValue = forModify ? store.getSlotValueForModify(slotKey) : store.getSlotValue(slotKey);
+                if (slotValue != null) {
+                    slotValues.put(key, slotValue);
+                }
+            }
+            return requireNonNull(slotValue, () -> msgOnError + key);
+        }
     }
 }
@@ -0,0 +1,139 @@
+/*
+ * Copyright (C) 2024 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hedera.node.app.service.contract.impl.state;
+
+import static com.hedera.node.app.service.contract.impl.utils.ConversionUtils.pbjToTuweniBytes;
+import static java.util.Objects.requireNonNull;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.google.common.annotations.VisibleForTesting;
+import com.hedera.hapi.node.base.ContractID;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import java.util.function.Function;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import org.apache.tuweni.bytes.Bytes;
+import org.hyperledger.besu.datatypes.Address;
+import org.hyperledger.besu.evm.Code;
+import org.hyperledger.besu.evm.code.CodeFactory;
+
+/**
+ * A node-wide cache of analyzed EVM {@link Code}, shared by all transactions and queries. Creating
+ * {@link Code} from bytecode computes the Keccak hash of the full bytecode, and later the code
+ * is analyzed for valid jump destinations; both results are kept in the {@link Code} object, so
+ * for popular contracts it's much cheaper to reuse it than to create it again for every call.
+ *
+ * <p>Contract code is cached by contract id, together with the bytecode it was created from.
+ * Since {@link EvmFrameState}s see different versions of the state (e.g. queries run against the
+ * latest immutable state, while transactions may create contracts and then revert), a cached code
+ * is only used if its bytecode is the same as the bytecode in the caller's state. Comparing bytes
+ * is much cheaper than hashing them. Token redirect code only depends on the token address, so it's
+ * cached by address.
+ *
+ * <p>The cache is bounded by the total size of cached bytecode. This class is thread safe.
+ */
+@Singleton
+public class CodeCache {
+    /** Default max total size of cached bytecode, in bytes */
+    private static final long DEFAULT_MAX_BYTECODE_BYTES = 64L * 1024 * 1024;
+
+    /**
+     * A cached contract code, with the bytecode it was created from.
+     *
+     * @param bytecode the bytecode, as stored in state
+     * @param code the analyzed code
+     */
+    private record ContractCode(@NonNull com.hedera.pbj.runtime.io.buffer.Bytes bytecode, @NonNull Code code) {}
+
+    private final Cache<ContractID, ContractCode> contractCodes;
+    private final Cache<Address, Code> tokenRedirectCodes;
+
+    @Inject
+    public CodeCache() {
+        this(DEFAULT_MAX_BYTECODE_BYTES);
+    }
+
+    @VisibleForTesting
+    public CodeCache(final long maxBytecodeBytes) {
+        this.contractCodes = Caffeine.newBuilder()
+                .maximumWeight(maxBytecodeBytes)
+                .weigher((ContractID id, ContractCode code) ->
+                        (int) Math.min(Integer.MAX_VALUE, code.bytecode().length()))
+                .build();
+        this.tokenRedirectCodes = Caffeine.newBuilder()
+                .maximumWeight(maxBytecodeBytes)
+                .weigher((Address address, Code code) -> code.getSize())
+                .build();
+    }
+
+    /**
+     * Returns the analyzed code for the given contract and bytecode, creating and caching it if
+     * needed.
+     *
+     * @param contractID the contract id
+     * @param bytecode the contract bytecode in the caller's state
+     * @return the analyzed code
+     */
+    @NonNull
+    public Code getContractCode(
+            @NonNull final ContractID contractID, @NonNull final com.hedera.pbj.runtime.io.buffer.Bytes bytecode) {
+        requireNonNull(contractID);
+        requireNonNull(bytecode);
+        final var cached = contractCodes.getIfPresent(contractID);
+        if (cached != null && (cached.bytecode() == bytecode || cached.bytecode().equals(bytecode))) {
+            return cached.code();
+        }
+        final var code = CodeFactory.createCode(pbjToTuweniBytes(bytecode), 0, false);
+        contractCodes.put(contractID, new ContractCode(bytecode, code));
+        return code;
+    }
+
+    /**
+     * Returns the analyzed redirect code for the given token address, creating and caching it if
+     * needed.
+     *
+     * @param address the token long-zero address
+     * @param bytecodeFactory the function to create redirect bytecode for the address
+     * @return the analyzed redirect code
+     */
+    @NonNull
+    public Code getTokenRedirectCode(
+            @NonNull final Address address, @NonNull final Function<Address, Bytes> bytecodeFactory) {
+        requireNonNull(bytecodeFactory);
+        return tokenRedirectCodes.get(
+                requireNonNull(address), a -> CodeFactory.createCode(bytecodeFactory.apply(a), 0, false));
+    }
+
+    /**
+     * Removes the cached code for the given contract, called when the contract code is set.
+     *
+     * @param contractID the contract id
+     */
+    public void invalidate(@NonNull final ContractID contractID) {
+        contractCodes.invalidate(requireNonNull(contractID));
+    }
+
+    /**
+     * Returns the estimated number of cached contract and token redirect codes.
+     *
+     * @return the estimated number of cached codes
+     */
+    public long size() {
+        return contractCodes.estimatedSize() + tokenRedirectCodes.estimatedSize();
+    }
+}
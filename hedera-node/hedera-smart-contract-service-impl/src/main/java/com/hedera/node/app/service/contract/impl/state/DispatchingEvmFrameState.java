@@ -66,9 +66,10 @@ import org.apache.tuweni.units.bigints.UInt256;
 import org.hyperledger.besu.datatypes.Address;
 import org.hyperledger.besu.datatypes.Hash;
 import org.hyperledger.besu.datatypes.Wei;
+import org.hyperledger.besu.evm.Code;
 import org.hyperledger.besu.evm.account.Account;
 import org.hyperledger.besu.evm.account.MutableAccount;
-import org.hyperledger.besu.evm.code.CodeFactory;
+import org.hyperledger.besu.evm.code.CodeV0;
 import org.hyperledger.besu.evm.frame.ExceptionalHaltReason;
 import org.hyperledger.besu.evm.frame.MessageFrame;
 
@@ -81,7 +82,7 @@ import org.hyperledger.besu.evm.frame.MessageFrame;
  * point it might be necessary to cache the converted values and invalidate them when
  * the state changes.
  * <p>
- * TODO - get a little further to clarify DI strategy, then bring back a code cache.
+ * Analyzed EVM code is shared by all frame states through a node-wide {@link CodeCache}.
  */
 public class DispatchingEvmFrameState implements EvmFrameState {
     public static final Key HOLLOW_ACCOUNT_KEY =
@@ -94,12 +95,15 @@ public class DispatchingEvmFrameState implements EvmFrameState {
 
     private final HederaNativeOperations nativeOperations;
     private final ContractStateStore contractStateStore;
+    private final CodeCache codeCache;
 
     public DispatchingEvmFrameState(
             @NonNull final HederaNativeOperations nativeOperations,
-            @NonNull final ContractStateStore contractStateStore) {
+            @NonNull final ContractStateStore contractStateStore,
+            @NonNull final CodeCache codeCache) {
         this.nativeOperations = requireNonNull(nativeOperations);
         this.contractStateStore = requireNonNull(contractStateStore);
+        this.codeCache = requireNonNull(codeCache);
     }
 
     /**
@@ -193,12 +197,19 @@ public class DispatchingEvmFrameState implements EvmFrameState {
      */
     @Override
     public @NonNull Hash getCodeHash(final ContractID contractID) {
+        return getEvmCode(contractID).getCodeHash();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public @NonNull Code getEvmCode(final ContractID contractID) {
         final var numberedBytecode = contractStateStore.getBytecode(contractID);
-        if (numberedBytecode == null) {
-            return Hash.EMPTY;
+        if (numberedBytecode == null || numberedBytecode.code() == null) {
+            return CodeV0.EMPTY_CODE;
         } else {
-            return CodeFactory.createCode(pbjToTuweniBytes(numberedBytecode.code()), 0, false)
-                    .getCodeHash();
+            return codeCache.getContractCode(contractID, numberedBytecode.code());
         }
     }
 
@@ -215,7 +226,15 @@ public class DispatchingEvmFrameState implements EvmFrameState {
      */
     @Override
     public @NonNull Hash getTokenRedirectCodeHash(@NonNull final Address address) {
-        return CodeFactory.createCode(proxyBytecodeFor(address), 0, false).getCodeHash();
+        return getTokenRedirectEvmCode(address).getCodeHash();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public @NonNull Code getTokenRedirectEvmCode(@NonNull final Address address) {
+        return codeCache.getTokenRedirectCode(address, this::proxyBytecodeFor);
     }
 
     /**
@@ -261,6 +280,7 @@ public class DispatchingEvmFrameState implements EvmFrameState {
     @Override
     public void setCode(final ContractID contractID, @NonNull final Bytes code) {
         contractStateStore.putBytecode(contractID, new Bytecode(tuweniToPbjBytes(requireNonNull(code))));
+        codeCache.invalidate(contractID);
     }
 
     /**
@@ -28,6 +28,7 @@ import org.apache.tuweni.units.bigints.UInt256;
 import org.hyperledger.besu.datatypes.Address;
 import org.hyperledger.besu.datatypes.Hash;
 import org.hyperledger.besu.datatypes.Wei;
+import org.hyperledger.besu.evm.Code;
 import org.hyperledger.besu.evm.account.Account;
 import org.hyperledger.besu.evm.account.MutableAccount;
 import org.hyperledger.besu.evm.frame.ExceptionalHaltReason;
@@ -200,6 +201,16 @@ public interface EvmFrameState {
     @NonNull
     Hash getCodeHash(ContractID contractID);
 
+    /**
+     * Returns the analyzed EVM code for the account with the given contract id, or empty code if no such code
+     * exists. The code may be shared with other frame states, so it must not be modified.
+     *
+     * @param contractID the contract id
+     * @return the analyzed code for the account
+     */
+    @NonNull
+    Code getEvmCode(ContractID contractID);
+
     /**
      * Returns the hash of the redirect bytecode for the token with the given address, which must be a
      * long-zero address.
@@ -213,6 +224,16 @@ public interface EvmFrameState {
     @NonNull
     Hash getTokenRedirectCodeHash(@NonNull Address address);
 
+    /**
+     * Returns the analyzed redirect code for the token with the given address, which must be a long-zero address.
+     * The code may be shared with other frame states, so it must not be modified.
+     *
+     * @param address the token long-zero address
+     * @return the analyzed redirect code for the token
+     */
+    @NonNull
+    Code getTokenRedirectEvmCode(@NonNull Address address);
+
     /**
      * Returns the native account with the given account id.
      *
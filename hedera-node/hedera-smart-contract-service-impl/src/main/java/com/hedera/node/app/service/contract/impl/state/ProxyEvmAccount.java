@@ -29,7 +29,6 @@ import org.hyperledger.besu.datatypes.Wei;
 import org.hyperledger.besu.evm.Code;
 import org.hyperledger.besu.evm.account.Account;
 import org.hyperledger.besu.evm.account.MutableAccount;
-import org.hyperledger.besu.evm.code.CodeFactory;
 import org.hyperledger.besu.evm.worldstate.WorldUpdater;
 
 /**
@@ -76,7 +75,7 @@ public class ProxyEvmAccount extends AbstractMutableEvmAccount {
 
     @Override
     public @NonNull Code getEvmCode() {
-        return CodeFactory.createCode(getCode(), 0, false);
+        return state.getEvmCode(hederaContractId());
     }
 
     @Override
@@ -29,17 +29,20 @@ import javax.inject.Inject;
 public class ScopedEvmFrameStateFactory implements EvmFrameStateFactory {
     private final HederaOperations hederaOperations;
     private final HederaNativeOperations hederaNativeOperations;
+    private final CodeCache codeCache;
 
     @Inject
     public ScopedEvmFrameStateFactory(
             @NonNull final HederaOperations hederaOperations,
-            @NonNull final HederaNativeOperations hederaNativeOperations) {
+            @NonNull final HederaNativeOperations hederaNativeOperations,
+            @NonNull final CodeCache codeCache) {
         this.hederaOperations = Objects.requireNonNull(hederaOperations);
         this.hederaNativeOperations = Objects.requireNonNull(hederaNativeOperations);
+        this.codeCache = Objects.requireNonNull(codeCache);
     }
 
     @Override
     public EvmFrameState get() {
-        return new DispatchingEvmFrameState(hederaNativeOperations, hederaOperations.getStore());
+        return new DispatchingEvmFrameState(hederaNativeOperations, hederaOperations.getStore(), codeCache);
     }
 }
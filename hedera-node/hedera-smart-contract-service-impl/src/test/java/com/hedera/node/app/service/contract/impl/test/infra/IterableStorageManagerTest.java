@@ -241,6 +241,8 @@ class IterableStorageManagerTest {
         given(hederaNativeOperations.getAccount(CONTRACT_1)).willReturn(account);
         given(account.firstContractStorageKey()).willReturn(BYTES_1);
         given(enhancement.operations()).willReturn(hederaOperations);
+        given(store.getSlotValueForModify(new SlotKey(CONTRACT_1, BYTES_1)))
+                .willReturn(new SlotValue(BYTES_1, Bytes.EMPTY, Bytes.EMPTY));
 
         // Insert into the second slot
         subject.persistChanges(enhancement, accesses, sizeChanges, store);
@@ -250,10 +252,47 @@ class IterableStorageManagerTest {
                 .putSlot(
                         new SlotKey(CONTRACT_1, BYTES_2),
                         new SlotValue(ConversionUtils.tuweniToPbjBytes(UInt256.MAX_VALUE), Bytes.EMPTY, BYTES_1));
+        // The old first slot now links back to the new first slot
+        verify(store).putSlot(new SlotKey(CONTRACT_1, BYTES_1), new SlotValue(BYTES_1, BYTES_2, Bytes.EMPTY));
 
         // The new first key is BYTES_2
         verify(hederaOperations).updateStorageMetadata(CONTRACT_1, BYTES_2, 1);
         verifyNoMoreInteractions(store);
         verifyNoMoreInteractions(hederaOperations);
     }
+
+    @Test
+    void batchesInsertionsAndRemovalsForSameContract() {
+        final var accesses = List.of(new StorageAccesses(
+                CONTRACT_1,
+                List.of(
+                        StorageAccess.newWrite(UInt256.valueOf(2L), UInt256.ZERO, UInt256.MAX_VALUE),
+                        StorageAccess.newWrite(UInt256.valueOf(3L), UInt256.ZERO, UInt256.MAX_VALUE),
+                        StorageAccess.newWrite(UInt256.ONE, UInt256.MAX_VALUE, UInt256.ZERO))));
+
+        final var sizeChanges = List.of(new StorageSizeChange(CONTRACT_1, 1, 2));
+
+        given(enhancement.nativeOperations()).willReturn(hederaNativeOperations);
+        given(hederaNativeOperations.getAccount(CONTRACT_1)).willReturn(account);
+        given(account.firstContractStorageKey()).willReturn(BYTES_1);
+        given(enhancement.operations()).willReturn(hederaOperations);
+        // The only existing slot is read once, though it's a neighbor of both inserted slots
+        given(store.getSlotValueForModify(new SlotKey(CONTRACT_1, BYTES_1)))
+                .willReturn(new SlotValue(BYTES_1, Bytes.EMPTY, Bytes.EMPTY));
+
+        subject.persistChanges(enhancement, accesses, sizeChanges, store);
+
+        // Only the final values of the surviving slots are written
+        final var value = ConversionUtils.tuweniToPbjBytes(UInt256.MAX_VALUE);
+        verify(store).getSlotValueForModify(new SlotKey(CONTRACT_1, BYTES_1));
+        verify(store).removeSlot(new SlotKey(CONTRACT_1, BYTES_1));
+        verify(store).putSlot(new SlotKey(CONTRACT_1, BYTES_2), new SlotValue(value, BYTES_3, Bytes.EMPTY));
+        verify(store).putSlot(new SlotKey(CONTRACT_1, BYTES_3), new SlotValue(value, Bytes.EMPTY, BYTES_2));
+        // The account is read only once
+        verify(hederaNativeOperations).getAccount(CONTRACT_1);
+        // The new first key is BYTES_3, the last inserted slot
+        verify(hederaOperations).updateStorageMetadata(CONTRACT_1, BYTES_3, 1);
+        verifyNoMoreInteractions(store);
+        verifyNoMoreInteractions(hederaOperations);
+    }
 }
@@ -32,6 +32,7 @@ import static org.hyperledger.besu.evm.frame.ExceptionalHaltReason.ILLEGAL_STATE
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
@@ -57,6 +58,7 @@ import com.hedera.node.app.service.contract.impl.exec.failure.CustomExceptionalH
 import com.hedera.node.app.service.contract.impl.exec.scope.ActiveContractVerificationStrategy;
 import com.hedera.node.app.service.contract.impl.exec.scope.HederaNativeOperations;
 import com.hedera.node.app.service.contract.impl.exec.scope.VerificationStrategy;
+import com.hedera.node.app.service.contract.impl.state.CodeCache;
 import com.hedera.node.app.service.contract.impl.state.ContractStateStore;
 import com.hedera.node.app.service.contract.impl.state.DispatchingEvmFrameState;
 import com.hedera.node.app.service.contract.impl.state.ProxyEvmAccount;
@@ -140,7 +142,7 @@ class DispatchingEvmFrameStateTest {
 
     @BeforeEach
     void setUp() {
-        subject = new DispatchingEvmFrameState(nativeOperations, contractStateStore);
+        subject = new DispatchingEvmFrameState(nativeOperations, contractStateStore, new CodeCache());
     }
 
     @Test
@@ -173,6 +175,16 @@ class DispatchingEvmFrameStateTest {
         verify(contractStateStore).putBytecode(A_CONTRACT_ID, expectedCode);
     }
 
+    @Test
+    void setCodeInvalidatesCachedEvmCode() {
+        givenWellKnownBytecode();
+        final var cachedCode = subject.getEvmCode(A_CONTRACT_ID);
+
+        subject.setCode(A_CONTRACT_ID, pbjToTuweniBytes(SOME_PRETEND_CODE));
+
+        assertNotSame(cachedCode, subject.getEvmCode(A_CONTRACT_ID));
+    }
+
     @Test
     void getsExtantStorageValues() {
         given(contractStateStore.getSlotValue(A_SLOT_KEY)).willReturn(A_SLOT_VALUE);
@@ -337,6 +349,24 @@ class DispatchingEvmFrameStateTest {
         assertEquals(SOME_PRETEND_CODE_HASH, actualCodeHash);
     }
 
+    @Test
+    void reusesEvmCodeForSameBytecode() {
+        givenWellKnownBytecode();
+
+        final var code = subject.getEvmCode(A_CONTRACT_ID);
+
+        assertSame(code, subject.getEvmCode(A_CONTRACT_ID));
+        assertEquals(SOME_PRETEND_CODE_HASH, code.getCodeHash());
+    }
+
+    @Test
+    void reusesTokenRedirectEvmCode() {
+        final var code = subject.getTokenRedirectEvmCode(TOKEN_ADDRESS);
+
+        assertSame(code, subject.getTokenRedirectEvmCode(TOKEN_ADDRESS));
+        assertEquals(subject.getTokenRedirectCode(TOKEN_ADDRESS), code.getBytes());
+    }
+
     @Test
     void getsEmptyCodeHashForMissing() {
         final var actualCodeHash = subject.getCodeHash(A_CONTRACT_ID);
@@ -344,6 +374,15 @@ class DispatchingEvmFrameStateTest {
         assertSame(Hash.EMPTY, actualCodeHash);
     }
 
+    @Test
+    void getsEmptyCodeHashForNull() {
+        given(contractStateStore.getBytecode(A_CONTRACT_ID)).willReturn(new Bytecode(null));
+
+        final var actualCodeHash = subject.getCodeHash(A_CONTRACT_ID);
+
+        assertSame(Hash.EMPTY, actualCodeHash);
+    }
+
     @Test
     void throwsOnMissingAddressWhenGettingHederaIdNumber() {
         given(nativeOperations.resolveAlias(tuweniToPbjBytes(EVM_ADDRESS))).willReturn(MISSING_ENTITY_NUMBER);
@@ -0,0 +1,135 @@
+/*
+ * Copyright (C) 2024 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.swirlds.benchmark;
+
+import com.swirlds.common.crypto.DigestType;
+import com.swirlds.common.crypto.Hash;
+import com.swirlds.virtualmap.datasource.VirtualLeafRecord;
+import com.swirlds.virtualmap.internal.cache.VirtualNodeCache;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Virtual node cache path index benchmarks. Every round, leaves are put to the cache, moved to
+ * other paths, and looked up by path, then the cache copy is hashed from multiple threads and
+ * released. Run with {@code -prof gc} to see allocation rate per operation.
+ */
+@Fork(value = 1)
+@BenchmarkMode(Mode.AverageTime)
+@State(Scope.Thread)
+@Warmup(iterations = 1)
+@Measurement(iterations = 5)
+public class VirtualNodeCacheBench extends BaseBench {
+
+    private static final int NUM_HASHES = 256;
+
+    String benchmarkName() {
+        return "VirtualNodeCacheBench";
+    }
+
+    /**
+     * Leaf path updates and lookups on the handle transaction thread: putLeaf(), clearLeafPath(),
+     * and lookupLeafByPath().
+     */
+    @Benchmark
+    public void leafPaths() throws Exception {
+        beforeTest("leafPaths");
+
+        VirtualNodeCache<BenchmarkKey, BenchmarkValue> cache = new VirtualNodeCache<>();
+        long found = 0;
+        final long start = System.currentTimeMillis();
+        for (int i = 0; i < numFiles; i++) {
+            for (int j = 0; j < numRecords; j++) {
+                final long path = numRecords + j;
+                // The same keys every round, so leaves from older copies are updated
+                cache.putLeaf(new VirtualLeafRecord<>(path, new BenchmarkKey(j), new BenchmarkValue(nextValue())));
+            }
+            // Move every other leaf to a new path, similar to what happens when leaves are added
+            for (int j = 0; j < numRecords; j += 2) {
+                final long path = numRecords + j;
+                final VirtualLeafRecord<BenchmarkKey, BenchmarkValue> leaf = cache.lookupLeafByPath(path, true);
+                cache.clearLeafPath(path);
+                leaf.setPath(path + numRecords);
+                cache.putLeaf(leaf);
+            }
+            for (int j = 0; j < numRecords; j++) {
+                if (cache.lookupLeafByPath(Utils.randomLong(numRecords * 3L), false) != null) {
+                    found++;
+                }
+            }
+
+            final VirtualNodeCache<BenchmarkKey, BenchmarkValue> newCopy = cache.copy();
+            cache.release();
+            cache = newCopy;
+        }
+        System.out.println("Updated " + numFiles + " copies in " + (System.currentTimeMillis() - start) + " ms, found "
+                + found + " leaves");
+
+        afterTest(cache::release);
+    }
+
+    /**
+     * Hash updates and lookups on multiple hashing threads: putHash() and lookupHashByPath().
+     */
+    @Benchmark
+    public void hashes() throws Exception {
+        beforeTest("hashes");
+
+        final Hash[] hashes = new Hash[NUM_HASHES];
+        for (int i = 0; i < NUM_HASHES; i++) {
+            final byte[] bytes = new byte[DigestType.SHA_384.digestLength()];
+            bytes[0] = (byte) i;
+            hashes[i] = new Hash(bytes, DigestType.SHA_384);
+        }
+
+        VirtualNodeCache<BenchmarkKey, BenchmarkValue> cache = new VirtualNodeCache<>();
+        final AtomicLong found = new AtomicLong();
+        final long start = System.currentTimeMillis();
+        for (int i = 0; i < numFiles; i++) {
+            final VirtualNodeCache<BenchmarkKey, BenchmarkValue> hashed = cache;
+            cache = cache.copy();
+            hashed.prepareForHashing();
+            IntStream.range(0, numThreads).parallel().forEach(thread -> {
+                long count = 0;
+                // Every thread updates its own subset of paths, no path is updated concurrently
+                for (long path = thread; path < numRecords; path += numThreads) {
+                    hashed.putHash(path, hashes[(int) (path % NUM_HASHES)]);
+                }
+                for (int j = 0; j < numRecords / numThreads; j++) {
+                    if (hashed.lookupHashByPath(Utils.randomLong(numRecords * 2L), false) != null) {
+                        count++;
+                    }
+                }
+                found.addAndGet(count);
+            });
+            hashed.seal();
+            hashed.release();
+        }
+        System.out.println("Hashed " + numFiles + " copies in " + (System.currentTimeMillis() - start) + " ms, found "
+                + found.get() + " hashes");
+
+        afterTest(cache::release);
+    }
+}
@@ -0,0 +1,290 @@
+/*
+ * Copyright (C) 2024 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.swirlds.common.crypto;
+
+import com.swirlds.common.config.singleton.ConfigurationHolder;
+import com.swirlds.common.crypto.config.CryptoConfig;
+import com.swirlds.common.metrics.FunctionGauge;
+import com.swirlds.metrics.api.Metrics;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A fork-join pool shared by all CPU-bound hashing work in the process: virtual map hashing (both
+ * regular and background, like reconnect or full rehash) and event hashing. Before this pool was
+ * introduced, every kind of hashing had its own thread pool, and all these pools together could
+ * oversubscribe the CPU at round boundaries.
+ *
+ * <p>Work in the pool is split into {@link Lane lanes}. Every hashing operation reports to the
+ * pool when it enters and exits its lane, so the pool can collect per-lane metrics. Lanes are
+ * prioritized: background hashing is expected to periodically call {@link #yieldToStateHashing(long)},
+ * which pauses the caller while any state hashing is in progress, but no longer than {@link
+ * CryptoConfig#backgroundHashingMaxWaitMs()} per state hashing operation. Event hashing is never
+ * paused, since it's on the gossip critical path, and event hashing tasks are too short to delay
+ * state hashing noticeably.
+ *
+ * <p>This class is thread safe. A single instance is shared by all hashing components, see {@link
+ * #getInstance()}.
+ */
+public final class HashingPool {
+
+    /**
+     * Hashing lanes, in priority order.
+     */
+    public enum Lane {
+        /** Hashing of state copies, on the critical path to signing states */
+        STATE,
+        /** Hashing of events in the intake pipeline */
+        EVENT,
+        /** Background hashing, like reconnect or full virtual map rehash */
+        BACKGROUND
+    }
+
+    /** Metrics category for all hashing pool metrics */
+    private static final String METRICS_CATEGORY = "crypto";
+
+    /** The hashing pool shared by all hashing components. Created lazily, when config is loaded */
+    private static volatile HashingPool instance;
+
+    /** The fork-join pool to run hashing tasks */
+    private final ForkJoinPool pool;
+
+    /** Max time to pause background hashing while state hashing is in progress, in nanoseconds */
+    private final long maxYieldNanos;
+
+    /** The number of operations currently in progress, per lane */
+    private final AtomicInteger[] activeOperations = new AtomicInteger[Lane.values().length];
+
+    /** The number of completed operations, per lane */
+    private final LongAdder[] completedOperations = new LongAdder[Lane.values().length];
+
+    /** Total time spent in completed operations, per lane, in nanoseconds */
+    private final LongAdder[] busyNanos = new LongAdder[Lane.values().length];
+
+    /**
+     * State hashing counter, incremented every time a state hashing operation is started. It's
+     * used to make sure background hashing yields to every state hashing operation no more than once.
+     */
+    private final AtomicLong stateHashingEpoch = new AtomicLong(0);
+
+    /** Total time background hashing has been paused for state hashing, in nanoseconds */
+    private final LongAdder backgroundYieldNanos = new LongAdder();
+
+    /** Monitor to notify background hashing waiting for state hashing to finish */
+    private final Object stateMonitor = new Object();
+
+    /**
+     * Creates a new hashing pool.
+     *
+     * @param parallelism the number of threads in the pool
+     * @param maxYieldMs max time to pause background hashing while state hashing is in progress, in milliseconds
+     */
+    public HashingPool(final int parallelism, final long maxYieldMs) {
+        if (parallelism <= 0) {
+            throw new IllegalArgumentException("Parallelism must be positive");
+        }
+        if (maxYieldMs < 0) {
+            throw new IllegalArgumentException("Max yield time must not be negative");
+        }
+        this.pool = new ForkJoinPool(parallelism);
+        this.maxYieldNanos = TimeUnit.MILLISECONDS.toNanos(maxYieldMs);
+        for (int i = 0; i < activeOperations.length; i++) {
+            activeOperations[i] = new AtomicInteger(0);
+            completedOperations[i] = new LongAdder();
+            busyNanos[i] = new LongAdder();
+        }
+    }
+
+    /**
+     * Returns the hashing pool shared by all hashing components. The pool is created on the first
+     * call, using {@link CryptoConfig} from {@link ConfigurationHolder}.
+     *
+     * @return the shared hashing pool
+     */
+    public static HashingPool getInstance() {
+        HashingPool result = instance;
+        if (result == null) {
+            synchronized (HashingPool.class) {
+                result = instance;
+                if (result == null) {
+                    final CryptoConfig config = ConfigurationHolder.getConfigData(CryptoConfig.class);
+                    result = new HashingPool(
+                            config.computeHashingPoolThreadCount(), config.backgroundHashingMaxWaitMs());
+                    instance = result;
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Gets the fork-join pool to run hashing tasks in.
+     *
+     * @return the fork-join pool
+     */
+    @NonNull
+    public ForkJoinPool getPool() {
+        return pool;
+    }
+
+    /**
+     * Gets the number of threads in this pool.
+     *
+     * @return the pool parallelism
+     */
+    public int getParallelism() {
+        return pool.getParallelism();
+    }
+
+    /**
+     * Called when a hashing operation in the given lane is started. Must be balanced with {@link
+     * #exit(Lane, long)}.
+     *
+     * @param lane the hashing lane
+     * @return the operation start time, to be provided to {@link #exit(Lane, long)}
+     */
+    public long enter(@NonNull final Lane lane) {
+        if (lane == Lane.STATE) {
+            stateHashingEpoch.incrementAndGet();
+        }
+        activeOperations[lane.ordinal()].incrementAndGet();
+        return System.nanoTime();
+    }
+
+    /**
+     * Called when a hashing operation in the given lane is finished, regardless of whether it was
+     * successful.
+     *
+     * @param lane the hashing lane
+     * @param startNanos the value returned by {@link #enter(Lane)}
+     */
+    public void exit(@NonNull final Lane lane, final long startNanos) {
+        final int index = lane.ordinal();
+        busyNanos[index].add(System.nanoTime() - startNanos);
+        completedOperations[index].increment();
+        if ((activeOperations[index].decrementAndGet() == 0) && (lane == Lane.STATE)) {
+            synchronized (stateMonitor) {
+                stateMonitor.notifyAll();
+            }
+        }
+    }
+
+    /**
+     * Pauses the calling background hashing thread while any state hashing is in progress, but no
+     * longer than the max yield time. If the caller has already yielded to the current state
+     * hashing operation, this method returns immediately, so long state hashing doesn't stop
+     * background hashing completely.
+     *
+     * @param lastYieldedEpoch the value returned by the previous call to this method, or zero
+     * @return the state hashing epoch to provide to the next call to this method
+     * @throws InterruptedException if the calling thread is interrupted while waiting
+     */
+    public long yieldToStateHashing(final long lastYieldedEpoch) throws InterruptedException {
+        final AtomicInteger activeStateOperations = activeOperations[Lane.STATE.ordinal()];
+        // Fast path, no state hashing in progress. A single volatile read
+        if (activeStateOperations.get() == 0) {
+            return lastYieldedEpoch;
+        }
+        final long epoch = stateHashingEpoch.get();
+        if ((epoch == lastYieldedEpoch) || (maxYieldNanos == 0)) {
+            return epoch;
+        }
+        final long start = System.nanoTime();
+        final long deadline = start + maxYieldNanos;
+        try {
+            synchronized (stateMonitor) {
+                long remaining = maxYieldNanos;
+                while ((activeStateOperations.get() > 0) && (remaining > 0)) {
+                    TimeUnit.NANOSECONDS.timedWait(stateMonitor, remaining);
+                    remaining = deadline - System.nanoTime();
+                }
+            }
+        } finally {
+            backgroundYieldNanos.add(System.nanoTime() - start);
+        }
+        return epoch;
+    }
+
+    /**
+     * Gets the number of hashing operations currently in progress in the given lane.
+     *
+     * @param lane the hashing lane
+     * @return the number of active operations
+     */
+    public int getActiveOperations(@NonNull final Lane lane) {
+        return activeOperations[lane.ordinal()].get();
+    }
+
+    /**
+     * Gets the number of completed hashing operations in the given lane.
+     *
+     * @param lane the hashing lane
+     * @return the number of completed operations
+     */
+    public long getCompletedOperations(@NonNull final Lane lane) {
+        return completedOperations[lane.ordinal()].sum();
+    }
+
+    /**
+     * Registers per-lane hashing pool metrics. It's safe to call this method multiple times with
+     * the same metrics instance.
+     *
+     * @param metrics the metrics system
+     */
+    public void registerMetrics(@NonNull final Metrics metrics) {
+        Objects.requireNonNull(metrics, "metrics");
+        for (final Lane lane : Lane.values()) {
+            final String laneName = lane.name().toLowerCase(Locale.ROOT);
+            final int index = lane.ordinal();
+            metrics.getOrCreate(new FunctionGauge.Config<>(
+                            METRICS_CATEGORY,
+                            "hashing_" + laneName + "_active",
+                            Integer.class,
+                            activeOperations[index]::get)
+                    .withDescription("number of " + laneName + " hashing operations in progress"));
+            metrics.getOrCreate(new FunctionGauge.Config<>(
+                            METRICS_CATEGORY,
+                            "hashing_" + laneName + "_completed",
+                            Long.class,
+                            completedOperations[index]::sum)
+                    .withDescription("total number of completed " + laneName + " hashing operations"));
+            metrics.getOrCreate(new FunctionGauge.Config<>(
+                            METRICS_CATEGORY,
+                            "hashing_" + laneName + "_busy_ms",
+                            Long.class,
+                            () -> TimeUnit.NANOSECONDS.toMillis(busyNanos[index].sum()))
+                    .withDescription("total time spent in completed " + laneName + " hashing operations")
+                    .withUnit("ms"));
+        }
+        metrics.getOrCreate(new FunctionGauge.Config<>(
+                        METRICS_CATEGORY,
+                        "hashing_background_yield_ms",
+                        Long.class,
+                        () -> TimeUnit.NANOSECONDS.toMillis(backgroundYieldNanos.sum()))
+                .withDescription("total time background hashing was paused for state hashing")
+                .withUnit("ms"));
+        metrics.getOrCreate(new FunctionGauge.Config<>(
+                        METRICS_CATEGORY, "hashing_pool_queued", Long.class, pool::getQueuedTaskCount)
+                .withDescription("number of tasks queued in the hashing pool"));
+    }
+}
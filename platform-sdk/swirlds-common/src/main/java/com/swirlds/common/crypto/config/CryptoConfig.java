@@ -34,13 +34,22 @@ import com.swirlds.config.api.ConfigProperty;
  * @param enableNewKeyStoreModel
  *   whether to enable the new key store model which uses separate PKCS #8 key stores for each node. This model is
  *   compatible with most industry standard tools and libraries including OpenSSL, Java Keytool, and many others.
+ * @param hashingPoolThreadRatio
+ * 		the ratio of simultaneous CPU threads to utilize for the hashing pool shared by virtual map hashing and event
+ * 		hashing, see {@link com.swirlds.common.crypto.HashingPool}. A value between {@code 0.0} and {@code 1.0}
+ * 		inclusive.
+ * @param backgroundHashingMaxWaitMs
+ * 		max time, in milliseconds, background hashing (e.g. reconnect or full rehash) pauses every time state
+ * 		hashing is in progress in the hashing pool. Zero means background hashing is never paused.
  */
 @ConfigData("crypto")
 public record CryptoConfig(
         @ConfigProperty(defaultValue = "0.5") double cpuVerifierThreadRatio,
         @ConfigProperty(defaultValue = "0.5") double cpuDigestThreadRatio,
         @ConfigProperty(defaultValue = "password") String keystorePassword,
-        @ConfigProperty(defaultValue = "false") boolean enableNewKeyStoreModel) {
+        @ConfigProperty(defaultValue = "false") boolean enableNewKeyStoreModel,
+        @ConfigProperty(defaultValue = "0.5") double hashingPoolThreadRatio,
+        @ConfigProperty(defaultValue = "100") int backgroundHashingMaxWaitMs) {
 
     /**
      * Calculates the number of threads needed to achieve the CPU core ratio given by {@link
@@ -67,4 +76,17 @@ public record CryptoConfig(
 
         return (interimThreadCount >= 1.0) ? (int) interimThreadCount : 1;
     }
+
+    /**
+     * Calculates the number of threads needed to achieve the CPU core ratio given by {@link
+     * #hashingPoolThreadRatio()}.
+     *
+     * @return the number of threads to be allocated
+     */
+    public int computeHashingPoolThreadCount() {
+        final int numberOfCores = Runtime.getRuntime().availableProcessors();
+        final double interimThreadCount = Math.ceil(numberOfCores * hashingPoolThreadRatio());
+
+        return (interimThreadCount >= 1.0) ? (int) interimThreadCount : 1;
+    }
 }
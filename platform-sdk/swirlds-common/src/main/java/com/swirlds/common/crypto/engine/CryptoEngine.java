@@ -31,7 +31,6 @@ import com.swirlds.common.io.SelfSerializable;
 import com.swirlds.common.threading.futures.StandardFuture;
 import com.swirlds.common.threading.manager.ThreadManager;
 import com.swirlds.logging.legacy.LogMarker;
-import java.nio.ByteBuffer;
 import java.security.NoSuchAlgorithmException;
 import java.security.Security;
 import java.util.HashMap;
@@ -149,39 +148,6 @@ public class CryptoEngine implements Cryptography {
         return new AsyncVerificationHandler(workItems, provider);
     }
 
-    /**
-     * Efficiently builds a {@link TransactionSignature} instance from the supplied components.
-     *
-     * @param data          the original contents that the signature should be verified against
-     * @param signature     the signature to be verified
-     * @param publicKey     the public key required to validate the signature
-     * @param signatureType the type of signature to be verified
-     * @return a {@link TransactionSignature} containing the provided components
-     */
-    private static TransactionSignature wrap(
-            final byte[] data, final byte[] signature, final byte[] publicKey, final SignatureType signatureType) {
-        if (data == null || data.length == 0) {
-            throw new IllegalArgumentException("data");
-        }
-
-        if (signature == null || signature.length == 0) {
-            throw new IllegalArgumentException("signature");
-        }
-
-        if (publicKey == null || publicKey.length == 0) {
-            throw new IllegalArgumentException("publicKey");
-        }
-
-        final ByteBuffer buffer = ByteBuffer.allocate(data.length + signature.length + publicKey.length);
-        final int sigOffset = data.length;
-        final int pkOffset = sigOffset + signature.length;
-
-        buffer.put(data).put(signature).put(publicKey);
-
-        return new TransactionSignature(
-                buffer.array(), sigOffset, signature.length, pkOffset, publicKey.length, 0, data.length, signatureType);
-    }
-
     /**
      * Common private utility method for performing synchronous digest computations.
      *
@@ -24,7 +24,6 @@ import com.goterl.lazysodium.SodiumJava;
 import com.goterl.lazysodium.interfaces.Sign;
 import com.swirlds.common.crypto.SignatureType;
 import com.swirlds.common.crypto.TransactionSignature;
-import java.nio.ByteBuffer;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
@@ -48,6 +47,12 @@ public class Ed25519VerificationProvider
         algorithm = new LazySodiumJava(sodiumJava);
     }
 
+    /**
+     * Per-thread buffers to copy signatures, public keys, and messages to, when they can't be passed
+     * to libSodium directly.
+     */
+    private static final ThreadLocal<ScratchBuffers> SCRATCH_BUFFERS = ThreadLocal.withInitial(ScratchBuffers::new);
+
     /**
      * Default Constructor.
      */
@@ -87,7 +92,7 @@ public class Ed25519VerificationProvider
     protected boolean compute(
             final byte[] message, final byte[] signature, final byte[] publicKey, final SignatureType algorithmType) {
         final Sign.Native loadedAlgorithm = loadAlgorithm(algorithmType);
-        return compute(loadedAlgorithm, algorithmType, message, signature, publicKey);
+        return compute(loadedAlgorithm, algorithmType, message, message.length, signature, publicKey);
     }
 
     /**
@@ -118,7 +123,9 @@ public class Ed25519VerificationProvider
      * @param algorithmType
      * 		the type of algorithm to be used when performing the transformation
      * @param message
-     * 		the original message that was signed
+     * 		the original message that was signed, may be followed by other data
+     * @param messageLength
+     * 		the length of the message, in bytes
      * @param signature
      * 		the signature to be verified
      * @param publicKey
@@ -129,9 +136,10 @@ public class Ed25519VerificationProvider
             final Sign.Native algorithm,
             final SignatureType algorithmType,
             final byte[] message,
+            final int messageLength,
             final byte[] signature,
             final byte[] publicKey) {
-        final boolean isValid = algorithm.cryptoSignVerifyDetached(signature, message, message.length, publicKey);
+        final boolean isValid = algorithm.cryptoSignVerifyDetached(signature, message, messageLength, publicKey);
 
         if (!isValid && logger.isDebugEnabled()) {
             logger.debug(
@@ -148,6 +156,12 @@ public class Ed25519VerificationProvider
 
     /**
      * Computes the result of the cryptographic transformation using the provided sig and algorithm.
+     * <p>
+     * The message is verified directly from the signature payload, if it starts at the beginning of the payload,
+     * as libSodium accepts the message length separately. The public key is used directly, if the expanded public
+     * key array contains just the key. Otherwise, the message and the key are copied to per-thread scratch buffers.
+     * The signature is always copied to a per-thread scratch buffer. This way no objects are allocated per
+     * signature verification.
      *
      * @param algorithm
      * 		the concrete instance of the required algorithm
@@ -160,22 +174,72 @@ public class Ed25519VerificationProvider
     private boolean compute(
             final Sign.Native algorithm, final SignatureType algorithmType, final TransactionSignature sig) {
         final byte[] payload = sig.getContentsDirect();
-        final byte[] expandedPublicKey = sig.getExpandedPublicKey();
-
-        final ByteBuffer buffer = ByteBuffer.wrap(payload);
-        final ByteBuffer pkBuffer = (expandedPublicKey != null && expandedPublicKey.length > 0)
-                ? ByteBuffer.wrap(expandedPublicKey)
-                : buffer;
-        final byte[] signature = new byte[sig.getSignatureLength()];
-        final byte[] publicKey = new byte[sig.getPublicKeyLength()];
-        final byte[] message = new byte[sig.getMessageLength()];
-
-        buffer.position(sig.getMessageOffset())
-                .get(message)
-                .position(sig.getSignatureOffset())
-                .get(signature);
-        pkBuffer.position(sig.getPublicKeyOffset()).get(publicKey);
-
-        return compute(algorithm, algorithmType, message, signature, publicKey);
+        final byte[] expandedPublicKey = sig.getExpandedPublicKeyDirect();
+        final byte[] pkSource =
+                (expandedPublicKey != null && expandedPublicKey.length > 0) ? expandedPublicKey : payload;
+        final ScratchBuffers scratch = SCRATCH_BUFFERS.get();
+
+        final int messageLength = sig.getMessageLength();
+        final byte[] message;
+        if ((sig.getMessageOffset() == 0) && (messageLength <= payload.length)) {
+            message = payload;
+        } else {
+            message = scratch.message(messageLength);
+            System.arraycopy(payload, sig.getMessageOffset(), message, 0, messageLength);
+        }
+
+        final byte[] signature = scratch.signature(sig.getSignatureLength());
+        System.arraycopy(payload, sig.getSignatureOffset(), signature, 0, signature.length);
+
+        final int publicKeyLength = sig.getPublicKeyLength();
+        final byte[] publicKey;
+        if ((pkSource == expandedPublicKey)
+                && (sig.getPublicKeyOffset() == 0)
+                && (expandedPublicKey.length == publicKeyLength)) {
+            publicKey = expandedPublicKey;
+        } else {
+            publicKey = scratch.publicKey(publicKeyLength);
+            System.arraycopy(pkSource, sig.getPublicKeyOffset(), publicKey, 0, publicKeyLength);
+        }
+
+        return compute(algorithm, algorithmType, message, messageLength, signature, publicKey);
+    }
+
+    /**
+     * Reusable buffers for signature verification. Signatures and public keys have fixed lengths, so
+     * in practice the buffers are only allocated once per thread. The message buffer may be longer
+     * than the message, libSodium is given the message length explicitly.
+     */
+    private static final class ScratchBuffers {
+        // Longer messages are copied to temporary arrays, so scratch buffers don't retain too much memory
+        private static final int MAX_MESSAGE_LENGTH = 64 * 1024;
+
+        private byte[] signature = new byte[Sign.BYTES];
+        private byte[] publicKey = new byte[Sign.PUBLICKEYBYTES];
+        private byte[] message = new byte[0];
+
+        byte[] signature(final int length) {
+            if (signature.length != length) {
+                signature = new byte[length];
+            }
+            return signature;
+        }
+
+        byte[] publicKey(final int length) {
+            if (publicKey.length != length) {
+                publicKey = new byte[length];
+            }
+            return publicKey;
+        }
+
+        byte[] message(final int length) {
+            if (length > MAX_MESSAGE_LENGTH) {
+                return new byte[length];
+            }
+            if (message.length < length) {
+                message = new byte[length];
+            }
+            return message;
+        }
     }
 }
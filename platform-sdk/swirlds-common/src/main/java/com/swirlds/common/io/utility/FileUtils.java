@@ -34,7 +34,9 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.StandardCopyOption;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Stream;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -46,6 +48,23 @@ public final class FileUtils {
 
     private static final Logger logger = LogManager.getLogger(FileUtils.class);
 
+    /**
+     * Max number of recent directory renames made by {@link #executeAndRename(Path, Path, IOConsumer)} that are
+     * remembered for {@link #resolveRenamed(Path)}.
+     */
+    private static final int MAX_RECENT_RENAMES = 16;
+
+    /**
+     * Recent directory renames made by {@link #executeAndRename(Path, Path, IOConsumer)}, from temporary directories
+     * to final directories, oldest first. Paths are absolute and normalized. Guarded by itself.
+     */
+    private static final Map<Path, Path> recentRenames = new LinkedHashMap<>() {
+        @Override
+        protected boolean removeEldestEntry(final Map.Entry<Path, Path> eldest) {
+            return size() > MAX_RECENT_RENAMES;
+        }
+    };
+
     private FileUtils() {}
 
     /**
@@ -246,6 +265,9 @@ public final class FileUtils {
             // Move needs to be atomic to guarantee that the folder only exists when its contents are complete.
             // Otherwise, it's possible another thread will see a half-completed directory.
             Files.move(tmpDirectory, directory, StandardCopyOption.ATOMIC_MOVE);
+            synchronized (recentRenames) {
+                recentRenames.put(tmpDirectory.toAbsolutePath().normalize(), directory.toAbsolutePath().normalize());
+            }
         } catch (final Throwable ex) {
             logger.info(STATE_TO_DISK.getMarker(), "deleting temporary file due to exception");
             throw ex;
@@ -262,6 +284,29 @@ public final class FileUtils {
         }
     }
 
+    /**
+     * Resolves a path inside a temporary directory that has since been renamed by {@link #executeAndRename(Path,
+     * Path, IOConsumer)} to the corresponding path inside the final directory. Only a limited number of the most
+     * recent renames are remembered.
+     *
+     * @param path the path to resolve
+     * @return the path inside the final directory, or the original path if it isn't inside any recently renamed
+     *     temporary directory
+     */
+    @NonNull
+    public static Path resolveRenamed(@NonNull final Path path) {
+        final Path normalized = path.toAbsolutePath().normalize();
+        synchronized (recentRenames) {
+            for (final Map.Entry<Path, Path> rename : recentRenames.entrySet()) {
+                final Path tmpDirectory = rename.getKey();
+                if (normalized.startsWith(tmpDirectory)) {
+                    return rename.getValue().resolve(tmpDirectory.relativize(normalized));
+                }
+            }
+        }
+        return path;
+    }
+
     /**
      * Write to a new file, and make sure it's flushed to disk before returning.
      *
@@ -138,6 +138,7 @@ public class TeacherSendingThread<T> {
      * Send a lesson that contains data for a leaf or an internal node.
      */
     private Lesson<T> buildDataLesson(final T node) {
+        view.prefetch(node);
         final Lesson<T> lesson;
         if (view.isInternal(node, true)) {
             lesson = new Lesson<>(INTERNAL_NODE_DATA, new InternalDataLesson<>(view, node));
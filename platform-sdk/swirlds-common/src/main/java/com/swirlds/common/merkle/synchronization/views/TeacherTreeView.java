@@ -74,6 +74,19 @@ public interface TeacherTreeView<T>
      */
     void writeChildHashes(T parent, SerializableDataOutputStream out) throws IOException;
 
+    /**
+     * Called when a lesson with data for a node is queued to be sent to the learner. Lessons are serialized later,
+     * on the output stream thread, so views backed by slow storage may start reading node data in the background
+     * here, to have it ready by the time {@link #serializeLeaf(SerializableDataOutputStream, Object)} or
+     * {@link #writeChildHashes(Object, SerializableDataOutputStream)} is called for the node.
+     *
+     * @param node
+     * 		the node that will be serialized
+     */
+    default void prefetch(final T node) {
+        // By default, node data is read when the node is serialized
+    }
+
     /**
      * Check if a node is the root of the tree with a custom view.
      *
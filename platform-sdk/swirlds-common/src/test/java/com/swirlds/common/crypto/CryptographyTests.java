@@ -182,6 +182,44 @@ class CryptographyTests {
         assertTrue(cryptography.verifySync(signature), "Should be a valid signature");
     }
 
+    @Test
+    @Tag(TIME_CONSUMING)
+    void verifySyncEd25519SignatureAtOffset() {
+        ed25519SignaturePool = new SignaturePool(cryptoConfig.computeCpuDigestThreadCount() * PARALLELISM, 100, true);
+        final TransactionSignature signature = ed25519SignaturePool.next();
+
+        // Shift all signature components, so the message doesn't start at the beginning of the contents
+        final int shift = 7;
+        final byte[] contents = signature.getContentsDirect();
+        final byte[] shifted = new byte[contents.length + shift];
+        System.arraycopy(contents, 0, shifted, shift, contents.length);
+        final TransactionSignature shiftedSignature = new TransactionSignature(
+                shifted,
+                signature.getSignatureOffset() + shift,
+                signature.getSignatureLength(),
+                signature.getPublicKeyOffset() + shift,
+                signature.getPublicKeyLength(),
+                signature.getMessageOffset() + shift,
+                signature.getMessageLength());
+        assertTrue(cryptography.verifySync(shiftedSignature), "Should be a valid signature");
+
+        final byte[] tampered = shifted.clone();
+        tampered[signature.getSignatureOffset() + shift] ^= 1;
+        final TransactionSignature tamperedSignature = new TransactionSignature(
+                tampered,
+                signature.getSignatureOffset() + shift,
+                signature.getSignatureLength(),
+                signature.getPublicKeyOffset() + shift,
+                signature.getPublicKeyLength(),
+                signature.getMessageOffset() + shift,
+                signature.getMessageLength());
+        assertFalse(cryptography.verifySync(tamperedSignature), "Should be an invalid signature");
+
+        // Verifications on the same thread must not affect each other
+        assertTrue(cryptography.verifySync(shiftedSignature), "Should still be a valid signature");
+        assertTrue(cryptography.verifySync(signature), "Should still be a valid signature");
+    }
+
     @Test
     void verifySyncEcdsaSignature() {
         ecdsaSignaturePool = new EcdsaSignedTxnPool(cryptoConfig.computeCpuDigestThreadCount() * PARALLELISM, 64);
@@ -0,0 +1,93 @@
+/*
+ * Copyright (C) 2024 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.swirlds.common.crypto;
+
+import static com.swirlds.common.test.fixtures.junit.tags.TestQualifierTags.TIMING_SENSITIVE;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+class HashingPoolTest {
+
+    @Test
+    void testInvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> new HashingPool(0, 0), "Expected IAE");
+        assertThrows(IllegalArgumentException.class, () -> new HashingPool(1, -1), "Expected IAE");
+    }
+
+    @Test
+    void testLaneCounters() {
+        final HashingPool pool = new HashingPool(2, 0);
+        assertEquals(2, pool.getParallelism(), "Wrong parallelism");
+        final long start = pool.enter(HashingPool.Lane.EVENT);
+        assertEquals(1, pool.getActiveOperations(HashingPool.Lane.EVENT), "One active operation expected");
+        assertEquals(0, pool.getActiveOperations(HashingPool.Lane.STATE), "No active operations expected");
+        pool.exit(HashingPool.Lane.EVENT, start);
+        assertEquals(0, pool.getActiveOperations(HashingPool.Lane.EVENT), "No active operations expected");
+        assertEquals(1, pool.getCompletedOperations(HashingPool.Lane.EVENT), "One completed operation expected");
+    }
+
+    @Test
+    void testNoStateHashingNoYield() throws InterruptedException {
+        final HashingPool pool = new HashingPool(1, 60_000);
+        final long start = System.nanoTime();
+        assertEquals(0, pool.yieldToStateHashing(0), "State hashing epoch must not change");
+        assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(10), "Must not wait");
+    }
+
+    @Test
+    @Tag(TIMING_SENSITIVE)
+    void testYieldToStateHashing() throws Exception {
+        final HashingPool pool = new HashingPool(1, 60_000);
+        final long start = pool.enter(HashingPool.Lane.STATE);
+        final CompletableFuture<Long> epoch = CompletableFuture.supplyAsync(() -> {
+            try {
+                return pool.yieldToStateHashing(0);
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException(e);
+            }
+        });
+        Thread.sleep(100);
+        assertFalse(epoch.isDone(), "Background hashing must wait while state hashing is in progress");
+        pool.exit(HashingPool.Lane.STATE, start);
+        assertEquals(1, epoch.get(10, TimeUnit.SECONDS), "Wrong state hashing epoch");
+    }
+
+    @Test
+    @Tag(TIMING_SENSITIVE)
+    void testYieldOncePerStateHashing() throws InterruptedException {
+        final HashingPool pool = new HashingPool(1, 50);
+        final long start = pool.enter(HashingPool.Lane.STATE);
+        try {
+            final long epoch = pool.yieldToStateHashing(0);
+            assertEquals(1, epoch, "Wrong state hashing epoch");
+            // The same state hashing is still in progress, but background hashing has already yielded to it
+            final long yieldStart = System.nanoTime();
+            assertEquals(epoch, pool.yieldToStateHashing(epoch), "State hashing epoch must not change");
+            assertTrue(System.nanoTime() - yieldStart < TimeUnit.MILLISECONDS.toNanos(50), "Must not wait again");
+        } finally {
+            pool.exit(HashingPool.Lane.STATE, start);
+        }
+    }
+}
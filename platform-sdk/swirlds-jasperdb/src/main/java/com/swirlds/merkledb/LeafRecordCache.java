@@ -0,0 +1,208 @@
+/*
+ * Copyright (C) 2024 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.swirlds.merkledb;
+
+import static java.util.Objects.requireNonNull;
+
+import com.swirlds.virtualmap.VirtualKey;
+import com.swirlds.virtualmap.VirtualValue;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import edu.umd.cs.findbugs.annotations.Nullable;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * N-way set-associative cache of virtual leaf records, used by {@link MerkleDbDataSource} to avoid
+ * key-to-path and path-to-key/value lookups for recently read keys.
+ *
+ * <p>The cache is split into a power of two number of sets, each set has {@code ways} slots. A key
+ * is always stored in the set selected by its hash code, in any slot of the set. When a set is full,
+ * a victim is selected using CLOCK (second chance) policy: every slot has a reference bit, which is
+ * set on every hit, and the eviction hand skips and clears referenced slots. This way two hot keys
+ * that map to the same set don't evict each other, unlike in a direct-mapped cache.
+ *
+ * <p>Lookups are lock-free, they only read slot references, which are atomic. Updates are
+ * synchronized on lock stripes, one stripe covers many sets, so concurrent updates to different
+ * sets rarely contend.
+ *
+ * <p>Cache entries are immutable. An entry value is never returned to callers directly, since callers
+ * may modify leaf records loaded from a data source. Entry values are only used as a source of
+ * copies, see {@link MerkleDbDataSource#loadLeafRecord(VirtualKey)}.
+ *
+ * @param <K> virtual key type
+ * @param <V> virtual value type
+ */
+final class LeafRecordCache<K extends VirtualKey, V extends VirtualValue> {
+
+    /** Number of lock stripes used to synchronize cache updates */
+    private static final int LOCK_STRIPES = 64;
+
+    /**
+     * Immutable cache entry. Value may be null, which means only the key to path mapping is known for
+     * the key. Path may be {@link com.swirlds.virtualmap.datasource.VirtualDataSource#INVALID_PATH}, it
+     * indicates the key is known to be absent in the data source.
+     *
+     * @param key leaf key
+     * @param path leaf path
+     * @param value leaf value, may be null
+     */
+    record Entry<K, V>(@NonNull K key, long path, @Nullable V value) {}
+
+    /** Number of slots in every set */
+    private final int ways;
+
+    /** Number of sets minus one, used to get a set index from a key hash code */
+    private final int setMask;
+
+    /** Cache slots, set N occupies slots from N * ways to (N + 1) * ways - 1 */
+    private final AtomicReferenceArray<Entry<K, V>> slots;
+
+    /**
+     * CLOCK reference bits, one per slot. Reads and writes are not synchronized, as a lost update
+     * results in a slightly suboptimal eviction choice at worst.
+     */
+    private final boolean[] referenced;
+
+    /** CLOCK hands, one per set. Only accessed under the corresponding lock stripe */
+    private final int[] hands;
+
+    /** Lock stripes */
+    private final Object[] locks;
+
+    /**
+     * Creates a new cache.
+     *
+     * @param capacity total number of cache entries, will be rounded down to a power of two multiple
+     *                 of {@code ways}
+     * @param ways number of slots in every set
+     */
+    LeafRecordCache(final int capacity, final int ways) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Cache capacity must be positive");
+        }
+        if (ways <= 0) {
+            throw new IllegalArgumentException("Cache ways must be positive");
+        }
+        this.ways = Math.min(ways, capacity);
+        final int numSets = Integer.highestOneBit(Math.max(1, capacity / this.ways));
+        setMask = numSets - 1;
+        slots = new AtomicReferenceArray<>(numSets * this.ways);
+        referenced = new boolean[numSets * this.ways];
+        hands = new int[numSets];
+        locks = new Object[Math.min(LOCK_STRIPES, numSets)];
+        for (int i = 0; i < locks.length; i++) {
+            locks[i] = new Object();
+        }
+    }
+
+    /**
+     * Total number of entries this cache can hold.
+     */
+    int capacity() {
+        return slots.length();
+    }
+
+    /**
+     * Looks up a cache entry for the given key.
+     *
+     * @param key the key to look up
+     * @return the cache entry, or null if the key is not cached
+     */
+    @Nullable
+    Entry<K, V> get(@NonNull final K key) {
+        final int first = setIndex(key) * ways;
+        for (int i = first; i < first + ways; i++) {
+            final Entry<K, V> entry = slots.get(i);
+            if ((entry != null) && key.equals(entry.key())) {
+                referenced[i] = true;
+                return entry;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Puts a new entry to the cache. If the key is already cached, the old entry is replaced.
+     * Otherwise, the entry is put to an empty slot in the key's set, or, if there are no empty
+     * slots, a victim entry is evicted.
+     *
+     * @param key entry key
+     * @param path entry path, may be INVALID_PATH
+     * @param value entry value, may be null
+     * @return true if an entry for a different key was evicted from the cache, false otherwise
+     */
+    boolean put(@NonNull final K key, final long path, @Nullable final V value) {
+        requireNonNull(key);
+        final Entry<K, V> newEntry = new Entry<>(key, path, value);
+        final int set = setIndex(key);
+        final int first = set * ways;
+        synchronized (locks[set % locks.length]) {
+            int empty = -1;
+            for (int i = first; i < first + ways; i++) {
+                final Entry<K, V> entry = slots.get(i);
+                if (entry == null) {
+                    if (empty < 0) {
+                        empty = i;
+                    }
+                } else if (key.equals(entry.key())) {
+                    slots.set(i, newEntry);
+                    return false;
+                }
+            }
+            if (empty >= 0) {
+                referenced[empty] = false;
+                slots.set(empty, newEntry);
+                return false;
+            }
+            // The set is full, run the clock. It makes at most two rounds, as all reference
+            // bits are cleared during the first one
+            int hand = hands[set];
+            while (referenced[first + hand]) {
+                referenced[first + hand] = false;
+                hand = (hand + 1) % ways;
+            }
+            slots.set(first + hand, newEntry);
+            hands[set] = (hand + 1) % ways;
+            return true;
+        }
+    }
+
+    /**
+     * Removes the given key from the cache, if cached.
+     *
+     * @param key the key to remove
+     */
+    void invalidate(@NonNull final K key) {
+        final int set = setIndex(key);
+        final int first = set * ways;
+        synchronized (locks[set % locks.length]) {
+            for (int i = first; i < first + ways; i++) {
+                final Entry<K, V> entry = slots.get(i);
+                if ((entry != null) && key.equals(entry.key())) {
+                    slots.set(i, null);
+                    referenced[i] = false;
+                    return;
+                }
+            }
+        }
+    }
+
+    private int setIndex(final K key) {
+        final int h = key.hashCode();
+        // Spread higher bits to lower, as only lower bits are used for set index
+        return (h ^ (h >>> 16)) & setMask;
+    }
+}
@@ -421,7 +421,9 @@ public final class MerkleDb {
         tableConfigs.set(tableId, new TableMetadata(tableId, label, tableConfig));
         try {
             dataSource.pauseCompaction();
-            dataSource.snapshot(getTableDir(label, tableId));
+            // Snapshots to other databases, e.g. to saved states, are never modified, so they can be reused
+            // by the next snapshot of the same data source. Copies in this database are live data sources
+            dataSource.snapshot(getTableDir(label, tableId), dataSource.getDatabase() != this);
         } finally {
             dataSource.resumeCompaction();
         }
@@ -29,15 +29,19 @@ import edu.umd.cs.findbugs.annotations.NonNull;
 import edu.umd.cs.findbugs.annotations.Nullable;
 import java.io.IOException;
 import java.nio.channels.ClosedByInterruptException;
+import java.util.Comparator;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
-import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.PriorityBlockingQueue;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
@@ -48,6 +52,10 @@ import org.apache.logging.log4j.Logger;
  * and keep them disabled until they are explicitly enabled again.
  * The compaction tasks are executed in a background thread pool.
  * The number of threads in the pool is defined by {@link MerkleDbConfig#compactionThreads()} property.
+ * <p>
+ * The thread pool is shared by all MerkleDb tables. When there are more pending compaction tasks than
+ * threads, tasks for stores with higher estimated garbage ratios (see {@link DataFileCompactor#getGarbageRatioEstimate()})
+ * are run first. Tasks with equal priorities are run in the order they were submitted.
  *
  */
 class MerkleDbCompactionCoordinator {
@@ -65,13 +73,24 @@ class MerkleDbCompactionCoordinator {
      */
     private static final ExecutorService compactionExecutor;
 
+    /**
+     * Order of pending compaction tasks in the executor queue.
+     */
+    private static final Comparator<Runnable> COMPACTION_ORDER =
+            (r1, r2) -> ((PrioritizedCompaction) r1).compareTo((PrioritizedCompaction) r2);
+
+    /**
+     * Compaction task counter, to run tasks with equal priorities in the order they were submitted.
+     */
+    private static final AtomicLong compactionSequence = new AtomicLong(0);
+
     static {
         compactionExecutor = new ThreadPoolExecutor(
                 config.compactionThreads(),
                 config.compactionThreads(),
                 50L,
                 TimeUnit.MILLISECONDS,
-                new LinkedBlockingQueue<>(),
+                new PriorityBlockingQueue<>(11, COMPACTION_ORDER),
                 new ThreadConfiguration(getStaticThreadManager())
                         .setThreadGroup(new ThreadGroup("Compaction"))
                         .setComponent(MERKLEDB_COMPONENT)
@@ -91,6 +110,12 @@ class MerkleDbCompactionCoordinator {
     private final CompactionTask hashesStoreDiskTask;
     private final CompactionTask pathToKeyValueTask;
 
+    /** The number of compaction tasks started by this coordinator */
+    private final AtomicLong compactionsStarted = new AtomicLong(0);
+
+    /** The number of compaction tasks running now */
+    private final AtomicInteger compactionsInProgress = new AtomicInteger(0);
+
     @Nullable
     private final DataFileCompactor objectKeyToPath;
 
@@ -229,7 +254,12 @@ class MerkleDbCompactionCoordinator {
                 }
             }
 
-            compactionFuturesByName.put(task.id, executor.submit(task));
+            // Tasks are passed to execute() rather than submit(), as the queue requires all tasks to be
+            // prioritized compactions
+            final PrioritizedCompaction future = new PrioritizedCompaction(
+                    task, task.compactor().getGarbageRatioEstimate(), compactionSequence.getAndIncrement());
+            compactionFuturesByName.put(task.id, future);
+            executor.execute(future);
         }
     }
 
@@ -244,6 +274,59 @@ class MerkleDbCompactionCoordinator {
         return compactionEnabled.get();
     }
 
+    /**
+     * Gets the number of compaction tasks started so far. Every compaction may update indices of the data source, so
+     * if this number is the same before and after some operation, and no compactions were in progress, indices were
+     * not changed by compactions in the meantime.
+     *
+     * @return the number of started compaction tasks
+     */
+    long getCompactionsStarted() {
+        return compactionsStarted.get();
+    }
+
+    /**
+     * @return whether any compaction task is running now, including paused ones
+     */
+    boolean isCompactionInProgress() {
+        return compactionsInProgress.get() > 0;
+    }
+
+    /**
+     * A compaction task future, which is ordered in the compaction executor queue by the estimated
+     * garbage ratio of the store to compact, in descending order, and then by submission order.
+     */
+    private final class PrioritizedCompaction extends FutureTask<Boolean>
+            implements Comparable<PrioritizedCompaction> {
+
+        private final double garbageRatio;
+        private final long sequence;
+
+        PrioritizedCompaction(
+                @NonNull final CompactionTask task, final double garbageRatio, final long sequence) {
+            super(task);
+            this.garbageRatio = garbageRatio;
+            this.sequence = sequence;
+        }
+
+        @Override
+        public void run() {
+            compactionsStarted.incrementAndGet();
+            compactionsInProgress.incrementAndGet();
+            try {
+                super.run();
+            } finally {
+                compactionsInProgress.decrementAndGet();
+            }
+        }
+
+        @Override
+        public int compareTo(@NonNull final PrioritizedCompaction other) {
+            final int byGarbage = Double.compare(other.garbageRatio, garbageRatio);
+            return (byGarbage != 0) ? byGarbage : Long.compare(sequence, other.sequence);
+        }
+    }
+
     /**
      * A helper class representing a task to run compaction for a specific storage type.
      */
@@ -17,11 +17,15 @@
 package com.swirlds.merkledb;
 
 import static com.hedera.pbj.runtime.ProtoParserTools.TAG_FIELD_OFFSET;
+import static com.swirlds.common.io.utility.FileUtils.deleteDirectory;
+import static com.swirlds.common.io.utility.FileUtils.hardLinkTree;
+import static com.swirlds.common.io.utility.FileUtils.resolveRenamed;
 import static com.swirlds.common.threading.manager.AdHocThreadManager.getStaticThreadManager;
 import static com.swirlds.logging.legacy.LogMarker.EXCEPTION;
 import static com.swirlds.logging.legacy.LogMarker.MERKLE_DB;
 import static com.swirlds.merkledb.KeyRange.INVALID_KEY_RANGE;
 import static com.swirlds.merkledb.MerkleDb.MERKLEDB_COMPONENT;
+import static com.swirlds.merkledb.files.DataFileCommon.NON_EXISTENT_DATA_LOCATION;
 import static java.util.Objects.requireNonNull;
 
 import com.hedera.pbj.runtime.FieldDefinition;
@@ -37,13 +41,17 @@ import com.swirlds.common.crypto.DigestType;
 import com.swirlds.common.crypto.Hash;
 import com.swirlds.common.io.streams.SerializableDataOutputStream;
 import com.swirlds.common.threading.framework.config.ThreadConfiguration;
+import com.swirlds.common.threading.interrupt.InterruptableConsumer;
 import com.swirlds.merkledb.collections.HashListByteBuffer;
 import com.swirlds.merkledb.collections.LongList;
 import com.swirlds.merkledb.collections.LongListDisk;
 import com.swirlds.merkledb.collections.LongListOffHeap;
 import com.swirlds.merkledb.collections.OffHeapUser;
+import com.swirlds.merkledb.files.CompactionThrottle;
+import com.swirlds.merkledb.files.DataFileCollection;
 import com.swirlds.merkledb.files.DataFileCollection.LoadedDataCallback;
 import com.swirlds.merkledb.files.DataFileCompactor;
+import com.swirlds.merkledb.files.DataFileIterator;
 import com.swirlds.merkledb.files.DataFileReader;
 import com.swirlds.merkledb.files.MemoryIndexDiskKeyValueStore;
 import com.swirlds.merkledb.files.VirtualHashRecordSerializer;
@@ -67,15 +75,22 @@ import java.nio.ByteBuffer;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
 import java.util.Comparator;
+import java.util.List;
 import java.util.Objects;
 import java.util.concurrent.Callable;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongPredicate;
+import java.util.function.Predicate;
 import java.util.stream.Stream;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -159,20 +174,16 @@ public final class MerkleDbDataSource<K extends VirtualKey, V extends VirtualVal
     /** Mixed disk and off-heap memory store for path to leaf key and value */
     private final MemoryIndexDiskKeyValueStore<VirtualLeafRecord<K, V>> pathToKeyValue;
 
-    /**
-     * Cache size for reading virtual leaf records. Initialized in data source creation time from
-     * MerkleDb settings. If the value is zero, leaf records cache isn't used.
-     */
-    private final int leafRecordCacheSize;
+    /** data item serializer for pathToKeyValue store */
+    private final VirtualLeafRecordSerializer<K, V> leafRecordSerializer;
 
     /**
-     * Virtual leaf records cache. It's a simple array indexed by leaf keys % cache size. Cache
-     * eviction is not needed, as array size is fixed and can be configured in MerkleDb settings.
-     * Index conflicts are resolved in a very straightforward way: whatever entry is read last, it's
-     * put to the cache.
+     * Virtual leaf records cache. It's a set-associative cache, see {@link LeafRecordCache} for
+     * details. Cache size and associativity are initialized in data source creation time from
+     * MerkleDb settings. If the cache size is zero, leaf records cache isn't used, and this field
+     * is null.
      */
-    @SuppressWarnings("rawtypes")
-    private final VirtualLeafRecord[] leafRecordCache;
+    private final LeafRecordCache<K, V> leafRecordCache;
 
     /** Thread pool storing internal records */
     private final ExecutorService storeInternalExecutor;
@@ -186,6 +197,21 @@ public final class MerkleDbDataSource<K extends VirtualKey, V extends VirtualVal
     /** Flag for if a snapshot is in progress */
     private final AtomicBoolean snapshotInProgress = new AtomicBoolean(false);
 
+    /** Flag for if any task of the current snapshot failed */
+    private final AtomicBoolean snapshotTaskFailed = new AtomicBoolean(false);
+
+    /**
+     * Flush counter, incremented when every flush is started and finished. If the counter is the same before and
+     * after some operation, no data was flushed to this data source in the meantime
+     */
+    private final AtomicLong flushCount = new AtomicLong(0);
+
+    /**
+     * The last snapshot of this data source to another database, which can be reused by the next snapshot if the
+     * data source is not changed in the meantime, or null if there is no such snapshot
+     */
+    private volatile SnapshotBaseline lastSnapshot = null;
+
     /** The range of valid leaf paths for data currently stored by this data source. */
     private volatile KeyRange validLeafPathRange = INVALID_KEY_RANGE;
 
@@ -260,12 +286,14 @@ public final class MerkleDbDataSource<K extends VirtualKey, V extends VirtualVal
         saveMetadata(dbPaths);
 
         // data item serializer for pathToKeyValue store
-        final VirtualLeafRecordSerializer<K, V> leafRecordSerializer = new VirtualLeafRecordSerializer<>(tableConfig);
+        leafRecordSerializer = new VirtualLeafRecordSerializer<>(tableConfig);
 
         // create path to disk location index
         final boolean forceIndexRebuilding = database.getConfig().indexRebuildingEnforced();
+        final boolean memoryMappedDiskIndices = database.getConfig().useMemoryMappedDiskIndices();
         if (tableConfig.isPreferDiskBasedIndices()) {
-            pathToDiskLocationInternalNodes = new LongListDisk(dbPaths.pathToDiskLocationInternalNodesFile);
+            pathToDiskLocationInternalNodes =
+                    new LongListDisk(dbPaths.pathToDiskLocationInternalNodesFile, memoryMappedDiskIndices);
         } else if (Files.exists(dbPaths.pathToDiskLocationInternalNodesFile) && !forceIndexRebuilding) {
             pathToDiskLocationInternalNodes = new LongListOffHeap(dbPaths.pathToDiskLocationInternalNodesFile);
         } else {
@@ -273,7 +301,8 @@ public final class MerkleDbDataSource<K extends VirtualKey, V extends VirtualVal
         }
         // path to disk location index, leaf nodes
         if (tableConfig.isPreferDiskBasedIndices()) {
-            pathToDiskLocationLeafNodes = new LongListDisk(dbPaths.pathToDiskLocationLeafNodesFile);
+            pathToDiskLocationLeafNodes =
+                    new LongListDisk(dbPaths.pathToDiskLocationLeafNodesFile, memoryMappedDiskIndices);
         } else if (Files.exists(dbPaths.pathToDiskLocationLeafNodesFile) && !forceIndexRebuilding) {
             pathToDiskLocationLeafNodes = new LongListOffHeap(dbPaths.pathToDiskLocationLeafNodesFile);
         } else {
@@ -404,8 +433,10 @@ public final class MerkleDbDataSource<K extends VirtualKey, V extends VirtualVal
                 updateTotalStatsFunction);
 
         // Leaf records cache
-        leafRecordCacheSize = database.getConfig().leafRecordCacheSize();
-        leafRecordCache = (leafRecordCacheSize > 0) ? new VirtualLeafRecord[leafRecordCacheSize] : null;
+        final int leafRecordCacheSize = database.getConfig().leafRecordCacheSize();
+        leafRecordCache = (leafRecordCacheSize > 0)
+                ? new LeafRecordCache<>(leafRecordCacheSize, database.getConfig().leafRecordCacheWays())
+                : null;
 
         // Update count of open databases
         COUNT_OF_OPEN_DATABASES.increment();
@@ -503,6 +534,9 @@ public final class MerkleDbDataSource<K extends VirtualKey, V extends VirtualVal
             final Stream<VirtualLeafRecord<K, V>> leafRecordsToAddOrUpdate,
             final Stream<VirtualLeafRecord<K, V>> leafRecordsToDelete)
             throws IOException {
+        // Let background compactions know there is a flush in progress, so they don't compete for disk I/O
+        CompactionThrottle.getInstance().flushStarted();
+        flushCount.incrementAndGet();
         try {
             validLeafPathRange = new KeyRange(firstLeafPath, lastLeafPath);
             final CountDownLatch countDownLatch = new CountDownLatch(lastLeafPath > 0 ? 1 : 0);
@@ -539,6 +573,8 @@ public final class MerkleDbDataSource<K extends VirtualKey, V extends VirtualVal
                 Thread.currentThread().interrupt();
             }
         } finally {
+            flushCount.incrementAndGet();
+            CompactionThrottle.getInstance().flushFinished();
             // Report total size on disk as sum of all store files. All metadata and other helper files
             // are considered small enough to be ignored. If/when we decide to use on-disk long lists
             // for indices, they should be added here
@@ -561,29 +597,17 @@ public final class MerkleDbDataSource<K extends VirtualKey, V extends VirtualVal
         requireNonNull(key);
 
         final long path;
-        VirtualLeafRecord<K, V> cached = null;
-        int cacheIndex = -1;
-        if (leafRecordCache != null) {
-            cacheIndex = Math.abs(key.hashCode() % leafRecordCacheSize);
-            // No synchronization is needed here. Java guarantees (JLS 17.7) that reference writes
-            // are atomic, so we will never get corrupted objects from the array. The object may
-            // be overwritten in the cache in a different thread in parallel, but it isn't a
-            // problem as cached entry key is checked below anyway
-            cached = leafRecordCache[cacheIndex];
-        }
-        // If an entry is found in the cache, and entry key is the one requested
-        if ((cached != null) && key.equals(cached.getKey())) {
+        final LeafRecordCache.Entry<K, V> cached = getCachedLeafRecord(key);
+        if (cached != null) {
             // Some cache entries contain just key and path, but no value. If the value is there,
-            // just return the cached entry. If not, at least make use of the path
-            if (cached.getValue() != null) {
-                // A copy is returned to ensure cached value immutability.
-                return cached.copy();
+            // just return a new record for the cached entry. If not, at least make use of the path
+            if (cached.value() != null) {
+                // Cached values are never shared with callers to ensure cache entries immutability
+                return new VirtualLeafRecord<>(cached.path(), key, (V) cached.value().copy());
             }
             // Note that the path may be INVALID_PATH here, this is perfectly legal
-            path = cached.getPath();
+            path = cached.path();
         } else {
-            // Cache miss
-            cached = null;
             statisticsUpdater.countLeafKeyReads();
             path = isLongKeyMode
                     ? longKeyToPath.get(((VirtualLongKey) key).getKeyAsLong(), INVALID_PATH)
@@ -593,8 +617,8 @@ public final class MerkleDbDataSource<K extends VirtualKey, V extends VirtualVal
         // If the key didn't map to anything, we just return null
         if (path == INVALID_PATH) {
             // Cache the result if not already cached
-            if (leafRecordCache != null && cached == null) {
-                leafRecordCache[cacheIndex] = new VirtualLeafRecord<K, V>(path, key, null);
+            if (cached == null) {
+                putLeafRecordToCache(key, path, null);
             }
             return null;
         }
@@ -607,8 +631,18 @@ public final class MerkleDbDataSource<K extends VirtualKey, V extends VirtualVal
         }
 
         statisticsUpdater.countLeafReads();
-        // Go ahead and lookup the value.
-        VirtualLeafRecord<K, V> leafRecord = pathToKeyValue.get(path);
+        // Go ahead and lookup the value. In most cases, the stored key is the same as the given
+        // key, so there is no need to deserialize it. Compare the keys in serialized form and only
+        // deserialize the value
+        VirtualLeafRecord<K, V> leafRecord = null;
+        final Object leafRecordBytes = pathToKeyValue.getBytes(path);
+        if (leafRecordBytes instanceof BufferedData bufferedDataBytes) {
+            leafRecord = leafRecordSerializer.deserializeIfKeyMatches(bufferedDataBytes, key);
+        }
+        // Legacy JDB data files, or a different key is stored at the path
+        if (leafRecord == null) {
+            leafRecord = pathToKeyValue.get(path);
+        }
 
         // FUTURE WORK: once the reconnect key leak bug is fixed, this block should be removed
         if (!leafRecord.getKey().equals(key)) {
@@ -624,9 +658,9 @@ public final class MerkleDbDataSource<K extends VirtualKey, V extends VirtualVal
         }
 
         if (leafRecordCache != null) {
-            // No synchronization is needed here, see the comment above
-            // A copy is returned to ensure cached value immutability.
-            leafRecordCache[cacheIndex] = leafRecord;
+            // The loaded value is put to the cache, and a copy is returned to ensure cached
+            // value immutability
+            putLeafRecordToCache(key, path, leafRecord.getValue());
             leafRecord = leafRecord.copy();
         }
 
@@ -650,6 +684,114 @@ public final class MerkleDbDataSource<K extends VirtualKey, V extends VirtualVal
         return pathToKeyValue.get(path);
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * <p>Leaf data files are read sequentially, every file by a single thread. A leaf record found in a
+     * file is only passed to the path filter if the leaf path index points to this very record, so stale
+     * records left in the files after updates are skipped without deserializing their keys or values.
+     * Compaction is paused until the scan is complete, so data files aren't deleted while being read. Since
+     * snapshots pause compaction too, they wait until the scan is complete, so this method is intended for
+     * state dumps and migrations rather than for live nodes. Data files that are still being written, e.g.
+     * by a flush, are not scanned.
+     */
+    @Override
+    public void scanLeafRecords(
+            final LongPredicate pathFilter,
+            final Predicate<K> keyFilter,
+            final InterruptableConsumer<VirtualLeafRecord<K, V>> consumer,
+            final int threadCount)
+            throws IOException, InterruptedException {
+        requireNonNull(pathFilter);
+        requireNonNull(consumer);
+        if (threadCount <= 0) {
+            throw new IllegalArgumentException("Thread count must be positive");
+        }
+        final KeyRange leafPathRange = validLeafPathRange;
+        if (leafPathRange.equals(INVALID_KEY_RANGE)) {
+            return;
+        }
+        pauseCompaction();
+        final ExecutorService scanExecutor = Executors.newFixedThreadPool(
+                threadCount,
+                new ThreadConfiguration(getStaticThreadManager())
+                        .setComponent(MERKLEDB_COMPONENT)
+                        .setThreadName("Scan Leaves")
+                        .buildFactory());
+        try {
+            // Files must be listed after compaction is paused, otherwise some of them may be deleted
+            final List<Future<Void>> results = new ArrayList<>();
+            for (final DataFileReader<VirtualLeafRecord<K, V>> reader :
+                    pathToKeyValue.getFileCollection().getAllCompletedFiles()) {
+                results.add(scanExecutor.submit(() -> {
+                    scanLeafFile(reader, leafPathRange, pathFilter, keyFilter, consumer);
+                    return null;
+                }));
+            }
+            for (final Future<Void> result : results) {
+                try {
+                    result.get();
+                } catch (final ExecutionException e) {
+                    final Throwable cause = e.getCause();
+                    if (cause instanceof IOException ioException) {
+                        throw ioException;
+                    } else if (cause instanceof InterruptedException interruptedException) {
+                        throw interruptedException;
+                    } else if (cause instanceof RuntimeException runtimeException) {
+                        throw runtimeException;
+                    } else if (cause instanceof Error error) {
+                        throw error;
+                    }
+                    throw new IOException("Failed to scan leaf records in " + tableName, cause);
+                }
+            }
+        } finally {
+            scanExecutor.shutdownNow();
+            resumeCompaction();
+        }
+    }
+
+    /**
+     * Scans a single leaf data file, see {@link #scanLeafRecords(LongPredicate, Predicate, InterruptableConsumer,
+     * int)} for details.
+     */
+    private void scanLeafFile(
+            final DataFileReader<VirtualLeafRecord<K, V>> reader,
+            final KeyRange leafPathRange,
+            final LongPredicate pathFilter,
+            final Predicate<K> keyFilter,
+            final InterruptableConsumer<VirtualLeafRecord<K, V>> consumer)
+            throws IOException, InterruptedException {
+        try (final DataFileIterator<VirtualLeafRecord<K, V>> iterator = reader.createIterator()) {
+            while (iterator.next()) {
+                if (Thread.interrupted()) {
+                    throw new InterruptedException();
+                }
+                final long dataLocation = iterator.getDataItemDataLocation();
+                // Only the record the path index points to is current, all other records are stale
+                final LongPredicate currentPathFilter = path -> leafPathRange.withinRange(path)
+                        && (pathToDiskLocationLeafNodes.get(path, NON_EXISTENT_DATA_LOCATION) == dataLocation)
+                        && pathFilter.test(path);
+                final VirtualLeafRecord<K, V> leafRecord;
+                final BufferedData dataItemBytes = iterator.getDataItemBytes();
+                if (dataItemBytes != null) {
+                    leafRecord =
+                            leafRecordSerializer.deserializeIfAccepted(dataItemBytes, currentPathFilter, keyFilter);
+                } else {
+                    // Legacy JDB data files, no way to read the path without deserializing the record
+                    final VirtualLeafRecord<K, V> loaded = iterator.getDataItemData();
+                    leafRecord = currentPathFilter.test(loaded.getPath())
+                                    && ((keyFilter == null) || keyFilter.test(loaded.getKey()))
+                            ? loaded
+                            : null;
+                }
+                if (leafRecord != null) {
+                    consumer.accept(leafRecord);
+                }
+            }
+        }
+    }
+
     /**
      * Find the path of the given key
      *
@@ -663,15 +805,10 @@ public final class MerkleDbDataSource<K extends VirtualKey, V extends VirtualVal
         requireNonNull(key);
 
         // Check the cache first
-        int cacheIndex = -1;
-        if (leafRecordCache != null) {
-            cacheIndex = Math.abs(key.hashCode() % leafRecordCacheSize);
-            // No synchronization is needed here. See the comment in loadLeafRecord(key) above
-            final VirtualLeafRecord<K, V> cached = leafRecordCache[cacheIndex];
-            if (cached != null && key.equals(cached.getKey())) {
-                // Cached path may be a valid path or INVALID_PATH, both are legal here
-                return cached.getPath();
-            }
+        final LeafRecordCache.Entry<K, V> cached = getCachedLeafRecord(key);
+        if (cached != null) {
+            // Cached path may be a valid path or INVALID_PATH, both are legal here
+            return cached.path();
         }
 
         statisticsUpdater.countLeafKeyReads();
@@ -679,10 +816,8 @@ public final class MerkleDbDataSource<K extends VirtualKey, V extends VirtualVal
                 ? longKeyToPath.get(((VirtualLongKey) key).getKeyAsLong(), INVALID_PATH)
                 : objectKeyToPath.get(key, INVALID_PATH);
 
-        if (leafRecordCache != null) {
-            // Path may be INVALID_PATH here. Still needs to be cached (negative result)
-            leafRecordCache[cacheIndex] = new VirtualLeafRecord<K, V>(path, key, null);
-        }
+        // Path may be INVALID_PATH here. Still needs to be cached (negative result)
+        putLeafRecordToCache(key, path, null);
 
         return path;
     }
@@ -817,9 +952,33 @@ public final class MerkleDbDataSource<K extends VirtualKey, V extends VirtualVal
      *     directory
      * @throws IllegalStateException If there is already a snapshot happening
      */
-    @SuppressWarnings("ConstantConditions")
     @Override
     public void snapshot(final Path snapshotDirectory) throws IOException, IllegalStateException {
+        snapshot(snapshotDirectory, false);
+    }
+
+    /**
+     * Same as {@link #snapshot(Path)}, but may reuse the previous snapshot of this data source. If
+     * {@code reuseUnchanged} is true, and this data source hasn't been flushed or compacted since
+     * the previous snapshot, which was also made with this flag set, all files of the previous
+     * snapshot are hard linked to the new snapshot directory rather than written again. Snapshot
+     * files are never modified, so both snapshots stay self-contained, and either of them can be
+     * deleted independently of the other.
+     *
+     * <p>This flag must only be set when snapshots are made to directories, which aren't used by
+     * live data sources, e.g. when a database is snapshotted to a saved state.
+     *
+     * @param snapshotDirectory Directory to put snapshot into, it will be created if it doesn't
+     *     exist.
+     * @param reuseUnchanged whether the previous snapshot may be reused, and the new snapshot may
+     *     be reused by the next one
+     * @throws IOException If there was a problem writing the current database out to the given
+     *     directory
+     * @throws IllegalStateException If there is already a snapshot happening
+     */
+    @SuppressWarnings("ConstantConditions")
+    void snapshot(final Path snapshotDirectory, final boolean reuseUnchanged)
+            throws IOException, IllegalStateException {
         // check if another snapshot was running
         final boolean aSnapshotWasInProgress = snapshotInProgress.getAndSet(true);
         if (aSnapshotWasInProgress) {
@@ -828,6 +987,30 @@ public final class MerkleDbDataSource<K extends VirtualKey, V extends VirtualVal
         try {
             // start timing snapshot
             final long START = System.currentTimeMillis();
+            snapshotTaskFailed.set(false);
+            final boolean reuseEnabled = reuseUnchanged && database.getConfig().snapshotReuseUnchangedTables();
+            // read compaction counters first, so any compaction started after this point is detected below
+            final long compactionsBefore = compactionCoordinator.getCompactionsStarted();
+            final boolean compactionBefore = compactionCoordinator.isCompactionInProgress();
+            final long flushesBefore = flushCount.get();
+            final SnapshotBaseline baseline = lastSnapshot;
+            // Snapshots to saved states are written to temporary directories, which are then renamed
+            final Path baselineDirectory = (baseline != null) ? resolveRenamed(baseline.directory()) : null;
+            if (reuseEnabled
+                    && (baseline != null)
+                    && !compactionBefore
+                    && (baseline.flushCount() == flushesBefore)
+                    && (baseline.compactionsStarted() == compactionsBefore)
+                    && reuseSnapshot(baselineDirectory, snapshotDirectory)) {
+                lastSnapshot = new SnapshotBaseline(snapshotDirectory, flushesBefore, compactionsBefore);
+                logger.info(
+                        MERKLE_DB.getMarker(),
+                        "[{}] Snapshot reused from {} in {} seconds",
+                        tableName,
+                        baselineDirectory,
+                        (System.currentTimeMillis() - START) * UnitConstants.MILLISECONDS_TO_SECONDS);
+                return;
+            }
             // create snapshot dir if it doesn't exist
             Files.createDirectories(snapshotDirectory);
             final MerkleDbPaths snapshotDbPaths = new MerkleDbPaths(snapshotDirectory);
@@ -876,7 +1059,17 @@ public final class MerkleDbDataSource<K extends VirtualKey, V extends VirtualVal
                         tableName,
                         e);
                 Thread.currentThread().interrupt();
+                snapshotTaskFailed.set(true);
             }
+            // The new snapshot can only be reused later, if it's complete, and no data was changed while it was
+            // being written
+            final boolean unchanged = (flushCount.get() == flushesBefore)
+                    && (compactionCoordinator.getCompactionsStarted() == compactionsBefore)
+                    && !compactionBefore
+                    && !compactionCoordinator.isCompactionInProgress();
+            lastSnapshot = (reuseEnabled && unchanged && !snapshotTaskFailed.get())
+                    ? new SnapshotBaseline(snapshotDirectory, flushesBefore, compactionsBefore)
+                    : null;
             logger.info(
                     MERKLE_DB.getMarker(),
                     "[{}] Snapshot all finished in {} seconds",
@@ -887,6 +1080,96 @@ public final class MerkleDbDataSource<K extends VirtualKey, V extends VirtualVal
         }
     }
 
+    /**
+     * Creates a snapshot of this data source by hard linking all files of the previous snapshot. Metadata
+     * files are written again rather than linked, as they are opened for writing in place.
+     *
+     * @param baselineDirectory the previous snapshot directory
+     * @param snapshotDirectory the new snapshot directory
+     * @return true if the snapshot is created, false if the previous snapshot can't be reused and the
+     *     snapshot needs to be written in full
+     */
+    private boolean reuseSnapshot(final Path baselineDirectory, final Path snapshotDirectory) {
+        if (!Files.isDirectory(baselineDirectory)) {
+            return false;
+        }
+        try {
+            if (Files.exists(snapshotDirectory)) {
+                // An empty directory may be created by the caller, anything else can't be overwritten
+                try (final Stream<Path> files = Files.list(snapshotDirectory)) {
+                    if (files.findAny().isPresent()) {
+                        return false;
+                    }
+                }
+                Files.delete(snapshotDirectory);
+            }
+            hardLinkTree(baselineDirectory, snapshotDirectory);
+            final MerkleDbPaths snapshotDbPaths = new MerkleDbPaths(snapshotDirectory);
+            if (!isCompleteSnapshot(snapshotDbPaths)) {
+                throw new IOException("Snapshot " + baselineDirectory + " is incomplete");
+            }
+            Files.deleteIfExists(snapshotDbPaths.metadataFile);
+            Files.deleteIfExists(snapshotDbPaths.metadataFileOld);
+            saveMetadata(snapshotDbPaths);
+            return true;
+        } catch (final IOException | UncheckedIOException e) {
+            logger.warn(
+                    MERKLE_DB.getMarker(),
+                    "[{}] Failed to reuse snapshot {}, writing a full snapshot",
+                    tableName,
+                    baselineDirectory,
+                    e);
+            try {
+                deleteDirectory(snapshotDirectory);
+            } catch (final IOException | UncheckedIOException ex) {
+                logger.error(EXCEPTION.getMarker(), "[{}] Failed to delete {}", tableName, snapshotDirectory, ex);
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Checks that all index and store files of this data source are present in a snapshot. For data file
+     * collections, the snapshot must contain every data file currently in use by this data source, as the
+     * previous snapshot may be missing some of them, for example, if it was being deleted or pruned while
+     * hard linked.
+     *
+     * @param snapshotDbPaths the snapshot paths
+     * @return true if all files are present, false otherwise
+     */
+    private boolean isCompleteSnapshot(final MerkleDbPaths snapshotDbPaths) {
+        return Files.exists(snapshotDbPaths.pathToDiskLocationInternalNodesFile)
+                && Files.exists(snapshotDbPaths.pathToDiskLocationLeafNodesFile)
+                && ((hashStoreRam == null) || Files.exists(snapshotDbPaths.hashStoreRamFile))
+                && ((hashStoreDisk == null)
+                        || containsAllDataFiles(
+                                snapshotDbPaths.hashStoreDiskDirectory, hashStoreDisk.getFileCollection()))
+                && ((longKeyToPath == null) || Files.exists(snapshotDbPaths.longKeyToPathFile))
+                && ((objectKeyToPath == null)
+                        || containsAllDataFiles(
+                                snapshotDbPaths.objectKeyToPathDirectory, objectKeyToPath.getFileCollection()))
+                && containsAllDataFiles(snapshotDbPaths.pathToKeyValueDirectory, pathToKeyValue.getFileCollection());
+    }
+
+    /**
+     * Checks that a snapshot directory contains all completed data files of a file collection.
+     *
+     * @param directory the snapshot directory of the file collection
+     * @param fileCollection the file collection
+     * @return true if all data files are present in the directory, false otherwise
+     */
+    private static boolean containsAllDataFiles(final Path directory, final DataFileCollection<?> fileCollection) {
+        if (!Files.isDirectory(directory)) {
+            return false;
+        }
+        for (final DataFileReader<?> fileReader : fileCollection.getAllCompletedFiles()) {
+            if (!Files.exists(directory.resolve(fileReader.getPath().getFileName()))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     @Override
     public long estimatedSize(final long dirtyInternals, final long dirtyLeaves) {
         // Deleted leaves count is ignored, as deleted leaves aren't flushed to data source
@@ -958,6 +1241,16 @@ public final class MerkleDbDataSource<K extends VirtualKey, V extends VirtualVal
         return tableConfig;
     }
 
+    /**
+     * A snapshot of this data source, and the data source change counters at the time the
+     * snapshot was started.
+     *
+     * @param directory the snapshot directory
+     * @param flushCount the number of flush starts and finishes
+     * @param compactionsStarted the number of started compactions
+     */
+    private record SnapshotBaseline(Path directory, long flushCount, long compactionsStarted) {}
+
     // For testing purpose
     Path getStorageDir() {
         return dbPaths.storageDir;
@@ -1122,6 +1415,10 @@ public final class MerkleDbDataSource<K extends VirtualKey, V extends VirtualVal
                             (System.currentTimeMillis() - START) * UnitConstants.MILLISECONDS_TO_SECONDS);
                     return true; // turns this into a callable, so it can throw checked
                     // exceptions
+                } catch (final Exception e) {
+                    snapshotTaskFailed.set(true);
+                    logger.error(EXCEPTION.getMarker(), "[{}] Snapshot {} failed", tableName, taskName, e);
+                    throw e;
                 } finally {
                     countDownLatch.countDown();
                 }
@@ -1245,28 +1542,54 @@ public final class MerkleDbDataSource<K extends VirtualKey, V extends VirtualVal
         }
     }
 
+    /**
+     * Looks up the given key in virtual leaf record cache, if the cache is enabled. Cache hits
+     * and misses are reported to data source statistics.
+     *
+     * @param key Virtual leaf record key
+     * @return the cached entry, or null if the cache is disabled or the key isn't cached
+     */
+    private LeafRecordCache.Entry<K, V> getCachedLeafRecord(final K key) {
+        if (leafRecordCache == null) {
+            return null;
+        }
+        final LeafRecordCache.Entry<K, V> cached = leafRecordCache.get(key);
+        if (cached != null) {
+            statisticsUpdater.countLeafRecordCacheHits();
+        } else {
+            statisticsUpdater.countLeafRecordCacheMisses();
+        }
+        return cached;
+    }
+
+    /**
+     * Puts a record to virtual leaf record cache, if the cache is enabled. Cache evictions are
+     * reported to data source statistics.
+     *
+     * @param key Virtual leaf record key
+     * @param path Virtual leaf record path, may be INVALID_PATH
+     * @param value Virtual leaf record value, may be null, if only the path is known. The cache
+     *              takes ownership of the value, it must not be modified by the caller
+     */
+    private void putLeafRecordToCache(final K key, final long path, final V value) {
+        if (leafRecordCache == null) {
+            return;
+        }
+        if (leafRecordCache.put(key, path, value)) {
+            statisticsUpdater.countLeafRecordCacheEvictions();
+        }
+    }
+
     /**
      * Invalidates the given key in virtual leaf record cache, if the cache is enabled.
-     * <p>
-     * If the key is deleted, it's still updated in the cache. It means no record with the given
-     * key exists in the data source, so further lookups for the key are skipped.
-     * <p>
-     * Cache index is calculated as the key's hash code % cache size. The cache is only updated,
-     * if the current record at this index has the given key. If the key is different, no update is
-     * performed.
      *
      * @param key Virtual leaf record key
      */
-    @SuppressWarnings("unchecked")
     private void invalidateReadCache(final K key) {
         if (leafRecordCache == null) {
             return;
         }
-        final int cacheIndex = Math.abs(key.hashCode() % leafRecordCacheSize);
-        final VirtualLeafRecord<K, V> cached = leafRecordCache[cacheIndex];
-        if ((cached != null) && key.equals(cached.getKey())) {
-            leafRecordCache[cacheIndex] = null;
-        }
+        leafRecordCache.invalidate(key);
     }
 
     FileStatisticAware getHashStoreDisk() {
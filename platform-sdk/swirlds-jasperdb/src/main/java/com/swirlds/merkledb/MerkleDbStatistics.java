@@ -44,6 +44,8 @@ public class MerkleDbStatistics {
     private static final String FLUSHES_PREFIX = "flushes_";
     /** Prefix for compaction related metrics */
     private static final String COMPACTIONS_PREFIX = "compactions_";
+    /** Prefix for leaf record cache related metrics */
+    private static final String CACHE_PREFIX = "cache_";
 
     private static final String LEVEL_PREFIX = "level_";
     /** Prefix for all off-heap related metrics */
@@ -65,6 +67,13 @@ public class MerkleDbStatistics {
     /** Leaf keys - reads / s */
     private LongAccumulator leafKeyReads;
 
+    /** Leaf record cache - hits / s */
+    private LongAccumulator leafRecordCacheHits;
+    /** Leaf record cache - misses / s */
+    private LongAccumulator leafRecordCacheMisses;
+    /** Leaf record cache - evictions / s */
+    private LongAccumulator leafRecordCacheEvictions;
+
     /** Hashes store - file count */
     private IntegerGauge hashesStoreFileCount;
     /** Hashes store - total file size in Mb */
@@ -180,6 +189,20 @@ public class MerkleDbStatistics {
         leafKeyReads = buildLongAccumulator(
                 metrics, DS_PREFIX + READS_PREFIX + "leafKeys_" + label, "Number of leaf key reads, " + label);
 
+        // Leaf record cache
+        leafRecordCacheHits = buildLongAccumulator(
+                metrics,
+                DS_PREFIX + CACHE_PREFIX + "leafRecordHits_" + label,
+                "Number of leaf record cache hits, " + label);
+        leafRecordCacheMisses = buildLongAccumulator(
+                metrics,
+                DS_PREFIX + CACHE_PREFIX + "leafRecordMisses_" + label,
+                "Number of leaf record cache misses, " + label);
+        leafRecordCacheEvictions = buildLongAccumulator(
+                metrics,
+                DS_PREFIX + CACHE_PREFIX + "leafRecordEvictions_" + label,
+                "Number of leaf record cache evictions, " + label);
+
         // File counts and sizes
         hashesStoreFileCount = metrics.getOrCreate(
                 new IntegerGauge.Config(STAT_CATEGORY, DS_PREFIX + FILES_PREFIX + "hashesStoreFileCount_" + label)
@@ -331,6 +354,33 @@ public class MerkleDbStatistics {
         }
     }
 
+    /**
+     * Increment {@link #leafRecordCacheHits} stat by 1
+     */
+    public void countLeafRecordCacheHits() {
+        if (leafRecordCacheHits != null) {
+            leafRecordCacheHits.update(1);
+        }
+    }
+
+    /**
+     * Increment {@link #leafRecordCacheMisses} stat by 1
+     */
+    public void countLeafRecordCacheMisses() {
+        if (leafRecordCacheMisses != null) {
+            leafRecordCacheMisses.update(1);
+        }
+    }
+
+    /**
+     * Increment {@link #leafRecordCacheEvictions} stat by 1
+     */
+    public void countLeafRecordCacheEvictions() {
+        if (leafRecordCacheEvictions != null) {
+            leafRecordCacheEvictions.update(1);
+        }
+    }
+
     /**
      * Set the current value for the {@link #hashesStoreFileCount} stat
      *
@@ -172,6 +172,21 @@ public class MerkleDbStatisticsUpdater {
         statistics.countLeafKeyReads();
     }
 
+    /** Updates statistics with number of leaf record cache hits. */
+    void countLeafRecordCacheHits() {
+        statistics.countLeafRecordCacheHits();
+    }
+
+    /** Updates statistics with number of leaf record cache misses. */
+    void countLeafRecordCacheMisses() {
+        statistics.countLeafRecordCacheMisses();
+    }
+
+    /** Updates statistics with number of leaf record cache evictions. */
+    void countLeafRecordCacheEvictions() {
+        statistics.countLeafRecordCacheEvictions();
+    }
+
     /** Updates statistics with number of hash reads. */
     void countHashReads() {
         statistics.countHashReads();
@@ -24,14 +24,19 @@ import edu.umd.cs.findbugs.annotations.NonNull;
 import java.io.IOException;
 import java.io.RandomAccessFile;
 import java.io.UncheckedIOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
 import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
 import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
 import java.nio.file.Path;
 import java.nio.file.StandardOpenOption;
 import java.util.Arrays;
 import java.util.Deque;
 import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
 /**
  *  A direct on disk implementation of LongList. This implementation creates a temporary file to store the data.
@@ -39,7 +44,12 @@ import java.util.concurrent.ConcurrentLinkedDeque;
  *  it will take the name of the file provided by the user and create a temporary file with this name.
  * <p>
  *  Unlike the "snapshot" file, the temporary files doesn't contain the header, only the body.
- *
+ * <p>
+ *  Optionally, the list can be created in memory-mapped mode. In this mode, every chunk in the temporary file
+ *  is mapped to memory on first access, and all lookups and puts are done using the mapped buffers rather than
+ *  positional file channel reads and writes. Lookups don't need any locks or system calls in this mode. All
+ *  bulk operations like chunk cleanup and writing to a snapshot file still use the file channel, which is
+ *  coherent with the mapped buffers, as they share the same OS page cache.
  */
 public class LongListDisk extends AbstractLongList<Long> {
 
@@ -67,6 +77,21 @@ public class LongListDisk extends AbstractLongList<Long> {
      */
     private final Deque<Long> freeChunks;
 
+    /**
+     * Memory-mapped chunks, indexed by chunk offset in the temporary file divided by chunk size. Chunks are
+     * mapped lazily, on first access. Null, if the list isn't in memory-mapped mode.
+     */
+    private final AtomicReferenceArray<MappedByteBuffer> mappedChunks;
+
+    /**
+     * Var handle to access longs in memory-mapped chunks. Plain buffer reads and writes give no visibility
+     * guarantees between threads, so mapped chunks are only accessed using volatile reads and writes and atomic
+     * compare-and-set, similar to {@link LongListOffHeap}. Chunk offsets are multiples of the chunk size, so all
+     * longs in mapped chunks are aligned as required by the var handle.
+     */
+    private static final VarHandle MAPPED_LONG =
+            MethodHandles.byteBufferViewVarHandle(long[].class, ByteOrder.nativeOrder());
+
     static {
         TRANSFER_BUFFER_THREAD_LOCAL = new ThreadLocal<>();
         // it's initialized as 8 bytes (Long.BYTES) but likely it's going to be resized later
@@ -93,6 +118,7 @@ public class LongListDisk extends AbstractLongList<Long> {
             throw new UncheckedIOException(e);
         }
         freeChunks = new ConcurrentLinkedDeque<>();
+        mappedChunks = null;
         fillBufferWithZeroes(initOrGetTransferBuffer());
     }
 
@@ -103,12 +129,28 @@ public class LongListDisk extends AbstractLongList<Long> {
      * @throws IOException If there was a problem reading the file
      */
     public LongListDisk(final Path file) throws IOException {
-        this(file, DEFAULT_RESERVED_BUFFER_LENGTH);
+        this(file, false);
+    }
+
+    /**
+     * Create a {@link LongListDisk} on a file, if the file doesn't exist it will be created.
+     *
+     * @param file The file to read and write to
+     * @param memoryMapped Whether to use memory-mapped chunks for lookups and puts
+     * @throws IOException If there was a problem reading the file
+     */
+    public LongListDisk(final Path file, final boolean memoryMapped) throws IOException {
+        this(file, DEFAULT_RESERVED_BUFFER_LENGTH, memoryMapped);
     }
 
     LongListDisk(final Path file, final long reservedBufferLength) throws IOException {
+        this(file, reservedBufferLength, false);
+    }
+
+    LongListDisk(final Path file, final long reservedBufferLength, final boolean memoryMapped) throws IOException {
         super(file, reservedBufferLength);
         freeChunks = new ConcurrentLinkedDeque<>();
+        mappedChunks = memoryMapped ? new AtomicReferenceArray<>(chunkList.length()) : null;
         // IDE complains that the tempFile is not initialized, but it's initialized in readBodyFromFileChannelOnInit
         // which is called from the constructor of the parent class
         //noinspection ConstantValue
@@ -199,6 +241,11 @@ public class LongListDisk extends AbstractLongList<Long> {
     /** {@inheritDoc} */
     @Override
     protected synchronized void putToChunk(final Long chunk, final int subIndex, final long value) {
+        final MappedByteBuffer mappedChunk = getMappedChunk(chunk);
+        if (mappedChunk != null) {
+            MAPPED_LONG.setVolatile(mappedChunk, subIndex * Long.BYTES, value);
+            return;
+        }
         try {
             final ByteBuffer buf = TEMP_LONG_BUFFER_THREAD_LOCAL.get();
             final long offset = chunk + (long) subIndex * Long.BYTES;
@@ -215,6 +262,10 @@ public class LongListDisk extends AbstractLongList<Long> {
     @Override
     protected synchronized boolean putIfEqual(
             final Long chunk, final int subIndex, final long oldValue, long newValue) {
+        final MappedByteBuffer mappedChunk = getMappedChunk(chunk);
+        if (mappedChunk != null) {
+            return MAPPED_LONG.compareAndSet(mappedChunk, subIndex * Long.BYTES, oldValue, newValue);
+        }
         final ByteBuffer buf = TEMP_LONG_BUFFER_THREAD_LOCAL.get();
         buf.position(0);
         try {
@@ -300,6 +351,10 @@ public class LongListDisk extends AbstractLongList<Long> {
      */
     @Override
     protected long lookupInChunk(@NonNull final Long chunkOffset, final long subIndex) {
+        final MappedByteBuffer mappedChunk = getMappedChunk(chunkOffset);
+        if (mappedChunk != null) {
+            return (long) MAPPED_LONG.getVolatile(mappedChunk, toIntExact(subIndex * Long.BYTES));
+        }
         try {
             final ByteBuffer buf = TEMP_LONG_BUFFER_THREAD_LOCAL.get();
             // if there is nothing to read the buffer will have the default value
@@ -324,11 +379,53 @@ public class LongListDisk extends AbstractLongList<Long> {
         if (currentFileChannel.isOpen()) {
             currentFileChannel.force(false);
         }
+        // Drop all mapped chunks, but don't unmap them explicitly. Lookups don't take any locks, so a reader may
+        // still be using a chunk. Mappings stay valid after the channel is closed, and are released by GC
+        if (mappedChunks != null) {
+            for (int i = 0; i < mappedChunks.length(); i++) {
+                mappedChunks.set(i, null);
+            }
+        }
         // now close
         currentFileChannel.close();
         freeChunks.clear();
     }
 
+    /**
+     * Returns a memory-mapped buffer for the chunk at the given offset in the temporary file. The chunk is
+     * mapped on first access. This method is safe to call from multiple threads. If two threads map the same
+     * chunk concurrently, only one mapping is used, the other one is left to GC.
+     *
+     * @param chunkOffset the offset of the chunk in the temporary file
+     * @return the mapped chunk, or null if the list isn't in memory-mapped mode
+     */
+    private MappedByteBuffer getMappedChunk(final long chunkOffset) {
+        if (mappedChunks == null) {
+            return null;
+        }
+        final int mappedChunkIndex = toIntExact(chunkOffset / memoryChunkSize);
+        if (mappedChunkIndex >= mappedChunks.length()) {
+            // Should never happen, but positional file channel reads and writes still work in this case
+            return null;
+        }
+        final MappedByteBuffer mappedChunk = mappedChunks.get(mappedChunkIndex);
+        if (mappedChunk != null) {
+            return mappedChunk;
+        }
+        try {
+            // Mapping in read-write mode extends the file, if needed
+            final MappedByteBuffer newMappedChunk = currentFileChannel.map(
+                    MapMode.READ_WRITE, chunkOffset, memoryChunkSize);
+            newMappedChunk.order(ByteOrder.nativeOrder());
+            if (mappedChunks.compareAndSet(mappedChunkIndex, null, newMappedChunk)) {
+                return newMappedChunk;
+            }
+            return mappedChunks.get(mappedChunkIndex);
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
     /** {@inheritDoc} */
     @Override
     protected void releaseChunk(@NonNull final Long chunk) {
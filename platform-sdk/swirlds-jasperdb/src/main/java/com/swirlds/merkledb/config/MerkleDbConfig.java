@@ -62,14 +62,41 @@ import com.swirlds.config.extensions.validators.DefaultConfigViolation;
  * @param reservedBufferLengthForLeafList
  *      Length of a reserved buffer in a LongList used to store leafs. Value in bytes.
  * @param leafRecordCacheSize
- *      Cache size in bytes for reading virtual leaf records. Initialized in data source creation time from MerkleDb config.
- *      If the value is zero, leaf records cache isn't used.
+ *      Cache size in entries for reading virtual leaf records. Initialized in data source creation time from MerkleDb
+ *      config. If the value is zero, leaf records cache isn't used.
  * @param usePbj
  *      If true, use PBJ format for new (flushed) and compacted data files, otherwise use JDB.
  * @param maxFileChannelsPerFileReader
  *     Maximum number of file channels per file reader.
  * @param maxThreadsPerFileChannel
  *    Maximum number of threads per file channel.
+ * @param leafRecordCacheWays
+ *      Associativity of the virtual leaf records cache, i.e. the number of cache entries a single key may be stored
+ *      in. Hot keys that map to the same set don't evict each other, as long as there are no more than this number
+ *      of them.
+ * @param useMemoryMappedDiskIndices
+ *      If true, disk based indices (see {@link com.swirlds.merkledb.MerkleDbTableConfig#isPreferDiskBasedIndices()})
+ *      use memory-mapped chunks for lookups and updates instead of positional file channel reads and writes.
+ * @param useMemoryMappedDataFileReaders
+ *      If true, completed data files are read using memory-mapped buffers instead of a pool of file channels.
+ * @param compactionGarbageThreshold
+ *      Fraction, from 0.0 to 1.0, of garbage (no longer referenced) data items in a data file, at which the file is
+ *      added to the next compaction of its store, regardless of its compaction level. Garbage fractions are measured
+ *      during compactions. If set to 1.0 or greater, files are only selected for compaction by their levels.
+ * @param compactionMaxBytesPerSecond
+ *      Limit on the total rate, in bytes per second, at which data items are copied by all compactions of all
+ *      MerkleDb tables. If zero, compactions aren't rate limited.
+ * @param compactionMaxFlushWaitMs
+ *      Max time, in milliseconds, a running compaction is paused while a data source flush is in progress. Zero
+ *      means compactions aren't paused during flushes.
+ * @param halfDiskHashMapBloomFilterBitsPerKey
+ *      Size of bloom filters of key hash codes in half disk hash maps, in bits per map entry. The filters are kept
+ *      off-heap and allow most lookups of absent keys to complete without disk reads. If zero, bloom filters are not
+ *      used.
+ * @param snapshotReuseUnchangedTables
+ *      If true, a table that hasn't been flushed or compacted since its previous snapshot to a saved state is
+ *      snapshotted by hard linking all files of the previous snapshot, instead of writing its indices again.
+ *      Disabled by default.
  */
 @ConfigData("merkleDb")
 public record MerkleDbConfig(
@@ -89,7 +116,15 @@ public record MerkleDbConfig(
         @ConfigProperty(defaultValue = "1048576") int leafRecordCacheSize,
         @ConfigProperty(defaultValue = "true") boolean usePbj,
         @Min(1) @ConfigProperty(defaultValue = "8") int maxFileChannelsPerFileReader,
-        @Min(1) @ConfigProperty(defaultValue = "8") int maxThreadsPerFileChannel) {
+        @Min(1) @ConfigProperty(defaultValue = "8") int maxThreadsPerFileChannel,
+        @Min(1) @ConfigProperty(defaultValue = "4") int leafRecordCacheWays,
+        @ConfigProperty(defaultValue = "false") boolean useMemoryMappedDiskIndices,
+        @ConfigProperty(defaultValue = "false") boolean useMemoryMappedDataFileReaders,
+        @ConfigProperty(defaultValue = "0.5") double compactionGarbageThreshold,
+        @Min(0) @ConfigProperty(defaultValue = "0") long compactionMaxBytesPerSecond,
+        @Min(0) @ConfigProperty(defaultValue = "1000") int compactionMaxFlushWaitMs,
+        @Min(0) @ConfigProperty(defaultValue = "0") int halfDiskHashMapBloomFilterBitsPerKey,
+        @ConfigProperty(defaultValue = "false") boolean snapshotReuseUnchangedTables) {
 
     static double UNIT_FRACTION_PERCENT = 100.0;
 
@@ -0,0 +1,196 @@
+/*
+ * Copyright (C) 2024 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.swirlds.merkledb.files;
+
+import com.swirlds.common.config.singleton.ConfigurationHolder;
+import com.swirlds.merkledb.config.MerkleDbConfig;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Limits how much disk I/O compactions of all MerkleDb tables can use, so they don't compete
+ * with data source flushes. There are two mechanisms:
+ *
+ * <ul>
+ *     <li>Data sources report flushes with {@link #flushStarted()} and {@link #flushFinished()}.
+ *     While any flush is in progress, compactions are paused in {@link #awaitFlushes(long)}, but
+ *     no longer than {@link MerkleDbConfig#compactionMaxFlushWaitMs()} per flush</li>
+ *     <li>Compactions report copied bytes with {@link #bytesCopied(long)}, which blocks the caller
+ *     when the total copy rate of all compactions exceeds
+ *     {@link MerkleDbConfig#compactionMaxBytesPerSecond()}</li>
+ * </ul>
+ *
+ * This class is thread safe. A single instance is shared by all compactors, see {@link #getInstance()}.
+ */
+public final class CompactionThrottle {
+
+    /**
+     * Since {@code com.swirlds.platform.Browser} populates settings, and it is loaded before any
+     * application classes that might instantiate a data source, the {@link ConfigurationHolder}
+     * holder will have been configured by the time this static initializer runs.
+     */
+    private static final MerkleDbConfig config = ConfigurationHolder.getConfigData(MerkleDbConfig.class);
+
+    /**
+     * Max time period for which unused copy rate can be accumulated. If compactions don't copy
+     * anything for a while, they can then copy up to this period worth of bytes without waiting.
+     */
+    private static final long MAX_BURST_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    /** The throttle shared by all compactions. Must be initialized after other static fields */
+    private static final CompactionThrottle INSTANCE =
+            new CompactionThrottle(config.compactionMaxBytesPerSecond(), config.compactionMaxFlushWaitMs());
+
+    /** Max compaction copy rate, in bytes per second. Zero means no limit */
+    private final long maxBytesPerSecond;
+
+    /** Max time to pause compactions while a flush is in progress, in nanoseconds */
+    private final long maxFlushWaitNanos;
+
+    /** The number of flushes currently in progress */
+    private final AtomicInteger flushesInProgress = new AtomicInteger(0);
+
+    /**
+     * Flush counter, incremented every time a flush is started. It's used to make sure a
+     * compaction waits for every flush no more than once.
+     */
+    private final AtomicLong flushEpoch = new AtomicLong(0);
+
+    /** Monitor to notify compactions waiting for flushes to finish */
+    private final Object flushMonitor = new Object();
+
+    /**
+     * The time, in {@link System#nanoTime()} terms, when all bytes reported to {@link #bytesCopied(long)}
+     * so far are allowed to be copied at the max copy rate. Initially, compactions are allowed to
+     * copy max burst worth of bytes without waiting. Guarded by {@code this}
+     */
+    private long copyAllowedNanos = System.nanoTime() - MAX_BURST_NANOS;
+
+    /**
+     * Creates a new compaction throttle.
+     *
+     * @param maxBytesPerSecond max total compaction copy rate, in bytes per second, zero means no limit
+     * @param maxFlushWaitMs max time to pause compactions while a flush is in progress, in milliseconds
+     */
+    public CompactionThrottle(final long maxBytesPerSecond, final long maxFlushWaitMs) {
+        if (maxBytesPerSecond < 0) {
+            throw new IllegalArgumentException("Max bytes per second must not be negative");
+        }
+        if (maxFlushWaitMs < 0) {
+            throw new IllegalArgumentException("Max flush wait time must not be negative");
+        }
+        this.maxBytesPerSecond = maxBytesPerSecond;
+        this.maxFlushWaitNanos = TimeUnit.MILLISECONDS.toNanos(maxFlushWaitMs);
+    }
+
+    /**
+     * Returns the compaction throttle shared by all MerkleDb compactions.
+     *
+     * @return the shared compaction throttle
+     */
+    public static CompactionThrottle getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Called by data sources when a flush is started. Must be balanced with {@link #flushFinished()}.
+     */
+    public void flushStarted() {
+        flushEpoch.incrementAndGet();
+        flushesInProgress.incrementAndGet();
+    }
+
+    /**
+     * Called by data sources when a flush is finished, regardless of whether it was successful.
+     */
+    public void flushFinished() {
+        if (flushesInProgress.decrementAndGet() == 0) {
+            synchronized (flushMonitor) {
+                flushMonitor.notifyAll();
+            }
+        }
+    }
+
+    /**
+     * Checks if any flushes are in progress.
+     *
+     * @return true if at least one flush is in progress
+     */
+    public boolean isFlushInProgress() {
+        return flushesInProgress.get() > 0;
+    }
+
+    /**
+     * Pauses the calling compaction thread while any flushes are in progress, but no longer than
+     * the max flush wait time. If the caller has already waited for the current flush before, this
+     * method returns immediately, so long flushes don't stop compactions completely.
+     *
+     * <p>This method must not be called while holding any locks needed by flushes or snapshots.
+     *
+     * @param lastAwaitedEpoch the value returned by the previous call to this method, or zero
+     * @return the flush epoch to provide to the next call to this method
+     * @throws InterruptedException if the calling thread is interrupted while waiting
+     */
+    public long awaitFlushes(final long lastAwaitedEpoch) throws InterruptedException {
+        // Fast path, no flushes in progress. A single volatile read
+        if (flushesInProgress.get() == 0) {
+            return lastAwaitedEpoch;
+        }
+        final long epoch = flushEpoch.get();
+        if ((epoch == lastAwaitedEpoch) || (maxFlushWaitNanos == 0)) {
+            return epoch;
+        }
+        final long deadline = System.nanoTime() + maxFlushWaitNanos;
+        synchronized (flushMonitor) {
+            long remaining = maxFlushWaitNanos;
+            while ((flushesInProgress.get() > 0) && (remaining > 0)) {
+                TimeUnit.NANOSECONDS.timedWait(flushMonitor, remaining);
+                remaining = deadline - System.nanoTime();
+            }
+        }
+        return epoch;
+    }
+
+    /**
+     * Called by compactions after some bytes are copied. If the max copy rate is set, and the total
+     * number of bytes copied by all compactions exceeds the rate, the calling thread is put to sleep
+     * till the rate is met. To reduce contention, callers are expected to report copied bytes in
+     * chunks rather than for every data item.
+     *
+     * @param bytes the number of bytes copied
+     * @throws InterruptedException if the calling thread is interrupted while sleeping
+     */
+    public void bytesCopied(final long bytes) throws InterruptedException {
+        if ((maxBytesPerSecond == 0) || (bytes <= 0)) {
+            return;
+        }
+        final long waitNanos;
+        synchronized (this) {
+            final long now = System.nanoTime();
+            // Don't let unused copy rate to accumulate for longer than max burst period
+            if (copyAllowedNanos < now - MAX_BURST_NANOS) {
+                copyAllowedNanos = now - MAX_BURST_NANOS;
+            }
+            copyAllowedNanos += (long) ((double) bytes * TimeUnit.SECONDS.toNanos(1) / maxBytesPerSecond);
+            waitNanos = copyAllowedNanos - now;
+        }
+        if (waitNanos > 0) {
+            TimeUnit.NANOSECONDS.sleep(waitNanos);
+        }
+    }
+}
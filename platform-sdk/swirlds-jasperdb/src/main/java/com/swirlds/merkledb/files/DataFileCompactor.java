@@ -35,6 +35,8 @@ import java.nio.file.Path;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.Semaphore;
@@ -68,6 +70,12 @@ public class DataFileCompactor<D> {
      * This is the compaction level that non-compacted files have.
      */
     public static final int INITIAL_COMPACTION_LEVEL = 0;
+
+    /**
+     * Compactions report copied bytes to {@link CompactionThrottle} in chunks of this size.
+     */
+    private static final long THROTTLE_CHUNK_BYTES = 1024 * 1024;
+
     /**
      * Name of the file store to compact.
      */
@@ -150,6 +158,32 @@ public class DataFileCompactor<D> {
      */
     private final AtomicInteger compactionLevelInProgress = new AtomicInteger(0);
 
+    /**
+     * Compaction I/O throttle shared by all compactors.
+     */
+    private final CompactionThrottle throttle = CompactionThrottle.getInstance();
+
+    /**
+     * The number of live (referenced from the index) data items in data files, by file index, as
+     * measured during the last compaction. Every compaction scans the whole index anyway, so live
+     * items are counted for all completed files, not just for the files being compacted. Files
+     * created after the last compaction aren't in this map, they are considered fully live. Since
+     * data items only become garbage over time, the numbers here are upper bounds.
+     */
+    private volatile Map<Integer, Long> liveItemsByFile = Map.of();
+
+    /**
+     * The number of bytes copied by the current compaction, but not reported to the compaction
+     * throttle yet. Only accessed on the compaction thread.
+     */
+    private long unthrottledBytes = 0;
+
+    /**
+     * The last flush epoch the current compaction waited for, see {@link CompactionThrottle#awaitFlushes(long)}.
+     * Only accessed on the compaction thread.
+     */
+    private long lastAwaitedFlushEpoch = 0;
+
     /**
      * @param storeName                      name of the store to compact
      * @param dataFileCollection             data file collection to compact
@@ -238,9 +272,26 @@ public class DataFileCompactor<D> {
         final int firstIndexInc = minFileIndex;
         final int lastIndexExc = maxFileIndex + 1;
         final DataFileReader<D>[] readers = new DataFileReader[lastIndexExc - firstIndexInc];
+        // Average data item sizes, to estimate the number of bytes copied for compaction throttling
+        final long[] itemSizes = new long[lastIndexExc - firstIndexInc];
         for (DataFileReader<D> r : filesToCompact) {
             readers[r.getIndex() - firstIndexInc] = r;
+            itemSizes[r.getIndex() - firstIndexInc] =
+                    r.getSize() / Math.max(1, r.getMetadata().getDataItemCount());
+        }
+
+        // Live data items are counted for all completed files, including the files not being compacted
+        final List<DataFileReader<D>> allFiles = dataFileCollection.getAllCompletedFiles();
+        int minLiveFileIndex = Integer.MAX_VALUE;
+        int maxLiveFileIndex = -1;
+        for (final DataFileReader<D> r : allFiles) {
+            minLiveFileIndex = Math.min(minLiveFileIndex, r.getIndex());
+            maxLiveFileIndex = Math.max(maxLiveFileIndex, r.getIndex());
         }
+        final int firstLiveIndexInc = minLiveFileIndex;
+        final int lastLiveIndexExc = maxLiveFileIndex + 1;
+        final long[] liveItems = new long[Math.max(0, lastLiveIndexExc - firstLiveIndexInc)];
+        unthrottledBytes = 0;
 
         boolean allDataItemsProcessed = false;
         try {
@@ -250,6 +301,9 @@ public class DataFileCompactor<D> {
                     return;
                 }
                 final int fileIndex = DataFileCommon.fileIndexFromDataLocation(dataLocation);
+                if ((fileIndex >= firstLiveIndexInc) && (fileIndex < lastLiveIndexExc)) {
+                    liveItems[fileIndex - firstLiveIndexInc]++;
+                }
                 if ((fileIndex < firstIndexInc) || (fileIndex >= lastIndexExc)) {
                     return;
                 }
@@ -258,6 +312,9 @@ public class DataFileCompactor<D> {
                     return;
                 }
                 final long fileOffset = DataFileCommon.byteOffsetFromDataLocation(dataLocation);
+                // Let flushes run without competing for disk I/O. This must be done before the
+                // snapshot lock is taken, so snapshots aren't blocked
+                lastAwaitedFlushEpoch = throttle.awaitFlushes(lastAwaitedFlushEpoch);
                 // Take the lock. If a snapshot is started in a different thread, this call
                 // will block until the snapshot is done. The current file will be flushed,
                 // and current data file writer and reader will point to a new file
@@ -294,8 +351,14 @@ public class DataFileCompactor<D> {
                 } finally {
                     snapshotCompactionLock.release();
                 }
+                unthrottledBytes += itemSizes[fileIndex - firstIndexInc];
+                if (unthrottledBytes >= THROTTLE_CHUNK_BYTES) {
+                    throttle.bytesCopied(unthrottledBytes);
+                    unthrottledBytes = 0;
+                }
             });
             allDataItemsProcessed = true;
+            updateLiveItems(allFiles, filesToCompact, liveItems, firstLiveIndexInc);
         } finally {
             // Even if the thread is interrupted, make sure the new compacted file is properly closed
             // and is included to future compactions
@@ -317,6 +380,57 @@ public class DataFileCompactor<D> {
         return newCompactedFiles;
     }
 
+    /**
+     * Updates live data item counts for all files except the compacted ones, which are deleted.
+     */
+    private void updateLiveItems(
+            final List<DataFileReader<D>> allFiles,
+            final List<? extends DataFileReader<D>> compactedFiles,
+            final long[] liveItems,
+            final int firstFileIndex) {
+        final Map<Integer, Long> newLiveItemsByFile = new HashMap<>();
+        for (final DataFileReader<D> r : allFiles) {
+            newLiveItemsByFile.put(r.getIndex(), liveItems[r.getIndex() - firstFileIndex]);
+        }
+        for (final DataFileReader<D> r : compactedFiles) {
+            newLiveItemsByFile.remove(r.getIndex());
+        }
+        liveItemsByFile = Map.copyOf(newLiveItemsByFile);
+    }
+
+    /**
+     * Estimates the fraction of data items in all completed files of this store that are no longer
+     * referenced from the index. It's used to prioritize compactions of different stores: stores
+     * with more garbage are compacted first. The estimate is based on live item counts from the
+     * last compaction, and on the valid key range, which is an upper bound for the number of live
+     * items. No data files or indices are read.
+     *
+     * @return estimated garbage fraction, from 0.0 to 1.0
+     */
+    public double getGarbageRatioEstimate() {
+        final Map<Integer, Long> live = liveItemsByFile;
+        long totalItems = 0;
+        long liveItems = 0;
+        for (final DataFileReader<D> r : dataFileCollection.getAllCompletedFiles()) {
+            final long items = r.getMetadata().getDataItemCount();
+            totalItems += items;
+            liveItems += Math.min(items, live.getOrDefault(r.getIndex(), items));
+        }
+        if (totalItems == 0) {
+            return 0;
+        }
+        final KeyRange keyRange = dataFileCollection.getValidKeyRange();
+        if (!KeyRange.INVALID_KEY_RANGE.equals(keyRange)) {
+            liveItems = Math.min(liveItems, keyRange.getMaxValidKey() - keyRange.getMinValidKey() + 1);
+        }
+        return 1.0 - (double) liveItems / totalItems;
+    }
+
+    // visible for testing
+    Map<Integer, Long> getLiveItemsByFile() {
+        return liveItemsByFile;
+    }
+
     // visible for testing
     int getMinNumberOfFilesToCompact() {
         return config.minNumberOfFilesInCompaction();
@@ -432,8 +546,11 @@ public class DataFileCompactor<D> {
     public boolean compact() throws IOException, InterruptedException {
         final List<DataFileReader<D>> completedFiles = dataFileCollection.getAllCompletedFiles();
         reportFileSizeByLevel(completedFiles);
-        final List<DataFileReader<D>> filesToCompact =
-                compactionPlan(completedFiles, getMinNumberOfFilesToCompact(), config.maxCompactionLevel());
+        final List<DataFileReader<D>> filesToCompact = addGarbageFiles(
+                compactionPlan(completedFiles, getMinNumberOfFilesToCompact(), config.maxCompactionLevel()),
+                completedFiles,
+                liveItemsByFile,
+                config.compactionGarbageThreshold());
         if (filesToCompact.isEmpty()) {
             logger.debug(MERKLE_DB.getMarker(), "[{}] No need to compact, as the compaction plan is empty", storeName);
             return false;
@@ -555,6 +672,51 @@ public class DataFileCompactor<D> {
         return readersToCompact;
     }
 
+    /**
+     * Adds files with too much garbage to a compaction plan, regardless of their compaction levels.
+     * Level based compaction plans don't take into account how many data items in files are no
+     * longer used. For example, files on high levels may be almost empty, but are not compacted
+     * until enough files are accumulated on the lower levels. This method checks the fraction of
+     * garbage items in every file, and if it's at or above the given threshold, the file is added
+     * to the plan. In other words, files are added, if the number of bytes to reclaim is high
+     * relative to the number of bytes to copy. Files are only added to non-empty plans.
+     *
+     * @param plan level based compaction plan, as created by {@link #compactionPlan(List, int, int)}
+     * @param dataFileReaders all completed data files
+     * @param liveItemsByFile known numbers of live data items, by file index
+     * @param garbageThreshold min fraction of garbage items in a file to add the file to the plan
+     * @return compaction plan with garbage files added, sorted by compaction level
+     */
+    static <D> List<DataFileReader<D>> addGarbageFiles(
+            final List<DataFileReader<D>> plan,
+            final List<DataFileReader<D>> dataFileReaders,
+            final Map<Integer, Long> liveItemsByFile,
+            final double garbageThreshold) {
+        if (plan.isEmpty() || (garbageThreshold >= 1.0)) {
+            return plan;
+        }
+        List<DataFileReader<D>> result = plan;
+        for (final DataFileReader<D> reader : dataFileReaders) {
+            final Long liveItems = liveItemsByFile.get(reader.getIndex());
+            final long totalItems = reader.getMetadata().getDataItemCount();
+            if ((liveItems == null) || (totalItems == 0) || plan.contains(reader)) {
+                continue;
+            }
+            final double garbageRatio = 1.0 - (double) Math.min(liveItems, totalItems) / totalItems;
+            if (garbageRatio >= garbageThreshold) {
+                if (result == plan) {
+                    result = new ArrayList<>(plan);
+                }
+                result.add(reader);
+            }
+        }
+        if (result != plan) {
+            // The target compaction level is based on the last file in the plan
+            result.sort(Comparator.comparingInt(r -> r.getMetadata().getCompactionLevel()));
+        }
+        return result;
+    }
+
     private static <D> Map<Integer, List<DataFileReader<D>>> getReadersByLevel(
             final List<DataFileReader<D>> dataFileReaders) {
         return dataFileReaders.stream()
@@ -16,6 +16,7 @@
 
 package com.swirlds.merkledb.files;
 
+import com.hedera.pbj.runtime.io.buffer.BufferedData;
 import java.io.IOException;
 import java.nio.file.Path;
 
@@ -61,6 +62,18 @@ public interface DataFileIterator<D> extends AutoCloseable {
      */
     D getDataItemData() throws IOException;
 
+    /**
+     * Get the current data item's serialized bytes, without deserializing them. This is a shared
+     * buffer and must NOT be leaked from the call site. It's an alternative to {@link
+     * #getDataItemData()}, and only one of these methods may be called for the current data item.
+     *
+     * @return buffer containing the current data item bytes, or null if this iterator doesn't
+     * 		provide raw bytes (e.g. for legacy JDB data files)
+     */
+    default BufferedData getDataItemBytes() {
+        return null;
+    }
+
     /**
      * Get the data location (file + offset) for the current data item.
      *
@@ -175,6 +175,14 @@ public final class DataFileIteratorPbj<D> implements DataFileIterator<D> {
         return dataItemSerializer.deserialize(dataItemBuffer);
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public BufferedData getDataItemBytes() {
+        return dataItemBuffer;
+    }
+
     /**
      * Get the data location for current dataItem.
      *
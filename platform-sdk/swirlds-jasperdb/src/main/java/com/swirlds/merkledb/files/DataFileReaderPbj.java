@@ -30,9 +30,11 @@ import edu.umd.cs.findbugs.annotations.NonNull;
 import java.io.IOException;
 import java.io.UncheckedIOException;
 import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
 import java.nio.channels.ClosedByInterruptException;
 import java.nio.channels.ClosedChannelException;
 import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.StandardOpenOption;
@@ -40,6 +42,7 @@ import java.util.Objects;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.concurrent.atomic.AtomicReferenceArray;
 
 /**
@@ -82,6 +85,12 @@ public class DataFileReaderPbj<D> implements DataFileReader<D> {
     private static final ThreadLocal<ByteBuffer> BUFFER_CACHE = new ThreadLocal<>();
     private static final ThreadLocal<BufferedData> BUFFEREDDATA_CACHE = new ThreadLocal<>();
 
+    /**
+     * Indicates whether completed data files are read using memory-mapped buffers instead of file
+     * channels. Memory-mapped reads don't need any system calls or file channel leasing
+     */
+    private static final boolean MEMORY_MAPPED = CONFIG.useMemoryMappedDataFileReaders();
+
     /** Max number of file channels to use for reading */
     protected static final int MAX_FILE_CHANNELS = CONFIG.maxFileChannelsPerFileReader();
     /**
@@ -92,6 +101,30 @@ public class DataFileReaderPbj<D> implements DataFileReader<D> {
      * channels are already opened.
      */
     protected static final int THREADS_PER_FILECHANNEL = CONFIG.maxThreadsPerFileChannel();
+    /**
+     * Max size of a single memory-mapped region of a data file. Files larger than this size are
+     * mapped using multiple regions. Data items that cross region boundaries are read using
+     * file channels
+     */
+    private static final long MAPPED_REGION_SIZE = 1L << 30;
+    /**
+     * Memory-mapped regions of this data file, if the reader is in memory-mapped mode. Regions
+     * are mapped on first read after the file is completed. Mapped regions are never unmapped
+     * explicitly, as other threads may still be reading from them when the reader is closed,
+     * they are released when the reader is garbage collected
+     */
+    private final AtomicReference<MappedRegion[]> mappedRegions = new AtomicReference<>();
+    /** Indicates whether this reader reads completed data files using memory-mapped regions */
+    private final boolean memoryMapped;
+
+    /**
+     * A memory-mapped region of a data file.
+     *
+     * @param buffer mapped byte buffer
+     * @param data buffered data wrapped over the mapped byte buffer to read data item headers
+     */
+    private record MappedRegion(MappedByteBuffer buffer, BufferedData data) {}
+
     /**
      * A single data file reader may use multiple file channels. Previously, a single file channel
      * was used, and it resulted in unnecessary locking in FileChannelImpl.readInternal(), when
@@ -149,6 +182,23 @@ public class DataFileReaderPbj<D> implements DataFileReader<D> {
     public DataFileReaderPbj(
             final Path path, final DataItemSerializer<D> dataItemSerializer, final DataFileMetadata metadata)
             throws IOException {
+        this(path, dataItemSerializer, metadata, MEMORY_MAPPED);
+    }
+
+    /**
+     * Open an existing data file, using the provided metadata
+     *
+     * @param path the path to the data file
+     * @param dataItemSerializer Serializer for converting raw data to/from data items
+     * @param metadata the file's metadata to save loading from file
+     * @param memoryMapped whether to read the file using memory-mapped regions, once it's completed
+     */
+    DataFileReaderPbj(
+            final Path path,
+            final DataItemSerializer<D> dataItemSerializer,
+            final DataFileMetadata metadata,
+            final boolean memoryMapped)
+            throws IOException {
         if (!Files.exists(path)) {
             throw new IllegalArgumentException(
                     "Tried to open a non existent data file [" + path.toAbsolutePath() + "].");
@@ -156,6 +206,7 @@ public class DataFileReaderPbj<D> implements DataFileReader<D> {
         this.path = path;
         this.metadata = metadata;
         this.dataItemSerializer = dataItemSerializer;
+        this.memoryMapped = memoryMapped;
         openNewFileChannel(0);
     }
 
@@ -354,6 +405,91 @@ public class DataFileReaderPbj<D> implements DataFileReader<D> {
         fileChannelsInUse.decrementAndGet();
     }
 
+    /**
+     * Maps this data file to memory, if not mapped yet. This method is safe to call from multiple
+     * threads. If two threads map the file concurrently, only one set of mapped regions is used.
+     *
+     * @return Mapped regions of this data file, or null if the file is closed
+     * @throws IOException If an I/O error occurs
+     */
+    private MappedRegion[] getOrMapRegions() throws IOException {
+        final MappedRegion[] regions = mappedRegions.get();
+        if (regions != null) {
+            return regions;
+        }
+        final FileChannel fileChannel = fileChannels.get(0);
+        if (fileChannel == null) {
+            return null;
+        }
+        final long fileSize = getSize();
+        final int regionCount = (int) ((fileSize + MAPPED_REGION_SIZE - 1) / MAPPED_REGION_SIZE);
+        final MappedRegion[] newRegions = new MappedRegion[regionCount];
+        for (int i = 0; i < regionCount; i++) {
+            final long regionStart = i * MAPPED_REGION_SIZE;
+            final long regionSize = Math.min(MAPPED_REGION_SIZE, fileSize - regionStart);
+            final MappedByteBuffer buffer = fileChannel.map(MapMode.READ_ONLY, regionStart, regionSize);
+            newRegions[i] = new MappedRegion(buffer, BufferedData.wrap(buffer));
+        }
+        return mappedRegions.compareAndSet(null, newRegions) ? newRegions : mappedRegions.get();
+    }
+
+    /**
+     * Reads a data item at the given offset using memory-mapped regions of this data file. Data
+     * item bytes are copied to the thread local read buffer, the same way as when they are read
+     * using a file channel.
+     *
+     * @param byteOffsetInFile Offset to start reading at
+     * @return Buffered data containing read data item, or null if the item can't be read from
+     *      mapped regions, for example, if it crosses a region boundary
+     * @throws IOException If an I/O error occurs while mapping the file
+     */
+    private BufferedData readMapped(final long byteOffsetInFile) throws IOException {
+        final MappedRegion[] regions;
+        try {
+            regions = getOrMapRegions();
+        } catch (final ClosedChannelException e) {
+            // Fall back to file channels, they handle closed channels
+            return null;
+        }
+        if (regions == null) {
+            return null;
+        }
+        final int regionIndex = (int) (byteOffsetInFile / MAPPED_REGION_SIZE);
+        if (regionIndex >= regions.length) {
+            return null;
+        }
+        final MappedRegion region = regions[regionIndex];
+        final int offsetInRegion = (int) (byteOffsetInFile % MAPPED_REGION_SIZE);
+        final int regionSize = region.buffer().limit();
+        // Tag and size varints are at most 5 bytes each
+        if (offsetInRegion + 2 * Integer.BYTES + 2 > regionSize) {
+            return null;
+        }
+        final int tag = region.data().getVarInt(offsetInRegion, false);
+        assert tag
+                == ((FIELD_DATAFILE_ITEMS.number() << TAG_FIELD_OFFSET) | ProtoConstants.WIRE_TYPE_DELIMITED.ordinal());
+        final int sizeOfTag = ProtoWriterTools.sizeOfUnsignedVarInt32(tag);
+        final int size = region.data().getVarInt(offsetInRegion + sizeOfTag, false);
+        final int sizeOfSize = ProtoWriterTools.sizeOfUnsignedVarInt32(size);
+        final int dataOffsetInRegion = offsetInRegion + sizeOfTag + sizeOfSize;
+        if (dataOffsetInRegion + size > regionSize) {
+            return null;
+        }
+        ByteBuffer readBB = BUFFER_CACHE.get();
+        BufferedData readBuf = BUFFEREDDATA_CACHE.get();
+        if (readBB.capacity() < size) {
+            readBB = ByteBuffer.allocate(size);
+            BUFFER_CACHE.set(readBB);
+            readBuf = BufferedData.wrap(readBB);
+            BUFFEREDDATA_CACHE.set(readBuf);
+        }
+        readBB.clear();
+        readBB.put(0, region.buffer(), dataOffsetInRegion, size);
+        readBuf.position(0);
+        readBuf.limit(size);
+        return readBuf;
+    }
+
     /**
      * Read bytesToRead bytes of data from the file starting at byteOffsetInFile unless we reach the
      * end of file. If we reach the end of file then returned buffer's limit will be set to the
@@ -377,6 +513,12 @@ public class DataFileReaderPbj<D> implements DataFileReader<D> {
             readBuf = BufferedData.wrap(readBB);
             BUFFEREDDATA_CACHE.set(readBuf);
         }
+        if (memoryMapped && isFileCompleted()) {
+            final BufferedData mappedData = readMapped(byteOffsetInFile);
+            if (mappedData != null) {
+                return mappedData;
+            }
+        }
         // Try a few times. It's very unlikely (other than in tests) that a thread is
         // interrupted more than once in short period of time, so 3 retries should be enough
         for (int retries = 3; retries > 0; retries--) {
@@ -24,6 +24,7 @@ import com.hedera.pbj.runtime.ProtoConstants;
 import com.hedera.pbj.runtime.ProtoWriterTools;
 import com.hedera.pbj.runtime.io.ReadableSequentialData;
 import com.hedera.pbj.runtime.io.WritableSequentialData;
+import com.hedera.pbj.runtime.io.buffer.BufferedData;
 import com.swirlds.common.crypto.DigestType;
 import com.swirlds.merkledb.MerkleDbTableConfig;
 import com.swirlds.merkledb.serialize.DataItemHeader;
@@ -34,9 +35,12 @@ import com.swirlds.virtualmap.VirtualKey;
 import com.swirlds.virtualmap.VirtualValue;
 import com.swirlds.virtualmap.datasource.VirtualLeafRecord;
 import edu.umd.cs.findbugs.annotations.NonNull;
+import edu.umd.cs.findbugs.annotations.Nullable;
 import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.util.Objects;
+import java.util.function.LongPredicate;
+import java.util.function.Predicate;
 
 /**
  * Serializer to store and read virtual leaf records in MerkleDb data files.
@@ -213,6 +217,105 @@ public class VirtualLeafRecordSerializer<K extends VirtualKey, V extends Virtual
         return new VirtualLeafRecord<>(path, key, value);
     }
 
+    /**
+     * Deserializes a virtual leaf record from the given buffer, but only if the key stored in the
+     * buffer is equal to the given key. The stored key is compared to the given key in serialized
+     * form, using {@link KeySerializer#equals(BufferedData, VirtualKey)}, and is never deserialized.
+     * The returned record references the given key object and a newly deserialized value. If the
+     * keys don't match, the value isn't deserialized either.
+     *
+     * <p>This method is used to load leaf records by key, when the caller already has the key
+     * object, and deserializing another copy of it from disk would be a waste.
+     *
+     * @param in the buffer to read the record from
+     * @param key the expected key
+     * @return the leaf record with the given key, or null if the buffer contains a different key
+     */
+    public VirtualLeafRecord<K, V> deserializeIfKeyMatches(@NonNull final BufferedData in, @NonNull final K key) {
+        // default values
+        long path = 0;
+        boolean keyMatches = false;
+        V value = null;
+
+        // read fields, they may be missing or in any order
+        while (in.hasRemaining()) {
+            final int tag = in.readVarInt(false);
+            final int fieldNum = tag >> TAG_FIELD_OFFSET;
+            if (fieldNum == FIELD_LEAFRECORD_PATH.number()) {
+                path = readPath(in);
+            } else if (fieldNum == FIELD_LEAFRECORD_KEY.number()) {
+                final int keySize = in.readVarInt(false);
+                final long keyStart = in.position();
+                final long limit = in.limit();
+                in.limit(keyStart + keySize);
+                keyMatches = keySerializer.equals(in, key);
+                in.limit(limit);
+                in.position(keyStart + keySize);
+                if (!keyMatches) {
+                    return null;
+                }
+            } else if (fieldNum == FIELD_LEAFRECORD_VALUE.number()) {
+                value = readValue(in);
+            } else {
+                throw new IllegalArgumentException("Unknown virtual leaf record field: " + fieldNum);
+            }
+        }
+
+        return keyMatches ? new VirtualLeafRecord<>(path, key, value) : null;
+    }
+
+    /**
+     * Deserializes a virtual leaf record from the given buffer, but only if it's accepted by the given
+     * filters. The key isn't deserialized unless the stored path is accepted by the path filter, and the
+     * value isn't deserialized unless the key is accepted by the key filter. Leaf records are always
+     * serialized with the path before the key, see {@link #serialize(VirtualLeafRecord, WritableSequentialData)}.
+     *
+     * <p>This method is used to scan all leaf records in data files, when most records are either stale
+     * or not needed by the caller.
+     *
+     * @param in the buffer to read the record from
+     * @param pathFilter the filter to check the stored path
+     * @param keyFilter the filter to check the stored key, or null to accept all keys
+     * @return the leaf record, or null if the record isn't accepted by the filters
+     */
+    public VirtualLeafRecord<K, V> deserializeIfAccepted(
+            @NonNull final BufferedData in,
+            @NonNull final LongPredicate pathFilter,
+            @Nullable final Predicate<K> keyFilter) {
+        // default values
+        long path = 0;
+        boolean pathChecked = false;
+        K key = null;
+        V value = null;
+
+        // read fields, they may be missing
+        while (in.hasRemaining()) {
+            final int tag = in.readVarInt(false);
+            final int fieldNum = tag >> TAG_FIELD_OFFSET;
+            if (fieldNum == FIELD_LEAFRECORD_PATH.number()) {
+                path = readPath(in);
+            } else if (fieldNum == FIELD_LEAFRECORD_KEY.number()) {
+                if (!pathFilter.test(path)) {
+                    return null;
+                }
+                pathChecked = true;
+                key = readKey(in);
+                if ((keyFilter != null) && !keyFilter.test(key)) {
+                    return null;
+                }
+            } else if (fieldNum == FIELD_LEAFRECORD_VALUE.number()) {
+                value = readValue(in);
+            } else {
+                throw new IllegalArgumentException("Unknown virtual leaf record field: " + fieldNum);
+            }
+        }
+        if (!pathChecked && !pathFilter.test(path)) {
+            return null;
+        }
+
+        return new VirtualLeafRecord<>(path, key, value);
+    }
+
     private long readPath(final ReadableSequentialData in) {
         final long path = in.readLong();
         return path;
@@ -33,6 +33,7 @@ import java.io.Closeable;
 import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntConsumer;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
@@ -350,6 +351,42 @@ public sealed class Bucket<K extends VirtualKey> implements Closeable permits Pa
         throw new UnsupportedOperationException("Cannot write Bucket to JDB");
     }
 
+    /**
+     * Calls the given action for the key hash code of every entry in this bucket.
+     *
+     * @param action the action to call
+     */
+    public void forEachKeyHashCode(final IntConsumer action) {
+        bucketData.resetPosition();
+        while (bucketData.hasRemaining()) {
+            final int tag = bucketData.readVarInt(false);
+            final int fieldNum = tag >> TAG_FIELD_OFFSET;
+            if (fieldNum == FIELD_BUCKET_INDEX.number()) {
+                bucketData.skip(Integer.BYTES);
+            } else if (fieldNum == FIELD_BUCKET_ENTRIES.number()) {
+                final int entrySize = bucketData.readVarInt(false);
+                final long nextEntryOffset = bucketData.position() + entrySize;
+                while (bucketData.position() < nextEntryOffset) {
+                    final int entryTag = bucketData.readVarInt(false);
+                    final int entryFieldNum = entryTag >> TAG_FIELD_OFFSET;
+                    if (entryFieldNum == FIELD_BUCKETENTRY_HASHCODE.number()) {
+                        action.accept(bucketData.readInt());
+                        break;
+                    } else if (entryFieldNum == FIELD_BUCKETENTRY_VALUE.number()) {
+                        bucketData.skip(Long.BYTES);
+                    } else if (entryFieldNum == FIELD_BUCKETENTRY_KEYBYTES.number()) {
+                        bucketData.skip(bucketData.readVarInt(false));
+                    } else {
+                        throw new IllegalArgumentException("Unknown bucket entry field: " + entryFieldNum);
+                    }
+                }
+                bucketData.position(nextEntryOffset);
+            } else {
+                throw new IllegalArgumentException("Unknown bucket field: " + fieldNum);
+            }
+        }
+    }
+
     // =================================================================================================================
     // Private API
 
@@ -40,17 +40,18 @@ import edu.umd.cs.findbugs.annotations.Nullable;
 import java.io.DataInputStream;
 import java.io.DataOutputStream;
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.util.Iterator;
+import java.util.ArrayDeque;
+import java.util.Deque;
 import java.util.LongSummaryStatistics;
-import java.util.Queue;
-import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
-import org.eclipse.collections.api.tuple.primitive.IntObjectPair;
 import org.eclipse.collections.impl.map.mutable.primitive.IntObjectHashMap;
 
 /**
@@ -76,6 +77,8 @@ public class HalfDiskHashMap<K extends VirtualKey>
     private static final String METADATA_FILENAME_SUFFIX = "_metadata.hdhm";
     /** Bucket index file name suffix with extension */
     private static final String BUCKET_INDEX_FILENAME_SUFFIX = "_bucket_index.ll";
+    /** Key hash bloom filter file name suffix with extension */
+    private static final String BLOOM_FILTER_FILENAME_SUFFIX = "_bloom_filter.bf";
     /**
      * A marker to indicate that a value should be deleted from the map, or that there is
      * no old value to compare against in putIfEqual/deleteIfEqual
@@ -89,7 +92,7 @@ public class HalfDiskHashMap<K extends VirtualKey>
      * it is a matter of balance.
      */
     private static final long GOOD_AVERAGE_BUCKET_ENTRY_COUNT = 32;
-    /** The limit on the number of concurrent read tasks in {@code endWriting()} */
+    /** The limit on the number of buckets being read and updated ahead of the writer in {@code endWriting()} */
     private static final int MAX_IN_FLIGHT = 64;
 
     /**
@@ -99,6 +102,12 @@ public class HalfDiskHashMap<K extends VirtualKey>
     private final LongList bucketIndexToBucketLocation;
     /** DataFileCollection manages the files storing the buckets on disk */
     private final DataFileCollection<Bucket<K>> fileCollection;
+    /**
+     * Bloom filter of hash codes of all keys in this map, used to skip bucket reads for absent keys
+     * in {@link #get(VirtualKey, long)}. Null, if disabled in MerkleDb config
+     */
+    @Nullable
+    private final KeyHashBloomFilter bloomFilter;
 
     /**
      * This is the number of buckets needed to store mapSize entries if we ere only LOADING_FACTOR
@@ -210,15 +219,18 @@ public class HalfDiskHashMap<K extends VirtualKey>
                         + "] because metadata file is missing");
             }
             // load or rebuild index
+            final boolean memoryMappedDiskIndex = config.useMemoryMappedDiskIndices();
             final boolean forceIndexRebuilding = config.indexRebuildingEnforced();
             if (Files.exists(indexFile) && !forceIndexRebuilding) {
-                bucketIndexToBucketLocation =
-                        preferDiskBasedIndex ? new LongListDisk(indexFile) : new LongListOffHeap(indexFile);
+                bucketIndexToBucketLocation = preferDiskBasedIndex
+                        ? new LongListDisk(indexFile, memoryMappedDiskIndex)
+                        : new LongListOffHeap(indexFile);
                 loadedDataCallback = null;
             } else {
                 // create new index and setup call back to rebuild
-                bucketIndexToBucketLocation =
-                        preferDiskBasedIndex ? new LongListDisk(indexFile) : new LongListOffHeap();
+                bucketIndexToBucketLocation = preferDiskBasedIndex
+                        ? new LongListDisk(indexFile, memoryMappedDiskIndex)
+                        : new LongListOffHeap();
                 loadedDataCallback = (dataLocation, bucket) ->
                         bucketIndexToBucketLocation.put(bucket.getBucketIndex(), dataLocation);
             }
@@ -226,7 +238,9 @@ public class HalfDiskHashMap<K extends VirtualKey>
             // create store dir
             Files.createDirectories(storeDir);
             // create new index
-            bucketIndexToBucketLocation = preferDiskBasedIndex ? new LongListDisk(indexFile) : new LongListOffHeap();
+            bucketIndexToBucketLocation = preferDiskBasedIndex
+                    ? new LongListDisk(indexFile, config.useMemoryMappedDiskIndices())
+                    : new LongListOffHeap();
             // calculate number of entries we can store in a disk page
             minimumBuckets = (int) (mapSize / GOOD_AVERAGE_BUCKET_ENTRY_COUNT);
             // numOfBuckets is the nearest power of two greater than minimumBuckets with a min of 4096
@@ -244,6 +258,67 @@ public class HalfDiskHashMap<K extends VirtualKey>
         fileCollection = new DataFileCollection<>(
                 // Need: propagate MerkleDb config from the database
                 config, storeDir, storeName, legacyStoreName, bucketSerializer, loadedDataCallback);
+        // load or rebuild key hash bloom filter, if enabled
+        final int bloomFilterBitsPerKey = config.halfDiskHashMapBloomFilterBitsPerKey();
+        if (bloomFilterBitsPerKey > 0) {
+            bloomFilter = loadOrRebuildBloomFilter(
+                    storeDir.resolve(storeName + BLOOM_FILTER_FILENAME_SUFFIX), bloomFilterBitsPerKey);
+        } else {
+            bloomFilter = null;
+        }
+    }
+
+    /**
+     * Loads key hash bloom filter from the given file. If the file doesn't exist, or it can't be
+     * read, or it was created for different map size or bits per key, a new filter is created and
+     * populated with hash codes of all keys from all buckets. Must be called after the bucket index
+     * and file collection are loaded.
+     *
+     * @param filterFile bloom filter file to load
+     * @param bitsPerKey the number of filter bits per key
+     * @return the loaded or rebuilt bloom filter
+     * @throws IOException if there was a problem reading buckets
+     */
+    private KeyHashBloomFilter loadOrRebuildBloomFilter(final Path filterFile, final int bitsPerKey)
+            throws IOException {
+        if (Files.exists(filterFile)) {
+            try {
+                final KeyHashBloomFilter loaded = KeyHashBloomFilter.readFromFile(filterFile);
+                if (loaded.matches(mapSize, bitsPerKey)) {
+                    return loaded;
+                }
+                logger.info(
+                        MERKLE_DB.getMarker(),
+                        "HalfDiskHashMap [{}] bloom filter parameters changed, rebuilding the filter",
+                        storeName);
+                loaded.close();
+            } catch (final IOException e) {
+                logger.warn(
+                        EXCEPTION.getMarker(),
+                        "Failed to load HalfDiskHashMap [{}] bloom filter, rebuilding the filter",
+                        storeName,
+                        e);
+            }
+        }
+        final KeyHashBloomFilter filter = new KeyHashBloomFilter(mapSize, bitsPerKey);
+        try {
+            bucketIndexToBucketLocation.forEach((bucketIndex, bucketLocation) -> {
+                try (final Bucket<K> bucket =
+                        fileCollection.readDataItemUsingIndex(bucketIndexToBucketLocation, bucketIndex)) {
+                    if (bucket != null) {
+                        bucket.forEachKeyHashCode(filter::add);
+                    }
+                }
+            });
+        } catch (final InterruptedException e) {
+            filter.close();
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while rebuilding HalfDiskHashMap bloom filter", e);
+        } catch (final IOException | RuntimeException e) {
+            filter.close();
+            throw e;
+        }
+        return filter;
     }
 
     /**
@@ -261,6 +336,10 @@ public class HalfDiskHashMap<K extends VirtualKey>
         Files.createDirectories(snapshotDirectory);
         // write index to file
         bucketIndexToBucketLocation.writeToFile(snapshotDirectory.resolve(storeName + BUCKET_INDEX_FILENAME_SUFFIX));
+        // write bloom filter to file. It's written before the buckets, so it may only have extra keys
+        if (bloomFilter != null) {
+            bloomFilter.writeToFile(snapshotDirectory.resolve(storeName + BLOOM_FILTER_FILENAME_SUFFIX));
+        }
         // snapshot files
         fileCollection.snapshot(snapshotDirectory);
         // write metadata
@@ -278,10 +357,14 @@ public class HalfDiskHashMap<K extends VirtualKey>
      */
     @Override
     public long getOffHeapConsumption() {
+        long offHeapConsumption = 0;
         if (bucketIndexToBucketLocation instanceof LongListOffHeap offheapIndex) {
-            return offheapIndex.getOffHeapConsumption();
+            offHeapConsumption += offheapIndex.getOffHeapConsumption();
         }
-        return 0;
+        if (bloomFilter != null) {
+            offHeapConsumption += bloomFilter.getOffHeapConsumption();
+        }
+        return offHeapConsumption;
     }
 
     /**
@@ -302,6 +385,9 @@ public class HalfDiskHashMap<K extends VirtualKey>
     public void close() throws IOException {
         bucketIndexToBucketLocation.close();
         fileCollection.close();
+        if (bloomFilter != null) {
+            bloomFilter.close();
+        }
     }
 
     // =================================================================================================================
@@ -416,31 +502,43 @@ public class HalfDiskHashMap<K extends VirtualKey>
 
         final DataFileReader<Bucket<K>> dataFileReader;
         if (size > 0) {
-            final Queue<ReadBucketResult<K>> queue = new ConcurrentLinkedQueue<>();
-            final Iterator<IntObjectPair<BucketMutation<K>>> iterator =
-                    oneTransactionsData.keyValuesView().iterator();
+            // add new keys to the bloom filter before they are available in buckets, so concurrent
+            // readers never get false negatives from the filter
+            if (bloomFilter != null) {
+                oneTransactionsData.forEachValue(bucketMap -> bucketMap.forEachKeyValue((key, oldValue, value) -> {
+                    if (value != INVALID_VALUE) {
+                        bloomFilter.add(key.hashCode());
+                    }
+                }));
+            }
 
-            // read and update all buckets in parallel, write sequentially in random order
+            // Process buckets in bucket index order. Reads and updates run in parallel on the flush
+            // executor, at most MAX_IN_FLIGHT buckets ahead of the writer. The writer stores buckets
+            // in the same order as soon as each of them is ready, without waiting for all reads to
+            // complete. Sorted order makes bucket reads in this and next flushes more sequential
+            final int[] bucketIndices = oneTransactionsData.keySet().toSortedArray();
+            final Deque<CompletableFuture<Bucket<K>>> inFlight = new ArrayDeque<>(MAX_IN_FLIGHT);
+            int submitted = 0;
             fileCollection.startWriting();
-            int processed = 0;
-            int inFlight = 0;
-            while (processed < size) {
-                // submit read tasks
-                while (inFlight < MAX_IN_FLIGHT && iterator.hasNext()) {
-                    IntObjectPair<BucketMutation<K>> keyValue = iterator.next();
-                    final int bucketIndex = keyValue.getOne();
-                    final BucketMutation<K> bucketMap = keyValue.getTwo();
-                    flushExecutor.execute(() -> readUpdateQueueBucket(bucketIndex, bucketMap, queue));
-                    ++inFlight;
-                }
-
-                ReadBucketResult<K> res;
-                while ((res = queue.poll()) != null) {
-                    --inFlight;
-                    if (res.error != null) {
-                        throw new RuntimeException(res.error);
+            try {
+                while ((submitted < size) || !inFlight.isEmpty()) {
+                    // submit read tasks
+                    while ((inFlight.size() < MAX_IN_FLIGHT) && (submitted < size)) {
+                        final int bucketIndex = bucketIndices[submitted++];
+                        final BucketMutation<K> bucketMap = oneTransactionsData.get(bucketIndex);
+                        inFlight.addLast(CompletableFuture.supplyAsync(
+                                () -> readUpdateBucket(bucketIndex, bucketMap), flushExecutor));
+                    }
+                    final Bucket<K> next;
+                    try {
+                        next = inFlight.removeFirst().join();
+                    } catch (final CompletionException e) {
+                        if (e.getCause() instanceof UncheckedIOException ioException) {
+                            throw ioException.getCause();
+                        }
+                        throw new RuntimeException(e.getCause());
                     }
-                    try (final Bucket<K> bucket = res.bucket) {
+                    try (final Bucket<K> bucket = next) {
                         final int bucketIndex = bucket.getBucketIndex();
                         if (bucket.isEmpty()) {
                             // bucket is missing or empty, remove it from the index
@@ -451,10 +549,21 @@ public class HalfDiskHashMap<K extends VirtualKey>
                             // update bucketIndexToBucketLocation
                             bucketIndexToBucketLocation.put(bucketIndex, bucketLocation);
                         }
-                    } finally {
-                        ++processed;
                     }
                 }
+            } catch (final IOException | RuntimeException e) {
+                // wait for buckets that are still being read or updated and release them, so no
+                // buckets are leaked and no tasks of this flush are left running on the executor
+                for (final CompletableFuture<Bucket<K>> future : inFlight) {
+                    try {
+                        future.join().close();
+                    } catch (final CompletionException ex) {
+                        // the task failed and released its bucket, if any
+                    } catch (final IOException ex) {
+                        e.addSuppressed(ex);
+                    }
+                }
+                throw e;
             }
             // close files session
             dataFileReader = fileCollection.endWriting(0, numOfBuckets);
@@ -470,19 +579,18 @@ public class HalfDiskHashMap<K extends VirtualKey>
     }
 
     /**
-     * Reads a bucket with a given index from disk, updates given keys in it, and puts the bucket to
-     * a queue. If an exception is thrown, it's put to the queue instead, so the number of {@code
-     * ReadBucketResult} objects in the queue is consistent.
+     * Reads a bucket with a given index from disk and updates given keys in it. If the bucket
+     * doesn't exist yet, a new bucket is created. This method is called on flush executor threads.
      *
      * @param bucketIndex The bucket index
      * @param keyUpdates Key/value updates to apply to the bucket
-     * @param queue The queue to put the bucket or exception to
+     * @return the updated bucket, to be closed by the caller
      */
-    private void readUpdateQueueBucket(
-            final int bucketIndex, final BucketMutation<K> keyUpdates, final Queue<ReadBucketResult<K>> queue) {
+    private Bucket<K> readUpdateBucket(final int bucketIndex, final BucketMutation<K> keyUpdates) {
+        Bucket<K> bucket = null;
         try {
             // The bucket will be closed on the lifecycle thread
-            Bucket<K> bucket = fileCollection.readDataItemUsingIndex(bucketIndexToBucketLocation, bucketIndex);
+            bucket = fileCollection.readDataItemUsingIndex(bucketIndexToBucketLocation, bucketIndex);
             if (bucket == null) {
                 // create a new bucket
                 bucket = bucketSerializer.getBucketPool().getBucket();
@@ -490,10 +598,21 @@ public class HalfDiskHashMap<K extends VirtualKey>
             }
             // for each changed key in bucket, update bucket
             keyUpdates.forEachKeyValue(bucket::putValue);
-            queue.offer(new ReadBucketResult<>(bucket, null));
-        } catch (final Exception e) {
+            return bucket;
+        } catch (final IOException e) {
             logger.error(EXCEPTION.getMarker(), "Failed to read / update bucket", e);
-            queue.offer(new ReadBucketResult<>(null, e));
+            throw new UncheckedIOException(e);
+        } catch (final RuntimeException e) {
+            logger.error(EXCEPTION.getMarker(), "Failed to read / update bucket", e);
+            if (bucket != null) {
+                // The bucket isn't returned to the caller, release it here
+                try {
+                    bucket.close();
+                } catch (final IOException ex) {
+                    e.addSuppressed(ex);
+                }
+            }
+            throw e;
         }
     }
 
@@ -514,6 +633,9 @@ public class HalfDiskHashMap<K extends VirtualKey>
             throw new IllegalArgumentException("Can not get a null key");
         }
         final int keyHash = key.hashCode();
+        if ((bloomFilter != null) && !bloomFilter.mightContain(keyHash)) {
+            return notFoundValue;
+        }
         final int bucketIndex = computeBucketIndex(keyHash);
         try (final Bucket<K> bucket = fileCollection.readDataItemUsingIndex(bucketIndexToBucketLocation, bucketIndex)) {
             if (bucket != null) {
@@ -547,6 +669,11 @@ public class HalfDiskHashMap<K extends VirtualKey>
         return fileCollection;
     }
 
+    // For testing purposes
+    ReusableBucketPool<K> getBucketPool() {
+        return bucketSerializer.getBucketPool();
+    }
+
     public CASableLongIndex getBucketIndexToBucketLocation() {
         return bucketIndexToBucketLocation;
     }
@@ -564,10 +691,4 @@ public class HalfDiskHashMap<K extends VirtualKey>
     private int computeBucketIndex(final int keyHash) {
         return (numOfBuckets - 1) & keyHash;
     }
-
-    private record ReadBucketResult<K extends VirtualKey>(Bucket<K> bucket, Throwable error) {
-        public ReadBucketResult {
-            assert (bucket != null) ^ (error != null);
-        }
-    }
 }
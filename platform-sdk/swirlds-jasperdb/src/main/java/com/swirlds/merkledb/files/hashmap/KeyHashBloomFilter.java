@@ -0,0 +1,268 @@
+/*
+ * Copyright (C) 2024 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.swirlds.merkledb.files.hashmap;
+
+import static com.swirlds.common.utility.NonCryptographicHashing.hash64;
+
+import com.swirlds.merkledb.utilities.MerkleDbFileUtils;
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.lang.reflect.Field;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import sun.misc.Unsafe;
+
+/**
+ * An off-heap bloom filter of key hash codes, used by {@link HalfDiskHashMap} to answer most
+ * lookups for absent keys without reading buckets from disk. Since buckets store and compare key
+ * hash codes before keys themselves, if there is no key with the given hash code in the filter,
+ * there is no such key in the map.
+ *
+ * <p>Similar to {@link com.swirlds.common.bloom.BloomFilter}, this filter uses {@link
+ * com.swirlds.common.utility.NonCryptographicHashing#hash64(long)} to compute bit indices.
+ * However, bits are stored in a direct byte buffer rather than in heap arrays, and they are set
+ * atomically, so the filter can be updated by a single writer thread while it's read by multiple
+ * reader threads. Filter size is always a power of two, to map hashes to bits with a mask.
+ *
+ * <p>Keys can't be removed from a bloom filter. When keys are deleted from the map, their bits
+ * remain set, which only increases the false positive rate until the filter is rebuilt from
+ * bucket files.
+ */
+final class KeyHashBloomFilter implements AutoCloseable {
+
+    /** The version number for format of filter files */
+    private static final int FILE_FORMAT_VERSION = 1;
+
+    /** Filter file header size: format version, hash count, and size in bits */
+    private static final int HEADER_SIZE = Integer.BYTES + Integer.BYTES + Long.BYTES;
+
+    /** Min filter size, in bits */
+    private static final long MIN_SIZE_IN_BITS = Long.SIZE;
+
+    /** Max filter size, in bits. It's 1Gb, so it fits into a single direct buffer */
+    private static final long MAX_SIZE_IN_BITS = 1L << 33;
+
+    /** Max number of hashes per key */
+    private static final int MAX_HASH_COUNT = 16;
+
+    /** Access to filter bits as longs, the only way to set bits atomically in a byte buffer */
+    private static final VarHandle LONGS =
+            MethodHandles.byteBufferViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+
+    /**
+     * Access to sun.misc.Unsafe required to release direct byte buffers explicitly rather than
+     * to rely on GC to collect them.
+     */
+    private static final Unsafe UNSAFE;
+
+    static {
+        try {
+            final Field f = Unsafe.class.getDeclaredField("theUnsafe");
+            f.setAccessible(true);
+            UNSAFE = (Unsafe) f.get(null);
+        } catch (NoSuchFieldException | SecurityException | IllegalArgumentException | IllegalAccessException e) {
+            throw new InternalError(e);
+        }
+    }
+
+    /** The number of bits set for every key */
+    private final int hashCount;
+
+    /** Filter size in bits, a power of two */
+    private final long sizeInBits;
+
+    /** Allocated direct buffer, to release in {@link #close()} */
+    private final ByteBuffer allocated;
+
+    /** Filter bits, an 8-byte aligned slice of {@link #allocated} */
+    private final ByteBuffer bits;
+
+    /**
+     * Creates a new empty filter for the given number of keys.
+     *
+     * @param expectedKeys the max number of keys expected to be added to the filter
+     * @param bitsPerKey the number of filter bits per key
+     */
+    KeyHashBloomFilter(final long expectedKeys, final int bitsPerKey) {
+        this(optimalHashCount(bitsPerKey), sizeInBits(expectedKeys, bitsPerKey));
+    }
+
+    private KeyHashBloomFilter(final int hashCount, final long sizeInBits) {
+        if ((hashCount <= 0) || (hashCount > MAX_HASH_COUNT)) {
+            throw new IllegalArgumentException("Wrong hash count: " + hashCount);
+        }
+        if ((sizeInBits < MIN_SIZE_IN_BITS) || (sizeInBits > MAX_SIZE_IN_BITS) || (Long.bitCount(sizeInBits) != 1)) {
+            throw new IllegalArgumentException("Wrong filter size in bits: " + sizeInBits);
+        }
+        this.hashCount = hashCount;
+        this.sizeInBits = sizeInBits;
+        final int sizeInBytes = Math.toIntExact(sizeInBits / Byte.SIZE);
+        allocated = ByteBuffer.allocateDirect(sizeInBytes + Long.BYTES - 1);
+        bits = allocated.alignedSlice(Long.BYTES).slice(0, sizeInBytes);
+    }
+
+    /**
+     * Gets the number of hashes per key for the given number of bits per key, which gives the
+     * lowest false positive rate.
+     *
+     * @param bitsPerKey the number of filter bits per key
+     * @return the number of hashes per key
+     */
+    static int optimalHashCount(final int bitsPerKey) {
+        return (int) Math.max(1, Math.min(MAX_HASH_COUNT, Math.round(bitsPerKey * Math.log(2))));
+    }
+
+    /**
+     * Gets filter size in bits for the given number of keys. The size is rounded up to the next
+     * power of two, but not greater than the max filter size.
+     *
+     * @param expectedKeys the max number of keys expected to be added to the filter
+     * @param bitsPerKey the number of filter bits per key
+     * @return filter size in bits
+     */
+    static long sizeInBits(final long expectedKeys, final int bitsPerKey) {
+        if (bitsPerKey <= 0) {
+            throw new IllegalArgumentException("Bits per key must be positive");
+        }
+        final long requiredBits = Math.min(MAX_SIZE_IN_BITS, Math.max(MIN_SIZE_IN_BITS, expectedKeys * bitsPerKey));
+        return Long.bitCount(requiredBits) == 1 ? requiredBits : Long.highestOneBit(requiredBits) << 1;
+    }
+
+    /**
+     * Adds a key hash code to this filter. This method may be called concurrently with {@link
+     * #mightContain(int)}, but must not be called concurrently from multiple threads.
+     *
+     * @param keyHashCode the key hash code
+     */
+    void add(final int keyHashCode) {
+        long hash = keyHashCode;
+        for (int i = 0; i < hashCount; i++) {
+            hash = hash64(hash);
+            final long bit = hash & (sizeInBits - 1);
+            LONGS.getAndBitwiseOr(bits, (int) ((bit >>> 6) * Long.BYTES), 1L << bit);
+        }
+    }
+
+    /**
+     * Checks if a key with the given hash code may be in this filter.
+     *
+     * @param keyHashCode the key hash code
+     * @return false if there is definitely no key with the given hash code in the filter, true
+     *     if there may be such a key
+     */
+    boolean mightContain(final int keyHashCode) {
+        long hash = keyHashCode;
+        for (int i = 0; i < hashCount; i++) {
+            hash = hash64(hash);
+            final long bit = hash & (sizeInBits - 1);
+            final long word = (long) LONGS.getVolatile(bits, (int) ((bit >>> 6) * Long.BYTES));
+            if ((word & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Checks if this filter has the same hash count and size as a filter created for the given
+     * number of keys and bits per key.
+     *
+     * @param expectedKeys the max number of keys expected to be added to the filter
+     * @param bitsPerKey the number of filter bits per key
+     * @return true if the filter parameters match
+     */
+    boolean matches(final long expectedKeys, final int bitsPerKey) {
+        return (hashCount == optimalHashCount(bitsPerKey)) && (sizeInBits == sizeInBits(expectedKeys, bitsPerKey));
+    }
+
+    /**
+     * Gets the amount of off-heap memory used by this filter.
+     *
+     * @return off-heap memory size, in bytes
+     */
+    long getOffHeapConsumption() {
+        return allocated.capacity();
+    }
+
+    /**
+     * Writes this filter to a file. If the filter is updated while being written, the file may
+     * or may not contain the updates.
+     *
+     * @param file the file to write to
+     * @throws IOException if an I/O error occurs
+     */
+    void writeToFile(final Path file) throws IOException {
+        try (final FileChannel channel = FileChannel.open(
+                file, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            final ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            header.putInt(FILE_FORMAT_VERSION);
+            header.putInt(hashCount);
+            header.putLong(sizeInBits);
+            header.flip();
+            MerkleDbFileUtils.completelyWrite(channel, header);
+            MerkleDbFileUtils.completelyWrite(channel, bits.duplicate().clear());
+        }
+    }
+
+    /**
+     * Reads a filter from a file.
+     *
+     * @param file the file to read from
+     * @return the filter
+     * @throws IOException if an I/O error occurs, or the file is not a valid filter file
+     */
+    static KeyHashBloomFilter readFromFile(final Path file) throws IOException {
+        try (final FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            final ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            if (MerkleDbFileUtils.completelyRead(channel, header) != HEADER_SIZE) {
+                throw new IOException("Bloom filter file is too short: " + file);
+            }
+            header.flip();
+            final int version = header.getInt();
+            if (version != FILE_FORMAT_VERSION) {
+                throw new IOException("Tried to read a file with incompatible file format version [" + version
+                        + "], expected [" + FILE_FORMAT_VERSION + "].");
+            }
+            final int hashCount = header.getInt();
+            final long sizeInBits = header.getLong();
+            final KeyHashBloomFilter filter;
+            try {
+                filter = new KeyHashBloomFilter(hashCount, sizeInBits);
+            } catch (final IllegalArgumentException e) {
+                throw new IOException("Invalid bloom filter file: " + file, e);
+            }
+            final ByteBuffer bits = filter.bits.duplicate().clear();
+            if (MerkleDbFileUtils.completelyRead(channel, bits) != bits.capacity()) {
+                filter.close();
+                throw new IOException("Bloom filter file is too short: " + file);
+            }
+            return filter;
+        }
+    }
+
+    /**
+     * Releases off-heap memory used by this filter. The filter must not be used after it's closed.
+     */
+    @Override
+    public void close() {
+        UNSAFE.invokeCleaner(allocated);
+    }
+}
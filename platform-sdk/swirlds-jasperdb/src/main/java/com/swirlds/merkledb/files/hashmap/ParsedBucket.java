@@ -32,6 +32,7 @@ import java.io.UncheckedIOException;
 import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.IntConsumer;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
@@ -125,6 +126,16 @@ public final class ParsedBucket<K extends VirtualKey> extends Bucket<K> {
         }
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void forEachKeyHashCode(final IntConsumer action) {
+        for (final BucketEntry entry : entries) {
+            action.accept(entry.getHashCode());
+        }
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -104,4 +104,9 @@ public class ReusableBucketPool<K extends VirtualKey> {
     public void releaseBucket(final Bucket<K> bucket) {
         buckets.offerLast(bucket);
     }
+
+    // For testing purposes
+    int availableBuckets() {
+        return buckets.size();
+    }
 }
@@ -0,0 +1,101 @@
+/*
+ * Copyright (C) 2024 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.swirlds.merkledb;
+
+import static com.swirlds.virtualmap.datasource.VirtualDataSource.INVALID_PATH;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.swirlds.merkledb.test.fixtures.ExampleFixedSizeVirtualValue;
+import com.swirlds.merkledb.test.fixtures.ExampleLongKeyFixedSize;
+import org.junit.jupiter.api.Test;
+
+class LeafRecordCacheTest {
+
+    @Test
+    void invalidParameters() {
+        assertThrows(IllegalArgumentException.class, () -> new LeafRecordCache<>(0, 4), "Zero capacity");
+        assertThrows(IllegalArgumentException.class, () -> new LeafRecordCache<>(16, 0), "Zero ways");
+    }
+
+    @Test
+    void capacityIsRoundedToPowerOfTwoSets() {
+        assertEquals(16, new LeafRecordCache<>(16, 4).capacity(), "Wrong capacity");
+        assertEquals(16, new LeafRecordCache<>(20, 4).capacity(), "Wrong capacity");
+        assertEquals(3, new LeafRecordCache<>(3, 4).capacity(), "Capacity less than ways");
+    }
+
+    @Test
+    void putAndGet() {
+        final LeafRecordCache<ExampleLongKeyFixedSize, ExampleFixedSizeVirtualValue> cache =
+                new LeafRecordCache<>(64, 4);
+        final ExampleLongKeyFixedSize key = new ExampleLongKeyFixedSize(1);
+        assertNull(cache.get(key), "Empty cache");
+
+        assertFalse(cache.put(key, 10, new ExampleFixedSizeVirtualValue(1)), "Nothing to evict");
+        final LeafRecordCache.Entry<ExampleLongKeyFixedSize, ExampleFixedSizeVirtualValue> entry =
+                cache.get(new ExampleLongKeyFixedSize(1));
+        assertNotNull(entry, "Key must be cached");
+        assertEquals(10, entry.path(), "Wrong path");
+        assertEquals(new ExampleFixedSizeVirtualValue(1), entry.value(), "Wrong value");
+
+        // Replace
+        assertFalse(cache.put(key, INVALID_PATH, null), "Replacement is not an eviction");
+        assertEquals(INVALID_PATH, cache.get(key).path(), "Negative result must be cached");
+        assertNull(cache.get(key).value(), "No value expected");
+
+        cache.invalidate(key);
+        assertNull(cache.get(key), "Key must be invalidated");
+    }
+
+    @Test
+    void collidingKeysDoNotEvictEachOther() {
+        // A single set of 4 ways
+        final LeafRecordCache<ExampleLongKeyFixedSize, ExampleFixedSizeVirtualValue> cache =
+                new LeafRecordCache<>(4, 4);
+        for (int i = 0; i < 4; i++) {
+            assertFalse(cache.put(new ExampleLongKeyFixedSize(i), i, null), "No eviction while set is not full");
+        }
+        for (int i = 0; i < 4; i++) {
+            assertNotNull(cache.get(new ExampleLongKeyFixedSize(i)), "All keys must be cached");
+        }
+    }
+
+    @Test
+    void clockEvictsNotReferencedEntries() {
+        final LeafRecordCache<ExampleLongKeyFixedSize, ExampleFixedSizeVirtualValue> cache =
+                new LeafRecordCache<>(4, 4);
+        for (int i = 0; i < 4; i++) {
+            cache.put(new ExampleLongKeyFixedSize(i), i, null);
+        }
+        // Reference all keys but 2
+        cache.get(new ExampleLongKeyFixedSize(0));
+        cache.get(new ExampleLongKeyFixedSize(1));
+        cache.get(new ExampleLongKeyFixedSize(3));
+
+        assertTrue(cache.put(new ExampleLongKeyFixedSize(4), 4, null), "Full set, an entry must be evicted");
+        assertNull(cache.get(new ExampleLongKeyFixedSize(2)), "Not referenced entry must be evicted");
+        assertNotNull(cache.get(new ExampleLongKeyFixedSize(0)), "Referenced entry must stay");
+        assertNotNull(cache.get(new ExampleLongKeyFixedSize(1)), "Referenced entry must stay");
+        assertNotNull(cache.get(new ExampleLongKeyFixedSize(3)), "Referenced entry must stay");
+        assertNotNull(cache.get(new ExampleLongKeyFixedSize(4)), "New entry must be cached");
+    }
+}
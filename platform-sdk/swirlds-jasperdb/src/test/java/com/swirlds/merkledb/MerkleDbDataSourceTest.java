@@ -16,6 +16,7 @@
 
 package com.swirlds.merkledb;
 
+import static com.swirlds.common.io.utility.FileUtils.executeAndRename;
 import static com.swirlds.common.test.fixtures.AssertionUtils.assertEventuallyEquals;
 import static com.swirlds.common.test.fixtures.AssertionUtils.assertEventuallyFalse;
 import static com.swirlds.common.test.fixtures.junit.tags.TestQualifierTags.TIMING_SENSITIVE;
@@ -38,6 +39,9 @@ import com.swirlds.common.constructable.ConstructableRegistry;
 import com.swirlds.common.crypto.Hash;
 import com.swirlds.common.io.utility.TemporaryFileBuilder;
 import com.swirlds.common.test.fixtures.junit.tags.TestQualifierTags;
+import com.swirlds.config.api.ConfigurationBuilder;
+import com.swirlds.config.extensions.sources.SimpleConfigSource;
+import com.swirlds.merkledb.config.MerkleDbConfig;
 import com.swirlds.merkledb.serialize.KeyIndexType;
 import com.swirlds.merkledb.test.fixtures.ExampleByteArrayVirtualValue;
 import com.swirlds.merkledb.test.fixtures.TestType;
@@ -52,7 +56,9 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
 import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.IntStream;
 import java.util.stream.Stream;
@@ -493,6 +499,164 @@ class MerkleDbDataSourceTest {
                 0L, MerkleDbDataSource::getCountOfOpenDatabases, Duration.ofSeconds(1), "Expected no open dbs");
     }
 
+    @ParameterizedTest
+    @EnumSource(TestType.class)
+    void snapshotReusesUnchangedTable(final TestType testType) throws IOException {
+        final int count = 1000;
+        final String tableName = "vm";
+        final String dbName = "merkledb-snapshotReusesUnchangedTable-" + testType;
+        MerkleDb.getInstance(testDirectory.resolve(dbName), snapshotReuseConfig());
+        final MerkleDbDataSource<VirtualLongKey, ExampleByteArrayVirtualValue> dataSource =
+                createDataSource(testDirectory.resolve(dbName), tableName, testType, count, 0);
+        final int tableId = dataSource.getTableId();
+        dataSource.saveRecords(
+                count,
+                count * 2,
+                IntStream.range(0, count * 2).mapToObj(i -> createVirtualInternalRecord(i, i + 1)),
+                IntStream.range(count, count * 2)
+                        .mapToObj(i -> testType.dataType().createVirtualLeafRecord(i)),
+                Stream.empty());
+        final Path snapshotPath1 = testDirectory.resolve(dbName + "_SNAPSHOT1");
+        dataSource.getDatabase().snapshot(snapshotPath1, dataSource);
+        // No changes since the first snapshot, all files must be reused
+        final Path snapshotPath2 = testDirectory.resolve(dbName + "_SNAPSHOT2");
+        dataSource.getDatabase().snapshot(snapshotPath2, dataSource);
+        final MerkleDbPaths paths1 =
+                new MerkleDbPaths(MerkleDb.getInstance(snapshotPath1).getTableDir(tableName, tableId));
+        final MerkleDbPaths paths2 =
+                new MerkleDbPaths(MerkleDb.getInstance(snapshotPath2).getTableDir(tableName, tableId));
+        assertTrue(
+                Files.isSameFile(
+                        paths1.pathToDiskLocationInternalNodesFile, paths2.pathToDiskLocationInternalNodesFile),
+                "Unchanged index must be reused");
+        // Update some hashes, the next snapshot must be written in full
+        dataSource.saveRecords(
+                count,
+                count * 2,
+                IntStream.range(0, count).mapToObj(i -> createVirtualInternalRecord(i, i + 2)),
+                Stream.empty(),
+                Stream.empty());
+        final Path snapshotPath3 = testDirectory.resolve(dbName + "_SNAPSHOT3");
+        dataSource.getDatabase().snapshot(snapshotPath3, dataSource);
+        final MerkleDb snapshotDb3 = MerkleDb.getInstance(snapshotPath3);
+        final MerkleDbPaths paths3 = new MerkleDbPaths(snapshotDb3.getTableDir(tableName, tableId));
+        assertFalse(
+                Files.isSameFile(
+                        paths2.pathToDiskLocationInternalNodesFile, paths3.pathToDiskLocationInternalNodesFile),
+                "Changed index must not be reused");
+        dataSource.close();
+
+        final MerkleDbDataSource<VirtualLongKey, ExampleByteArrayVirtualValue> snapshotDataSource =
+                snapshotDb3.getDataSource(tableName, false);
+        reinitializeDirectMemoryUsage();
+        IntStream.range(0, count).forEach(i -> assertHash(snapshotDataSource, i, i + 2));
+        IntStream.range(count, count * 2).forEach(i -> assertHash(snapshotDataSource, i, i + 1));
+        snapshotDataSource.close();
+
+        // check db count
+        assertEventuallyEquals(
+                0L, MerkleDbDataSource::getCountOfOpenDatabases, Duration.ofSeconds(1), "Expected no open dbs");
+    }
+
+    @ParameterizedTest
+    @EnumSource(TestType.class)
+    void snapshotReusedAfterRename(final TestType testType) throws IOException {
+        final int count = 1000;
+        final String tableName = "vm";
+        final String dbName = "merkledb-snapshotReusedAfterRename-" + testType;
+        MerkleDb.getInstance(testDirectory.resolve(dbName), snapshotReuseConfig());
+        final MerkleDbDataSource<VirtualLongKey, ExampleByteArrayVirtualValue> dataSource =
+                createDataSource(testDirectory.resolve(dbName), tableName, testType, count, 0);
+        final int tableId = dataSource.getTableId();
+        dataSource.saveRecords(
+                count,
+                count * 2,
+                IntStream.range(0, count * 2).mapToObj(i -> createVirtualInternalRecord(i, i + 1)),
+                IntStream.range(count, count * 2)
+                        .mapToObj(i -> testType.dataType().createVirtualLeafRecord(i)),
+                Stream.empty());
+        // Saved states are written to temporary directories, which are renamed when complete
+        final Path tmpPath1 = testDirectory.resolve(dbName + "_TMP1");
+        final Path savedPath1 = testDirectory.resolve(dbName + "_SAVED1");
+        executeAndRename(savedPath1, tmpPath1, dir -> dataSource.getDatabase().snapshot(dir, dataSource));
+        assertFalse(Files.exists(tmpPath1), "Temporary directory must be renamed");
+        final Path tmpPath2 = testDirectory.resolve(dbName + "_TMP2");
+        final Path savedPath2 = testDirectory.resolve(dbName + "_SAVED2");
+        executeAndRename(savedPath2, tmpPath2, dir -> dataSource.getDatabase().snapshot(dir, dataSource));
+        final MerkleDbPaths paths1 =
+                new MerkleDbPaths(MerkleDb.getInstance(savedPath1).getTableDir(tableName, tableId));
+        final MerkleDbPaths paths2 =
+                new MerkleDbPaths(MerkleDb.getInstance(savedPath2).getTableDir(tableName, tableId));
+        assertTrue(
+                Files.isSameFile(
+                        paths1.pathToDiskLocationInternalNodesFile, paths2.pathToDiskLocationInternalNodesFile),
+                "Unchanged index must be reused from the renamed snapshot");
+        assertTrue(
+                Files.isSameFile(paths1.pathToDiskLocationLeafNodesFile, paths2.pathToDiskLocationLeafNodesFile),
+                "Unchanged index must be reused from the renamed snapshot");
+        dataSource.close();
+
+        final MerkleDbDataSource<VirtualLongKey, ExampleByteArrayVirtualValue> snapshotDataSource =
+                MerkleDb.getInstance(savedPath2).getDataSource(tableName, false);
+        reinitializeDirectMemoryUsage();
+        IntStream.range(0, count * 2).forEach(i -> assertHash(snapshotDataSource, i, i + 1));
+        snapshotDataSource.close();
+
+        // check db count
+        assertEventuallyEquals(
+                0L, MerkleDbDataSource::getCountOfOpenDatabases, Duration.ofSeconds(1), "Expected no open dbs");
+    }
+
+    @ParameterizedTest
+    @EnumSource(TestType.class)
+    void scanLeafRecordsSkipsStaleRecords(final TestType testType) throws IOException, InterruptedException {
+        final int count = 1000;
+        final String dbName = "merkledb-scanLeafRecordsSkipsStaleRecords-" + testType;
+        final MerkleDbDataSource<VirtualLongKey, ExampleByteArrayVirtualValue> dataSource =
+                createDataSource(testDirectory.resolve(dbName), "vm", testType, count, 0);
+        dataSource.saveRecords(
+                count - 1,
+                count * 2 - 2,
+                Stream.empty(),
+                IntStream.range(count - 1, count * 2 - 1)
+                        .mapToObj(i -> testType.dataType().createVirtualLeafRecord(i)),
+                Stream.empty());
+        // Update every other leaf, so the first data file contains stale records
+        dataSource.saveRecords(
+                count - 1,
+                count * 2 - 2,
+                Stream.empty(),
+                IntStream.range(count - 1, count * 2 - 1)
+                        .filter(i -> i % 2 == 0)
+                        .mapToObj(i -> testType.dataType().createVirtualLeafRecord(i, i, i + count)),
+                Stream.empty());
+
+        final AtomicInteger pathFilterCalls = new AtomicInteger(0);
+        final Map<Long, VirtualLeafRecord<VirtualLongKey, ExampleByteArrayVirtualValue>> scanned =
+                new ConcurrentHashMap<>();
+        dataSource.scanLeafRecords(
+                path -> {
+                    pathFilterCalls.incrementAndGet();
+                    return true;
+                },
+                key -> key.getKeyAsLong() % 3 != 0,
+                leafRecord -> assertNull(scanned.put(leafRecord.getPath(), leafRecord), "Duplicate leaf record"),
+                4);
+        assertEquals(count, pathFilterCalls.get(), "Path filter must be called once for every leaf");
+        for (int i = count - 1; i < count * 2 - 1; i++) {
+            if (i % 3 == 0) {
+                assertFalse(scanned.containsKey((long) i), "Leaf must be skipped by key filter");
+            } else {
+                final int valueIndex = i % 2 == 0 ? i + count : i;
+                assertEquals(
+                        testType.dataType().createVirtualLeafRecord(i, i, valueIndex),
+                        scanned.get((long) i),
+                        "Only the latest leaf record must be scanned");
+            }
+        }
+        dataSource.close();
+    }
+
     @Test
     @Tag(TestQualifierTags.TIME_CONSUMING)
     void preservesInterruptStatusWhenInterruptedClosing() throws IOException, InterruptedException {
@@ -679,6 +843,14 @@ class MerkleDbDataSourceTest {
     // =================================================================================================================
     // Helper Methods
 
+    private static MerkleDbConfig snapshotReuseConfig() {
+        return ConfigurationBuilder.create()
+                .withSources(new SimpleConfigSource("merkleDb.snapshotReuseUnchangedTables", true))
+                .withConfigDataType(MerkleDbConfig.class)
+                .build()
+                .getConfigData(MerkleDbConfig.class);
+    }
+
     public static MerkleDbDataSource<VirtualLongKey, ExampleByteArrayVirtualValue> createDataSource(
             final Path testDirectory, final String name, final TestType testType, final int size) throws IOException {
         return createDataSource(testDirectory, name, testType, size, Long.MAX_VALUE);
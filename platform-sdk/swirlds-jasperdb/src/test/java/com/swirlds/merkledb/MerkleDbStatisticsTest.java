@@ -80,6 +80,9 @@ class MerkleDbStatisticsTest {
         assertDoesNotThrow(statistics::countHashReads);
         assertDoesNotThrow(statistics::countLeafReads);
         assertDoesNotThrow(statistics::countLeafKeyReads);
+        assertDoesNotThrow(statistics::countLeafRecordCacheHits);
+        assertDoesNotThrow(statistics::countLeafRecordCacheMisses);
+        assertDoesNotThrow(statistics::countLeafRecordCacheEvictions);
         assertDoesNotThrow(() -> statistics.setHashesStoreFileCount(42));
         assertDoesNotThrow(() -> statistics.setHashesStoreFileSizeMb(31415));
         assertDoesNotThrow(() -> statistics.setLeafKeysStoreFileCount(42));
@@ -130,6 +133,22 @@ class MerkleDbStatisticsTest {
         assertNotEquals(0.0, metric.get(VALUE));
     }
 
+    @Test
+    void testLeafRecordCacheStats() {
+        // given
+        final Metric hits = getMetric("cache_", "leafRecordHits_" + LABEL);
+        final Metric misses = getMetric("cache_", "leafRecordMisses_" + LABEL);
+        final Metric evictions = getMetric("cache_", "leafRecordEvictions_" + LABEL);
+        // when
+        statistics.countLeafRecordCacheHits();
+        statistics.countLeafRecordCacheMisses();
+        statistics.countLeafRecordCacheEvictions();
+        // then
+        assertValueSet(hits);
+        assertValueSet(misses);
+        assertValueSet(evictions);
+    }
+
     @Test
     void testCycleInternalNodeReadsPerSecond() {
         // given
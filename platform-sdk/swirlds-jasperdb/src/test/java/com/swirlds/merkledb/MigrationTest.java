@@ -20,6 +20,7 @@ import static com.swirlds.common.threading.manager.AdHocThreadManager.getStaticT
 import static com.swirlds.merkledb.VirtualMapSerializationTests.constructBuilder;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import com.swirlds.base.utility.Pair;
@@ -28,13 +29,18 @@ import com.swirlds.merkledb.test.fixtures.ExampleFixedSizeVirtualValue;
 import com.swirlds.merkledb.test.fixtures.ExampleLongKeyFixedSize;
 import com.swirlds.virtualmap.VirtualMap;
 import com.swirlds.virtualmap.VirtualMapMigration;
+import com.swirlds.virtualmap.internal.merkle.VirtualRootNode;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Random;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Tag;
 import org.junit.jupiter.api.Test;
@@ -96,6 +102,73 @@ class MigrationTest {
         map.release();
     }
 
+    @Test
+    @DisplayName("scanLeaves() With Unflushed Changes Test")
+    void scanLeavesWithUnflushedChangesTest() throws IOException, InterruptedException {
+        final int size = 10_000;
+
+        // Build a virtual map and flush it to disk
+        final VirtualMap<ExampleLongKeyFixedSize, ExampleFixedSizeVirtualValue> map =
+                new VirtualMap<>("scanLeavesWithUnflushedChangesTest", constructBuilder());
+        for (int i = 0; i < size; i++) {
+            map.put(new ExampleLongKeyFixedSize(i), new ExampleFixedSizeVirtualValue(i * 2));
+        }
+        final VirtualRootNode<ExampleLongKeyFixedSize, ExampleFixedSizeVirtualValue> root =
+                map.getChild(1).cast();
+        root.enableFlush();
+        final VirtualMap<ExampleLongKeyFixedSize, ExampleFixedSizeVirtualValue> copy1 = map.copy();
+        map.release();
+        root.waitUntilFlushed();
+
+        // Change the map in two unflushed copies. Deleted leaves are replaced with the last leaves,
+        // and new leaves move the first leaves, so many leaves are at different paths than on disk
+        final Map<Long, Integer> expected = new HashMap<>();
+        for (int i = 0; i < size; i++) {
+            expected.put((long) i, i * 2);
+        }
+        for (int i = 0; i < 1000; i++) {
+            copy1.put(new ExampleLongKeyFixedSize(i), new ExampleFixedSizeVirtualValue(i * 3));
+            expected.put((long) i, i * 3);
+        }
+        for (int i = 1000; i < 2000; i++) {
+            copy1.remove(new ExampleLongKeyFixedSize(i));
+            expected.remove((long) i);
+        }
+        final VirtualMap<ExampleLongKeyFixedSize, ExampleFixedSizeVirtualValue> copy2 = copy1.copy();
+        for (int i = size; i < size + 500; i++) {
+            copy2.put(new ExampleLongKeyFixedSize(i), new ExampleFixedSizeVirtualValue(i * 2));
+            expected.put((long) i, i * 2);
+        }
+        for (int i = 2000; i < 2500; i++) {
+            copy2.remove(new ExampleLongKeyFixedSize(i));
+            expected.remove((long) i);
+        }
+        final VirtualMap<ExampleLongKeyFixedSize, ExampleFixedSizeVirtualValue> copy3 = copy2.copy();
+
+        // Every leaf of the scanned copy must be visited exactly once, with its latest value
+        final Map<Long, Integer> scanned = new ConcurrentHashMap<>();
+        copy2.scanLeaves(
+                null,
+                leaf -> assertNull(
+                        scanned.put(leaf.getKey().getValue(), leaf.getValue().getId()),
+                        "Leaf " + leaf.getKey() + " is visited more than once"),
+                4);
+        assertEquals(copy2.size(), scanned.size(), "Unexpected number of scanned leaves");
+        assertEquals(expected, scanned, "Scanned leaves don't match the map");
+
+        // Key filter is applied to leaves from both the data source and the cache
+        final Set<Long> filtered = ConcurrentHashMap.newKeySet();
+        copy2.scanLeaves(key -> key.getValue() % 2 == 0, leaf -> filtered.add(leaf.getKey().getValue()), 4);
+        assertEquals(
+                expected.keySet().stream().filter(key -> key % 2 == 0).collect(Collectors.toSet()),
+                filtered,
+                "Unexpected leaves scanned with a key filter");
+
+        copy1.release();
+        copy2.release();
+        copy3.release();
+    }
+
     private static long bytesToLong(byte[] bytes) {
         long result = 0L;
         for (byte b : bytes) {
@@ -201,6 +201,37 @@ class LongListDiskTest {
         }
     }
 
+    @Test
+    void createMemoryMappedReadBack() throws IOException {
+        final LongListOffHeap longListOffHeap =
+                populateList(new LongListOffHeap(NUM_LONGS_PER_CHUNK, SAMPLE_SIZE * 2, 0));
+        final Path listFile = testDirectory.resolve("LongListDiskTest_mmap.ll");
+        longListOffHeap.writeToFile(listFile);
+
+        longListDisk = new LongListDisk(listFile, true);
+        assertEquals(longListOffHeap.size(), longListDisk.size(), "Unexpected value for longListDisk.size()");
+        checkData(longListDisk);
+        // test changing data with putIf
+        assertTrue(longListDisk.putIfEqual(10, 110, 123), "Unexpected value from putIfEqual()");
+        assertEquals(123, longListDisk.get(10, -1), "Unexpected value from longListDisk.get(10)");
+        assertFalse(longListDisk.putIfEqual(10, 110, 345), "Unexpected value from putIfEqual() #2");
+        longListDisk.put(10, 110); // put back
+        // free some chunks, which are cleaned up using the file channel, and reuse them
+        longListDisk.updateValidRange(HALF_SAMPLE_SIZE, SAMPLE_SIZE * 2 - 1);
+        checkEmptyUpToIndex(longListDisk, HALF_SAMPLE_SIZE);
+        for (int i = SAMPLE_SIZE; i < SAMPLE_SIZE + HALF_SAMPLE_SIZE; i++) {
+            longListDisk.put(i, i + 100);
+        }
+        checkData(longListDisk, HALF_SAMPLE_SIZE, SAMPLE_SIZE + HALF_SAMPLE_SIZE);
+
+        // values written through mapped chunks must be visible in the snapshot
+        final Path restoredFile = testDirectory.resolve("LongListDiskTest_mmap_restored.ll");
+        longListDisk.writeToFile(restoredFile);
+        try (final LongListDisk longListDiskRestored = new LongListDisk(restoredFile)) {
+            checkData(longListDiskRestored, HALF_SAMPLE_SIZE, SAMPLE_SIZE + HALF_SAMPLE_SIZE);
+        }
+    }
+
     @Test
     void testBackwardCompatibility_halfEmpty() throws URISyntaxException, IOException {
         final Path pathToList = ResourceLoader.getFile("test_data/LongListOffHeapHalfEmpty_10k_10pc_v1.ll");
@@ -0,0 +1,99 @@
+/*
+ * Copyright (C) 2024 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.swirlds.merkledb.files;
+
+import static com.swirlds.common.test.fixtures.junit.tags.TestQualifierTags.TIMING_SENSITIVE;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+class CompactionThrottleTest {
+
+    @Test
+    void testInvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> new CompactionThrottle(-1, 0), "Expected IAE");
+        assertThrows(IllegalArgumentException.class, () -> new CompactionThrottle(0, -1), "Expected IAE");
+    }
+
+    @Test
+    void testNoFlushesNoWait() throws InterruptedException {
+        final CompactionThrottle throttle = new CompactionThrottle(0, 60_000);
+        assertFalse(throttle.isFlushInProgress(), "No flushes expected");
+        final long start = System.nanoTime();
+        assertEquals(0, throttle.awaitFlushes(0), "Flush epoch must not change");
+        throttle.bytesCopied(Long.MAX_VALUE);
+        assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(10), "Must not wait");
+    }
+
+    @Test
+    @Tag(TIMING_SENSITIVE)
+    void testAwaitFlushes() throws Exception {
+        final CompactionThrottle throttle = new CompactionThrottle(0, 60_000);
+        throttle.flushStarted();
+        assertTrue(throttle.isFlushInProgress(), "Flush must be in progress");
+        final CompletableFuture<Long> epoch = CompletableFuture.supplyAsync(() -> {
+            try {
+                return throttle.awaitFlushes(0);
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException(e);
+            }
+        });
+        Thread.sleep(100);
+        assertFalse(epoch.isDone(), "Compaction must wait while a flush is in progress");
+        throttle.flushFinished();
+        assertEquals(1, epoch.get(10, TimeUnit.SECONDS), "Wrong flush epoch");
+        assertFalse(throttle.isFlushInProgress(), "No flushes expected");
+    }
+
+    @Test
+    @Tag(TIMING_SENSITIVE)
+    void testAwaitFlushesOncePerFlush() throws InterruptedException {
+        final CompactionThrottle throttle = new CompactionThrottle(0, 50);
+        throttle.flushStarted();
+        try {
+            final long epoch = throttle.awaitFlushes(0);
+            assertEquals(1, epoch, "Wrong flush epoch");
+            // The same flush is still in progress, but it has already been waited for
+            final long start = System.nanoTime();
+            assertEquals(epoch, throttle.awaitFlushes(epoch), "Flush epoch must not change");
+            assertTrue(System.nanoTime() - start < TimeUnit.MILLISECONDS.toNanos(50), "Must not wait again");
+        } finally {
+            throttle.flushFinished();
+        }
+    }
+
+    @Test
+    @Tag(TIMING_SENSITIVE)
+    void testBytesCopiedRateLimit() throws InterruptedException {
+        final long bytesPerSecond = 1024 * 1024;
+        final CompactionThrottle throttle = new CompactionThrottle(bytesPerSecond, 0);
+        final long start = System.nanoTime();
+        // The first second worth of bytes may be copied without waiting, the next half a second is throttled
+        for (int i = 0; i < 12; i++) {
+            throttle.bytesCopied(bytesPerSecond / 8);
+        }
+        final long tookNanos = System.nanoTime() - start;
+        assertTrue(tookNanos >= TimeUnit.MILLISECONDS.toNanos(400), "Copy rate must be limited");
+    }
+}
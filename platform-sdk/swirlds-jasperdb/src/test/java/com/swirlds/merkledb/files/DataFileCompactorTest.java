@@ -17,9 +17,11 @@
 package com.swirlds.merkledb.files;
 
 import static com.swirlds.common.test.fixtures.RandomUtils.nextInt;
+import static com.swirlds.merkledb.files.DataFileCompactor.addGarbageFiles;
 import static com.swirlds.merkledb.files.DataFileCompactor.compactionPlan;
 import static java.util.Collections.emptyList;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 import static org.mockito.MockitoAnnotations.openMocks;
@@ -27,6 +29,7 @@ import static org.mockito.MockitoAnnotations.openMocks;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mock;
@@ -157,4 +160,51 @@ class DataFileCompactorTest {
                 compactionPlan(Arrays.asList(firstLevel1, secondLevel1, secondLevel2), 3, 5);
         assertEquals(0, result.size());
     }
+
+    @Test
+    void testAddGarbageFiles() {
+        final List<DataFileReader<Object>> allFiles =
+                Arrays.asList(secondLevel1, secondLevel2, firstLevel1, initialLevel1, initialLevel2);
+        for (int i = 0; i < allFiles.size(); i++) {
+            initReaderItems(allFiles.get(i), i, 100);
+        }
+        final List<DataFileReader<Object>> plan = Arrays.asList(initialLevel1, initialLevel2);
+        final Map<Integer, Long> liveItems = Map.of(
+                secondLevel1.getIndex(), 40L,
+                secondLevel2.getIndex(), 60L,
+                firstLevel1.getIndex(), 50L);
+        final List<DataFileReader<Object>> result = addGarbageFiles(plan, allFiles, liveItems, 0.5);
+        assertEquals(
+                Arrays.asList(initialLevel1, initialLevel2, firstLevel1, secondLevel1),
+                result,
+                "Files with at least half garbage must be added, sorted by level");
+    }
+
+    @Test
+    void testAddGarbageFiles_emptyPlanOrUnknownLiveItems() {
+        final List<DataFileReader<Object>> allFiles = Arrays.asList(secondLevel1, initialLevel1, initialLevel2);
+        for (int i = 0; i < allFiles.size(); i++) {
+            initReaderItems(allFiles.get(i), i, 100);
+        }
+        final List<DataFileReader<Object>> emptyPlan = emptyList();
+        assertSame(
+                emptyPlan,
+                addGarbageFiles(emptyPlan, allFiles, Map.of(secondLevel1.getIndex(), 0L), 0.5),
+                "Garbage files must not be compacted alone");
+
+        final List<DataFileReader<Object>> plan = Arrays.asList(initialLevel1, initialLevel2);
+        assertSame(
+                plan,
+                addGarbageFiles(plan, allFiles, Map.of(), 0.5),
+                "Files with unknown live items must not be added");
+        assertSame(
+                plan,
+                addGarbageFiles(plan, allFiles, Map.of(secondLevel1.getIndex(), 0L), 1.0),
+                "Garbage files must not be added, if disabled");
+    }
+
+    private void initReaderItems(DataFileReader<?> reader, int index, long items) {
+        when(reader.getIndex()).thenReturn(index);
+        when(reader.getMetadata().getDataItemCount()).thenReturn(items);
+    }
 }
@@ -16,17 +16,26 @@
 
 package com.swirlds.merkledb.files;
 
+import static com.swirlds.merkledb.files.DataFileCompactor.INITIAL_COMPACTION_LEVEL;
 import static com.swirlds.merkledb.files.DataFileReaderPbj.MAX_FILE_CHANNELS;
 import static com.swirlds.merkledb.files.DataFileReaderPbj.THREADS_PER_FILECHANNEL;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.MockitoAnnotations.openMocks;
 
+import com.hedera.pbj.runtime.io.buffer.BufferedData;
+import com.swirlds.merkledb.serialize.DataItemSerializer;
 import com.swirlds.merkledb.test.fixtures.ExampleFixedSizeDataSerializer;
 import java.io.File;
 import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.Arrays;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
 import org.mockito.Mock;
 
 class DataFileReaderPbjTest {
@@ -124,6 +133,38 @@ class DataFileReaderPbjTest {
         assertEquals(2, dataFileReaderPbj.leaseFileChannel());
     }
 
+    @ParameterizedTest
+    @EnumSource(FilesTestType.class)
+    void testMemoryMappedRead(final FilesTestType testType, @TempDir final Path tempDir) throws IOException {
+        final DataItemSerializer<long[]> serializer = testType.dataItemSerializer;
+        final DataFileWriter<long[]> writer =
+                new DataFileWriterPbj<>("test", tempDir, 1, serializer, Instant.now(), INITIAL_COMPACTION_LEVEL);
+        final long[][] dataItems = new long[1000][];
+        final long[] locations = new long[dataItems.length];
+        for (int i = 0; i < dataItems.length; i++) {
+            // fixed size items have exactly two longs, variable size items have up to 20 longs
+            dataItems[i] = new long[serializer.isVariableSize() ? 1 + i % 20 : 2];
+            Arrays.fill(dataItems[i], i);
+            locations[i] = writer.storeDataItem(dataItems[i]);
+        }
+        writer.finishWriting();
+
+        final DataFileReaderPbj<long[]> reader =
+                new DataFileReaderPbj<>(writer.getPath(), serializer, writer.getMetadata(), true);
+        try {
+            // Incomplete files are read using file channels
+            assertArrayEquals(dataItems[0], reader.readDataItem(locations[0]));
+            reader.setFileCompleted();
+            for (int i = 0; i < dataItems.length; i++) {
+                assertArrayEquals(dataItems[i], reader.readDataItem(locations[i]), "Wrong mapped data item " + i);
+                final BufferedData bytes = (BufferedData) reader.readDataItemBytes(locations[i]);
+                assertArrayEquals(dataItems[i], serializer.deserialize(bytes), "Wrong mapped data item bytes " + i);
+            }
+        } finally {
+            reader.close();
+        }
+    }
+
     @AfterEach
     public void tearDown() {
         file.deleteOnExit();
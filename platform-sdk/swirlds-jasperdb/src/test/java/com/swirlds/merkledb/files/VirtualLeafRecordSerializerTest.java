@@ -20,6 +20,8 @@ import static com.swirlds.common.test.fixtures.RandomUtils.nextInt;
 import static com.swirlds.common.test.fixtures.RandomUtils.nextLong;
 import static com.swirlds.merkledb.serialize.BaseSerializer.VARIABLE_DATA_SIZE;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 
 import com.hedera.pbj.runtime.io.buffer.BufferedData;
 import com.swirlds.common.constructable.ConstructableRegistry;
@@ -108,6 +110,33 @@ class VirtualLeafRecordSerializerTest {
         assertEquals(record, deserializedRecord, "Deserialized record did not match original record");
     }
 
+    @ParameterizedTest
+    @EnumSource(TestType.class)
+    void testDeserializeIfKeyMatches(final TestType testType) {
+        final long path = nextLong(1, Long.MAX_VALUE);
+        final VirtualLeafRecord<VirtualLongKey, ExampleByteArrayVirtualValue> record =
+                testType.dataType().createVirtualLeafRecord(path, nextInt(), nextInt());
+        final VirtualLeafRecord<VirtualLongKey, ExampleByteArrayVirtualValue> otherRecord =
+                testType.dataType().createVirtualLeafRecord(path, nextInt(), nextInt());
+
+        final var serializer = createSerializer(testType);
+        final BufferedData buffer = BufferedData.allocate(2048);
+        serializer.serialize(record, buffer);
+        buffer.flip();
+
+        final VirtualLeafRecord<VirtualLongKey, ExampleByteArrayVirtualValue> deserializedRecord =
+                serializer.deserializeIfKeyMatches(buffer, record.getKey());
+        assertEquals(record, deserializedRecord, "Deserialized record did not match original record");
+        assertSame(record.getKey(), deserializedRecord.getKey(), "Given key object must be used");
+
+        buffer.position(0);
+        if (!otherRecord.getKey().equals(record.getKey())) {
+            assertNull(
+                    serializer.deserializeIfKeyMatches(buffer, otherRecord.getKey()),
+                    "No record expected for a different key");
+        }
+    }
+
     @ParameterizedTest
     @EnumSource(TestType.class)
     public void testGetSerializedSizeForVersionForFixedSize_noHash(final TestType testType) {
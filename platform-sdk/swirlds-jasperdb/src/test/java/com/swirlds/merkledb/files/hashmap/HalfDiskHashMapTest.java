@@ -18,18 +18,31 @@ package com.swirlds.merkledb.files.hashmap;
 
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import com.swirlds.common.config.singleton.ConfigurationHolder;
 import com.swirlds.common.io.streams.SerializableDataInputStream;
+import com.swirlds.merkledb.collections.LongList;
 import com.swirlds.merkledb.config.MerkleDbConfig;
+import com.swirlds.merkledb.files.DataFileCommon;
 import com.swirlds.merkledb.files.DataFileCompactor;
+import com.swirlds.merkledb.files.DataFileReader;
 import com.swirlds.merkledb.files.FilesTestType;
 import com.swirlds.merkledb.serialize.KeySerializer;
 import com.swirlds.merkledb.test.fixtures.ExampleLongKeyFixedSize;
 import com.swirlds.virtualmap.VirtualLongKey;
 import java.io.IOException;
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
 import org.junit.jupiter.params.ParameterizedTest;
@@ -195,6 +208,88 @@ class HalfDiskHashMapTest {
         }
     }
 
+    @Test
+    void endWritingStoresBucketsInIndexOrder() throws Exception {
+        final FilesTestType testType = FilesTestType.fixed;
+        final int count = 10_000;
+        try (final HalfDiskHashMap<VirtualLongKey> map = createNewTempMap(testType, count)) {
+            createSomeData(testType, map, 0, count, 1);
+            map.startWriting();
+            for (int i = 0; i < count; i++) {
+                map.put(testType.createVirtualLongKey(i), i * 2L);
+            }
+            // read keys concurrently with bucket reads and updates on the flush executor
+            final AtomicBoolean flushed = new AtomicBoolean(false);
+            final ExecutorService readers = Executors.newFixedThreadPool(4);
+            final List<Future<?>> readerResults = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                final Random random = new Random(t);
+                readerResults.add(readers.submit(() -> {
+                    while (!flushed.get()) {
+                        final int i = random.nextInt(count);
+                        final long value = map.get(testType.createVirtualLongKey(i), -1);
+                        assertTrue((value == i) || (value == i * 2L), "Unexpected value " + value + " for key " + i);
+                    }
+                    return null;
+                }));
+            }
+            final DataFileReader<Bucket<VirtualLongKey>> dataFileReader;
+            try {
+                dataFileReader = map.endWriting();
+            } finally {
+                flushed.set(true);
+            }
+            for (final Future<?> readerResult : readerResults) {
+                readerResult.get();
+            }
+            readers.shutdown();
+            assertNotNull(dataFileReader, "A new data file must be written");
+            // all buckets are written to the new file in bucket index order
+            final LongList bucketIndex = (LongList) map.getBucketIndexToBucketLocation();
+            long lastLocation = 0;
+            int bucketCount = 0;
+            for (int i = 0; i < bucketIndex.size(); i++) {
+                final long location = bucketIndex.get(i);
+                if (location == 0) {
+                    continue;
+                }
+                assertEquals(
+                        dataFileReader.getIndex(),
+                        DataFileCommon.fileIndexFromDataLocation(location),
+                        "Bucket " + i + " must be in the new data file");
+                assertTrue(location > lastLocation, "Bucket " + i + " is written out of order");
+                lastLocation = location;
+                bucketCount++;
+            }
+            assertTrue(bucketCount > 64, "Expected more buckets than can be read ahead of the writer");
+            checkData(testType, map, 0, count, 2);
+        }
+    }
+
+    @Test
+    void endWritingReleasesBucketsOnFailure() throws Exception {
+        final FilesTestType testType = FilesTestType.fixed;
+        final int count = 10_000;
+        try (final HalfDiskHashMap<VirtualLongKey> map = createNewTempMap(testType, count)) {
+            createSomeData(testType, map, 0, count, 1);
+            final int availableBuckets = map.getBucketPool().availableBuckets();
+            map.startWriting();
+            for (int i = 0; i < count; i++) {
+                // fail in the middle of the flush, when many buckets are being read ahead
+                final VirtualLongKey key =
+                        (i == count / 2) ? new FailingFixedLongKey(i) : testType.createVirtualLongKey(i);
+                map.put(key, i * 2L);
+            }
+            final RuntimeException e = assertThrows(RuntimeException.class, map::endWriting);
+            assertInstanceOf(IllegalStateException.class, e.getCause(), "Unexpected failure " + e);
+            // all buckets, read and updated by in flight tasks before the failure, are released
+            assertEquals(
+                    availableBuckets,
+                    map.getBucketPool().availableBuckets(),
+                    "All buckets must be released to the pool");
+        }
+    }
+
     private static void printTestUpdate(long start, long count, String msg) {
         long took = System.currentTimeMillis() - start;
         double timeSeconds = (double) took / 1000d;
@@ -202,6 +297,19 @@ class HalfDiskHashMapTest {
         System.out.printf("%s : [%,d] at %,.0f per/sec, took %,.2f seconds\n", msg, count, perSecond, timeSeconds);
     }
 
+    /** A key, which fails to be written to a bucket */
+    public static class FailingFixedLongKey extends ExampleLongKeyFixedSize {
+
+        public FailingFixedLongKey(final long value) {
+            super(value);
+        }
+
+        @Override
+        public long getKeyAsLong() {
+            throw new IllegalStateException("Test key failure");
+        }
+    }
+
     public static class CollidableFixedLongKey extends ExampleLongKeyFixedSize {
         private static long CLASS_ID = 0x7b305246cffbf8efL;
 
@@ -0,0 +1,100 @@
+/*
+ * Copyright (C) 2024 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.swirlds.merkledb.files.hashmap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class KeyHashBloomFilterTest {
+
+    /** Temporary directory provided by JUnit */
+    @SuppressWarnings("unused")
+    @TempDir
+    Path tempDirPath;
+
+    @Test
+    void testInvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> new KeyHashBloomFilter(1000, 0), "Expected IAE");
+        assertThrows(IllegalArgumentException.class, () -> new KeyHashBloomFilter(1000, -1), "Expected IAE");
+    }
+
+    @Test
+    void testSizeInBits() {
+        assertEquals(64, KeyHashBloomFilter.sizeInBits(1, 8), "Min size expected");
+        assertEquals(1024, KeyHashBloomFilter.sizeInBits(128, 8), "Size must not be rounded if a power of two");
+        assertEquals(2048, KeyHashBloomFilter.sizeInBits(129, 8), "Size must be rounded up to a power of two");
+        assertEquals(1L << 33, KeyHashBloomFilter.sizeInBits(Long.MAX_VALUE / 16, 8), "Max size expected");
+    }
+
+    @Test
+    void testNoFalseNegatives() {
+        final int count = 100_000;
+        final Random random = new Random(42);
+        try (final KeyHashBloomFilter filter = new KeyHashBloomFilter(count, 10)) {
+            final int[] hashes = new int[count];
+            for (int i = 0; i < count; i++) {
+                hashes[i] = random.nextInt();
+                filter.add(hashes[i]);
+            }
+            for (final int hash : hashes) {
+                assertTrue(filter.mightContain(hash), "Added hash code must be in the filter");
+            }
+            int falsePositives = 0;
+            for (int i = 0; i < count; i++) {
+                if (filter.mightContain(random.nextInt())) {
+                    falsePositives++;
+                }
+            }
+            // ~1% is expected for 10 bits per key, use a much higher limit to avoid flaky failures
+            assertTrue(falsePositives < count / 20, "Too many false positives: " + falsePositives);
+        }
+    }
+
+    @Test
+    void testWriteAndRead() throws IOException {
+        final Path file = tempDirPath.resolve("test_bloom_filter.bf");
+        try (final KeyHashBloomFilter filter = new KeyHashBloomFilter(1000, 8)) {
+            for (int i = 0; i < 1000; i++) {
+                filter.add(i * 31);
+            }
+            filter.writeToFile(file);
+        }
+        try (final KeyHashBloomFilter loaded = KeyHashBloomFilter.readFromFile(file)) {
+            assertTrue(loaded.matches(1000, 8), "Loaded filter parameters must match");
+            assertFalse(loaded.matches(100_000, 8), "Filter size must not match");
+            for (int i = 0; i < 1000; i++) {
+                assertTrue(loaded.mightContain(i * 31), "Added hash code must be in the loaded filter");
+            }
+        }
+    }
+
+    @Test
+    void testReadInvalidFile() throws IOException {
+        final Path file = tempDirPath.resolve("invalid_bloom_filter.bf");
+        Files.write(file, new byte[] {0, 0, 0, 1, 0, 0});
+        assertThrows(IOException.class, () -> KeyHashBloomFilter.readFromFile(file), "Expected IOException");
+    }
+}
@@ -36,6 +36,7 @@ import java.util.concurrent.TimeUnit;
 import org.openjdk.jmh.annotations.Benchmark;
 import org.openjdk.jmh.annotations.BenchmarkMode;
 import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
 import org.openjdk.jmh.annotations.Measurement;
 import org.openjdk.jmh.annotations.Mode;
 import org.openjdk.jmh.annotations.OutputTimeUnit;
@@ -66,6 +67,13 @@ public class ConsensusBenchmark {
     @Param({"0"})
     public long seed;
 
+    /** 0 to compute strongly seen witnesses serially, 1 to always compute them in parallel */
+    @Param({"0", "1"})
+    public int parallelStronglySeeThreshold;
+
+    private StandardEventEmitter emitter;
+    private Configuration configuration;
+    private ConsensusConfig consensusConfig;
     private List<IndexedEvent> events;
     private Consensus consensus;
 
@@ -74,12 +82,27 @@ public class ConsensusBenchmark {
         final List<EventSource<?>> eventSources =
                 EventSourceFactory.newStandardEventSources(WeightGenerators.balancedNodeWeights(numNodes));
         final StandardGraphGenerator generator = new StandardGraphGenerator(seed, eventSources);
-        final StandardEventEmitter emitter = new StandardEventEmitter(generator);
-        events = emitter.emitEvents(numEvents);
+        emitter = new StandardEventEmitter(generator);
 
-        final Configuration configuration = DefaultConfiguration.buildBasicConfiguration();
+        configuration = DefaultConfiguration.buildBasicConfiguration();
+        final ConsensusConfig defaultConsensusConfig = configuration.getConfigData(ConsensusConfig.class);
+        consensusConfig = new ConsensusConfig(
+                defaultConsensusConfig.roundsNonAncient(),
+                defaultConsensusConfig.roundsExpired(),
+                defaultConsensusConfig.coinFreq(),
+                parallelStronglySeeThreshold);
+    }
+
+    /**
+     * Consensus results are memoized in events, so every invocation needs new events and a new consensus instance.
+     * Otherwise, all invocations but the first one would only read memoized data.
+     */
+    @Setup(Level.Invocation)
+    public void setupInvocation() {
+        emitter.reset();
+        events = emitter.emitEvents(numEvents);
         consensus = new ConsensusImpl(
-                configuration.getConfigData(ConsensusConfig.class),
+                consensusConfig,
                 new NoOpConsensusMetrics(),
                 emitter.getGraphGenerator().getAddressBook(),
                 configuration.getConfigData(EventConfig.class).getAncientMode());
@@ -53,6 +53,7 @@ import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Objects;
+import java.util.stream.IntStream;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
@@ -148,6 +149,10 @@ public class ConsensusImpl extends ThreadSafeConsensusInfo implements Consensus
     private final ConsensusConfig config;
     /** the only address book currently, until address book changes are implemented */
     private final AddressBook addressBook;
+    /** node weights, indexed by node index in the address book */
+    private final long[] weights;
+    /** if true, strongly seen witnesses of every event are computed in parallel, see {@link #stronglySeeP} */
+    private final boolean parallelStronglySeeP;
     /** metrics related to consensus */
     private final ConsensusMetrics consensusMetrics;
     /** used for searching the hashgraph */
@@ -211,6 +216,12 @@ public class ConsensusImpl extends ThreadSafeConsensusInfo implements Consensus
 
         // until we implement address book changes, we will just use the use this address book
         this.addressBook = addressBook;
+        this.weights = new long[addressBook.getSize()];
+        for (int i = 0; i < weights.length; i++) {
+            weights[i] = getWeight(addressBook.getNodeId(i));
+        }
+        this.parallelStronglySeeP = config.parallelStronglySeeThreshold() > 0
+                && addressBook.getSize() >= config.parallelStronglySeeThreshold();
 
         this.rounds = new ConsensusRounds(config, getStorage(), addressBook);
         this.ancientMode = Objects.requireNonNull(ancientMode);
@@ -936,6 +947,10 @@ public class ConsensusImpl extends ThreadSafeConsensusInfo implements Consensus
      * can be thought of as a kind of generalized dot product (not a literal dot product). So it is
      * timed and it updates the statistic for that.
      *
+     * <p>If {@link ConsensusConfig#parallelStronglySeeThreshold()} is reached, answers for all members are
+     * computed in parallel. Every answer only depends on the memoized lastSee() and round() of x ancestors, so
+     * the results are exactly the same as if they are computed serially.
+     *
      * @param x the event being queried
      * @param m the member ID of the creator
      * @return witness created by m in the parent round of x that x strongly sees, or null if none
@@ -961,35 +976,73 @@ public class ConsensusImpl extends ThreadSafeConsensusInfo implements Consensus
         final long prop = parentRound(op); // parent round of other parent of x
 
         x.initStronglySeeP(numMembers);
-        for (int mm = 0; mm < numMembers; mm++) {
-            if (stronglySeeP(sp, mm) != null && prx == prsp) {
-                x.setStronglySeeP(mm, stronglySeeP(sp, mm));
-            } else if (stronglySeeP(op, mm) != null && prx == prop) {
-                x.setStronglySeeP(mm, stronglySeeP(op, mm));
-            } else {
-                // the canonical witness by mm that is seen by x thru someone else
-                final EventImpl st = seeThru(x, mm, mm);
-                if (round(st) != prx) { // ignore if the canonical is in the wrong round, or doesn't exist
-                    x.setStronglySeeP(mm, null);
-                } else {
-                    long weight = 0;
-                    for (int m3 = 0; m3 < numMembers; m3++) {
-                        if (seeThru(x, mm, m3) == st) { // only count intermediates that see the canonical witness
-                            weight += getWeight(m3);
-                        }
-                    }
-                    if (Threshold.SUPER_MAJORITY.isSatisfiedBy(weight, totalWeight)) { // strongly see supermajority of
-                        // intermediates
-                        x.setStronglySeeP(mm, st);
-                    } else {
-                        x.setStronglySeeP(mm, null);
-                    }
-                }
+        if (parallelStronglySeeP) {
+            // memoize everything the parallel tasks read, so they don't modify any shared memoized data. The only
+            // exception is firstSelfWitnessS(), which may be computed by multiple tasks concurrently, but it's a
+            // single reference, and all tasks compute and store the same value
+            stronglySeeP(sp, 0);
+            stronglySeeP(op, 0);
+            for (int m3 = 0; m3 < numMembers; m3++) {
+                lastSee(lastSee(x, m3), 0);
+            }
+            IntStream.range(0, numMembers)
+                    .parallel()
+                    .forEach(mm -> x.setStronglySeeP(
+                            mm, stronglySeeP(x, mm, sp, op, prx, prsp, prop, numMembers, totalWeight)));
+        } else {
+            for (int mm = 0; mm < numMembers; mm++) {
+                x.setStronglySeeP(mm, stronglySeeP(x, mm, sp, op, prx, prsp, prop, numMembers, totalWeight));
             }
         }
         return x.getStronglySeeP((int) m);
     }
 
+    /**
+     * The witness created by mm in the parent round of x that x strongly sees. This is a single step of {@link
+     * #stronglySeeP(EventImpl, long)}, all the other arguments are precomputed once for all members.
+     *
+     * @param x           the event being queried
+     * @param mm          the member index of the creator
+     * @param sp          self parent of x
+     * @param op          other parent of x
+     * @param prx         parent round of x
+     * @param prsp        parent round of self parent of x
+     * @param prop        parent round of other parent of x
+     * @param numMembers  number of members
+     * @param totalWeight total weight of all members
+     * @return witness created by mm in the parent round of x that x strongly sees, or null if none
+     */
+    private @Nullable EventImpl stronglySeeP(
+            @NonNull final EventImpl x,
+            final int mm,
+            @Nullable final EventImpl sp,
+            @Nullable final EventImpl op,
+            final long prx,
+            final long prsp,
+            final long prop,
+            final int numMembers,
+            final long totalWeight) {
+        if (stronglySeeP(sp, mm) != null && prx == prsp) {
+            return stronglySeeP(sp, mm);
+        }
+        if (stronglySeeP(op, mm) != null && prx == prop) {
+            return stronglySeeP(op, mm);
+        }
+        // the canonical witness by mm that is seen by x thru someone else
+        final EventImpl st = seeThru(x, mm, mm);
+        if (round(st) != prx) { // ignore if the canonical is in the wrong round, or doesn't exist
+            return null;
+        }
+        long weight = 0;
+        for (int m3 = 0; m3 < numMembers; m3++) {
+            if (seeThru(x, mm, m3) == st) { // only count intermediates that see the canonical witness
+                weight += getWeight(m3);
+            }
+        }
+        // strongly see supermajority of intermediates
+        return Threshold.SUPER_MAJORITY.isSatisfiedBy(weight, totalWeight) ? st : null;
+    }
+
     /**
      * The round-created for event x (first round is 1), or 0 if x is null (function from
      * SWIRLDS-TR-2020-01). It also stores the round number with x.setRoundCreated(). This result is
@@ -1192,7 +1245,7 @@ public class ConsensusImpl extends ThreadSafeConsensusInfo implements Consensus
      * @return the weight of the node
      */
     private long getWeight(final int nodeIndex) {
-        return getWeight(addressBook.getNodeId(nodeIndex));
+        return weights[nodeIndex];
     }
 
     /**
@@ -37,6 +37,7 @@ import com.swirlds.base.time.Time;
 import com.swirlds.base.utility.Pair;
 import com.swirlds.common.context.PlatformContext;
 import com.swirlds.common.crypto.Hash;
+import com.swirlds.common.crypto.HashingPool;
 import com.swirlds.common.crypto.Signature;
 import com.swirlds.common.io.IOIterator;
 import com.swirlds.common.io.utility.RecycleBin;
@@ -360,6 +361,7 @@ public class SwirldsPlatform implements Platform {
                 platformStatusManager::getCurrentStatus));
 
         registerAddressBookMetrics(metrics, currentAddressBook, selfId);
+        HashingPool.getInstance().registerMetrics(metrics);
 
         components.add(Objects.requireNonNull(recycleBin));
 
@@ -1016,8 +1018,13 @@ public class SwirldsPlatform implements Platform {
         // if we need to do an emergency recovery, replaying the PCES could cause issues if the
         // minimum generation non-ancient is reversed to a smaller value, so we skip it
         if (!emergencyRecoveryNeeded) {
-            final IOIterator<GossipEvent> iterator =
-                    initialPcesFiles.getEventIterator(initialMinimumGenerationNonAncient, startingRound);
+            final IOIterator<GossipEvent> iterator = initialPcesFiles.getEventIterator(
+                    initialMinimumGenerationNonAncient,
+                    startingRound,
+                    platformContext
+                            .getConfiguration()
+                            .getConfigData(PcesConfig.class)
+                            .replayReadAheadFiles());
 
             logger.info(
                     STARTUP.getMarker(),
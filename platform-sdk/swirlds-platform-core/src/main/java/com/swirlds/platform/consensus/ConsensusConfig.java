@@ -31,9 +31,14 @@ import com.swirlds.config.api.ConfigProperty;
  *                         {@link com.swirlds.platform.state.MinGenInfo#MAX_MINGEN_INFO_SIZE}.
  * @param roundsExpired    Events this many rounds old are expired, and can be deleted from memory
  * @param coinFreq         a coin round happens every coinFreq rounds during an election (every other one is all true)
+ * @param parallelStronglySeeThreshold
+ *                         the min number of members in the address book to compute strongly seen witnesses of an
+ *                         event in parallel, one task per member. Parallel computation gives exactly the same results
+ *                         as serial, it only pays off in large networks. If 0, always computed serially
  */
 @ConfigData("consensus")
 public record ConsensusConfig(
         @ConfigProperty(defaultValue = "26") int roundsNonAncient,
         @ConfigProperty(defaultValue = "500") int roundsExpired,
-        @ConfigProperty(defaultValue = "12") int coinFreq) {}
+        @ConfigProperty(defaultValue = "12") int coinFreq,
+        @ConfigProperty(defaultValue = "0") int parallelStronglySeeThreshold) {}
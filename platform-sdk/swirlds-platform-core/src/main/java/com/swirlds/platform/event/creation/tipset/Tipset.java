@@ -17,7 +17,6 @@
 package com.swirlds.platform.event.creation.tipset;
 
 import com.swirlds.common.platform.NodeId;
-import com.swirlds.platform.system.address.Address;
 import com.swirlds.platform.system.address.AddressBook;
 import edu.umd.cs.findbugs.annotations.NonNull;
 import java.util.Arrays;
@@ -31,6 +30,12 @@ public class Tipset {
 
     private final AddressBook addressBook;
 
+    /**
+     * Node weights, indexed by node index. Shared by all tipsets built from the same template, so advancement weights
+     * can be computed without address book lookups.
+     */
+    private final long[] weights;
+
     /**
      * The tip generations, indexed by node index.
      */
@@ -48,21 +53,35 @@ public class Tipset {
      * @param addressBook the current address book
      */
     public Tipset(@NonNull final AddressBook addressBook) {
-        this.addressBook = Objects.requireNonNull(addressBook);
+        this(Objects.requireNonNull(addressBook), buildWeights(addressBook));
+    }
+
+    private Tipset(@NonNull final AddressBook addressBook, @NonNull final long[] weights) {
+        this.addressBook = addressBook;
+        this.weights = weights;
         tips = new long[addressBook.getSize()];
 
         // Necessary because we currently start at generation 0, not generation 1.
         Arrays.fill(tips, UNDEFINED);
     }
 
+    private static long[] buildWeights(@NonNull final AddressBook addressBook) {
+        final long[] weights = new long[addressBook.getSize()];
+        for (int index = 0; index < weights.length; index++) {
+            weights[index] = addressBook.getAddress(addressBook.getNodeId(index)).getWeight();
+        }
+        return weights;
+    }
+
     /**
      * Build an empty tipset (i.e. where all generations are {@link #UNDEFINED}) using another tipset as a template.
+     * Unlike {@link #Tipset(AddressBook)}, this doesn't need to read node weights from the address book.
      *
      * @param tipset the tipset to use as a template
      * @return a new empty tipset
      */
-    private static @NonNull Tipset buildEmptyTipset(@NonNull final Tipset tipset) {
-        return new Tipset(tipset.addressBook);
+    static @NonNull Tipset buildEmptyTipset(@NonNull final Tipset tipset) {
+        return new Tipset(tipset.addressBook, tipset.weights);
     }
 
     /**
@@ -97,6 +116,32 @@ public class Tipset {
         return newTipset;
     }
 
+    /**
+     * Merge another tipset into this one, in place. The generation for each node ID will be equal to the maximum
+     * generation found for that node ID in the two tipsets.
+     *
+     * @param that the tipset to merge into this one, must be constructed from the same address book
+     * @return this object
+     */
+    @NonNull
+    Tipset mergeWith(@NonNull final Tipset that) {
+        for (int index = 0; index < tips.length; index++) {
+            tips[index] = Math.max(tips[index], that.tips[index]);
+        }
+        return this;
+    }
+
+    /**
+     * Reset all tip generations in this tipset to {@link #UNDEFINED}, so the tipset can be reused.
+     *
+     * @return this object
+     */
+    @NonNull
+    Tipset clear() {
+        Arrays.fill(tips, UNDEFINED);
+        return this;
+    }
+
     /**
      * Get the tip generation for a given node
      *
@@ -166,13 +211,11 @@ public class Tipset {
             }
 
             if (this.tips[index] < that.tips[index]) {
-                final NodeId nodeId = addressBook.getNodeId(index);
-                final Address address = addressBook.getAddress(nodeId);
-
-                if (address.getWeight() == 0) {
+                final long weight = weights[index];
+                if (weight == 0) {
                     zeroWeightCount += 1;
                 } else {
-                    nonZeroWeight += address.getWeight();
+                    nonZeroWeight += weight;
                 }
             }
         }
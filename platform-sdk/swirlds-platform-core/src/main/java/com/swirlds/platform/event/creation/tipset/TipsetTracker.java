@@ -17,7 +17,6 @@
 package com.swirlds.platform.event.creation.tipset;
 
 import static com.swirlds.logging.legacy.LogMarker.EXCEPTION;
-import static com.swirlds.platform.event.creation.tipset.Tipset.merge;
 
 import com.swirlds.base.time.Time;
 import com.swirlds.common.platform.NodeId;
@@ -31,7 +30,6 @@ import com.swirlds.platform.system.events.EventDescriptor;
 import edu.umd.cs.findbugs.annotations.NonNull;
 import edu.umd.cs.findbugs.annotations.Nullable;
 import java.time.Duration;
-import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
 import org.apache.logging.log4j.LogManager;
@@ -58,8 +56,6 @@ public class TipsetTracker {
      */
     private Tipset latestGenerations;
 
-    private final AddressBook addressBook;
-
     private NonAncientEventWindow nonAncientEventWindow;
 
     private final RateLimitedLogger ancientEventLogger;
@@ -74,9 +70,7 @@ public class TipsetTracker {
     public TipsetTracker(
             @NonNull final Time time, @NonNull final AddressBook addressBook, @NonNull final AncientMode ancientMode) {
 
-        this.addressBook = Objects.requireNonNull(addressBook);
-
-        this.latestGenerations = new Tipset(addressBook);
+        this.latestGenerations = new Tipset(Objects.requireNonNull(addressBook));
 
         tipsets = new StandardSequenceMap<>(0, INITIAL_TIPSET_MAP_CAPACITY, true, EventDescriptor::getGeneration);
 
@@ -128,21 +122,15 @@ public class TipsetTracker {
                     nonAncientEventWindow);
         }
 
-        final List<Tipset> parentTipsets = new ArrayList<>(parents.size());
-        for (final EventDescriptor parent : parents) {
-            final Tipset parentTipset = tipsets.get(parent);
+        // Merge parent tipsets directly into the new tipset, so the only allocation is the tipset itself
+        final Tipset eventTipset = Tipset.buildEmptyTipset(latestGenerations);
+        for (int index = 0; index < parents.size(); index++) {
+            final Tipset parentTipset = tipsets.get(parents.get(index));
             if (parentTipset != null) {
-                parentTipsets.add(parentTipset);
+                eventTipset.mergeWith(parentTipset);
             }
         }
-
-        final Tipset eventTipset;
-        if (parentTipsets.isEmpty()) {
-            eventTipset =
-                    new Tipset(addressBook).advance(eventDescriptor.getCreator(), eventDescriptor.getGeneration());
-        } else {
-            eventTipset = merge(parentTipsets).advance(eventDescriptor.getCreator(), eventDescriptor.getGeneration());
-        }
+        eventTipset.advance(eventDescriptor.getCreator(), eventDescriptor.getGeneration());
 
         tipsets.put(eventDescriptor, eventTipset);
         latestGenerations = latestGenerations.advance(eventDescriptor.getCreator(), eventDescriptor.getGeneration());
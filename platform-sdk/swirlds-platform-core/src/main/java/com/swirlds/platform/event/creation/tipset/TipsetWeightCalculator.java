@@ -29,10 +29,9 @@ import com.swirlds.platform.system.address.AddressBook;
 import com.swirlds.platform.system.events.EventDescriptor;
 import edu.umd.cs.findbugs.annotations.NonNull;
 import java.time.Duration;
-import java.util.ArrayList;
+import java.util.ArrayDeque;
 import java.util.Deque;
 import java.util.Iterator;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Objects;
 import org.apache.logging.log4j.LogManager;
@@ -70,7 +69,7 @@ public class TipsetWeightCalculator {
     /**
      * The N most recent snapshots.
      */
-    private final Deque<Tipset> snapshotHistory = new LinkedList<>();
+    private final Deque<Tipset> snapshotHistory = new ArrayDeque<>();
 
     /**
      * The number of snapshots to keep in {@link #snapshotHistory}.
@@ -102,6 +101,12 @@ public class TipsetWeightCalculator {
      */
     private Tipset latestSelfEventTipset;
 
+    /**
+     * A reusable tipset to merge parent tipsets into in {@link #getTheoreticalAdvancementWeight(List)}, which is
+     * called for every candidate parent every time an event may be created.
+     */
+    private final Tipset scratchTipset;
+
     private final RateLimitedLogger ancientParentLogger;
     private final RateLimitedLogger allParentsAreAncientLogger;
 
@@ -139,6 +144,7 @@ public class TipsetWeightCalculator {
         snapshot = new Tipset(addressBook);
         latestSelfEventTipset = snapshot;
         snapshotHistory.add(snapshot);
+        scratchTipset = Tipset.buildEmptyTipset(snapshot);
 
         ancientParentLogger = new RateLimitedLogger(logger, time, Duration.ofMinutes(1));
         allParentsAreAncientLogger = new RateLimitedLogger(logger, time, Duration.ofMinutes(1));
@@ -221,8 +227,11 @@ public class TipsetWeightCalculator {
             return ZERO_ADVANCEMENT_WEIGHT;
         }
 
-        final List<Tipset> parentTipsets = new ArrayList<>(parents.size());
-        for (final EventDescriptor parent : parents) {
+        // Merge parent tipsets into the scratch tipset rather than into a new one, it's only used in this method
+        final Tipset newTipset = scratchTipset.clear();
+        boolean parentTipsetFound = false;
+        for (int index = 0; index < parents.size(); index++) {
+            final EventDescriptor parent = parents.get(index);
             final Tipset parentTipset = tipsetTracker.getTipset(parent);
 
             if (parentTipset == null) {
@@ -241,18 +250,17 @@ public class TipsetWeightCalculator {
                 continue;
             }
 
-            parentTipsets.add(parentTipset);
+            newTipset.mergeWith(parentTipset);
+            parentTipsetFound = true;
         }
 
-        if (parentTipsets.isEmpty()) {
+        if (!parentTipsetFound) {
             allParentsAreAncientLogger.error(EXCEPTION.getMarker(), "all parents being considered are ancient");
             return ZERO_ADVANCEMENT_WEIGHT;
         }
 
         // Don't bother advancing the self generation in this theoretical tipset,
         // since self advancement doesn't contribute to tipset advancement weight.
-        final Tipset newTipset = Tipset.merge(parentTipsets);
-
         return snapshot.getTipAdvancementWeight(selfId, newTipset).minus(previousAdvancementWeight);
     }
 
@@ -18,6 +18,7 @@ package com.swirlds.platform.event.hashing;
 
 import com.swirlds.common.context.PlatformContext;
 import com.swirlds.common.crypto.Cryptography;
+import com.swirlds.common.crypto.HashingPool;
 import com.swirlds.platform.event.GossipEvent;
 import edu.umd.cs.findbugs.annotations.NonNull;
 
@@ -27,6 +28,11 @@ import edu.umd.cs.findbugs.annotations.NonNull;
 public class EventHasher {
     private final Cryptography cryptography;
 
+    /**
+     * The hashing pool, to report event hashing operations to
+     */
+    private final HashingPool hashingPool;
+
     /**
      * Constructs a new event hasher.
      *
@@ -34,6 +40,7 @@ public class EventHasher {
      */
     public EventHasher(@NonNull final PlatformContext platformContext) {
         this.cryptography = platformContext.getCryptography();
+        this.hashingPool = HashingPool.getInstance();
     }
 
     /**
@@ -43,7 +50,12 @@ public class EventHasher {
      * @return the hashed event
      */
     public GossipEvent hashEvent(@NonNull final GossipEvent event) {
-        cryptography.digestSync(event.getHashedData());
+        final long startNanos = hashingPool.enter(HashingPool.Lane.EVENT);
+        try {
+            cryptography.digestSync(event.getHashedData());
+        } finally {
+            hashingPool.exit(HashingPool.Lane.EVENT, startNanos);
+        }
         event.buildDescriptor();
         return event;
     }
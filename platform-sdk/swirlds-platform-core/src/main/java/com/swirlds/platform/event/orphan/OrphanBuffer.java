@@ -32,10 +32,9 @@ import com.swirlds.platform.gossip.IntakeEventCounter;
 import com.swirlds.platform.system.events.EventDescriptor;
 import com.swirlds.platform.wiring.ClearTrigger;
 import edu.umd.cs.findbugs.annotations.NonNull;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Deque;
-import java.util.Iterator;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Objects;
 import java.util.function.Function;
@@ -201,23 +200,44 @@ public class OrphanBuffer {
 
     /**
      * Get the parents of an event that are currently missing.
+     * <p>
+     * Most events are not orphans, so the list of missing parents is only allocated when a missing parent is found.
      *
      * @param event the event whose missing parents to find
      * @return the list of missing parents, empty if no parents are missing
      */
     @NonNull
     private List<EventDescriptor> getMissingParents(@NonNull final GossipEvent event) {
-        final List<EventDescriptor> missingParents = new ArrayList<>();
+        List<EventDescriptor> missingParents = null;
+
+        final EventDescriptor selfParent = event.getHashedData().getSelfParent();
+        if (selfParent != null && isMissing(selfParent)) {
+            missingParents = new ArrayList<>();
+            missingParents.add(selfParent);
+        }
 
-        final Iterator<EventDescriptor> parentIterator = new ParentIterator(event);
-        while (parentIterator.hasNext()) {
-            final EventDescriptor parent = parentIterator.next();
-            if (!eventsWithParents.contains(parent) && !nonAncientEventWindow.isAncient(parent)) {
-                missingParents.add(parent);
+        final List<EventDescriptor> otherParents = event.getHashedData().getOtherParents();
+        for (int index = 0; index < otherParents.size(); index++) {
+            final EventDescriptor otherParent = otherParents.get(index);
+            if (isMissing(otherParent)) {
+                if (missingParents == null) {
+                    missingParents = new ArrayList<>();
+                }
+                missingParents.add(otherParent);
             }
         }
 
-        return missingParents;
+        return missingParents == null ? List.of() : missingParents;
+    }
+
+    /**
+     * Check if a parent is missing, i.e. it hasn't been received yet and it's not ancient.
+     *
+     * @param parent the parent to check
+     * @return true if the parent is missing
+     */
+    private boolean isMissing(@NonNull final EventDescriptor parent) {
+        return !eventsWithParents.contains(parent) && !nonAncientEventWindow.isAncient(parent);
     }
 
     /**
@@ -232,7 +252,7 @@ public class OrphanBuffer {
     private List<GossipEvent> eventIsNotAnOrphan(@NonNull final GossipEvent event) {
         final List<GossipEvent> unorphanedEvents = new ArrayList<>();
 
-        final Deque<GossipEvent> nonOrphanStack = new LinkedList<>();
+        final Deque<GossipEvent> nonOrphanStack = new ArrayDeque<>();
         nonOrphanStack.push(event);
 
         // When a missing parent is found, there may be many descendants of that parent who end up
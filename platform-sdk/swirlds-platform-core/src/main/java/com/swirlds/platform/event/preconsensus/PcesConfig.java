@@ -71,12 +71,22 @@ import java.time.Duration;
  * @param replayQueueSize                     the size of the queue used for holding preconsensus events that are
  *                                            waiting to be replayed
  * @param replayHashPoolSize                  the number of threads used for hashing events during replay
+ * @param replayReadAheadFiles                the max number of preconsensus event files read and deserialized in
+ *                                            parallel ahead of the file being replayed. All events from these files
+ *                                            are kept in memory until replayed. If 0, files are read sequentially.
  * @param copyRecentStreamToStateSnapshots    if true, then copy recent PCES files into the saved state snapshot
  *                                            directories every time we take a state snapshot. The files copied are
  *                                            guaranteed to contain all non-ancient events w.r.t. the state snapshot.
  * @param compactLastFileOnStartup            if true, then compact the last file's span on startup.
  * @param forceIgnorePcesSignatures           if true, then ignore the signatures on preconsensus events. Note: This is
  *                                            a TEST ONLY setting. It must never be enabled in production.
+ * @param writeBufferSizeKilobytes            the size of the direct buffer events are serialized into before they are
+ *                                            written to the current file. The buffer is reused for all files.
+ * @param syncOnFlush                         if true, then every flush of the preconsensus event stream also forces
+ *                                            written events to the storage device, so flushed events survive an OS
+ *                                            crash or a power loss. This increases flush latency, especially on slow
+ *                                            disks. A single sync covers all events written since the previous one. If
+ *                                            false, flushed events are only handed to the OS.
  */
 @ConfigData("event.preconsensus")
 public record PcesConfig(
@@ -92,6 +102,9 @@ public record PcesConfig(
         @ConfigProperty(defaultValue = "preconsensus-events") Path databaseDirectory,
         @ConfigProperty(defaultValue = "1024") int replayQueueSize,
         @ConfigProperty(defaultValue = "8") int replayHashPoolSize,
+        @Min(0) @ConfigProperty(defaultValue = "4") int replayReadAheadFiles,
         @ConfigProperty(defaultValue = "true") boolean copyRecentStreamToStateSnapshots,
         @ConfigProperty(defaultValue = "true") boolean compactLastFileOnStartup,
-        @ConfigProperty(defaultValue = "false") boolean forceIgnorePcesSignatures) {}
+        @ConfigProperty(defaultValue = "false") boolean forceIgnorePcesSignatures,
+        @Min(1) @ConfigProperty(defaultValue = "64") int writeBufferSizeKilobytes,
+        @ConfigProperty(defaultValue = "false") boolean syncOnFlush) {}
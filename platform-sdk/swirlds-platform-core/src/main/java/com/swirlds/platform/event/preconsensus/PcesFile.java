@@ -27,6 +27,7 @@ import com.swirlds.platform.event.AncientMode;
 import edu.umd.cs.findbugs.annotations.NonNull;
 import edu.umd.cs.findbugs.annotations.Nullable;
 import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.time.Instant;
@@ -403,6 +404,18 @@ public final class PcesFile implements Comparable<PcesFile> {
         return new PcesMutableFile(this);
     }
 
+    /**
+     * Get an object that can be used to write events to this file, using the given write buffer. Throws if there
+     * already exists a file on disk with the same path.
+     *
+     * @param writeBuffer the buffer to serialize events into, may be reused once the returned file is closed
+     * @return a writer for this file
+     */
+    @NonNull
+    public PcesMutableFile getMutableFile(@NonNull final ByteBuffer writeBuffer) throws IOException {
+        return new PcesMutableFile(this, writeBuffer);
+    }
+
     /**
      * Delete a file (permanently). Automatically deletes parent directories if empty up until the root directory is
      * reached, which is never deleted.
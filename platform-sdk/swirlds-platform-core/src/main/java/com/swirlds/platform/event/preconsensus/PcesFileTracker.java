@@ -168,7 +168,27 @@ public class PcesFileTracker {
      */
     @NonNull
     public PcesMultiFileIterator getEventIterator(final long lowerBound, final long startingRound) {
-        return new PcesMultiFileIterator(lowerBound, getFileIterator(lowerBound, startingRound), fileType);
+        return getEventIterator(lowerBound, startingRound, 0);
+    }
+
+    /**
+     * Get an iterator that walks over all events starting with a specified lower bound, reading files ahead in
+     * parallel. The iterator returns the same events in the same order as {@link #getEventIterator(long, long)}. It
+     * should be closed if it's abandoned before all events are returned.
+     * <p>
+     * Note: this method only works at system startup time, using this iterator after startup has undefined behavior.
+     *
+     * @param lowerBound     the desired lower bound, see {@link #getEventIterator(long, long)}
+     * @param startingRound  the round to start iterating from
+     * @param readAheadFiles the max number of files to read in parallel ahead of the current file, or 0 to read
+     *                       files sequentially
+     * @return an iterator that walks over events
+     */
+    @NonNull
+    public PcesMultiFileIterator getEventIterator(
+            final long lowerBound, final long startingRound, final int readAheadFiles) {
+        return new PcesMultiFileIterator(
+                lowerBound, getFileIterator(lowerBound, startingRound), fileType, readAheadFiles);
     }
 
     /**
@@ -83,6 +83,24 @@ public class PcesMetrics {
             .withDescription("The age of the oldest preconsensus event file, in seconds.");
     private final LongGauge preconsensusEventFileOldestSeconds;
 
+    private static final SpeedometerMetric.Config PRECONSENSUS_EVENT_BYTES_WRITTEN_RATE_CONFIG =
+            new SpeedometerMetric.Config(CATEGORY, "preconsensusEventBytesWrittenRate")
+                    .withUnit("bytes/second")
+                    .withDescription("The number of bytes written to preconsensus event files per second.");
+    private final SpeedometerMetric preconsensusEventBytesWrittenRate;
+
+    private static final RunningAverageMetric.Config PRECONSENSUS_EVENT_FLUSH_LATENCY_CONFIG =
+            new RunningAverageMetric.Config(CATEGORY, "preconsensusEventFlushLatency")
+                    .withUnit("microseconds")
+                    .withDescription("The average time it takes to flush the current preconsensus event file, "
+                            + "including the sync to the storage device if enabled.");
+    private final RunningAverageMetric preconsensusEventFlushLatency;
+
+    private static final RunningAverageMetric.Config PRECONSENSUS_EVENTS_PER_FLUSH_CONFIG =
+            new RunningAverageMetric.Config(CATEGORY, "preconsensusEventsPerFlush")
+                    .withDescription("The average number of events made durable by a single flush.");
+    private final RunningAverageMetric preconsensusEventsPerFlush;
+
     /**
      * Construct preconsensus event metrics.
      *
@@ -100,6 +118,9 @@ public class PcesMetrics {
         preconsensusEventFileYoungestIdentifier =
                 metrics.getOrCreate(PRECONSENSUS_EVENT_FILE_YOUNGEST_IDENTIFIER_CONFIG);
         preconsensusEventFileOldestSeconds = metrics.getOrCreate(PRECONSENSUS_EVENT_FILE_OLDEST_SECONDS_CONFIG);
+        preconsensusEventBytesWrittenRate = metrics.getOrCreate(PRECONSENSUS_EVENT_BYTES_WRITTEN_RATE_CONFIG);
+        preconsensusEventFlushLatency = metrics.getOrCreate(PRECONSENSUS_EVENT_FLUSH_LATENCY_CONFIG);
+        preconsensusEventsPerFlush = metrics.getOrCreate(PRECONSENSUS_EVENTS_PER_FLUSH_CONFIG);
     }
 
     /**
@@ -164,4 +185,25 @@ public class PcesMetrics {
     public LongGauge getPreconsensusEventFileOldestSeconds() {
         return preconsensusEventFileOldestSeconds;
     }
+
+    /**
+     * Get the metric tracking the number of bytes written to preconsensus event files per second.
+     */
+    public SpeedometerMetric getPreconsensusEventBytesWrittenRate() {
+        return preconsensusEventBytesWrittenRate;
+    }
+
+    /**
+     * Get the metric tracking the time it takes to flush the current preconsensus event file, in microseconds.
+     */
+    public RunningAverageMetric getPreconsensusEventFlushLatency() {
+        return preconsensusEventFlushLatency;
+    }
+
+    /**
+     * Get the metric tracking the number of events made durable by a single flush.
+     */
+    public RunningAverageMetric getPreconsensusEventsPerFlush() {
+        return preconsensusEventsPerFlush;
+    }
 }
@@ -16,17 +16,34 @@
 
 package com.swirlds.platform.event.preconsensus;
 
+import static com.swirlds.common.threading.manager.AdHocThreadManager.getStaticThreadManager;
+
 import com.swirlds.common.io.IOIterator;
+import com.swirlds.common.threading.framework.config.ThreadConfiguration;
 import com.swirlds.platform.event.AncientMode;
 import com.swirlds.platform.event.GossipEvent;
 import edu.umd.cs.findbugs.annotations.NonNull;
+import edu.umd.cs.findbugs.annotations.Nullable;
 import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
 import java.util.Iterator;
+import java.util.List;
 import java.util.NoSuchElementException;
 import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 /**
  * Iterates over events from a sequence of preconsensus event files.
+ * <p>
+ * If read-ahead is enabled, the next few files are read and deserialized in parallel, in background threads, while
+ * events from the current file are returned. Events are still returned in file order, exactly as if files were read
+ * sequentially.
  */
 public class PcesMultiFileIterator implements IOIterator<GossipEvent> {
 
@@ -37,6 +54,34 @@ public class PcesMultiFileIterator implements IOIterator<GossipEvent> {
     private GossipEvent next;
     private int truncatedFileCount = 0;
 
+    /**
+     * The max number of files to read ahead, 0 if files are read sequentially.
+     */
+    private final int readAheadFiles;
+
+    /**
+     * Threads to read files ahead, or null if files are read sequentially or all files have been read.
+     */
+    private ExecutorService readers;
+
+    /**
+     * Files being read ahead, in file order.
+     */
+    private final Deque<Future<ReadFile>> readAhead = new ArrayDeque<>();
+
+    /**
+     * Events from the current file, if files are read ahead.
+     */
+    private Iterator<GossipEvent> currentEvents;
+
+    /**
+     * All events from a single file, read ahead.
+     *
+     * @param events          the events in the file
+     * @param hasPartialEvent true if the file had a partial event at the end
+     */
+    private record ReadFile(@NonNull List<GossipEvent> events, boolean hasPartialEvent) {}
+
     /**
      * Create an iterator that walks over events in a series of event files.
      *
@@ -49,16 +94,51 @@ public class PcesMultiFileIterator implements IOIterator<GossipEvent> {
             final long lowerBound,
             @NonNull final Iterator<PcesFile> fileIterator,
             @NonNull final AncientMode fileType) {
+        this(lowerBound, fileIterator, fileType, 0);
+    }
 
+    /**
+     * Create an iterator that walks over events in a series of event files.
+     *
+     * @param lowerBound     the minimum ancient indicator of events to return, events with lower ancient indicators
+     *                       are not returned
+     * @param fileIterator   an iterator that walks over event files
+     * @param fileType       the type of file to read
+     * @param readAheadFiles the max number of files to read in parallel ahead of the current file. All events from
+     *                       these files are kept in memory until they are returned. If 0, files are read sequentially
+     */
+    public PcesMultiFileIterator(
+            final long lowerBound,
+            @NonNull final Iterator<PcesFile> fileIterator,
+            @NonNull final AncientMode fileType,
+            final int readAheadFiles) {
+
+        if (readAheadFiles < 0) {
+            throw new IllegalArgumentException("Read ahead files must not be negative: " + readAheadFiles);
+        }
         this.fileIterator = Objects.requireNonNull(fileIterator);
         this.lowerBound = lowerBound;
         this.fileType = Objects.requireNonNull(fileType);
+        this.readAheadFiles = readAheadFiles;
+        if (readAheadFiles > 0) {
+            readers = Executors.newFixedThreadPool(
+                    readAheadFiles,
+                    new ThreadConfiguration(getStaticThreadManager())
+                            .setComponent("platform")
+                            .setThreadName("pces-read-ahead")
+                            .setDaemon(true)
+                            .buildFactory());
+        }
     }
 
     /**
      * Find the next event that should be returned.
      */
     private void findNext() throws IOException {
+        if (readAheadFiles > 0) {
+            findNextReadAhead();
+            return;
+        }
         while (next == null) {
             if (currentIterator == null || !currentIterator.hasNext()) {
                 if (currentIterator != null && currentIterator.hasPartialEvent()) {
@@ -76,6 +156,74 @@ public class PcesMultiFileIterator implements IOIterator<GossipEvent> {
         }
     }
 
+    /**
+     * Find the next event that should be returned, reading files ahead.
+     */
+    private void findNextReadAhead() throws IOException {
+        while (next == null) {
+            if (currentEvents != null && currentEvents.hasNext()) {
+                next = currentEvents.next();
+                break;
+            }
+            currentEvents = null;
+
+            final ReadFile file = nextReadFile();
+            if (file == null) {
+                break;
+            }
+            if (file.hasPartialEvent()) {
+                truncatedFileCount++;
+            }
+            currentEvents = file.events().iterator();
+        }
+    }
+
+    /**
+     * Start reading files ahead, up to the limit, and wait for the next file to be read.
+     *
+     * @return the next file, or null if there are no more files
+     */
+    @Nullable
+    private ReadFile nextReadFile() throws IOException {
+        while (readers != null && readAhead.size() < readAheadFiles && fileIterator.hasNext()) {
+            final PcesFile file = fileIterator.next();
+            readAhead.addLast(readers.submit(() -> readFile(file)));
+        }
+        if (readAhead.isEmpty()) {
+            close();
+            return null;
+        }
+        try {
+            return readAhead.removeFirst().get();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            close();
+            throw new InterruptedIOException("interrupted while reading preconsensus event files");
+        } catch (final ExecutionException e) {
+            close();
+            if (e.getCause() instanceof final IOException ioException) {
+                throw ioException;
+            }
+            throw new IOException("unable to read preconsensus event file", e.getCause());
+        }
+    }
+
+    /**
+     * Read all events from a single file.
+     *
+     * @param file the file to read
+     * @return the events in the file
+     */
+    @NonNull
+    private ReadFile readFile(@NonNull final PcesFile file) throws IOException {
+        final PcesFileIterator iterator = new PcesFileIterator(file, lowerBound, fileType);
+        final List<GossipEvent> events = new ArrayList<>();
+        while (iterator.hasNext()) {
+            events.add(iterator.next());
+        }
+        return new ReadFile(events, iterator.hasPartialEvent());
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -110,4 +258,17 @@ public class PcesMultiFileIterator implements IOIterator<GossipEvent> {
     public int getTruncatedFileCount() {
         return truncatedFileCount;
     }
+
+    /**
+     * Stop reading files ahead. Remaining events from the current file are still returned, but no more files are read.
+     */
+    @Override
+    public void close() {
+        if (readers != null) {
+            readAhead.forEach(file -> file.cancel(true));
+            readAhead.clear();
+            readers.shutdownNow();
+            readers = null;
+        }
+    }
 }
@@ -16,34 +16,54 @@
 
 package com.swirlds.platform.event.preconsensus;
 
-import com.swirlds.common.io.extendable.ExtendableOutputStream;
-import com.swirlds.common.io.extendable.extensions.CountingStreamExtension;
 import com.swirlds.common.io.streams.SerializableDataOutputStream;
 import com.swirlds.platform.event.GossipEvent;
 import edu.umd.cs.findbugs.annotations.NonNull;
-import java.io.BufferedOutputStream;
-import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.file.Files;
 import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Objects;
 
 /**
  * Represents a preconsensus event file that can be written to.
+ * <p>
+ * Events are serialized into a direct write buffer, which is written to the file channel when it's full, or when the
+ * file is flushed. Flushing the file only hands the data to the OS. To make sure the data survives an OS crash or a
+ * power loss, the file must be {@link #sync() synced}.
  */
 public class PcesMutableFile {
     /** the file version to write at the beginning of the file. atm, this is just a placeholder for future changes */
     public static final int FILE_VERSION = 1;
 
+    /**
+     * The size of the write buffer, in bytes, if the buffer isn't provided by the caller.
+     */
+    public static final int DEFAULT_WRITE_BUFFER_SIZE = 64 * 1024;
+
     /**
      * Describes the file that is being written to.
      */
     private final PcesFile descriptor;
 
     /**
-     * Counts the bytes written to the file.
+     * The channel to write to.
+     */
+    private final FileChannel channel;
+
+    /**
+     * Events are serialized into this buffer before they are written to the channel.
      */
-    private final CountingStreamExtension counter;
+    private final ByteBuffer writeBuffer;
+
+    /**
+     * The number of bytes written to the channel, not including bytes in the write buffer.
+     */
+    private long bytesWrittenToChannel;
 
     /**
      * The highest ancient indicator of all events written to the file.
@@ -56,24 +76,46 @@ public class PcesMutableFile {
     private final SerializableDataOutputStream out;
 
     /**
-     * Create a new preconsensus event file that can be written to.
+     * Create a new preconsensus event file that can be written to, with a write buffer of the default size.
      *
      * @param descriptor a description of the file
      */
     PcesMutableFile(@NonNull final PcesFile descriptor) throws IOException {
+        this(descriptor, ByteBuffer.allocateDirect(DEFAULT_WRITE_BUFFER_SIZE));
+    }
+
+    /**
+     * Create a new preconsensus event file that can be written to.
+     *
+     * @param descriptor  a description of the file
+     * @param writeBuffer the buffer to serialize events into. The buffer may be reused for another file once this
+     *                    file is closed, but must not be used by anything else while this file is open
+     */
+    PcesMutableFile(@NonNull final PcesFile descriptor, @NonNull final ByteBuffer writeBuffer) throws IOException {
         if (Files.exists(descriptor.getPath())) {
             throw new IOException("File " + descriptor.getPath() + " already exists");
         }
+        if (Objects.requireNonNull(writeBuffer).capacity() == 0) {
+            throw new IllegalArgumentException("Write buffer must not be empty");
+        }
 
         Files.createDirectories(descriptor.getPath().getParent());
 
         this.descriptor = descriptor;
-        counter = new CountingStreamExtension(false);
-        out = new SerializableDataOutputStream(new ExtendableOutputStream(
-                new BufferedOutputStream(
-                        new FileOutputStream(descriptor.getPath().toFile())),
-                counter));
-        out.writeInt(FILE_VERSION);
+        this.writeBuffer = writeBuffer.clear();
+        channel = FileChannel.open(descriptor.getPath(), StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+        out = new SerializableDataOutputStream(new ChannelOutputStream());
+        try {
+            out.writeInt(FILE_VERSION);
+        } catch (final IOException | RuntimeException e) {
+            // don't leak the channel if the file can't be initialized
+            try {
+                channel.close();
+            } catch (final IOException closeException) {
+                e.addSuppressed(closeException);
+            }
+            throw e;
+        }
         highestAncientIdentifierInFile = descriptor.getLowerBound();
     }
 
@@ -130,12 +172,20 @@ public class PcesMutableFile {
     }
 
     /**
-     * Flush the file.
+     * Flush the file. All events written so far are handed to the OS, but they are not guaranteed to be on disk.
      */
     public void flush() throws IOException {
         out.flush();
     }
 
+    /**
+     * Flush the file, and force all events written so far to the storage device.
+     */
+    public void sync() throws IOException {
+        out.flush();
+        channel.force(false);
+    }
+
     /**
      * Close the file.
      */
@@ -149,7 +199,7 @@ public class PcesMutableFile {
      * @return the size of the file in bytes
      */
     public long fileSize() {
-        return counter.getCount();
+        return bytesWrittenToChannel + writeBuffer.position();
     }
 
     /**
@@ -182,4 +232,59 @@ public class PcesMutableFile {
     public String toString() {
         return descriptor.toString();
     }
+
+    /**
+     * Writes the contents of the write buffer to the channel, and clears the buffer.
+     */
+    private void drainWriteBuffer() throws IOException {
+        writeBuffer.flip();
+        while (writeBuffer.hasRemaining()) {
+            bytesWrittenToChannel += channel.write(writeBuffer);
+        }
+        writeBuffer.clear();
+    }
+
+    /**
+     * An output stream that writes to the write buffer, and drains the buffer to the channel when it's full.
+     */
+    private class ChannelOutputStream extends OutputStream {
+
+        @Override
+        public void write(final int b) throws IOException {
+            if (!writeBuffer.hasRemaining()) {
+                drainWriteBuffer();
+            }
+            writeBuffer.put((byte) b);
+        }
+
+        @Override
+        public void write(@NonNull final byte[] b, final int off, final int len) throws IOException {
+            Objects.checkFromIndexSize(off, len, b.length);
+            int offset = off;
+            int remaining = len;
+            while (remaining > 0) {
+                if (!writeBuffer.hasRemaining()) {
+                    drainWriteBuffer();
+                }
+                final int chunk = Math.min(remaining, writeBuffer.remaining());
+                writeBuffer.put(b, offset, chunk);
+                offset += chunk;
+                remaining -= chunk;
+            }
+        }
+
+        @Override
+        public void flush() throws IOException {
+            drainWriteBuffer();
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                drainWriteBuffer();
+            } finally {
+                channel.close();
+            }
+        }
+    }
 }
@@ -17,6 +17,7 @@
 package com.swirlds.platform.event.preconsensus;
 
 import static com.swirlds.common.units.DataUnit.UNIT_BYTES;
+import static com.swirlds.common.units.DataUnit.UNIT_KILOBYTES;
 import static com.swirlds.common.units.DataUnit.UNIT_MEGABYTES;
 import static com.swirlds.logging.legacy.LogMarker.EXCEPTION;
 
@@ -31,6 +32,7 @@ import edu.umd.cs.findbugs.annotations.NonNull;
 import edu.umd.cs.findbugs.annotations.Nullable;
 import java.io.IOException;
 import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
 import java.util.ArrayDeque;
 import java.util.Deque;
 import java.util.Objects;
@@ -145,6 +147,27 @@ public class PcesWriter {
      */
     private final Deque<Long> flushRequests = new ArrayDeque<>();
 
+    /**
+     * Events are serialized into this buffer before they are written to the current file. Only one file is written at
+     * a time, so the same buffer is reused for all files.
+     */
+    private final ByteBuffer writeBuffer;
+
+    /**
+     * If true then every flush also syncs the current file to the storage device.
+     */
+    private final boolean syncOnFlush;
+
+    /**
+     * The number of events written to the current file since the last flush.
+     */
+    private long eventsWrittenSinceFlush = 0;
+
+    /**
+     * Metrics for the preconsensus event stream.
+     */
+    private final PcesMetrics metrics;
+
     /**
      * Constructor
      *
@@ -163,6 +186,10 @@ public class PcesWriter {
         bootstrapSpanOverlapFactor = config.bootstrapSpanOverlapFactor();
         spanOverlapFactor = config.spanOverlapFactor();
         minimumSpan = config.minimumSpan();
+        writeBuffer = ByteBuffer.allocateDirect(
+                (int) UNIT_KILOBYTES.convertTo(config.writeBufferSizeKilobytes(), UNIT_BYTES));
+        syncOnFlush = config.syncOnFlush();
+        metrics = new PcesMetrics(platformContext.getMetrics());
 
         this.fileManager = fileManager;
 
@@ -209,7 +236,7 @@ public class PcesWriter {
             }
 
             try {
-                currentMutableFile.flush();
+                flushCurrentFile();
             } catch (final IOException e) {
                 throw new UncheckedIOException(e);
             }
@@ -220,6 +247,22 @@ public class PcesWriter {
         return flushRequired;
     }
 
+    /**
+     * Flush the current file, and sync it to the storage device if configured. All events written since the previous
+     * flush are made durable together.
+     */
+    private void flushCurrentFile() throws IOException {
+        final long start = System.nanoTime();
+        if (syncOnFlush) {
+            currentMutableFile.sync();
+        } else {
+            currentMutableFile.flush();
+        }
+        metrics.getPreconsensusEventFlushLatency().update((System.nanoTime() - start) / 1_000.0);
+        metrics.getPreconsensusEventsPerFlush().update(eventsWrittenSinceFlush);
+        eventsWrittenSinceFlush = 0;
+    }
+
     /**
      * Write an event to the stream.
      *
@@ -247,8 +290,11 @@ public class PcesWriter {
 
         try {
             final boolean fileClosed = prepareOutputStream(event);
+            final long previousFileSize = currentMutableFile.fileSize();
             currentMutableFile.writeEvent(event);
+            metrics.getPreconsensusEventBytesWrittenRate().update(currentMutableFile.fileSize() - previousFileSize);
             lastWrittenEvent = event.getStreamSequenceNumber();
+            eventsWrittenSinceFlush++;
 
             final boolean flushPerformed = processFlushRequests();
 
@@ -352,6 +398,7 @@ public class PcesWriter {
             if (!bootstrapMode) {
                 averageSpanUtilization.add(previousSpan);
             }
+            flushCurrentFile();
             currentMutableFile.close();
             lastFlushedEvent = lastWrittenEvent;
 
@@ -418,7 +465,7 @@ public class PcesWriter {
 
             currentMutableFile = fileManager
                     .getNextFileDescriptor(nonAncientBoundary, upperBound)
-                    .getMutableFile();
+                    .getMutableFile(writeBuffer);
         }
 
         return fileClosed;
@@ -31,17 +31,25 @@ import com.swirlds.platform.event.GossipEvent;
 import com.swirlds.platform.eventhandling.EventConfig;
 import com.swirlds.platform.gossip.IntakeEventCounter;
 import com.swirlds.platform.system.SoftwareVersion;
+import com.swirlds.platform.system.address.Address;
 import com.swirlds.platform.system.address.AddressBook;
 import edu.umd.cs.findbugs.annotations.NonNull;
 import edu.umd.cs.findbugs.annotations.Nullable;
 import java.security.PublicKey;
 import java.time.Duration;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Objects;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
 /**
  * Verifies event signatures
+ * <p>
+ * This class is thread safe, so it may be run on a concurrent task scheduler. Event signatures are verified
+ * independently of each other, and the validator state (the non-ancient event window and public keys from the address
+ * books) is replaced atomically by the methods that update it.
  */
 public class EventSignatureValidator {
     private static final Logger logger = LogManager.getLogger(EventSignatureValidator.class);
@@ -57,14 +65,9 @@ public class EventSignatureValidator {
     private final SignatureVerifier signatureVerifier;
 
     /**
-     * The previous address book. May be null.
+     * Public keys from the previous and current address books.
      */
-    private AddressBook previousAddressBook;
-
-    /**
-     * The current address book.
-     */
-    private AddressBook currentAddressBook;
+    private volatile SigningKeys signingKeys;
 
     /**
      * The current software version.
@@ -74,7 +77,7 @@ public class EventSignatureValidator {
     /**
      * The current non-ancient event window.
      */
-    private NonAncientEventWindow nonAncientEventWindow;
+    private volatile NonAncientEventWindow nonAncientEventWindow;
 
     /**
      * Keeps track of the number of events in the intake pipeline from each peer
@@ -92,6 +95,17 @@ public class EventSignatureValidator {
             .withUnit("events");
     private final LongAccumulator validationFailedAccumulator;
 
+    /**
+     * Signature public keys of all nodes in the previous and current address books, by node ID. Keys are collected
+     * once per address book update rather than looked up in address books for every event.
+     *
+     * @param round        the round of the current address book, used to discard out-of-order updates
+     * @param previousKeys public keys from the previous address book, or null if there is no previous address book
+     * @param currentKeys  public keys from the current address book
+     */
+    private record SigningKeys(
+            long round, @Nullable Map<NodeId, PublicKey> previousKeys, @NonNull Map<NodeId, PublicKey> currentKeys) {}
+
     /**
      * Constructor
      *
@@ -116,8 +130,7 @@ public class EventSignatureValidator {
 
         this.signatureVerifier = Objects.requireNonNull(signatureVerifier);
         this.currentSoftwareVersion = Objects.requireNonNull(currentSoftwareVersion);
-        this.previousAddressBook = previousAddressBook;
-        this.currentAddressBook = Objects.requireNonNull(currentAddressBook);
+        this.signingKeys = buildSigningKeys(previousAddressBook, Objects.requireNonNull(currentAddressBook));
         this.intakeEventCounter = Objects.requireNonNull(intakeEventCounter);
 
         this.rateLimitedLogger = new RateLimitedLogger(logger, time, MINIMUM_LOG_PERIOD);
@@ -131,16 +144,50 @@ public class EventSignatureValidator {
     }
 
     /**
-     * Determine whether the previous address book or the current address book should be used to verify an event's
-     * signature.
+     * Collect signature public keys from the given address books.
+     *
+     * @param previousAddressBook the previous address book, may be null
+     * @param currentAddressBook  the current address book
+     * @return public keys from both address books
+     */
+    @NonNull
+    private static SigningKeys buildSigningKeys(
+            @Nullable final AddressBook previousAddressBook, @NonNull final AddressBook currentAddressBook) {
+        return new SigningKeys(
+                currentAddressBook.getRound(),
+                previousAddressBook == null ? null : collectPublicKeys(previousAddressBook),
+                collectPublicKeys(currentAddressBook));
+    }
+
+    /**
+     * Collect signature public keys of all nodes in an address book. Nodes without public keys are mapped to null, so
+     * they can be told apart from nodes that aren't in the address book.
+     *
+     * @param addressBook the address book
+     * @return an unmodifiable map of public keys by node ID
+     */
+    @NonNull
+    private static Map<NodeId, PublicKey> collectPublicKeys(@NonNull final AddressBook addressBook) {
+        final Map<NodeId, PublicKey> publicKeys = new HashMap<>();
+        for (final Address address : addressBook) {
+            publicKeys.put(address.getNodeId(), address.getSigPublicKey());
+        }
+        return Collections.unmodifiableMap(publicKeys);
+    }
+
+    /**
+     * Determine whether keys from the previous address book or the current address book should be used to verify an
+     * event's signature.
      * <p>
      * Logs an error and returns null if an applicable address book cannot be selected
      *
      * @param event the event to be validated
-     * @return the applicable address book, or null if an applicable address book cannot be selected
+     * @param keys  public keys from the previous and current address books
+     * @return public keys from the applicable address book, or null if an applicable address book cannot be selected
      */
     @Nullable
-    private AddressBook determineApplicableAddressBook(@NonNull final GossipEvent event) {
+    private Map<NodeId, PublicKey> determineApplicableKeys(
+            @NonNull final GossipEvent event, @NonNull final SigningKeys keys) {
         final SoftwareVersion eventVersion = event.getHashedData().getSoftwareVersion();
 
         final int softwareComparison = currentSoftwareVersion.compareTo(eventVersion);
@@ -154,7 +201,7 @@ public class EventSignatureValidator {
             return null;
         } else if (softwareComparison > 0) {
             // current software version is greater than event software version
-            if (previousAddressBook == null) {
+            if (keys.previousKeys() == null) {
                 rateLimitedLogger.error(
                         EXCEPTION.getMarker(),
                         "Cannot validate events for software version {} that is less than the current software version {} without a previous address book",
@@ -162,10 +209,10 @@ public class EventSignatureValidator {
                         currentSoftwareVersion);
                 return null;
             }
-            return previousAddressBook;
+            return keys.previousKeys();
         } else {
             // current software version is equal to event software version
-            return currentAddressBook;
+            return keys.currentKeys();
         }
     }
 
@@ -176,15 +223,15 @@ public class EventSignatureValidator {
      * @return true if the event has a valid signature, otherwise false
      */
     private boolean isSignatureValid(@NonNull final GossipEvent event) {
-        final AddressBook applicableAddressBook = determineApplicableAddressBook(event);
-        if (applicableAddressBook == null) {
+        final Map<NodeId, PublicKey> applicableKeys = determineApplicableKeys(event, signingKeys);
+        if (applicableKeys == null) {
             // this occurrence was already logged while attempting to determine the applicable address book
             return false;
         }
 
         final NodeId eventCreatorId = event.getHashedData().getCreatorId();
 
-        if (!applicableAddressBook.contains(eventCreatorId)) {
+        if (!applicableKeys.containsKey(eventCreatorId)) {
             rateLimitedLogger.error(
                     EXCEPTION.getMarker(),
                     "Node {} doesn't exist in applicable address book. Event: {}",
@@ -193,8 +240,7 @@ public class EventSignatureValidator {
             return false;
         }
 
-        final PublicKey publicKey =
-                applicableAddressBook.getAddress(eventCreatorId).getSigPublicKey();
+        final PublicKey publicKey = applicableKeys.get(eventCreatorId);
         if (publicKey == null) {
             rateLimitedLogger.error(
                     EXCEPTION.getMarker(), "Cannot find publicKey for creator with ID: {}", eventCreatorId);
@@ -243,21 +289,31 @@ public class EventSignatureValidator {
     }
 
     /**
-     * Set the non-ancient event window that defines the minimum threshold required for an event to be non-ancient
+     * Set the non-ancient event window that defines the minimum threshold required for an event to be non-ancient.
+     * Windows may arrive out of order when inputs are handled concurrently, so a window with a lower ancient threshold
+     * than the current one is out of date and is ignored.
      *
      * @param nonAncientEventWindow the non-ancient event window
      */
-    public void setNonAncientEventWindow(@NonNull final NonAncientEventWindow nonAncientEventWindow) {
-        this.nonAncientEventWindow = Objects.requireNonNull(nonAncientEventWindow);
+    public synchronized void setNonAncientEventWindow(@NonNull final NonAncientEventWindow nonAncientEventWindow) {
+        Objects.requireNonNull(nonAncientEventWindow);
+        if (nonAncientEventWindow.getAncientThreshold() < this.nonAncientEventWindow.getAncientThreshold()) {
+            return;
+        }
+        this.nonAncientEventWindow = nonAncientEventWindow;
     }
 
     /**
-     * Set the previous and current address books
+     * Set the previous and current address books. An update whose current address book is from an earlier round than
+     * the current one is out of date and is ignored.
      *
      * @param addressBookUpdate the new address books
      */
-    public void updateAddressBooks(@NonNull final AddressBookUpdate addressBookUpdate) {
-        this.previousAddressBook = addressBookUpdate.previousAddressBook();
-        this.currentAddressBook = addressBookUpdate.currentAddressBook();
+    public synchronized void updateAddressBooks(@NonNull final AddressBookUpdate addressBookUpdate) {
+        if (addressBookUpdate.currentAddressBook().getRound() < signingKeys.round()) {
+            return;
+        }
+        this.signingKeys =
+                buildSigningKeys(addressBookUpdate.previousAddressBook(), addressBookUpdate.currentAddressBook());
     }
 }
@@ -25,33 +25,67 @@ import com.swirlds.platform.system.transaction.ConsensusTransactionImpl;
 import com.swirlds.platform.system.transaction.StateSignatureTransaction;
 import com.swirlds.platform.system.transaction.SystemTransaction;
 import edu.umd.cs.findbugs.annotations.NonNull;
-import edu.umd.cs.findbugs.annotations.Nullable;
-import java.util.LinkedList;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
 import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Store a list of transactions created by self, both system and non-system, for wrapping in the next event to be
  * created.
+ *
+ * <p>Transactions are submitted by many threads (e.g. gRPC ingest threads) and taken by a single event creation
+ * thread. Transactions are buffered in lock-free queues, so submitting threads never block on the event creation
+ * thread, or on each other. Methods called by the event creation thread, {@link #getTransactions()} and
+ * {@link #clear()}, are synchronized with each other only.
  */
 public class TransactionPool implements TransactionSupplier, Clearable {
 
+    /**
+     * Returned when there are no transactions to put into an event.
+     */
+    private static final ConsensusTransactionImpl[] NO_TRANSACTIONS = new ConsensusTransactionImpl[0];
+
     /**
      * A list of transactions created by this node waiting to be put into a self-event.
      */
-    private final Queue<ConsensusTransactionImpl> bufferedTransactions = new LinkedList<>();
+    private final Queue<ConsensusTransactionImpl> bufferedTransactions = new ConcurrentLinkedQueue<>();
 
     /**
      * A list of high-priority transactions created by this node waiting to be put into a self-event. Transactions in
      * this queue are always inserted into an event before transactions waiting in {@link #bufferedTransactions}.
      */
-    private final Queue<ConsensusTransactionImpl> priorityBufferedTransactions = new LinkedList<>();
+    private final Queue<ConsensusTransactionImpl> priorityBufferedTransactions = new ConcurrentLinkedQueue<>();
+
+    /**
+     * The number of transactions in {@link #bufferedTransactions}. Concurrent queues don't provide their size in
+     * constant time. Counters are incremented before transactions are added to the queues, and decremented after
+     * transactions are removed, so they may be slightly larger than the queues, but never smaller.
+     */
+    private final AtomicInteger bufferedTransactionCount = new AtomicInteger(0);
+
+    /**
+     * The number of transactions in {@link #priorityBufferedTransactions}.
+     */
+    private final AtomicInteger priorityBufferedTransactionCount = new AtomicInteger(0);
+
+    /**
+     * The total serialized size of all buffered transactions, both priority and non-priority.
+     */
+    private final AtomicLong bufferedTransactionBytes = new AtomicLong(0);
 
     /**
      * The number of buffered signature transactions waiting to be put into events.
      */
-    private int bufferedSignatureTransactionCount = 0;
+    private final AtomicInteger bufferedSignatureTransactionCount = new AtomicInteger(0);
+
+    /**
+     * Transactions selected for the next event. Only used by {@link #getTransactions()}, and reused between calls.
+     */
+    private final List<ConsensusTransactionImpl> selectedTransactions = new ArrayList<>();
 
     /**
      * The maximum number of bytes of transactions that can be put in an event.
@@ -83,65 +117,73 @@ public class TransactionPool implements TransactionSupplier, Clearable {
         throttleTransactionQueueSize = transactionConfig.throttleTransactionQueueSize();
 
         transactionPoolMetrics = new TransactionPoolMetrics(
-                platformContext, this::getBufferedTransactionCount, this::getPriorityBufferedTransactionCount);
-    }
-
-    /**
-     * Get the next transaction that should be inserted into an event, or null if there is no available transaction.
-     *
-     * @param currentEventSize the current size in bytes of the event being constructed
-     * @return the next transaction, or null if no transaction is available
-     */
-    @Nullable
-    @SuppressWarnings("ConstantConditions")
-    private ConsensusTransactionImpl getNextTransaction(final int currentEventSize) {
-        final int maxSize = maxTransactionBytesPerEvent - currentEventSize;
-
-        if (!priorityBufferedTransactions.isEmpty()
-                && priorityBufferedTransactions.peek().getSerializedLength() <= maxSize) {
-            return priorityBufferedTransactions.poll();
-        }
-
-        if (!bufferedTransactions.isEmpty() && bufferedTransactions.peek().getSerializedLength() <= maxSize) {
-            return bufferedTransactions.poll();
-        }
-
-        return null;
+                platformContext,
+                this::getBufferedTransactionCount,
+                this::getPriorityBufferedTransactionCount,
+                this::getBufferedTransactionBytes);
     }
 
     /**
      * Removes as many transactions from the list waiting to be in an event that can fit (FIFO ordering), and returns
-     * them as an array, along with a boolean indicating if the array of transactions returned contains a freeze state
-     * signature transaction.
+     * them as an array. Priority transactions are taken first, then non-priority transactions. Selection stops at the
+     * first transaction that doesn't fit into the event.
      */
     @NonNull
     @Override
     public synchronized ConsensusTransactionImpl[] getTransactions() {
         // Early return due to no transactions waiting
-        if (bufferedTransactions.isEmpty() && priorityBufferedTransactions.isEmpty()) {
-            return new ConsensusTransactionImpl[0];
+        if (bufferedTransactionCount.get() == 0 && priorityBufferedTransactionCount.get() == 0) {
+            return NO_TRANSACTIONS;
         }
 
-        final List<ConsensusTransactionImpl> selectedTrans = new LinkedList<>();
-        int currEventSize = 0;
-
-        while (true) {
-            final ConsensusTransactionImpl transaction = getNextTransaction(currEventSize);
-
-            if (transaction == null) {
-                // No transaction of suitable size is available
-                break;
-            }
+        int remainingBytes = maxTransactionBytesPerEvent;
+        remainingBytes =
+                selectTransactions(priorityBufferedTransactions, priorityBufferedTransactionCount, remainingBytes);
+        selectTransactions(bufferedTransactions, bufferedTransactionCount, remainingBytes);
 
-            currEventSize += transaction.getSerializedLength();
-            selectedTrans.add(transaction);
+        final ConsensusTransactionImpl[] transactions = selectedTransactions.toArray(NO_TRANSACTIONS);
+        selectedTransactions.clear();
+        return transactions;
+    }
 
-            if (transaction.isSystem() && isSignatureTransaction(transaction)) {
-                bufferedSignatureTransactionCount--;
-            }
+    /**
+     * Moves transactions from the head of the given queue to {@link #selectedTransactions}, while they fit into the
+     * remaining event size.
+     *
+     * @param queue          the queue to take transactions from
+     * @param queueCount     the counter of transactions in the queue
+     * @param remainingBytes the number of bytes remaining in the event being constructed
+     * @return the number of bytes remaining in the event after the selected transactions are added
+     */
+    private int selectTransactions(
+            @NonNull final Queue<ConsensusTransactionImpl> queue,
+            @NonNull final AtomicInteger queueCount,
+            final int remainingBytes) {
+        int remaining = remainingBytes;
+        ConsensusTransactionImpl transaction;
+        while ((transaction = queue.peek()) != null && transaction.getSerializedLength() <= remaining) {
+            // There is a single consumer, so the removed transaction is the one just checked
+            queue.poll();
+            remaining -= transaction.getSerializedLength();
+            selectedTransactions.add(transaction);
+            onTransactionRemoved(transaction, queueCount);
         }
+        return remaining;
+    }
 
-        return selectedTrans.toArray(new ConsensusTransactionImpl[0]);
+    /**
+     * Updates the counters after a transaction is removed from one of the queues.
+     *
+     * @param transaction the removed transaction
+     * @param queueCount  the counter of transactions in the queue the transaction was removed from
+     */
+    private void onTransactionRemoved(
+            @NonNull final ConsensusTransactionImpl transaction, @NonNull final AtomicInteger queueCount) {
+        queueCount.decrementAndGet();
+        bufferedTransactionBytes.addAndGet(-transaction.getSerializedLength());
+        if (transaction.isSystem() && isSignatureTransaction(transaction)) {
+            bufferedSignatureTransactionCount.decrementAndGet();
+        }
     }
 
     /**
@@ -160,13 +202,13 @@ public class TransactionPool implements TransactionSupplier, Clearable {
      *
      * @return true if there are any buffered signature transactions
      */
-    public synchronized boolean hasBufferedSignatureTransactions() {
-        return bufferedSignatureTransactionCount > 0;
+    public boolean hasBufferedSignatureTransactions() {
+        return bufferedSignatureTransactionCount.get() > 0;
     }
 
     /**
      * Add the given transaction to the list of transactions to be submitted to the network. If the queue is full, it
-     * does nothing and returns false immediately.
+     * does nothing and returns false immediately. This method is thread safe and never blocks.
      *
      * @param transaction The transaction. It must have been created by self.
      * @param priority    if true, then this transaction will be submitted before other waiting transactions that are
@@ -175,32 +217,34 @@ public class TransactionPool implements TransactionSupplier, Clearable {
      *                    functionalities.
      * @return true if successful
      */
-    @SuppressWarnings("ConstantConditions")
-    public synchronized boolean submitTransaction(
-            @NonNull final ConsensusTransactionImpl transaction, final boolean priority) {
+    public boolean submitTransaction(@NonNull final ConsensusTransactionImpl transaction, final boolean priority) {
 
         Objects.requireNonNull(transaction);
 
         // Always submit system transactions. If it's not a system transaction, then only submit it if we
-        // don't violate queue size capacity restrictions.
+        // don't violate queue size capacity restrictions. Concurrent submissions may exceed the limit slightly
         if (!transaction.isSystem()
-                && (bufferedTransactions.size() + priorityBufferedTransactions.size()) > throttleTransactionQueueSize) {
+                && (bufferedTransactionCount.get() + priorityBufferedTransactionCount.get())
+                        > throttleTransactionQueueSize) {
             transactionPoolMetrics.recordRejectedAppTransaction();
             return false;
         }
 
         if (transaction.isSystem()) {
             if (isSignatureTransaction(transaction)) {
-                bufferedSignatureTransactionCount++;
+                bufferedSignatureTransactionCount.incrementAndGet();
             }
             transactionPoolMetrics.recordSubmittedPlatformTransaction();
         } else {
             transactionPoolMetrics.recordAcceptedAppTransaction();
         }
 
+        bufferedTransactionBytes.addAndGet(transaction.getSerializedLength());
         if (priority) {
+            priorityBufferedTransactionCount.incrementAndGet();
             priorityBufferedTransactions.add(transaction);
         } else {
+            bufferedTransactionCount.incrementAndGet();
             bufferedTransactions.add(transaction);
         }
 
@@ -211,7 +255,7 @@ public class TransactionPool implements TransactionSupplier, Clearable {
      * Same as {@link #submitTransaction(ConsensusTransactionImpl, boolean)} but with priority set to true.
      * This method has no return since system transactions are never rejected.
      */
-    public synchronized void submitSystemTransaction(@NonNull final SystemTransaction transaction) {
+    public void submitSystemTransaction(@NonNull final SystemTransaction transaction) {
         submitTransaction(transaction, true);
     }
 
@@ -220,8 +264,8 @@ public class TransactionPool implements TransactionSupplier, Clearable {
      *
      * @return the number of transactions
      */
-    private synchronized int getBufferedTransactionCount() {
-        return bufferedTransactions.size();
+    private int getBufferedTransactionCount() {
+        return bufferedTransactionCount.get();
     }
 
     /**
@@ -229,17 +273,31 @@ public class TransactionPool implements TransactionSupplier, Clearable {
      *
      * @return the number of transactions
      */
-    private synchronized int getPriorityBufferedTransactionCount() {
-        return priorityBufferedTransactions.size();
+    private int getPriorityBufferedTransactionCount() {
+        return priorityBufferedTransactionCount.get();
     }
 
     /**
-     * Clear all the transactions
+     * get the total size of all buffered transactions
+     *
+     * @return the number of bytes
+     */
+    private long getBufferedTransactionBytes() {
+        return bufferedTransactionBytes.get();
+    }
+
+    /**
+     * Clear all the transactions. Transactions are removed one by one, rather than the counters are reset, since
+     * transactions may be submitted concurrently.
      */
     @Override
     public synchronized void clear() {
-        bufferedTransactions.clear();
-        priorityBufferedTransactions.clear();
-        bufferedSignatureTransactionCount = 0;
+        ConsensusTransactionImpl transaction;
+        while ((transaction = priorityBufferedTransactions.poll()) != null) {
+            onTransactionRemoved(transaction, priorityBufferedTransactionCount);
+        }
+        while ((transaction = bufferedTransactions.poll()) != null) {
+            onTransactionRemoved(transaction, bufferedTransactionCount);
+        }
     }
 }
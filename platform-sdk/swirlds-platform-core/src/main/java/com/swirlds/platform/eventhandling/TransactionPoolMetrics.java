@@ -52,11 +52,13 @@ public class TransactionPoolMetrics {
      * @param platformContext                     the platform context
      * @param getBufferedTransactionCount         a supplier for the number of buffered transactions
      * @param getPriorityBufferedTransactionCount a supplier for the number of priority buffered transactions
+     * @param getBufferedTransactionBytes         a supplier for the total size of all buffered transactions
      */
     public TransactionPoolMetrics(
             @NonNull final PlatformContext platformContext,
             @NonNull final Supplier<Integer> getBufferedTransactionCount,
-            @NonNull final Supplier<Integer> getPriorityBufferedTransactionCount) {
+            @NonNull final Supplier<Integer> getPriorityBufferedTransactionCount,
+            @NonNull final Supplier<Long> getBufferedTransactionBytes) {
 
         final Metrics metrics = platformContext.getMetrics();
 
@@ -75,6 +77,10 @@ public class TransactionPoolMetrics {
                         getPriorityBufferedTransactionCount)
                 .withDescription("The number of priority transactions waiting to be inserted into an event.")
                 .withUnit("count"));
+        metrics.getOrCreate(new FunctionGauge.Config<>(
+                        PLATFORM_CATEGORY, "bufferedTransactionBytes", Long.class, getBufferedTransactionBytes)
+                .withDescription("The total size of all transactions waiting to be inserted into an event.")
+                .withUnit("bytes"));
     }
 
     /**
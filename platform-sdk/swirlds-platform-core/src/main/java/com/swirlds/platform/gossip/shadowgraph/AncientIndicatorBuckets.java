@@ -0,0 +1,179 @@
+/*
+ * Copyright (C) 2024 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.swirlds.platform.gossip.shadowgraph;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+import edu.umd.cs.findbugs.annotations.Nullable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Shadow events grouped by ancient indicator (generation or birth round). Buckets are stored in a ring buffer indexed
+ * by the indicator itself, so lookups don't need boxed keys or hashing. The buffer covers a contiguous range of
+ * indicators, which is extended, and the buffer is grown, when an event outside the range is added. Since events are
+ * expired in indicator order, the range start moves forward as buckets are removed.
+ *
+ * <p>This class is not thread safe. In {@link Shadowgraph}, it's only accessed by threads that modify the graph.
+ */
+final class AncientIndicatorBuckets {
+
+    /** Initial number of buckets in the ring buffer, must be a power of two */
+    private static final int INITIAL_CAPACITY = 64;
+
+    /** Buckets, indexed by ancient indicator modulo buffer length. Buffer length is always a power of two */
+    private List<ShadowEvent>[] buckets;
+
+    /** The lowest indicator in the buffer range, inclusive. Only valid if {@link #isEmpty()} is false */
+    private long lowIndicator;
+
+    /** The highest indicator in the buffer range, inclusive. Less than {@link #lowIndicator} if the range is empty */
+    private long highIndicator;
+
+    AncientIndicatorBuckets() {
+        buckets = newBuckets(INITIAL_CAPACITY);
+        clear();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<ShadowEvent>[] newBuckets(final int capacity) {
+        return (List<ShadowEvent>[]) new List[capacity];
+    }
+
+    private boolean isEmpty() {
+        return highIndicator < lowIndicator;
+    }
+
+    private int index(final long indicator) {
+        return (int) (indicator & (buckets.length - 1));
+    }
+
+    /**
+     * Adds a shadow event to the bucket for the given ancient indicator.
+     *
+     * @param indicator the event ancient indicator
+     * @param shadow    the shadow event
+     */
+    void add(final long indicator, @NonNull final ShadowEvent shadow) {
+        if (isEmpty()) {
+            lowIndicator = indicator;
+            highIndicator = indicator;
+        } else if ((indicator < lowIndicator) || (indicator > highIndicator)) {
+            final long newLow = Math.min(lowIndicator, indicator);
+            final long newHigh = Math.max(highIndicator, indicator);
+            ensureCapacity(newHigh - newLow + 1);
+            lowIndicator = newLow;
+            highIndicator = newHigh;
+        }
+        final int index = index(indicator);
+        List<ShadowEvent> bucket = buckets[index];
+        if (bucket == null) {
+            bucket = new ArrayList<>();
+            buckets[index] = bucket;
+        }
+        bucket.add(shadow);
+    }
+
+    /**
+     * Grows the ring buffer, if needed, to hold the given number of buckets. All existing buckets are moved to their
+     * positions in the new buffer.
+     */
+    private void ensureCapacity(final long requiredCapacity) {
+        if (requiredCapacity <= buckets.length) {
+            return;
+        }
+        if (requiredCapacity > Integer.MAX_VALUE / 2) {
+            throw new IllegalStateException("Ancient indicator range is too wide: " + requiredCapacity);
+        }
+        final int newCapacity = Integer.highestOneBit((int) requiredCapacity - 1) << 1;
+        final List<ShadowEvent>[] oldBuckets = buckets;
+        buckets = newBuckets(newCapacity);
+        for (long indicator = lowIndicator; indicator <= highIndicator; indicator++) {
+            buckets[index(indicator)] = oldBuckets[(int) (indicator & (oldBuckets.length - 1))];
+        }
+    }
+
+    /**
+     * Removes the bucket for the given ancient indicator. Events are expected to be expired in indicator order, so if
+     * the bucket is at the start of the range, the range start is moved forward.
+     *
+     * @param indicator the ancient indicator to remove events for
+     * @return the removed shadow events, or {@code null} if there were no events with the given indicator
+     */
+    @Nullable
+    List<ShadowEvent> remove(final long indicator) {
+        if (isEmpty() || (indicator < lowIndicator) || (indicator > highIndicator)) {
+            return null;
+        }
+        final int index = index(indicator);
+        final List<ShadowEvent> bucket = buckets[index];
+        buckets[index] = null;
+        if (indicator == lowIndicator) {
+            lowIndicator++;
+        }
+        return bucket;
+    }
+
+    /**
+     * Passes all shadow events with ancient indicators in the given range to the consumer, in indicator order.
+     *
+     * @param lowerBound the start of the range (inclusive)
+     * @param upperBound the end of the range (exclusive)
+     * @param consumer   the shadow event consumer
+     */
+    void forEachInRange(final long lowerBound, final long upperBound, @NonNull final Consumer<ShadowEvent> consumer) {
+        if (isEmpty()) {
+            return;
+        }
+        final long from = Math.max(lowerBound, lowIndicator);
+        final long to = Math.min(upperBound - 1, highIndicator);
+        for (long indicator = from; indicator <= to; indicator++) {
+            final List<ShadowEvent> bucket = buckets[index(indicator)];
+            if (bucket != null) {
+                bucket.forEach(consumer);
+            }
+        }
+    }
+
+    /**
+     * Gets the lowest sequence number of all events in the buckets. Events are appended to buckets in the order they
+     * are added to the shadowgraph, so the first event in every bucket has the lowest sequence number in the bucket.
+     *
+     * @param defaultValue the value to return if there are no events
+     * @return the lowest sequence number, or {@code defaultValue} if there are no events
+     */
+    long getMinSequence(final long defaultValue) {
+        long minSequence = Long.MAX_VALUE;
+        for (long indicator = lowIndicator; indicator <= highIndicator; indicator++) {
+            final List<ShadowEvent> bucket = buckets[index(indicator)];
+            if ((bucket != null) && !bucket.isEmpty()) {
+                minSequence = Math.min(minSequence, bucket.get(0).getSequence());
+            }
+        }
+        return minSequence == Long.MAX_VALUE ? defaultValue : minSequence;
+    }
+
+    /**
+     * Removes all buckets.
+     */
+    void clear() {
+        Arrays.fill(buckets, null);
+        lowIndicator = 0;
+        highIndicator = -1;
+    }
+}
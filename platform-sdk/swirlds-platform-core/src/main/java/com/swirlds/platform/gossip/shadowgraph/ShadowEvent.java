@@ -37,6 +37,11 @@ import com.swirlds.platform.internal.EventImpl;
  * A shadow event never modifies the fields in a hashgraph event.
  */
 public class ShadowEvent {
+    /**
+     * the sequence number of shadow events that are not in a shadowgraph
+     */
+    public static final long NO_SEQUENCE = -1;
+
     /**
      * the real event
      */
@@ -52,6 +57,11 @@ public class ShadowEvent {
      */
     private ShadowEvent otherParent;
 
+    /**
+     * the sequence number assigned by the shadowgraph, or {@link #NO_SEQUENCE} if the event is not in a shadowgraph
+     */
+    private final long sequence;
+
     /**
      * Construct a shadow event from an event and the shadow events of its parents
      *
@@ -63,9 +73,27 @@ public class ShadowEvent {
      * 		the other-parent event's shadow
      */
     public ShadowEvent(final EventImpl event, final ShadowEvent selfParent, final ShadowEvent otherParent) {
+        this(event, selfParent, otherParent, NO_SEQUENCE);
+    }
+
+    /**
+     * Construct a shadow event from an event, the shadow events of its parents, and a sequence number
+     *
+     * @param event
+     * 		the event
+     * @param selfParent
+     * 		the self-parent event's shadow
+     * @param otherParent
+     * 		the other-parent event's shadow
+     * @param sequence
+     * 		the sequence number assigned by the shadowgraph
+     */
+    ShadowEvent(
+            final EventImpl event, final ShadowEvent selfParent, final ShadowEvent otherParent, final long sequence) {
         this.event = event;
         this.selfParent = selfParent;
         this.otherParent = otherParent;
+        this.sequence = sequence;
     }
 
     /**
@@ -105,6 +133,16 @@ public class ShadowEvent {
         return event;
     }
 
+    /**
+     * Get the sequence number of {@code this} shadow event. Sequence numbers are assigned by the shadowgraph in the
+     * order events are added, so they are dense and they define a topological order of events in the graph.
+     *
+     * @return the sequence number, or {@link #NO_SEQUENCE} if the event was not added to a shadowgraph
+     */
+    public long getSequence() {
+        return sequence;
+    }
+
     /**
      * The cryptographic hash of an event shadow is the cryptographic hash of the event base
      *
@@ -0,0 +1,112 @@
+/*
+ * Copyright (C) 2024 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.swirlds.platform.gossip.shadowgraph;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * A set of shadow events backed by a bit set indexed by event sequence numbers (see {@link ShadowEvent#getSequence()}).
+ * Membership checks don't need event hashes, and since sequence numbers are assigned in the order events are added
+ * to the shadowgraph, which is a topological order, the set can return its events in topological order without
+ * comparing generations.
+ *
+ * <p>A set only accepts events with sequence numbers not less than the sequence floor of the shadowgraph at the
+ * time the set was created. All events with lower sequence numbers are already expired. Instances are created by
+ * {@link Shadowgraph#newShadowEventSet()}.</p>
+ *
+ * <p>This class is not thread safe. It's expected to be used by a single sync thread.</p>
+ */
+public final class ShadowEventSet {
+
+    /** The sequence number that corresponds to the first bit in the bit set */
+    private final long firstSequence;
+
+    /** Set members, one bit per sequence number starting from {@link #firstSequence} */
+    private final BitSet bits = new BitSet();
+
+    /** Set members, in the order they were added */
+    private final List<ShadowEvent> events = new ArrayList<>();
+
+    /**
+     * Create an empty set.
+     *
+     * @param firstSequence the lowest sequence number of events that can be added to the set
+     */
+    ShadowEventSet(final long firstSequence) {
+        this.firstSequence = firstSequence;
+    }
+
+    private int bitIndex(@NonNull final ShadowEvent shadow) {
+        final long sequence = shadow.getSequence();
+        if (sequence < firstSequence) {
+            return -1;
+        }
+        return Math.toIntExact(sequence - firstSequence);
+    }
+
+    /**
+     * Add an event to this set, if it's not already there. Events that are not in the shadowgraph, or were already
+     * expired when this set was created, are never added.
+     *
+     * @param shadow the event to add
+     * @return true if the event was added, false if it was already in the set or can't be added
+     */
+    public boolean add(@NonNull final ShadowEvent shadow) {
+        final int index = bitIndex(shadow);
+        if ((index < 0) || bits.get(index)) {
+            return false;
+        }
+        bits.set(index);
+        events.add(shadow);
+        return true;
+    }
+
+    /**
+     * Check if an event is in this set.
+     *
+     * @param shadow the event to check
+     * @return true if the event is in the set
+     */
+    public boolean contains(@NonNull final ShadowEvent shadow) {
+        final int index = bitIndex(shadow);
+        return (index >= 0) && bits.get(index);
+    }
+
+    /**
+     * @return the number of events in this set
+     */
+    public int size() {
+        return events.size();
+    }
+
+    /**
+     * Get all events in this set, in the order they were added to the shadowgraph. This is a topological order, so
+     * parents always precede their children.
+     *
+     * @return a new list of events in topological order
+     */
+    @NonNull
+    public List<ShadowEvent> toTopologicalList() {
+        final List<ShadowEvent> result = new ArrayList<>(events);
+        result.sort(Comparator.comparingLong(ShadowEvent::getSequence));
+        return result;
+    }
+}
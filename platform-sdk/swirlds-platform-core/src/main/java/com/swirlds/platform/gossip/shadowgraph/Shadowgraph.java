@@ -34,16 +34,13 @@ import edu.umd.cs.findbugs.annotations.Nullable;
 import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collection;
-import java.util.Collections;
 import java.util.Deque;
-import java.util.HashMap;
 import java.util.HashSet;
-import java.util.Iterator;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 import org.apache.logging.log4j.LogManager;
@@ -52,6 +49,11 @@ import org.apache.logging.log4j.Logger;
 /**
  * The primary purpose of the shadowgraph is to unlink events when it is safe to do so. In order to decide when it is
  * safe to unlink an event, it allows for batches of events (by ancient indicator) to be reserved.
+ *
+ * <p>The shadowgraph is read by all gossip threads, one per sync, but it's only modified by a single thread, which
+ * adds and expires events. Methods used by syncs ({@link #reserve()}, {@link #shadows(List)}, {@link #getTips()},
+ * {@link #findAncestors(Iterable, Predicate)}, and similar) don't take any locks, they use concurrent collections
+ * instead. Methods that modify the graph are synchronized, so modifications are applied one at a time.</p>
  */
 public class Shadowgraph implements Clearable {
 
@@ -63,35 +65,48 @@ public class Shadowgraph implements Clearable {
     public static final int NO_RESERVATION = -1;
 
     /**
-     * The shadowgraph represented in a map from has to shadow event.
+     * The shadowgraph represented in a map from hash to shadow event. Event hashes are cryptographic, so the hash code
+     * of a {@link Hash}, which is taken from its leading bytes, is a good map index on its own.
      */
-    private final HashMap<Hash, ShadowEvent> hashToShadowEvent;
+    private final Map<Hash, ShadowEvent> hashToShadowEvent;
 
     /**
-     * Map from ancient indicator to all shadow events with that ancient indicator.
+     * All shadow events, grouped by ancient indicator. Only accessed by threads that modify the graph.
      */
-    private final Map<Long /* ancient indicator */, Set<ShadowEvent>> indicatorToShadowEvent;
+    private final AncientIndicatorBuckets indicatorToShadowEvent;
 
     /**
      * The set of all tips for the shadowgraph. A tip is an event with no self child (could have other children)
      */
-    private final HashSet<ShadowEvent> tips;
+    private final Set<ShadowEvent> tips;
 
     /**
      * The indicator describing the expiration boundary. All events with an older (smaller) ancient indicator should be
      * expired, when possible.
      */
-    private long expireBelow;
+    private volatile long expireBelow;
 
     /**
      * The oldest ancient indicator that has not yet been expired
      */
-    private long oldestUnexpiredIndicator;
+    private volatile long oldestUnexpiredIndicator;
 
     /**
-     * The list of all currently reserved indicators and their number of reservations.
+     * The sequence number to assign to the next event added to the shadowgraph. Sequence numbers are never reused,
+     * even after the shadowgraph is cleared.
      */
-    private final LinkedList<ShadowgraphReservation> reservationList;
+    private long nextSequence;
+
+    /**
+     * All events that are not expired have sequence numbers not less than this value. Updated after events are
+     * expired.
+     */
+    private volatile long sequenceFloor;
+
+    /**
+     * All currently reserved indicators and their number of reservations, by ancient indicator.
+     */
+    private final Map<Long /* ancient indicator */, ShadowgraphReservation> reservations;
 
     /**
      * Encapsulates metrics for the shadowgraph.
@@ -125,10 +140,10 @@ public class Shadowgraph implements Clearable {
         this.numberOfNodes = addressBook.getSize();
         expireBelow = ancientMode.getGenesisIndicator();
         oldestUnexpiredIndicator = ancientMode.getGenesisIndicator();
-        tips = new HashSet<>();
-        hashToShadowEvent = new HashMap<>();
-        indicatorToShadowEvent = new HashMap<>();
-        reservationList = new LinkedList<>();
+        tips = ConcurrentHashMap.newKeySet();
+        hashToShadowEvent = new ConcurrentHashMap<>();
+        indicatorToShadowEvent = new AncientIndicatorBuckets();
+        reservations = new ConcurrentHashMap<>();
     }
 
     /**
@@ -152,7 +167,8 @@ public class Shadowgraph implements Clearable {
         tips.clear();
         hashToShadowEvent.clear();
         indicatorToShadowEvent.clear();
-        reservationList.clear();
+        reservations.clear();
+        sequenceFloor = nextSequence;
     }
 
     /**
@@ -169,18 +185,28 @@ public class Shadowgraph implements Clearable {
      * Increase the reservation count for the ancient indicator currently held by {@code expireBelow}. A reservation
      * prevents events that have an ancient indicator not less than the threshold from being unlinked.
      *
+     * <p>This method doesn't block. A reservation is first registered for the current {@code expireBelow}, then
+     * {@code expireBelow} is checked again. Expiry updates {@code expireBelow} first and then checks reservations, so
+     * if {@code expireBelow} hasn't changed, expiry is guaranteed to see the reservation. Otherwise, the reservation is
+     * released, and another attempt is made for the new {@code expireBelow} value.</p>
+     *
      * @return the reservation instance, must be closed when the reservation is no longer needed
      */
-    public synchronized ShadowgraphReservation reserve() {
-        if (reservationList.isEmpty()) {
-            return newReservation();
-        }
-        final ShadowgraphReservation lastReservation = reservationList.getLast();
-        if (lastReservation.getReservedIndicator() == expireBelow) {
-            lastReservation.incrementReservations();
-            return lastReservation;
-        } else {
-            return newReservation();
+    public ShadowgraphReservation reserve() {
+        while (true) {
+            final long indicator = expireBelow;
+            final ShadowgraphReservation reservation = reservations.compute(indicator, (k, existing) -> {
+                if (existing == null) {
+                    return new ShadowgraphReservation(k);
+                }
+                existing.incrementReservations();
+                return existing;
+            });
+            if (expireBelow == indicator) {
+                return reservation;
+            }
+            // Expiry boundary has moved while the reservation was registered, try again
+            reservation.close();
         }
     }
 
@@ -192,7 +218,7 @@ public class Shadowgraph implements Clearable {
      * @deprecated still used by tests, planned for removal. Do not add new uses.
      */
     @Deprecated(forRemoval = true)
-    public synchronized boolean isHashInGraph(final Hash hash) {
+    public boolean isHashInGraph(final Hash hash) {
         return hashToShadowEvent.containsKey(hash);
     }
 
@@ -207,9 +233,9 @@ public class Shadowgraph implements Clearable {
      *     <li>adding events to the the graph does not affect ancestors</li>
      *     <li>checks for expired parent events are atomic</li>
      * </ol>
-     * <p>Note: This method is always accessed after a call to a synchronized {@link Shadowgraph} method, like
-     * {@link #getTips()}, which acts as a memory gate and causes the calling thread to read the latest values for all
-     * variables from memory, including {@link ShadowEvent} links.</p>
+     * <p>Note: This method is always accessed after a call to a {@link Shadowgraph} method that reads from a concurrent
+     * collection, like {@link #getTips()}, which acts as a memory gate and causes the calling thread to see all
+     * {@link ShadowEvent} links set before the events were added to the graph.</p>
      *
      * @param events    the event to find ancestors of
      * @param predicate determines whether or not to add the ancestor to the return list
@@ -219,21 +245,53 @@ public class Shadowgraph implements Clearable {
         final HashSet<ShadowEvent> ancestors = new HashSet<>();
         for (ShadowEvent event : events) {
             // add ancestors that have not already been found and that pass the predicate
-            findAncestors(ancestors, event, e -> !ancestors.contains(e) && !expired(e.getEvent()) && predicate.test(e));
+            findAncestors(
+                    ancestors::add,
+                    event,
+                    e -> !ancestors.contains(e) && !expired(e.getEvent()) && predicate.test(e));
         }
         return ancestors;
     }
 
     /**
-     * Private method that searches for ancestors and takes a HashSet as input. This method exists for efficiency, when
-     * looking for ancestors of multiple events, we want to append to the same HashSet.
+     * Same as {@link #findAncestors(Iterable, Predicate)}, but adds the ancestors to the provided set instead of
+     * returning a new one. Ancestors that are already in the set are not searched again, so the set can be used to
+     * accumulate ancestors of different events, or to exclude events and their ancestors from the search.
+     *
+     * @param events    the event to find ancestors of
+     * @param predicate determines whether or not to add the ancestor to the set
+     * @param ancestors the set to add matching ancestors to
+     */
+    public void findAncestors(
+            @NonNull final Iterable<ShadowEvent> events,
+            @NonNull final Predicate<ShadowEvent> predicate,
+            @NonNull final ShadowEventSet ancestors) {
+        for (final ShadowEvent event : events) {
+            findAncestors(ancestors::add, event, predicate);
+        }
+    }
+
+    /**
+     * Create an empty bit set based set of shadow events. It can hold all events that are not yet expired at the time
+     * of invocation, and all events added to the shadowgraph later.
      *
-     * @param ancestors the HashSet to add ancestors to
+     * @return a new empty set
+     */
+    @NonNull
+    public ShadowEventSet newShadowEventSet() {
+        return new ShadowEventSet(sequenceFloor);
+    }
+
+    /**
+     * Private method that searches for ancestors and adds them to a set. This method exists for efficiency, when
+     * looking for ancestors of multiple events, we want to append to the same set.
+     *
+     * @param ancestors adds an event to the set of ancestors, returns false if the event was already there
      * @param event     the event to find ancestors of
      * @param predicate determines whether or not to add the ancestor to the return list
      */
     private void findAncestors(
-            final HashSet<ShadowEvent> ancestors, final ShadowEvent event, final Predicate<ShadowEvent> predicate) {
+            final Predicate<ShadowEvent> ancestors, final ShadowEvent event, final Predicate<ShadowEvent> predicate) {
         final Deque<ShadowEvent> todoStack = new ArrayDeque<>();
 
         final ShadowEvent sp = event.getSelfParent();
@@ -262,7 +320,7 @@ public class Shadowgraph implements Clearable {
 
             add it to ancestors and push any non-null parents to the stack
              */
-            if (!expired(x.getEvent()) && predicate.test(x) && ancestors.add(x)) {
+            if (!expired(x.getEvent()) && predicate.test(x) && ancestors.test(x)) {
                 final ShadowEvent xsp = x.getSelfParent();
                 if (xsp != null) {
                     todoStack.push(xsp);
@@ -291,12 +349,12 @@ public class Shadowgraph implements Clearable {
         if (lowerBound >= upperBound) {
             return result;
         }
-        for (long indicator = lowerBound; indicator < upperBound; indicator++) {
-            indicatorToShadowEvent.getOrDefault(indicator, Collections.emptySet()).stream()
-                    .map(ShadowEvent::getEvent)
-                    .filter(predicate)
-                    .forEach(result::add);
-        }
+        indicatorToShadowEvent.forEachInRange(lowerBound, upperBound, shadow -> {
+            final EventImpl event = shadow.getEvent();
+            if (predicate.test(event)) {
+                result.add(event);
+            }
+        });
         return result;
     }
 
@@ -327,12 +385,13 @@ public class Shadowgraph implements Clearable {
             return;
         }
 
-        // Update the smallest threshold that should not be expired
+        // Update the smallest threshold that should not be expired. This must be done before reservations are
+        // checked, see reserve() for details
         expireBelow = expiredThreshold;
 
         // Remove reservations for events that can and should be expired, and
         // keep track of the oldest threshold that can be expired
-        long oldestReservedIndicator = pruneReservationList();
+        long oldestReservedIndicator = pruneReservations();
 
         if (oldestReservedIndicator == NO_RESERVATION) {
             oldestReservedIndicator = expireBelow;
@@ -349,48 +408,44 @@ public class Shadowgraph implements Clearable {
         final long minimumIndicatorToKeep = Math.min(expireBelow, oldestReservedIndicator);
 
         while (oldestUnexpiredIndicator < minimumIndicatorToKeep) {
-            final Set<ShadowEvent> shadowsToExpire = indicatorToShadowEvent.remove(oldestUnexpiredIndicator);
+            final long indicatorToExpire = oldestUnexpiredIndicator;
+            final List<ShadowEvent> shadowsToExpire = indicatorToShadowEvent.remove(indicatorToExpire);
+            // Events are marked as expired before they are unlinked, so concurrent ancestor searches skip them
+            oldestUnexpiredIndicator = indicatorToExpire + 1;
             // shadowsToExpire should never be null, but check just in case.
             if (shadowsToExpire == null) {
                 logger.error(
                         EXCEPTION.getMarker(),
                         "There were no events with ancient indicator {} to expire.",
-                        oldestUnexpiredIndicator);
+                        indicatorToExpire);
             } else {
                 shadowsToExpire.forEach(this::expire);
             }
-            oldestUnexpiredIndicator++;
         }
+        sequenceFloor = indicatorToShadowEvent.getMinSequence(nextSequence);
     }
 
     /**
-     * Removes reservations that can and should be expired, starting with the oldest ancient indicator reservation.
+     * Removes reservations that can and should be expired, and finds the oldest ancient indicator that is still
+     * reserved.
      *
      * @return the oldest ancient indicator with at least one reservation, or {@code -1} if there are no reservations
      * @see Shadowgraph#expireBelow
      */
-    private long pruneReservationList() {
+    private long pruneReservations() {
         long oldestReservedIndicator = NO_RESERVATION;
 
-        // Iterate through the reservation list in ascending ancient indicator order, removing reservations
-        // for indicators that can and should be expired.
-        final Iterator<ShadowgraphReservation> iterator = reservationList.iterator();
-        while (iterator.hasNext()) {
-            final ShadowgraphReservation reservation = iterator.next();
-            final long reservedIndicator = reservation.getReservedIndicator();
-
-            if (reservation.getReservationCount() > 0) {
-                // As soon as we find a reserved indicator, stop iterating
-                oldestReservedIndicator = reservation.getReservedIndicator();
-                break;
-            } else if (reservedIndicator < expireBelow) {
-                // If the number of reservations is 0 and the
-                // indicator should be expired, remove the reservation
-                iterator.remove();
-            } else {
-                // If the expireBelow indicator is reached, stop
-                // because no more indicators should be expired
-                break;
+        // There are only a few reservations at any time, one per reserved indicator, so it's cheap to check them all
+        for (final Long reservedIndicator : reservations.keySet()) {
+            // A reservation with no reservation count for an indicator that should be expired is removed. It's
+            // done atomically with respect to reserve(), so no new reservation can be made for the removed instance
+            final ShadowgraphReservation reservation = reservations.computeIfPresent(
+                    reservedIndicator,
+                    (k, r) -> (r.getReservationCount() == 0) && (k < expireBelow) ? null : r);
+            if ((reservation != null)
+                    && (reservation.getReservationCount() > 0)
+                    && ((oldestReservedIndicator == NO_RESERVATION) || (reservedIndicator < oldestReservedIndicator))) {
+                oldestReservedIndicator = reservedIndicator;
             }
         }
         return oldestReservedIndicator;
@@ -402,12 +457,12 @@ public class Shadowgraph implements Clearable {
      * @param shadow the shadow event to expire
      */
     private void expire(final ShadowEvent shadow) {
-        // Remove the shadow from the shadowgraph
+        // Remove the shadow from the shadowgraph. Tips are removed first, so concurrent syncs don't see expired tips
+        tips.remove(shadow);
         hashToShadowEvent.remove(shadow.getEventBaseHash());
         // Remove references to parent shadows so this event gets garbage collected
         shadow.disconnect();
         shadow.getEvent().clear();
-        tips.remove(shadow);
     }
 
     /**
@@ -416,7 +471,7 @@ public class Shadowgraph implements Clearable {
      * @param e The event.
      * @return the shadow event that references an event, or null is {@code e} is null
      */
-    public synchronized ShadowEvent shadow(final EventImpl e) {
+    public ShadowEvent shadow(final EventImpl e) {
         if (e == null) {
             return null;
         }
@@ -430,7 +485,7 @@ public class Shadowgraph implements Clearable {
      * @param hashes The event hashes to get shadow events for
      * @return the shadow events that reference the events with the given hashes
      */
-    public synchronized List<ShadowEvent> shadows(final List<Hash> hashes) {
+    public List<ShadowEvent> shadows(final List<Hash> hashes) {
         Objects.requireNonNull(hashes);
         final List<ShadowEvent> shadows = new ArrayList<>(hashes.size());
         for (final Hash hash : hashes) {
@@ -446,7 +501,7 @@ public class Shadowgraph implements Clearable {
      * @return the hashgraph event, if there is one in {@code this} shadowgraph, else `null`
      */
     @Nullable
-    public synchronized EventImpl hashgraphEvent(final Hash h) {
+    public EventImpl hashgraphEvent(final Hash h) {
         final ShadowEvent shadow = shadow(h);
         if (shadow == null) {
             return null;
@@ -462,7 +517,7 @@ public class Shadowgraph implements Clearable {
      * @return an unmodifiable copy of the tips
      */
     @NonNull
-    public synchronized List<ShadowEvent> getTips() {
+    public List<ShadowEvent> getTips() {
         return new ArrayList<>(tips);
     }
 
@@ -523,12 +578,6 @@ public class Shadowgraph implements Clearable {
         }
     }
 
-    private ShadowgraphReservation newReservation() {
-        final ShadowgraphReservation reservation = new ShadowgraphReservation(expireBelow);
-        reservationList.addLast(reservation);
-        return reservation;
-    }
-
     private ShadowEvent shadow(final Hash h) {
         return hashToShadowEvent.get(h);
     }
@@ -537,7 +586,7 @@ public class Shadowgraph implements Clearable {
      * @param h the hash of the event
      * @return the event that has the hash provided, or null if none exists
      */
-    public synchronized EventImpl getEvent(final Hash h) {
+    public EventImpl getEvent(final Hash h) {
         final ShadowEvent shadowEvent = hashToShadowEvent.get(h);
         return shadowEvent == null ? null : shadowEvent.getEvent();
     }
@@ -553,16 +602,11 @@ public class Shadowgraph implements Clearable {
         final ShadowEvent sp = shadow(e.getSelfParent());
         final ShadowEvent op = shadow(e.getOtherParent());
 
-        final ShadowEvent se = new ShadowEvent(e, sp, op);
+        final ShadowEvent se = new ShadowEvent(e, sp, op, nextSequence++);
 
+        indicatorToShadowEvent.add(e.getBaseEvent().getAncientIndicator(ancientMode), se);
         hashToShadowEvent.put(se.getEventBaseHash(), se);
 
-        final long ancientIndicator = e.getBaseEvent().getAncientIndicator(ancientMode);
-        if (!indicatorToShadowEvent.containsKey(ancientIndicator)) {
-            indicatorToShadowEvent.put(ancientIndicator, new HashSet<>());
-        }
-        indicatorToShadowEvent.get(ancientIndicator).add(se);
-
         return se;
     }
 
@@ -662,12 +706,7 @@ public class Shadowgraph implements Clearable {
     /**
      * @return all events stored in the shadowgraph
      */
-    @SuppressWarnings("unchecked")
     public EventImpl[] getAllEvents() {
-        final HashMap<Hash, ShadowEvent> clone;
-        synchronized (this) {
-            clone = (HashMap<Hash, ShadowEvent>) hashToShadowEvent.clone();
-        }
-        return clone.values().stream().map(ShadowEvent::getEvent).toArray(EventImpl[]::new);
+        return hashToShadowEvent.values().stream().map(ShadowEvent::getEvent).toArray(EventImpl[]::new);
     }
 }
@@ -48,17 +48,14 @@ import edu.umd.cs.findbugs.annotations.Nullable;
 import java.io.IOException;
 import java.time.Duration;
 import java.util.ArrayList;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Objects;
-import java.util.Set;
 import java.util.concurrent.Callable;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Consumer;
 import java.util.function.Predicate;
 import java.util.function.Supplier;
-import java.util.stream.Collectors;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
@@ -241,7 +238,7 @@ public class ShadowgraphSynchronizer {
             }
 
             // events that I know they already have
-            final Set<ShadowEvent> eventsTheyHave = new HashSet<>();
+            final ShadowEventSet eventsTheyHave = shadowGraph.newShadowEventSet();
 
             // process the hashes received
             final List<ShadowEvent> theirTips = shadowGraph.shadows(theirTipsAndGenerations.getTips());
@@ -264,7 +261,7 @@ public class ShadowgraphSynchronizer {
 
             // Add each tip they know to the known set
             final List<ShadowEvent> knownTips = getMyTipsTheyKnow(connection, myTips, theirBooleans);
-            eventsTheyHave.addAll(knownTips);
+            knownTips.forEach(eventsTheyHave::add);
 
             // create a send list based on the known set
             sendList = createSendList(
@@ -323,8 +320,8 @@ public class ShadowgraphSynchronizer {
      * Create a list of events to send to the peer.
      *
      * @param selfId           the id of this node
-     * @param knownSet         the set of events that the peer already has (this is incomplete at this stage and is
-     *                         added to during this method)
+     * @param knownSet         the set of events that the peer already has (this is incomplete at this stage and all
+     *                         known ancestors are added to it during this method)
      * @param myGenerations    the generations of this node
      * @param theirGenerations the generations of the peer
      * @return a list of events to send to the peer
@@ -332,7 +329,7 @@ public class ShadowgraphSynchronizer {
     @NonNull
     private List<EventImpl> createSendList(
             @NonNull final NodeId selfId,
-            @NonNull final Set<ShadowEvent> knownSet,
+            @NonNull final ShadowEventSet knownSet,
             @NonNull final Generations myGenerations,
             @NonNull final Generations theirGenerations)
             throws InterruptedException {
@@ -342,35 +339,35 @@ public class ShadowgraphSynchronizer {
         Objects.requireNonNull(myGenerations);
         Objects.requireNonNull(theirGenerations);
 
-        // add to knownSet all the ancestors of each known event
-        final Set<ShadowEvent> knownAncestors = shadowGraph.findAncestors(
-                knownSet, SyncUtils.unknownNonAncient(knownSet, myGenerations, theirGenerations));
-
-        // since knownAncestors is a lot bigger than knownSet, it is a lot cheaper to add knownSet to knownAncestors
-        // then vice versa
-        knownAncestors.addAll(knownSet);
-
-        syncMetrics.knownSetSize(knownAncestors.size());
-
-        // predicate used to search for events to send
+        // add to knownSet all the ancestors of each known event. Events already in the set are not searched again,
+        // so the events in knownSet are never added as ancestors of each other
+        final List<ShadowEvent> knownEvents = knownSet.toTopologicalList();
         final Predicate<ShadowEvent> knownAncestorsPredicate =
-                SyncUtils.unknownNonAncient(knownAncestors, myGenerations, theirGenerations);
+                SyncUtils.unknownNonAncient(knownSet, myGenerations, theirGenerations);
+        shadowGraph.findAncestors(knownEvents, knownAncestorsPredicate, knownSet);
+
+        syncMetrics.knownSetSize(knownSet.size());
 
         executePreFetchTips.run();
         // in order to get the peer the latest events, we get a new set of tips to search from
         final List<ShadowEvent> myNewTips = shadowGraph.getTips();
 
-        // find all ancestors of tips that are not known
-        final List<ShadowEvent> unknownTips =
-                myNewTips.stream().filter(knownAncestorsPredicate).collect(Collectors.toList());
-        final Set<ShadowEvent> sendSet = shadowGraph.findAncestors(unknownTips, knownAncestorsPredicate);
-        // add the tips themselves
-        sendSet.addAll(unknownTips);
-
-        final List<EventImpl> eventsTheyMayNeed =
-                sendSet.stream().map(ShadowEvent::getEvent).collect(Collectors.toCollection(ArrayList::new));
+        // find all ancestors of tips that are not known, starting with the tips themselves
+        final ShadowEventSet sendSet = shadowGraph.newShadowEventSet();
+        final List<ShadowEvent> unknownTips = new ArrayList<>();
+        for (final ShadowEvent tip : myNewTips) {
+            if (knownAncestorsPredicate.test(tip) && sendSet.add(tip)) {
+                unknownTips.add(tip);
+            }
+        }
+        shadowGraph.findAncestors(unknownTips, knownAncestorsPredicate, sendSet);
 
-        SyncUtils.sort(eventsTheyMayNeed);
+        // sequence numbers define a topological order, so there is no need to sort events by generation
+        final List<ShadowEvent> sendShadows = sendSet.toTopologicalList();
+        final List<EventImpl> eventsTheyMayNeed = new ArrayList<>(sendShadows.size());
+        for (final ShadowEvent shadow : sendShadows) {
+            eventsTheyMayNeed.add(shadow.getEvent());
+        }
 
         final List<EventImpl> sendList;
         if (filterLikelyDuplicates) {
@@ -496,6 +496,25 @@ public final class SyncUtils {
         return s -> s.getEvent().getGeneration() >= minSearchGen && !knownShadows.contains(s);
     }
 
+    /**
+     * Same as {@link #unknownNonAncient(Collection, GraphGenerations, GraphGenerations)}, but known events are provided
+     * as a bit set based {@link ShadowEventSet}, which doesn't need to hash events to check membership.
+     *
+     * @param knownShadows     the {@link ShadowEvent}s that are already known and should therefore be rejected by the
+     *                         predicate
+     * @param myGenerations    the generations of this node
+     * @param theirGenerations the generations of the peer node
+     * @return the predicate
+     */
+    public static Predicate<ShadowEvent> unknownNonAncient(
+            final ShadowEventSet knownShadows,
+            final GraphGenerations myGenerations,
+            final GraphGenerations theirGenerations) {
+        final long minSearchGen =
+                Math.max(myGenerations.getMinRoundGeneration(), theirGenerations.getMinGenerationNonAncient());
+        return s -> s.getEvent().getGeneration() >= minSearchGen && !knownShadows.contains(s);
+    }
+
     /**
      * Computes the number of creators that have more than one tip. If a single creator has more than two tips, this
      * method will only report once for each such creator. The execution time cost for this method is O(T + N) where T
@@ -529,13 +548,6 @@ public final class SyncUtils {
         return creatorsWithForks; // total number of unique creators with more than one tip
     }
 
-    /**
-     * @param sendList The list of events to sort.
-     */
-    static void sort(final List<EventImpl> sendList) {
-        sendList.sort((EventImpl e1, EventImpl e2) -> (int) (e1.getGeneration() - e2.getGeneration()));
-    }
-
     /**
      * For each tip they send us, determine if we have that event. For each tip, send true if we have the event and
      * false if we don't.
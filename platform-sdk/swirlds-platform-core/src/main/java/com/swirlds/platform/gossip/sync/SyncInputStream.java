@@ -27,13 +27,12 @@ import com.swirlds.platform.gossip.SyncException;
 import com.swirlds.platform.gossip.shadowgraph.Generations;
 import com.swirlds.platform.network.ByteConstants;
 import com.swirlds.platform.network.SocketConfig;
+import com.swirlds.platform.network.compression.CompressionCounters;
+import com.swirlds.platform.network.compression.NetworkCompression;
 import edu.umd.cs.findbugs.annotations.NonNull;
-import java.io.BufferedInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.List;
-import java.util.zip.Inflater;
-import java.util.zip.InflaterInputStream;
 
 public class SyncInputStream extends SerializableDataInputStream {
 
@@ -41,38 +40,61 @@ public class SyncInputStream extends SerializableDataInputStream {
     private static final int MAX_TIPS_PER_NODE = 1000;
 
     private final CountingStreamExtension syncByteCounter;
+    private final CompressionCounters compressionCounters;
 
-    private SyncInputStream(InputStream in, CountingStreamExtension syncByteCounter) {
+    private SyncInputStream(
+            InputStream in, CountingStreamExtension syncByteCounter, CompressionCounters compressionCounters) {
         super(in);
         this.syncByteCounter = syncByteCounter;
+        this.compressionCounters = compressionCounters;
     }
 
+    /**
+     * Create a sync input stream, decompressed according to {@link SocketConfig}. The peer must use the same
+     * compression, it isn't negotiated.
+     *
+     * @param platformContext the platform context
+     * @param in              the connection input stream
+     * @param bufferSize      the buffer size
+     * @return the sync input stream
+     */
     public static SyncInputStream createSyncInputStream(
             @NonNull final PlatformContext platformContext, @NonNull final InputStream in, final int bufferSize) {
+        final NetworkCompression compression = NetworkCompression.fromConfig(
+                platformContext.getConfiguration().getConfigData(SocketConfig.class));
+        return createSyncInputStream(in, bufferSize, compression);
+    }
 
+    /**
+     * Create a sync input stream with the given compression, usually negotiated with the peer.
+     *
+     * @param in          the connection input stream
+     * @param bufferSize  the buffer size
+     * @param compression the compression to use
+     * @return the sync input stream
+     */
+    public static SyncInputStream createSyncInputStream(
+            @NonNull final InputStream in, final int bufferSize, @NonNull final NetworkCompression compression) {
         final CountingStreamExtension syncCounter = new CountingStreamExtension();
-
-        final boolean compress = platformContext
-                .getConfiguration()
-                .getConfigData(SocketConfig.class)
-                .gzipCompression();
+        final CompressionCounters compressionCounters = new CompressionCounters();
 
         final InputStream meteredStream = extendInputStream(in, syncCounter);
+        final InputStream wrappedStream = compression.wrapInputStream(meteredStream, bufferSize, compressionCounters);
 
-        final InputStream wrappedStream;
-        if (compress) {
-            wrappedStream = new InflaterInputStream(meteredStream, new Inflater(true), bufferSize);
-        } else {
-            wrappedStream = new BufferedInputStream(meteredStream, bufferSize);
-        }
-
-        return new SyncInputStream(wrappedStream, syncCounter);
+        return new SyncInputStream(wrappedStream, syncCounter, compressionCounters);
     }
 
     public CountingStreamExtension getSyncByteCounter() {
         return syncByteCounter;
     }
 
+    /**
+     * @return counters of data decompressed by this stream, only updated by block compression
+     */
+    public CompressionCounters getCompressionCounters() {
+        return compressionCounters;
+    }
+
     /**
      * Reads a sync request response from the stream
      *
@@ -26,51 +26,68 @@ import com.swirlds.platform.gossip.shadowgraph.Generations;
 import com.swirlds.platform.internal.EventImpl;
 import com.swirlds.platform.network.ByteConstants;
 import com.swirlds.platform.network.SocketConfig;
+import com.swirlds.platform.network.compression.CompressionCounters;
+import com.swirlds.platform.network.compression.NetworkCompression;
 import edu.umd.cs.findbugs.annotations.NonNull;
-import java.io.BufferedOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.time.Instant;
 import java.util.List;
 import java.util.concurrent.atomic.AtomicReference;
-import java.util.zip.Deflater;
-import java.util.zip.DeflaterOutputStream;
 
 public class SyncOutputStream extends SerializableDataOutputStream {
     private final CountingStreamExtension syncByteCounter;
     private final CountingStreamExtension connectionByteCounter;
+    private final CompressionCounters compressionCounters;
     private final AtomicReference<Instant> requestSent;
 
     protected SyncOutputStream(
-            OutputStream out, CountingStreamExtension syncByteCounter, CountingStreamExtension connectionByteCounter) {
+            OutputStream out,
+            CountingStreamExtension syncByteCounter,
+            CountingStreamExtension connectionByteCounter,
+            CompressionCounters compressionCounters) {
         super(out);
         this.syncByteCounter = syncByteCounter;
         this.connectionByteCounter = connectionByteCounter;
+        this.compressionCounters = compressionCounters;
         this.requestSent = new AtomicReference<>(null);
     }
 
+    /**
+     * Create a sync output stream, compressed according to {@link SocketConfig}. The peer must use the same
+     * compression, it isn't negotiated.
+     *
+     * @param platformContext the platform context
+     * @param out             the connection output stream
+     * @param bufferSize      the buffer size
+     * @return the sync output stream
+     */
     public static SyncOutputStream createSyncOutputStream(
             @NonNull final PlatformContext platformContext, @NonNull final OutputStream out, final int bufferSize) {
+        final NetworkCompression compression = NetworkCompression.fromConfig(
+                platformContext.getConfiguration().getConfigData(SocketConfig.class));
+        return createSyncOutputStream(out, bufferSize, compression);
+    }
+
+    /**
+     * Create a sync output stream with the given compression, usually negotiated with the peer.
+     *
+     * @param out         the connection output stream
+     * @param bufferSize  the buffer size, also the block size for block compression
+     * @param compression the compression to use
+     * @return the sync output stream
+     */
+    public static SyncOutputStream createSyncOutputStream(
+            @NonNull final OutputStream out, final int bufferSize, @NonNull final NetworkCompression compression) {
         CountingStreamExtension syncByteCounter = new CountingStreamExtension();
         CountingStreamExtension connectionByteCounter = new CountingStreamExtension();
-
-        final boolean compress = platformContext
-                .getConfiguration()
-                .getConfigData(SocketConfig.class)
-                .gzipCompression();
+        final CompressionCounters compressionCounters = new CompressionCounters();
 
         final OutputStream meteredStream = extendOutputStream(out, connectionByteCounter);
-
-        final OutputStream wrappedStream;
-        if (compress) {
-            wrappedStream = new DeflaterOutputStream(
-                    meteredStream, new Deflater(Deflater.DEFAULT_COMPRESSION, true), bufferSize, true);
-        } else {
-            wrappedStream = new BufferedOutputStream(meteredStream, bufferSize);
-        }
+        final OutputStream wrappedStream = compression.wrapOutputStream(meteredStream, bufferSize, compressionCounters);
 
         // we write the data to the buffer first, for efficiency
-        return new SyncOutputStream(wrappedStream, syncByteCounter, connectionByteCounter);
+        return new SyncOutputStream(wrappedStream, syncByteCounter, connectionByteCounter, compressionCounters);
     }
 
     public CountingStreamExtension getSyncByteCounter() {
@@ -81,6 +98,13 @@ public class SyncOutputStream extends SerializableDataOutputStream {
         return connectionByteCounter;
     }
 
+    /**
+     * @return counters of data compressed by this stream, only updated by block compression
+     */
+    public CompressionCounters getCompressionCounters() {
+        return compressionCounters;
+    }
+
     /**
      * @return the time the last sync request was sent
      */
@@ -22,6 +22,7 @@ import com.swirlds.common.metrics.extensions.CountPerSecond;
 import com.swirlds.common.platform.NodeId;
 import com.swirlds.metrics.api.FloatFormats;
 import com.swirlds.metrics.api.Metrics;
+import com.swirlds.platform.network.compression.CompressionCounters;
 import com.swirlds.platform.system.address.Address;
 import com.swirlds.platform.system.address.AddressBook;
 import edu.umd.cs.findbugs.annotations.NonNull;
@@ -41,6 +42,7 @@ public class NetworkMetrics {
 
     private static final String PING_CATEGORY = "ping";
     private static final String BPSS_CATEGORY = "bpss";
+    private static final String COMPRESSION_CATEGORY = "compression";
 
     private static final RunningAverageMetric.Config AVG_PING_CONFIG = new RunningAverageMetric.Config(
                     Metrics.PLATFORM_CATEGORY, "ping")
@@ -67,6 +69,10 @@ public class NetworkMetrics {
     private final Map<NodeId, RunningAverageMetric> avgPingMilliseconds = new HashMap<>();
     /** the average number of bytes sent per second for each node */
     private final Map<NodeId, SpeedometerMetric> avgBytePerSecSent = new HashMap<>();
+    /** the average ratio of uncompressed to compressed bytes exchanged with each node */
+    private final Map<NodeId, RunningAverageMetric> avgCompressionRatio = new HashMap<>();
+    /** the time spent compressing and decompressing data per second for each node */
+    private final Map<NodeId, SpeedometerMetric> compressionCpuMillisPerSec = new HashMap<>();
     /** the average ping to all nodes */
     private final RunningAverageMetric avgPing;
     /** the total bytes per second to all nodes */
@@ -111,6 +117,22 @@ public class NetworkMetrics {
                                     BPSS_CATEGORY, String.format("bytes_per_sec_sent_%02d", nodeId.id()))
                             .withDescription(String.format("bytes per second sent to node %02d", nodeId.id()))
                             .withFormat(FloatFormats.FORMAT_16_2)));
+            avgCompressionRatio.put(
+                    nodeId,
+                    metrics.getOrCreate(new RunningAverageMetric.Config(
+                                    COMPRESSION_CATEGORY, String.format("compression_ratio_%02d", nodeId.id()))
+                            .withDescription(String.format(
+                                    "ratio of uncompressed to compressed bytes exchanged with node %02d", nodeId.id()))
+                            .withFormat(FloatFormats.FORMAT_10_2)));
+            compressionCpuMillisPerSec.put(
+                    nodeId,
+                    metrics.getOrCreate(new SpeedometerMetric.Config(
+                                    COMPRESSION_CATEGORY,
+                                    String.format("compression_cpu_ms_per_sec_%02d", nodeId.id()))
+                            .withDescription(String.format(
+                                    "milliseconds per second spent compressing and decompressing data of node %02d",
+                                    nodeId.id()))
+                            .withFormat(FloatFormats.FORMAT_10_2)));
             disconnectFrequency.put(
                     nodeId,
                     new CountPerSecond(
@@ -178,6 +200,7 @@ public class NetworkMetrics {
                 if (avgBytePerSecSent.get(otherId) != null) {
                     avgBytePerSecSent.get(otherId).update(bytesSent);
                 }
+                updateCompressionMetrics(conn);
                 if (!conn.connected()) {
                     iterator.remove();
                 }
@@ -187,6 +210,29 @@ public class NetworkMetrics {
         avgConnsCreated.update(connsCreated.sum());
     }
 
+    /**
+     * Updates compression metrics of a connection. Only block compressed connections report them.
+     *
+     * @param conn the connection
+     */
+    private void updateCompressionMetrics(@NonNull final Connection conn) {
+        final CompressionCounters sent = conn.getDos().getCompressionCounters();
+        final CompressionCounters received = conn.getDis().getCompressionCounters();
+        final long uncompressedBytes = sent.getAndResetUncompressedBytes() + received.getAndResetUncompressedBytes();
+        final long compressedBytes = sent.getAndResetCompressedBytes() + received.getAndResetCompressedBytes();
+        final double cpuMillis = sent.getAndResetCpuMillis() + received.getAndResetCpuMillis();
+
+        final NodeId otherId = conn.getOtherId();
+        final RunningAverageMetric ratio = avgCompressionRatio.get(otherId);
+        if ((ratio != null) && (compressedBytes > 0)) {
+            ratio.update((double) uncompressedBytes / compressedBytes);
+        }
+        final SpeedometerMetric cpu = compressionCpuMillisPerSec.get(otherId);
+        if (cpu != null) {
+            cpu.update(cpuMillis);
+        }
+    }
+
     /**
      * Returns the time for a round-trip message to each member (in milliseconds).
      * <p>
@@ -18,6 +18,7 @@ package com.swirlds.platform.network;
 
 import com.swirlds.config.api.ConfigData;
 import com.swirlds.config.api.ConfigProperty;
+import com.swirlds.platform.network.compression.NetworkCompression;
 
 /**
  * Configuration for sockets
@@ -35,7 +36,11 @@ import com.swirlds.config.api.ConfigProperty;
  * @param useLoopbackIp              should be set to true when using the internet simulator
  * @param tcpNoDelay                 if true, then Nagel's algorithm is disabled, which helps latency, hurts bandwidth
  *                                   usage
- * @param gzipCompression            whether to use gzip compression over the network
+ * @param gzipCompression            whether to use gzip compression over the network. Ignored if
+ *                                   {@code compression} is set
+ * @param compression                the compression to use over the network, for both gossip and reconnect. Peers
+ *                                   negotiate it when a connection is established, and fall back to no compression
+ *                                   if they prefer different ones
  */
 @ConfigData("socket")
 public record SocketConfig(
@@ -47,4 +52,5 @@ public record SocketConfig(
         @ConfigProperty(defaultValue = "true") boolean useTLS,
         @ConfigProperty(defaultValue = "false") boolean useLoopbackIp,
         @ConfigProperty(defaultValue = "true") boolean tcpNoDelay,
-        @ConfigProperty(defaultValue = "false") boolean gzipCompression) {}
+        @ConfigProperty(defaultValue = "false") boolean gzipCompression,
+        @ConfigProperty(defaultValue = "NONE") NetworkCompression compression) {}
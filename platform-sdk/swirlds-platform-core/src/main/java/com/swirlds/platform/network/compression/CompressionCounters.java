@@ -0,0 +1,84 @@
+/*
+ * Copyright (C) 2024 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.swirlds.platform.network.compression;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counters of compressed network streams, used to report compression ratio and CPU time. Counters are updated by
+ * stream threads and read by the metrics thread, so they are thread safe.
+ */
+public final class CompressionCounters {
+
+    /** Total number of bytes before compression, or after decompression */
+    private final LongAdder uncompressedBytes = new LongAdder();
+
+    /** Total number of bytes sent or received over the wire */
+    private final LongAdder compressedBytes = new LongAdder();
+
+    /** Total time spent in compression or decompression, in nanoseconds */
+    private final LongAdder nanos = new LongAdder();
+
+    /**
+     * Records a compressed or decompressed block.
+     *
+     * @param uncompressed the uncompressed block size
+     * @param compressed   the block size on the wire
+     * @param elapsedNanos the time it took to compress or decompress the block
+     */
+    void record(final int uncompressed, final int compressed, final long elapsedNanos) {
+        uncompressedBytes.add(uncompressed);
+        compressedBytes.add(compressed);
+        nanos.add(elapsedNanos);
+    }
+
+    /**
+     * @return the total number of bytes before compression, or after decompression
+     */
+    public long getUncompressedBytes() {
+        return uncompressedBytes.sum();
+    }
+
+    /**
+     * @return the total number of bytes sent or received over the wire
+     */
+    public long getCompressedBytes() {
+        return compressedBytes.sum();
+    }
+
+    /**
+     * @return the number of uncompressed bytes since the last call to this method
+     */
+    public long getAndResetUncompressedBytes() {
+        return uncompressedBytes.sumThenReset();
+    }
+
+    /**
+     * @return the number of compressed bytes since the last call to this method
+     */
+    public long getAndResetCompressedBytes() {
+        return compressedBytes.sumThenReset();
+    }
+
+    /**
+     * @return the time spent in compression or decompression since the last call to this method, in milliseconds
+     */
+    public double getAndResetCpuMillis() {
+        return nanos.sumThenReset() / (double) TimeUnit.MILLISECONDS.toNanos(1);
+    }
+}
@@ -0,0 +1,261 @@
+/*
+ * Copyright (C) 2024 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.swirlds.platform.network.compression;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * A fast LZ77-style block codec that uses the LZ4 block format. Compression uses a single hash table of recent
+ * 4-byte sequences and greedy matching, which trades some compression ratio for speed. Decompression validates all
+ * lengths and offsets, since compressed blocks are received from other nodes and can't be trusted.
+ * <p>
+ * Instances are not thread safe. Every stream has its own codec, to reuse the hash table.
+ */
+final class Lz4BlockCodec {
+
+    /** Min match length in the LZ4 format */
+    private static final int MIN_MATCH = 4;
+
+    /** The last bytes of a block are always literals */
+    private static final int LAST_LITERALS = 5;
+
+    /** The last match must start at least this many bytes before the end of the block */
+    private static final int MF_LIMIT = 12;
+
+    /** Max distance between a match and its reference, limited by the 2-byte offset in the format */
+    private static final int MAX_DISTANCE = 0xFFFF;
+
+    /** Number of bits in hash table indices */
+    private static final int HASH_LOG = 12;
+
+    /** Literal and match lengths of at least this value are continued in extra bytes */
+    private static final int RUN_MASK = 0x0F;
+
+    /** Positions of recent 4-byte sequences, indexed by sequence hash */
+    private final int[] hashTable = new int[1 << HASH_LOG];
+
+    /**
+     * Gets the max size of a compressed block for the given uncompressed size.
+     *
+     * @param length uncompressed size
+     * @return max compressed size
+     */
+    static int maxCompressedLength(final int length) {
+        return length + length / 255 + 16;
+    }
+
+    private static int readInt(final byte[] buf, final int pos) {
+        return (buf[pos] & 0xFF)
+                | ((buf[pos + 1] & 0xFF) << 8)
+                | ((buf[pos + 2] & 0xFF) << 16)
+                | ((buf[pos + 3] & 0xFF) << 24);
+    }
+
+    private static int hash(final int sequence) {
+        return (sequence * -1640531535) >>> (Integer.SIZE - HASH_LOG);
+    }
+
+    /**
+     * Compresses a block of data.
+     *
+     * @param src    the source buffer
+     * @param srcOff the offset of the data in the source buffer
+     * @param srcLen the length of the data
+     * @param dst    the destination buffer, must have at least {@link #maxCompressedLength(int)} bytes after
+     *               {@code dstOff}
+     * @param dstOff the offset in the destination buffer to write compressed data to
+     * @return the compressed length
+     */
+    int compress(final byte[] src, final int srcOff, final int srcLen, final byte[] dst, final int dstOff) {
+        final int srcEnd = srcOff + srcLen;
+        int op = dstOff;
+        int anchor = srcOff;
+        if (srcLen >= MF_LIMIT + 1) {
+            Arrays.fill(hashTable, -1);
+            final int matchLimit = srcEnd - LAST_LITERALS;
+            final int mfLimit = srcEnd - MF_LIMIT;
+            int ip = srcOff;
+            int misses = 0;
+            while (ip < mfLimit) {
+                final int sequence = readInt(src, ip);
+                final int h = hash(sequence);
+                int ref = hashTable[h];
+                hashTable[h] = ip;
+                if ((ref < 0) || (ip - ref > MAX_DISTANCE) || (readInt(src, ref) != sequence)) {
+                    // skip faster through data that doesn't compress
+                    ip += 1 + (misses++ >>> 6);
+                    continue;
+                }
+                misses = 0;
+                int start = ip;
+                while ((start > anchor) && (ref > srcOff) && (src[start - 1] == src[ref - 1])) {
+                    start--;
+                    ref--;
+                }
+                int matchLength = MIN_MATCH + (ip - start);
+                while ((start + matchLength < matchLimit) && (src[ref + matchLength] == src[start + matchLength])) {
+                    matchLength++;
+                }
+                op = writeSequence(src, anchor, start - anchor, dst, op, start - ref, matchLength);
+                ip = start + matchLength;
+                anchor = ip;
+            }
+        }
+        return writeLastLiterals(src, anchor, srcEnd - anchor, dst, op) - dstOff;
+    }
+
+    private static int writeLength(final byte[] dst, int op, final int length) {
+        int remaining = length - RUN_MASK;
+        while (remaining >= 0xFF) {
+            dst[op++] = (byte) 0xFF;
+            remaining -= 0xFF;
+        }
+        dst[op++] = (byte) remaining;
+        return op;
+    }
+
+    private static int writeSequence(
+            final byte[] src,
+            final int literalOff,
+            final int literalLength,
+            final byte[] dst,
+            final int dstOff,
+            final int offset,
+            final int matchLength) {
+        int op = dstOff + 1;
+        int token;
+        if (literalLength >= RUN_MASK) {
+            token = RUN_MASK << 4;
+            op = writeLength(dst, op, literalLength);
+        } else {
+            token = literalLength << 4;
+        }
+        System.arraycopy(src, literalOff, dst, op, literalLength);
+        op += literalLength;
+        dst[op++] = (byte) offset;
+        dst[op++] = (byte) (offset >>> 8);
+        final int length = matchLength - MIN_MATCH;
+        if (length >= RUN_MASK) {
+            token |= RUN_MASK;
+            op = writeLength(dst, op, length);
+        } else {
+            token |= length;
+        }
+        dst[dstOff] = (byte) token;
+        return op;
+    }
+
+    private static int writeLastLiterals(
+            final byte[] src, final int literalOff, final int literalLength, final byte[] dst, final int dstOff) {
+        int op = dstOff + 1;
+        if (literalLength >= RUN_MASK) {
+            dst[dstOff] = (byte) (RUN_MASK << 4);
+            op = writeLength(dst, op, literalLength);
+        } else {
+            dst[dstOff] = (byte) (literalLength << 4);
+        }
+        System.arraycopy(src, literalOff, dst, op, literalLength);
+        return op + literalLength;
+    }
+
+    /**
+     * Decompresses a block of data.
+     *
+     * @param src    the source buffer
+     * @param srcOff the offset of the compressed data in the source buffer
+     * @param srcLen the length of the compressed data
+     * @param dst    the destination buffer
+     * @param dstOff the offset in the destination buffer to write decompressed data to
+     * @param dstLen the expected decompressed length
+     * @throws IOException if the compressed data is malformed, or doesn't decompress to exactly {@code dstLen} bytes
+     */
+    static void decompress(
+            final byte[] src, final int srcOff, final int srcLen, final byte[] dst, final int dstOff, final int dstLen)
+            throws IOException {
+        final int srcEnd = srcOff + srcLen;
+        final int dstEnd = dstOff + dstLen;
+        int ip = srcOff;
+        int op = dstOff;
+        while (true) {
+            if (ip >= srcEnd) {
+                throw new IOException("Malformed compressed block: missing token");
+            }
+            final int token = src[ip++] & 0xFF;
+
+            int literalLength = token >>> 4;
+            if (literalLength == RUN_MASK) {
+                int b;
+                do {
+                    if (ip >= srcEnd) {
+                        throw new IOException("Malformed compressed block: truncated literal length");
+                    }
+                    b = src[ip++] & 0xFF;
+                    literalLength += b;
+                } while ((b == 0xFF) && (literalLength <= dstLen));
+            }
+            if ((literalLength > srcEnd - ip) || (literalLength > dstEnd - op)) {
+                throw new IOException("Malformed compressed block: literals out of bounds");
+            }
+            System.arraycopy(src, ip, dst, op, literalLength);
+            ip += literalLength;
+            op += literalLength;
+            if (ip == srcEnd) {
+                // the last sequence only has literals
+                break;
+            }
+
+            if (srcEnd - ip < 2) {
+                throw new IOException("Malformed compressed block: truncated match offset");
+            }
+            final int offset = (src[ip] & 0xFF) | ((src[ip + 1] & 0xFF) << 8);
+            ip += 2;
+            if ((offset == 0) || (offset > op - dstOff)) {
+                throw new IOException("Malformed compressed block: match offset out of bounds");
+            }
+
+            int matchLength = token & RUN_MASK;
+            if (matchLength == RUN_MASK) {
+                int b;
+                do {
+                    if (ip >= srcEnd) {
+                        throw new IOException("Malformed compressed block: truncated match length");
+                    }
+                    b = src[ip++] & 0xFF;
+                    matchLength += b;
+                } while ((b == 0xFF) && (matchLength <= dstLen));
+            }
+            matchLength += MIN_MATCH;
+            if (matchLength > dstEnd - op) {
+                throw new IOException("Malformed compressed block: match out of bounds");
+            }
+            final int ref = op - offset;
+            if (offset >= matchLength) {
+                System.arraycopy(dst, ref, dst, op, matchLength);
+            } else {
+                // overlapping match, copy byte by byte to repeat the pattern
+                for (int i = 0; i < matchLength; i++) {
+                    dst[op + i] = dst[ref + i];
+                }
+            }
+            op += matchLength;
+        }
+        if (op != dstEnd) {
+            throw new IOException("Malformed compressed block: expected " + dstLen + " bytes, got " + (op - dstOff));
+        }
+    }
+}
@@ -0,0 +1,158 @@
+/*
+ * Copyright (C) 2024 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.swirlds.platform.network.compression;
+
+import static com.swirlds.platform.network.compression.Lz4OutputStream.HEADER_SIZE;
+import static com.swirlds.platform.network.compression.Lz4OutputStream.MAX_BLOCK_SIZE;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Objects;
+
+/**
+ * An input stream that reads blocks written by {@link Lz4OutputStream}. Block lengths are validated before any memory
+ * is allocated for them, so a malformed stream results in an {@link IOException} rather than a huge allocation.
+ */
+public class Lz4InputStream extends InputStream {
+
+    private final InputStream in;
+    private final CompressionCounters counters;
+    private final byte[] header = new byte[HEADER_SIZE];
+
+    /** Decompressed data of the current block, grows if the peer sends larger blocks */
+    private byte[] buffer;
+
+    /** Compressed data of the current block, grows if the peer sends larger blocks */
+    private byte[] compressed;
+
+    /** The number of bytes in {@link #buffer} */
+    private int limit;
+
+    /** The number of bytes in {@link #buffer} already read */
+    private int position;
+
+    /**
+     * Create a new stream.
+     *
+     * @param in         the stream to read compressed blocks from
+     * @param bufferSize the initial buffer size, should be the block size of the peer
+     * @param counters   the counters to update with every read block
+     */
+    public Lz4InputStream(
+            @NonNull final InputStream in, final int bufferSize, @NonNull final CompressionCounters counters) {
+        if ((bufferSize <= 0) || (bufferSize > MAX_BLOCK_SIZE)) {
+            throw new IllegalArgumentException("Buffer size must be between 1 and " + MAX_BLOCK_SIZE);
+        }
+        this.in = Objects.requireNonNull(in);
+        this.counters = Objects.requireNonNull(counters);
+        this.buffer = new byte[bufferSize];
+        this.compressed = new byte[Lz4BlockCodec.maxCompressedLength(bufferSize)];
+    }
+
+    @Override
+    public int read() throws IOException {
+        if ((position == limit) && !readBlock()) {
+            return -1;
+        }
+        return buffer[position++] & 0xFF;
+    }
+
+    @Override
+    public int read(@NonNull final byte[] b, final int off, final int len) throws IOException {
+        Objects.checkFromIndexSize(off, len, b.length);
+        if (len == 0) {
+            return 0;
+        }
+        if ((position == limit) && !readBlock()) {
+            return -1;
+        }
+        final int n = Math.min(len, limit - position);
+        System.arraycopy(buffer, position, b, off, n);
+        position += n;
+        return n;
+    }
+
+    @Override
+    public int available() throws IOException {
+        return limit - position;
+    }
+
+    /**
+     * Reads the next block into the buffer.
+     *
+     * @return false if the end of the underlying stream is reached before the next block
+     */
+    private boolean readBlock() throws IOException {
+        // empty blocks are never written, but skip them anyway, so read() never returns 0 bytes
+        do {
+            final int first = in.read();
+            if (first < 0) {
+                return false;
+            }
+            header[0] = (byte) first;
+            readFully(header, 1, HEADER_SIZE - 1);
+            final int rawLength = readInt(header, 0);
+            final int storedLength = readInt(header, Integer.BYTES);
+            if ((rawLength < 0) || (rawLength > MAX_BLOCK_SIZE)) {
+                throw new IOException("Invalid compressed block length: " + rawLength);
+            }
+            if ((storedLength < 0) || (storedLength > Lz4BlockCodec.maxCompressedLength(rawLength))) {
+                throw new IOException("Invalid compressed block stored length: " + storedLength);
+            }
+            if (buffer.length < rawLength) {
+                buffer = new byte[rawLength];
+            }
+            if (storedLength == rawLength) {
+                readFully(buffer, 0, rawLength);
+                counters.record(rawLength, HEADER_SIZE + storedLength, 0);
+            } else {
+                if (compressed.length < storedLength) {
+                    compressed = new byte[storedLength];
+                }
+                readFully(compressed, 0, storedLength);
+                final long start = System.nanoTime();
+                Lz4BlockCodec.decompress(compressed, 0, storedLength, buffer, 0, rawLength);
+                counters.record(rawLength, HEADER_SIZE + storedLength, System.nanoTime() - start);
+            }
+            position = 0;
+            limit = rawLength;
+        } while (limit == 0);
+        return true;
+    }
+
+    private void readFully(final byte[] b, final int off, final int len) throws IOException {
+        int n = 0;
+        while (n < len) {
+            final int count = in.read(b, off + n, len - n);
+            if (count < 0) {
+                throw new EOFException("Unexpected end of compressed stream");
+            }
+            n += count;
+        }
+    }
+
+    private static int readInt(final byte[] b, final int off) {
+        return ((b[off] & 0xFF) << 24) | ((b[off + 1] & 0xFF) << 16) | ((b[off + 2] & 0xFF) << 8) | (b[off + 3] & 0xFF);
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+}
@@ -0,0 +1,136 @@
+/*
+ * Copyright (C) 2024 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.swirlds.platform.network.compression;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Objects;
+
+/**
+ * An output stream that compresses data in blocks with {@link Lz4BlockCodec}. Every block is written as its
+ * uncompressed length, its stored length, and the stored bytes. If a block doesn't compress, it's stored as is, and
+ * its stored length equals its uncompressed length. A block is written when the buffer is full, and on every
+ * {@link #flush()}, so a flush sends all written data to the peer, like a buffered stream does.
+ */
+public class Lz4OutputStream extends OutputStream {
+
+    /** Block header size: uncompressed length and stored length */
+    static final int HEADER_SIZE = Integer.BYTES + Integer.BYTES;
+
+    /** Max uncompressed block size, both readers and writers reject larger blocks */
+    static final int MAX_BLOCK_SIZE = 4 * 1024 * 1024;
+
+    private final OutputStream out;
+    private final Lz4BlockCodec codec = new Lz4BlockCodec();
+    private final CompressionCounters counters;
+
+    /** Uncompressed data of the current block */
+    private final byte[] buffer;
+
+    /** Block header and compressed data */
+    private final byte[] compressed;
+
+    /** The number of bytes in {@link #buffer} */
+    private int position;
+
+    private boolean closed;
+
+    /**
+     * Create a new stream.
+     *
+     * @param out       the stream to write compressed blocks to
+     * @param blockSize the max uncompressed block size
+     * @param counters  the counters to update with every written block
+     */
+    public Lz4OutputStream(
+            @NonNull final OutputStream out, final int blockSize, @NonNull final CompressionCounters counters) {
+        if ((blockSize <= 0) || (blockSize > MAX_BLOCK_SIZE)) {
+            throw new IllegalArgumentException("Block size must be between 1 and " + MAX_BLOCK_SIZE);
+        }
+        this.out = Objects.requireNonNull(out);
+        this.counters = Objects.requireNonNull(counters);
+        this.buffer = new byte[blockSize];
+        this.compressed = new byte[HEADER_SIZE + Lz4BlockCodec.maxCompressedLength(blockSize)];
+    }
+
+    @Override
+    public void write(final int b) throws IOException {
+        if (position == buffer.length) {
+            writeBlock();
+        }
+        buffer[position++] = (byte) b;
+    }
+
+    @Override
+    public void write(@NonNull final byte[] b, int off, int len) throws IOException {
+        Objects.checkFromIndexSize(off, len, b.length);
+        while (len > 0) {
+            if (position == buffer.length) {
+                writeBlock();
+            }
+            final int n = Math.min(len, buffer.length - position);
+            System.arraycopy(b, off, buffer, position, n);
+            position += n;
+            off += n;
+            len -= n;
+        }
+    }
+
+    private void writeBlock() throws IOException {
+        if (position == 0) {
+            return;
+        }
+        final long start = System.nanoTime();
+        int storedLength = codec.compress(buffer, 0, position, compressed, HEADER_SIZE);
+        if (storedLength >= position) {
+            System.arraycopy(buffer, 0, compressed, HEADER_SIZE, position);
+            storedLength = position;
+        }
+        writeInt(compressed, 0, position);
+        writeInt(compressed, Integer.BYTES, storedLength);
+        counters.record(position, HEADER_SIZE + storedLength, System.nanoTime() - start);
+        out.write(compressed, 0, HEADER_SIZE + storedLength);
+        position = 0;
+    }
+
+    private static void writeInt(final byte[] b, final int off, final int value) {
+        b[off] = (byte) (value >>> 24);
+        b[off + 1] = (byte) (value >>> 16);
+        b[off + 2] = (byte) (value >>> 8);
+        b[off + 3] = (byte) value;
+    }
+
+    @Override
+    public void flush() throws IOException {
+        writeBlock();
+        out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            flush();
+        } finally {
+            out.close();
+        }
+    }
+}
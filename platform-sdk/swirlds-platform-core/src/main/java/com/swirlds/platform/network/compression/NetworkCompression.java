@@ -0,0 +1,130 @@
+/*
+ * Copyright (C) 2024 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.swirlds.platform.network.compression;
+
+import com.swirlds.platform.network.SocketConfig;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Compression of streams between nodes. The same streams are used for gossip syncs and for reconnects, so both are
+ * compressed the same way. Both peers must use the same compression, which is negotiated when a connection is
+ * established, see {@link #negotiate(NetworkCompression, OutputStream, InputStream)}.
+ */
+public enum NetworkCompression {
+    /** No compression, data is only buffered */
+    NONE(0),
+    /** Deflate compression with sync flushes. Good ratio, but expensive in CPU on both sides */
+    GZIP(1),
+    /** Fast LZ4 block compression. Lower ratio than {@link #GZIP}, but several times cheaper in CPU */
+    LZ4(2);
+
+    /** The byte sent to the peer during negotiation */
+    private final int id;
+
+    NetworkCompression(final int id) {
+        this.id = id;
+    }
+
+    /**
+     * Gets the compression to use, according to the given socket config. {@link SocketConfig#compression()} takes
+     * precedence, but if it's {@link #NONE}, the legacy {@link SocketConfig#gzipCompression()} flag is respected.
+     *
+     * @param config the socket config
+     * @return the compression to use
+     */
+    @NonNull
+    public static NetworkCompression fromConfig(@NonNull final SocketConfig config) {
+        if (config.compression() != NONE) {
+            return config.compression();
+        }
+        return config.gzipCompression() ? GZIP : NONE;
+    }
+
+    /**
+     * Negotiates compression with the peer. Both peers send their preferred compression id and read the one from the
+     * peer. The preferred compression is used only if the peer prefers the same one, otherwise the connection isn't
+     * compressed. It means mixed configs during a rolling config change result in uncompressed connections rather than
+     * in broken ones.
+     * <p>
+     * This method must be called on raw connection streams, before any other data is written or read.
+     *
+     * @param preferred the compression this node prefers
+     * @param out       the raw connection output stream
+     * @param in        the raw connection input stream
+     * @return the compression to use for this connection
+     * @throws IOException if the peer id can't be sent or received
+     */
+    @NonNull
+    public static NetworkCompression negotiate(
+            @NonNull final NetworkCompression preferred, @NonNull final OutputStream out, @NonNull final InputStream in)
+            throws IOException {
+        out.write(preferred.id);
+        out.flush();
+        final int peerId = in.read();
+        if (peerId < 0) {
+            throw new EOFException("Connection closed during compression negotiation");
+        }
+        return peerId == preferred.id ? preferred : NONE;
+    }
+
+    /**
+     * Wraps an output stream to compress data written to it. The returned stream is always buffered.
+     *
+     * @param out        the stream to write compressed data to
+     * @param bufferSize the buffer size, and the block size for block compression
+     * @param counters   the counters to update, only used by block compression
+     * @return the compressing stream
+     */
+    @NonNull
+    public OutputStream wrapOutputStream(
+            @NonNull final OutputStream out, final int bufferSize, @NonNull final CompressionCounters counters) {
+        return switch (this) {
+            case NONE -> new BufferedOutputStream(out, bufferSize);
+            case GZIP -> new DeflaterOutputStream(
+                    out, new Deflater(Deflater.DEFAULT_COMPRESSION, true), bufferSize, true);
+            case LZ4 -> new Lz4OutputStream(out, bufferSize, counters);
+        };
+    }
+
+    /**
+     * Wraps an input stream to decompress data read from it. The returned stream is always buffered.
+     *
+     * @param in         the stream to read compressed data from
+     * @param bufferSize the buffer size
+     * @param counters   the counters to update, only used by block compression
+     * @return the decompressing stream
+     */
+    @NonNull
+    public InputStream wrapInputStream(
+            @NonNull final InputStream in, final int bufferSize, @NonNull final CompressionCounters counters) {
+        return switch (this) {
+            case NONE -> new BufferedInputStream(in, bufferSize);
+            case GZIP -> new InflaterInputStream(in, new Inflater(true), bufferSize);
+            case LZ4 -> new Lz4InputStream(new BufferedInputStream(in, bufferSize), bufferSize, counters);
+        };
+    }
+}
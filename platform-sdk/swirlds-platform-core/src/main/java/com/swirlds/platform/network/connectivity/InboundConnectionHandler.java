@@ -34,6 +34,7 @@ import com.swirlds.platform.network.ConnectionTracker;
 import com.swirlds.platform.network.NetworkUtils;
 import com.swirlds.platform.network.SocketConfig;
 import com.swirlds.platform.network.SocketConnection;
+import com.swirlds.platform.network.compression.NetworkCompression;
 import com.swirlds.platform.system.SoftwareVersion;
 import com.swirlds.platform.system.address.AddressBook;
 import edu.umd.cs.findbugs.annotations.NonNull;
@@ -98,10 +99,14 @@ public class InboundConnectionHandler {
             clientSocket.setTcpNoDelay(socketConfig.tcpNoDelay());
             clientSocket.setSoTimeout(socketConfig.timeoutSyncClientSocket());
 
+            final NetworkCompression compression = NetworkCompression.negotiate(
+                    NetworkCompression.fromConfig(socketConfig),
+                    clientSocket.getOutputStream(),
+                    clientSocket.getInputStream());
             final SyncInputStream sis = SyncInputStream.createSyncInputStream(
-                    platformContext, clientSocket.getInputStream(), socketConfig.bufferSize());
+                    clientSocket.getInputStream(), socketConfig.bufferSize(), compression);
             final SyncOutputStream sos = SyncOutputStream.createSyncOutputStream(
-                    platformContext, clientSocket.getOutputStream(), socketConfig.bufferSize());
+                    clientSocket.getOutputStream(), socketConfig.bufferSize(), compression);
 
             dis = new SerializableDataInputStream(sis);
             dos = new SerializableDataOutputStream(sos);
@@ -31,6 +31,7 @@ import com.swirlds.platform.network.ConnectionTracker;
 import com.swirlds.platform.network.NetworkUtils;
 import com.swirlds.platform.network.SocketConfig;
 import com.swirlds.platform.network.SocketConnection;
+import com.swirlds.platform.network.compression.NetworkCompression;
 import com.swirlds.platform.network.connection.NotConnectedConnection;
 import com.swirlds.platform.state.address.AddressBookNetworkUtils;
 import com.swirlds.platform.system.SoftwareVersion;
@@ -99,10 +100,14 @@ public class OutboundConnectionCreator {
         try {
             clientSocket = socketFactory.createClientSocket(hostname, port);
 
+            final NetworkCompression compression = NetworkCompression.negotiate(
+                    NetworkCompression.fromConfig(socketConfig),
+                    clientSocket.getOutputStream(),
+                    clientSocket.getInputStream());
             dos = SyncOutputStream.createSyncOutputStream(
-                    platformContext, clientSocket.getOutputStream(), socketConfig.bufferSize());
+                    clientSocket.getOutputStream(), socketConfig.bufferSize(), compression);
             dis = SyncInputStream.createSyncInputStream(
-                    platformContext, clientSocket.getInputStream(), socketConfig.bufferSize());
+                    clientSocket.getInputStream(), socketConfig.bufferSize(), compression);
 
             if (doVersionCheck) {
                 dos.writeSerializable(softwareVersion, true);
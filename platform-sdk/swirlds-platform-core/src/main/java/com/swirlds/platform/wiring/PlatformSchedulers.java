@@ -17,6 +17,7 @@
 package com.swirlds.platform.wiring;
 
 import com.swirlds.common.context.PlatformContext;
+import com.swirlds.common.crypto.HashingPool;
 import com.swirlds.common.stream.RunningEventHashUpdate;
 import com.swirlds.common.wiring.counters.ObjectCounter;
 import com.swirlds.common.wiring.model.WiringModel;
@@ -101,6 +102,8 @@ public record PlatformSchedulers(
         return new PlatformSchedulers(
                 model.schedulerBuilder("eventHasher")
                         .withType(TaskSchedulerType.CONCURRENT)
+                        // events are hashed in the pool shared with state hashing, to avoid CPU oversubscription
+                        .withPool(HashingPool.getInstance().getPool())
                         .withOnRamp(hashingObjectCounter)
                         .withExternalBackPressure(true)
                         .withMetricsBuilder(model.metricsBuilder().withUnhandledTaskMetricEnabled(true))
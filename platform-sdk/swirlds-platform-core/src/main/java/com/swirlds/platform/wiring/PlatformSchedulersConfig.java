@@ -40,7 +40,9 @@ import com.swirlds.config.api.ConfigProperty;
  * @param eventDeduplicatorSchedulerType                    the event deduplicator scheduler type
  * @param eventDeduplicatorUnhandledCapacity                number of unhandled tasks allowed in the event deduplicator
  *                                                          scheduler
- * @param eventSignatureValidatorSchedulerType              the event signature validator scheduler type
+ * @param eventSignatureValidatorSchedulerType              the event signature validator scheduler type. The validator
+ *                                                          is thread safe, so signatures of different events may be
+ *                                                          verified in parallel
  * @param eventSignatureValidatorUnhandledCapacity          number of unhandled tasks allowed in the event signature
  *                                                          validator scheduler
  * @param orphanBufferSchedulerType                         the orphan buffer scheduler type
@@ -96,7 +98,7 @@ public record PlatformSchedulersConfig(
         @ConfigProperty(defaultValue = "500") int internalEventValidatorUnhandledCapacity,
         @ConfigProperty(defaultValue = "SEQUENTIAL") TaskSchedulerType eventDeduplicatorSchedulerType,
         @ConfigProperty(defaultValue = "500") int eventDeduplicatorUnhandledCapacity,
-        @ConfigProperty(defaultValue = "SEQUENTIAL") TaskSchedulerType eventSignatureValidatorSchedulerType,
+        @ConfigProperty(defaultValue = "CONCURRENT") TaskSchedulerType eventSignatureValidatorSchedulerType,
         @ConfigProperty(defaultValue = "500") int eventSignatureValidatorUnhandledCapacity,
         @ConfigProperty(defaultValue = "SEQUENTIAL") TaskSchedulerType orphanBufferSchedulerType,
         @ConfigProperty(defaultValue = "500") int orphanBufferUnhandledCapacity,
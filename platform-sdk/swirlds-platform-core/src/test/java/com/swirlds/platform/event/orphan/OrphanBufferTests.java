@@ -37,9 +37,9 @@ import com.swirlds.platform.eventhandling.EventConfig_;
 import com.swirlds.platform.gossip.IntakeEventCounter;
 import com.swirlds.platform.system.events.BaseEventHashedData;
 import com.swirlds.platform.system.events.BaseEventUnhashedData;
-import com.swirlds.platform.system.events.EventConstants;
 import com.swirlds.platform.system.events.EventDescriptor;
 import edu.umd.cs.findbugs.annotations.NonNull;
+import edu.umd.cs.findbugs.annotations.Nullable;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Collection;
@@ -336,35 +336,70 @@ class OrphanBufferTests {
         assertEquals(0, orphanBuffer.getCurrentOrphanCount());
     }
 
-    @Test
-    @DisplayName("Test Parent Iterator")
-    void testParentIterator() {
+    /**
+     * Create a gossip event with the given parents.
+     *
+     * @param eventCreator    the creator of the event
+     * @param eventGeneration the generation of the event
+     * @param selfParent      the self parent of the event, or null if there is no self parent
+     * @param otherParents    the other parents of the event
+     * @return the gossip event
+     */
+    private GossipEvent createEventWithParents(
+            @NonNull final NodeId eventCreator,
+            final long eventGeneration,
+            @Nullable final EventDescriptor selfParent,
+            @NonNull final List<EventDescriptor> otherParents) {
+        final Hash eventHash = randomHash(random);
+        final BaseEventHashedData hashedData = mock(BaseEventHashedData.class);
+        when(hashedData.getHash()).thenReturn(eventHash);
+        when(hashedData.getCreatorId()).thenReturn(eventCreator);
+        when(hashedData.getGeneration()).thenReturn(eventGeneration);
+        when(hashedData.getBirthRound()).thenReturn(ConsensusConstants.ROUND_FIRST);
+        when(hashedData.getSelfParent()).thenReturn(selfParent);
+        when(hashedData.getOtherParents()).thenReturn(otherParents);
+
         final GossipEvent event = mock(GossipEvent.class);
+        when(event.getHashedData()).thenReturn(hashedData);
+        when(event.getDescriptor())
+                .thenReturn(
+                        new EventDescriptor(eventHash, eventCreator, eventGeneration, ConsensusConstants.ROUND_FIRST));
+        when(event.getGeneration()).thenReturn(eventGeneration);
+        when(event.getSenderId()).thenReturn(eventCreator);
+        when(event.getAncientIndicator(any()))
+                .thenAnswer(args -> args.getArguments()[0] == AncientMode.BIRTH_ROUND_THRESHOLD
+                        ? ConsensusConstants.ROUND_FIRST
+                        : eventGeneration);
 
-        final EventDescriptor selfParent =
-                new EventDescriptor(new Hash(), new NodeId(0), 0, EventConstants.BIRTH_ROUND_UNDEFINED);
-        final EventDescriptor otherParent1 =
-                new EventDescriptor(new Hash(), new NodeId(1), 1, EventConstants.BIRTH_ROUND_UNDEFINED);
-        final EventDescriptor otherParent2 =
-                new EventDescriptor(new Hash(), new NodeId(2), 2, EventConstants.BIRTH_ROUND_UNDEFINED);
-        final EventDescriptor otherParent3 =
-                new EventDescriptor(new Hash(), new NodeId(3), 3, EventConstants.BIRTH_ROUND_UNDEFINED);
-        final List<EventDescriptor> otherParents = new ArrayList<>();
-        otherParents.add(otherParent1);
-        otherParents.add(otherParent2);
-        otherParents.add(otherParent3);
-
-        final BaseEventHashedData eventBase = mock(BaseEventHashedData.class);
-        when(eventBase.getSelfParent()).thenReturn(selfParent);
-        when(eventBase.getOtherParents()).thenReturn(otherParents);
-        when(event.getHashedData()).thenReturn(eventBase);
-
-        final ParentIterator iterator = new ParentIterator(event);
-
-        assertEquals(selfParent, iterator.next(), "The first parent should be the self parent");
-        int index = 0;
-        while (iterator.hasNext()) {
-            assertEquals(otherParents.get(index++), iterator.next(), "The next parent should be the next other parent");
-        }
+        return event;
+    }
+
+    @Test
+    @DisplayName("Test that all missing parents are tracked")
+    void testMissingParents() {
+        orphanBuffer = new OrphanBuffer(TestPlatformContextBuilder.create().build(), mock(IntakeEventCounter.class));
+
+        final GossipEvent selfParent = createEventWithParents(new NodeId(0), 1, null, List.of());
+        final GossipEvent otherParent1 = createEventWithParents(new NodeId(1), 1, null, List.of());
+        final GossipEvent otherParent2 = createEventWithParents(new NodeId(2), 1, null, List.of());
+        final GossipEvent child = createEventWithParents(
+                new NodeId(0),
+                2,
+                selfParent.getDescriptor(),
+                List.of(otherParent1.getDescriptor(), otherParent2.getDescriptor()));
+
+        // events without parents are never orphans
+        assertEquals(List.of(otherParent2), orphanBuffer.handleEvent(otherParent2));
+
+        // the self parent and the first other parent are still missing
+        assertEquals(List.of(), orphanBuffer.handleEvent(child));
+        assertEquals(1, orphanBuffer.getCurrentOrphanCount());
+
+        assertEquals(List.of(selfParent), orphanBuffer.handleEvent(selfParent));
+        assertEquals(1, orphanBuffer.getCurrentOrphanCount());
+
+        // the last missing parent is received, so the child is no longer an orphan
+        assertEquals(List.of(otherParent1, child), orphanBuffer.handleEvent(otherParent1));
+        assertEquals(0, orphanBuffer.getCurrentOrphanCount());
     }
 }
@@ -217,10 +217,55 @@ class EventSignatureValidatorTests {
 
         currentAddressBook.add(nodeAddress);
 
+        // public keys are collected when the validator is created, so create a new one with the updated address book
+        final EventSignatureValidator validator = new EventSignatureValidator(
+                platformContext, time, trueVerifier, defaultVersion, null, currentAddressBook, intakeEventCounter);
+
         final GossipEvent event = generateMockEvent(defaultVersion, randomHash(random), nodeId);
 
+        assertNull(validator.validateSignature(event));
+        assertEquals(1, exitedIntakePipelineCount.get());
+    }
+
+    @Test
+    @DisplayName("Public keys are taken from the latest address book update")
+    void addressBookUpdate() {
+        final Address newNodeAddress = generateMockAddress(new NodeId(99));
+        final GossipEvent event = generateMockEvent(defaultVersion, randomHash(random), newNodeAddress.getNodeId());
+
+        // the creator isn't in the current address book yet
         assertNull(validatorWithTrueVerifier.validateSignature(event));
         assertEquals(1, exitedIntakePipelineCount.get());
+
+        validatorWithTrueVerifier.updateAddressBooks(
+                new AddressBookUpdate(currentAddressBook, new AddressBook(List.of(newNodeAddress))));
+
+        assertNotEquals(null, validatorWithTrueVerifier.validateSignature(event));
+        assertEquals(1, exitedIntakePipelineCount.get());
+
+        // the event from the node that was moved to the previous address book is validated with the previous keys
+        final GossipEvent previousVersionEvent =
+                generateMockEvent(new BasicSoftwareVersion(1), randomHash(random), currentNodeAddress.getNodeId());
+        assertNotEquals(null, validatorWithTrueVerifier.validateSignature(previousVersionEvent));
+        assertEquals(1, exitedIntakePipelineCount.get());
+    }
+
+    @Test
+    @DisplayName("Address book updates from an earlier round are ignored")
+    void outOfOrderAddressBookUpdate() {
+        final Address newNodeAddress = generateMockAddress(new NodeId(99));
+        final GossipEvent event = generateMockEvent(defaultVersion, randomHash(random), newNodeAddress.getNodeId());
+
+        validatorWithTrueVerifier.updateAddressBooks(
+                new AddressBookUpdate(currentAddressBook, new AddressBook(List.of(newNodeAddress)).setRound(10)));
+        assertNotEquals(null, validatorWithTrueVerifier.validateSignature(event));
+        assertEquals(0, exitedIntakePipelineCount.get());
+
+        // an update from an earlier round arrives late, and must not replace the newer keys
+        validatorWithTrueVerifier.updateAddressBooks(
+                new AddressBookUpdate(currentAddressBook, new AddressBook(List.of(currentNodeAddress)).setRound(5)));
+        assertNotEquals(null, validatorWithTrueVerifier.validateSignature(event));
+        assertEquals(0, exitedIntakePipelineCount.get());
     }
 
     @Test
@@ -299,4 +344,28 @@ class EventSignatureValidatorTests {
         assertNull(validatorWithTrueVerifier.validateSignature(event));
         assertEquals(1, exitedIntakePipelineCount.get());
     }
+
+    @Test
+    @DisplayName("Non-ancient event windows with a lower ancient threshold are ignored")
+    void outOfOrderNonAncientEventWindow() {
+        final AncientMode ancientMode =
+                platformContext.getConfiguration().getConfigData(EventConfig.class).getAncientMode();
+
+        final GossipEvent event = generateMockEvent(defaultVersion, randomHash(random), currentNodeAddress.getNodeId());
+        when(event.getAncientIndicator(any())).thenReturn(50L);
+
+        assertNotEquals(null, validatorWithTrueVerifier.validateSignature(event));
+        assertEquals(0, exitedIntakePipelineCount.get());
+
+        validatorWithTrueVerifier.setNonAncientEventWindow(
+                new NonAncientEventWindow(20, 100L, ConsensusConstants.ROUND_FIRST, ancientMode));
+        assertNull(validatorWithTrueVerifier.validateSignature(event));
+        assertEquals(1, exitedIntakePipelineCount.get());
+
+        // a window from an earlier round arrives late, and must not lower the ancient threshold
+        validatorWithTrueVerifier.setNonAncientEventWindow(
+                new NonAncientEventWindow(10, 40L, ConsensusConstants.ROUND_FIRST, ancientMode));
+        assertNull(validatorWithTrueVerifier.validateSignature(event));
+        assertEquals(2, exitedIntakePipelineCount.get());
+    }
 }
@@ -0,0 +1,153 @@
+/*
+ * Copyright (C) 2024 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.swirlds.platform.eventhandling;
+
+import static com.swirlds.common.test.fixtures.RandomUtils.getRandom;
+import static com.swirlds.common.test.fixtures.RandomUtils.randomHash;
+import static com.swirlds.common.test.fixtures.RandomUtils.randomSignature;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.swirlds.common.context.PlatformContext;
+import com.swirlds.common.test.fixtures.platform.TestPlatformContextBuilder;
+import com.swirlds.config.extensions.test.fixtures.TestConfigBuilder;
+import com.swirlds.platform.config.TransactionConfig_;
+import com.swirlds.platform.system.transaction.ConsensusTransactionImpl;
+import com.swirlds.platform.system.transaction.StateSignatureTransaction;
+import com.swirlds.platform.system.transaction.SwirldTransaction;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class TransactionPoolTests {
+
+    private static final int TRANSACTION_SIZE = 100;
+
+    private static TransactionPool newPool(final int maxTransactionBytesPerEvent) {
+        final PlatformContext platformContext = TestPlatformContextBuilder.create()
+                .withConfiguration(new TestConfigBuilder()
+                        .withValue(TransactionConfig_.MAX_TRANSACTION_BYTES_PER_EVENT, maxTransactionBytesPerEvent)
+                        .getOrCreateConfig())
+                .build();
+        return new TransactionPool(platformContext);
+    }
+
+    private static SwirldTransaction newTransaction() {
+        return new SwirldTransaction(new byte[TRANSACTION_SIZE]);
+    }
+
+    @Test
+    @DisplayName("Priority transactions are taken before other transactions")
+    void priorityTransactionsFirst() {
+        final TransactionPool pool = newPool(1_000_000);
+        final SwirldTransaction regular = newTransaction();
+        final SwirldTransaction priority = newTransaction();
+        assertTrue(pool.submitTransaction(regular, false), "Transaction must be accepted");
+        assertTrue(pool.submitTransaction(priority, true), "Transaction must be accepted");
+
+        final ConsensusTransactionImpl[] transactions = pool.getTransactions();
+        assertEquals(2, transactions.length, "All transactions must be taken");
+        assertSame(priority, transactions[0], "Priority transaction must be first");
+        assertSame(regular, transactions[1], "Regular transaction must be second");
+        assertEquals(0, pool.getTransactions().length, "No transactions must be left");
+    }
+
+    @Test
+    @DisplayName("Transactions are taken within the event size limit")
+    void eventSizeLimit() {
+        final int transactionBytes = newTransaction().getSerializedLength();
+        final TransactionPool pool = newPool(transactionBytes * 3);
+        for (int i = 0; i < 5; i++) {
+            pool.submitTransaction(newTransaction(), false);
+        }
+        assertEquals(3, pool.getTransactions().length, "Only transactions that fit must be taken");
+        assertEquals(2, pool.getTransactions().length, "Remaining transactions must be taken");
+        assertEquals(0, pool.getTransactions().length, "No transactions must be left");
+    }
+
+    @Test
+    @DisplayName("Buffered signature transactions are tracked")
+    void signatureTransactions() {
+        final Random random = getRandom();
+        final TransactionPool pool = newPool(1_000_000);
+        assertFalse(pool.hasBufferedSignatureTransactions(), "No signature transactions expected");
+
+        pool.submitSystemTransaction(new StateSignatureTransaction(1, randomSignature(random), randomHash(random)));
+        assertTrue(pool.hasBufferedSignatureTransactions(), "A signature transaction expected");
+        pool.getTransactions();
+        assertFalse(pool.hasBufferedSignatureTransactions(), "No signature transactions expected");
+
+        pool.submitSystemTransaction(new StateSignatureTransaction(2, randomSignature(random), randomHash(random)));
+        pool.clear();
+        assertFalse(pool.hasBufferedSignatureTransactions(), "No signature transactions expected after clear");
+        assertEquals(0, pool.getTransactions().length, "No transactions must be left after clear");
+    }
+
+    @Test
+    @DisplayName("Transactions submitted concurrently are all taken exactly once")
+    void concurrentSubmission() throws Exception {
+        final int threadCount = 8;
+        final int transactionsPerThread = 1_000;
+        final TransactionPool pool = newPool(TRANSACTION_SIZE * 50);
+
+        final ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+        try {
+            final Future<?>[] futures = new Future<?>[threadCount];
+            for (int i = 0; i < threadCount; i++) {
+                futures[i] = executor.submit(() -> {
+                    for (int j = 0; j < transactionsPerThread; j++) {
+                        assertTrue(pool.submitTransaction(newTransaction(), false), "Transaction must be accepted");
+                    }
+                });
+            }
+
+            // Transactions with the same contents are equal, so check them by identity
+            final Set<ConsensusTransactionImpl> taken = Collections.newSetFromMap(new IdentityHashMap<>());
+            boolean submitting = true;
+            while (submitting) {
+                submitting = false;
+                for (final Future<?> future : futures) {
+                    submitting |= !future.isDone();
+                }
+                for (final ConsensusTransactionImpl transaction : pool.getTransactions()) {
+                    assertTrue(taken.add(transaction), "Transaction must not be taken twice");
+                }
+            }
+            for (final Future<?> future : futures) {
+                future.get(10, TimeUnit.SECONDS);
+            }
+            ConsensusTransactionImpl[] transactions;
+            while ((transactions = pool.getTransactions()).length > 0) {
+                for (final ConsensusTransactionImpl transaction : transactions) {
+                    assertTrue(taken.add(transaction), "Transaction must not be taken twice");
+                }
+            }
+            assertEquals(threadCount * transactionsPerThread, taken.size(), "All transactions must be taken");
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
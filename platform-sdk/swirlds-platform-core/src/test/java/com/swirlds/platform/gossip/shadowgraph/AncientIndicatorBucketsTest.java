@@ -0,0 +1,90 @@
+/*
+ * Copyright (C) 2024 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.swirlds.platform.gossip.shadowgraph;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class AncientIndicatorBucketsTest {
+
+    private static List<ShadowEvent> collect(
+            final AncientIndicatorBuckets buckets, final long lowerBound, final long upperBound) {
+        final List<ShadowEvent> result = new ArrayList<>();
+        buckets.forEachInRange(lowerBound, upperBound, result::add);
+        return result;
+    }
+
+    @Test
+    void testAddAndRemove() {
+        final AncientIndicatorBuckets buckets = new AncientIndicatorBuckets();
+        final ShadowEvent a = new ShadowEvent(null);
+        final ShadowEvent b = new ShadowEvent(null);
+        final ShadowEvent c = new ShadowEvent(null);
+        buckets.add(10, a);
+        buckets.add(10, b);
+        buckets.add(12, c);
+
+        assertEquals(List.of(a, b, c), collect(buckets, 0, 100), "All events expected in indicator order");
+        assertEquals(List.of(c), collect(buckets, 11, 13), "Only events in range expected");
+        assertEquals(List.of(), collect(buckets, 13, 100), "No events expected above the range");
+
+        assertNull(buckets.remove(9), "No events expected below the range");
+        assertEquals(List.of(a, b), buckets.remove(10), "Wrong removed events");
+        assertNull(buckets.remove(11), "No events expected for a gap in the range");
+        assertEquals(List.of(c), buckets.remove(12), "Wrong removed events");
+        assertEquals(List.of(), collect(buckets, 0, 100), "All events must be removed");
+    }
+
+    @Test
+    void testGrowth() {
+        final AncientIndicatorBuckets buckets = new AncientIndicatorBuckets();
+        final List<ShadowEvent> events = new ArrayList<>();
+        // Add events in both directions from the first indicator, so the range is extended both ways
+        for (int i = 0; i < 1000; i++) {
+            final ShadowEvent event = new ShadowEvent(null);
+            events.add(event);
+            buckets.add(i % 2 == 0 ? 5000 + i : 5000 - i, event);
+        }
+        for (int i = 0; i < 1000; i++) {
+            final long indicator = i % 2 == 0 ? 5000 + i : 5000 - i;
+            final List<ShadowEvent> found = collect(buckets, indicator, indicator + 1);
+            assertEquals(1, found.size(), "One event expected for indicator " + indicator);
+            assertSame(events.get(i), found.get(0), "Wrong event for indicator " + indicator);
+        }
+        // Expire everything in order, then the buckets must accept an unrelated range
+        for (long indicator = 4001; indicator < 6000; indicator++) {
+            buckets.remove(indicator);
+        }
+        assertEquals(List.of(), collect(buckets, 0, Long.MAX_VALUE), "All events must be removed");
+        final ShadowEvent event = new ShadowEvent(null);
+        buckets.add(1_000_000, event);
+        assertEquals(List.of(event), collect(buckets, 0, Long.MAX_VALUE), "Wrong events after all were removed");
+    }
+
+    @Test
+    void testClear() {
+        final AncientIndicatorBuckets buckets = new AncientIndicatorBuckets();
+        buckets.add(3, new ShadowEvent(null));
+        buckets.clear();
+        assertEquals(List.of(), collect(buckets, 0, 100), "No events expected after clear");
+    }
+}
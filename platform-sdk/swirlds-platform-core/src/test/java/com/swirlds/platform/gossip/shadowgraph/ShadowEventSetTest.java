@@ -0,0 +1,67 @@
+/*
+ * Copyright (C) 2024 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.swirlds.platform.gossip.shadowgraph;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class ShadowEventSetTest {
+
+    @Test
+    void testAddAndContains() {
+        final ShadowEventSet set = new ShadowEventSet(100);
+        final ShadowEvent a = new ShadowEvent(null, null, null, 100);
+        final ShadowEvent b = new ShadowEvent(null, null, null, 1000);
+
+        assertFalse(set.contains(a), "Set must be empty");
+        assertTrue(set.add(a), "Event must be added");
+        assertFalse(set.add(a), "Event must not be added twice");
+        assertTrue(set.add(b), "Event must be added");
+        assertTrue(set.contains(a), "Added event must be in the set");
+        assertTrue(set.contains(b), "Added event must be in the set");
+        assertFalse(set.contains(new ShadowEvent(null, null, null, 101)), "Event must not be in the set");
+        assertEquals(2, set.size(), "Wrong set size");
+    }
+
+    @Test
+    void testEventsBelowFloorAreRejected() {
+        final ShadowEventSet set = new ShadowEventSet(100);
+        final ShadowEvent expired = new ShadowEvent(null, null, null, 99);
+        final ShadowEvent notInGraph = new ShadowEvent(null);
+
+        assertFalse(set.add(expired), "Expired event must not be added");
+        assertFalse(set.add(notInGraph), "Event that is not in a shadowgraph must not be added");
+        assertFalse(set.contains(expired), "Expired event must not be in the set");
+        assertEquals(0, set.size(), "Set must be empty");
+    }
+
+    @Test
+    void testTopologicalOrder() {
+        final ShadowEventSet set = new ShadowEventSet(0);
+        final ShadowEvent a = new ShadowEvent(null, null, null, 3);
+        final ShadowEvent b = new ShadowEvent(null, null, null, 1);
+        final ShadowEvent c = new ShadowEvent(null, null, null, 2);
+        set.add(a);
+        set.add(b);
+        set.add(c);
+        assertEquals(List.of(b, c, a), set.toTopologicalList(), "Events must be ordered by sequence number");
+    }
+}
@@ -0,0 +1,211 @@
+/*
+ * Copyright (C) 2024 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.swirlds.platform.network.compression;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+class NetworkCompressionTests {
+
+    private static byte[] randomBytes(final Random random, final int length) {
+        final byte[] data = new byte[length];
+        random.nextBytes(data);
+        return data;
+    }
+
+    private static byte[] compressibleBytes(final Random random, final int length) {
+        final byte[] data = new byte[length];
+        final byte[][] words = {
+            "event".getBytes(StandardCharsets.UTF_8),
+            "transaction".getBytes(StandardCharsets.UTF_8),
+            "signature".getBytes(StandardCharsets.UTF_8),
+            randomBytes(random, 48)
+        };
+        int pos = 0;
+        while (pos < length) {
+            final byte[] word = words[random.nextInt(words.length)];
+            final int n = Math.min(word.length, length - pos);
+            System.arraycopy(word, 0, data, pos, n);
+            pos += n;
+        }
+        return data;
+    }
+
+    static Stream<Arguments> blocks() {
+        final Random random = new Random(42);
+        final byte[] repeated = new byte[10_000];
+        for (int i = 0; i < repeated.length; i++) {
+            repeated[i] = (byte) (i % 3);
+        }
+        return Stream.of(
+                Arguments.of("empty", new byte[0]),
+                Arguments.of("one byte", new byte[] {7}),
+                Arguments.of("shorter than min match limit", randomBytes(random, 12)),
+                Arguments.of("random", randomBytes(random, 100_000)),
+                Arguments.of("compressible", compressibleBytes(random, 100_000)),
+                Arguments.of("zeros", new byte[70_000]),
+                Arguments.of("overlapping matches", repeated));
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("blocks")
+    @DisplayName("Block codec round trip")
+    void blockRoundTripTest(final String name, final byte[] data) throws IOException {
+        final byte[] compressed = new byte[Lz4BlockCodec.maxCompressedLength(data.length) + 3];
+        final int compressedLength = new Lz4BlockCodec().compress(data, 0, data.length, compressed, 3);
+        assertTrue(
+                compressedLength <= Lz4BlockCodec.maxCompressedLength(data.length),
+                "compressed length must not exceed the max compressed length");
+
+        final byte[] decompressed = new byte[data.length + 5];
+        Lz4BlockCodec.decompress(compressed, 3, compressedLength, decompressed, 5, data.length);
+        final byte[] result = new byte[data.length];
+        System.arraycopy(decompressed, 5, result, 0, data.length);
+        assertArrayEquals(data, result, "decompressed data must match the original data");
+    }
+
+    @Test
+    @DisplayName("Compressible data is compressed")
+    void compressionRatioTest() {
+        final byte[] data = compressibleBytes(new Random(1), 64 * 1024);
+        final byte[] compressed = new byte[Lz4BlockCodec.maxCompressedLength(data.length)];
+        final int compressedLength = new Lz4BlockCodec().compress(data, 0, data.length, compressed, 0);
+        assertTrue(compressedLength < data.length / 2, "compressible data must be at least halved");
+    }
+
+    @Test
+    @DisplayName("Malformed blocks are rejected")
+    void malformedBlockTest() {
+        final byte[] data = compressibleBytes(new Random(2), 10_000);
+        final byte[] compressed = new byte[Lz4BlockCodec.maxCompressedLength(data.length)];
+        final int compressedLength = new Lz4BlockCodec().compress(data, 0, data.length, compressed, 0);
+        final byte[] decompressed = new byte[data.length];
+
+        assertThrows(
+                IOException.class,
+                () -> Lz4BlockCodec.decompress(compressed, 0, compressedLength / 2, decompressed, 0, data.length),
+                "truncated block must be rejected");
+        assertThrows(
+                IOException.class,
+                () -> Lz4BlockCodec.decompress(compressed, 0, compressedLength, decompressed, 0, data.length - 1),
+                "block longer than expected must be rejected");
+        final Random random = new Random(3);
+        for (int i = 0; i < 1000; i++) {
+            final byte[] garbage = randomBytes(random, 1 + random.nextInt(200));
+            try {
+                Lz4BlockCodec.decompress(garbage, 0, garbage.length, decompressed, 0, random.nextInt(1000));
+            } catch (final IOException e) {
+                // expected for most inputs, any other exception is a failure
+            }
+        }
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("blocks")
+    @DisplayName("Stream round trip")
+    void streamRoundTripTest(final String name, final byte[] data) throws IOException {
+        final CompressionCounters outCounters = new CompressionCounters();
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (final DataOutputStream out = new DataOutputStream(new Lz4OutputStream(bytes, 8192, outCounters))) {
+            out.writeInt(data.length);
+            out.flush();
+            out.write(data);
+            out.writeLong(Long.MAX_VALUE);
+        }
+        assertEquals(data.length + 12, outCounters.getUncompressedBytes(), "all written bytes must be counted");
+        assertEquals(bytes.size(), outCounters.getCompressedBytes(), "all sent bytes must be counted");
+
+        final CompressionCounters inCounters = new CompressionCounters();
+        final InputStream compressed = new ByteArrayInputStream(bytes.toByteArray());
+        try (final DataInputStream in = new DataInputStream(new Lz4InputStream(compressed, 100, inCounters))) {
+            assertEquals(data.length, in.readInt(), "wrong length read");
+            final byte[] read = new byte[data.length];
+            in.readFully(read);
+            assertArrayEquals(data, read, "wrong data read");
+            assertEquals(Long.MAX_VALUE, in.readLong(), "wrong value read");
+            assertEquals(-1, in.read(), "end of stream expected");
+        }
+        assertEquals(data.length + 12, inCounters.getUncompressedBytes(), "all read bytes must be counted");
+        assertEquals(bytes.size(), inCounters.getCompressedBytes(), "all received bytes must be counted");
+    }
+
+    @Test
+    @DisplayName("Invalid block lengths are rejected")
+    void invalidBlockLengthTest() {
+        final byte[] tooLong = {0x7F, 0, 0, 0, 0, 0, 0, 1, 0};
+        assertThrows(
+                IOException.class,
+                () -> new Lz4InputStream(new ByteArrayInputStream(tooLong), 100, new CompressionCounters()).read(),
+                "too long block must be rejected");
+        final byte[] truncated = {0, 0, 0, 10, 0, 0, 0, 10, 1, 2, 3};
+        assertThrows(
+                IOException.class,
+                () -> new Lz4InputStream(new ByteArrayInputStream(truncated), 100, new CompressionCounters())
+                        .readAllBytes(),
+                "truncated block must be rejected");
+    }
+
+    @ParameterizedTest
+    @MethodSource("negotiationArguments")
+    @DisplayName("Compression negotiation")
+    void negotiationTest(
+            final NetworkCompression self, final NetworkCompression peer, final NetworkCompression expected)
+            throws IOException {
+        final ByteArrayOutputStream sent = new ByteArrayOutputStream();
+        final InputStream received = new ByteArrayInputStream(new byte[] {(byte) peer.ordinal()});
+        assertEquals(expected, NetworkCompression.negotiate(self, sent, received), "wrong compression negotiated");
+        assertArrayEquals(new byte[] {(byte) self.ordinal()}, sent.toByteArray(), "own compression must be sent");
+    }
+
+    static Stream<Arguments> negotiationArguments() {
+        return Stream.of(
+                Arguments.of(NetworkCompression.NONE, NetworkCompression.NONE, NetworkCompression.NONE),
+                Arguments.of(NetworkCompression.LZ4, NetworkCompression.LZ4, NetworkCompression.LZ4),
+                Arguments.of(NetworkCompression.GZIP, NetworkCompression.GZIP, NetworkCompression.GZIP),
+                Arguments.of(NetworkCompression.LZ4, NetworkCompression.GZIP, NetworkCompression.NONE),
+                Arguments.of(NetworkCompression.LZ4, NetworkCompression.NONE, NetworkCompression.NONE));
+    }
+
+    @Test
+    @DisplayName("Negotiation fails if the peer disconnects")
+    void negotiationEofTest() {
+        final OutputStream sent = new ByteArrayOutputStream();
+        final InputStream received = new ByteArrayInputStream(new byte[0]);
+        assertThrows(
+                IOException.class,
+                () -> NetworkCompression.negotiate(NetworkCompression.LZ4, sent, received),
+                "negotiation must fail if the peer disconnects");
+    }
+}
@@ -17,6 +17,7 @@
 package com.swirlds.platform.test.consensus;
 
 import static com.swirlds.common.test.fixtures.junit.tags.TestQualifierTags.TIME_CONSUMING;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 
 import com.swirlds.common.platform.NodeId;
 import com.swirlds.config.api.Configuration;
@@ -159,6 +160,43 @@ class IntakeAndConsensusTests {
         assertConsensusEvents(node1, node2);
     }
 
+    /**
+     * Computing strongly seen witnesses in parallel must give exactly the same consensus as computing them serially
+     */
+    @Test
+    @Tag(TIME_CONSUMING)
+    void parallelStronglySeeMatchesSerial() {
+        final long seed = 0;
+        final int numNodes = 20;
+
+        final ConsensusConfig serialConfig = new TestConfigBuilder()
+                .withValue(ConsensusConfig_.PARALLEL_STRONGLY_SEE_THRESHOLD, 0)
+                .getOrCreateConfig()
+                .getConfigData(ConsensusConfig.class);
+        final ConsensusConfig parallelConfig = new TestConfigBuilder()
+                .withValue(ConsensusConfig_.PARALLEL_STRONGLY_SEE_THRESHOLD, 1)
+                .getOrCreateConfig()
+                .getConfigData(ConsensusConfig.class);
+
+        final List<StandardEventSource> eventSources =
+                Stream.generate(StandardEventSource::new).limit(numNodes).toList();
+        @SuppressWarnings("unchecked")
+        final StandardGraphGenerator generator =
+                new StandardGraphGenerator(seed, (List<EventSource<?>>) (List<?>) eventSources);
+        final TestIntake serialNode = new TestIntake(generator.getAddressBook(), serialConfig);
+        final TestIntake parallelNode = new TestIntake(generator.getAddressBook(), parallelConfig);
+
+        for (final IndexedEvent event : generator.generateEvents(5000)) {
+            serialNode.addEvent(event.getBaseEvent());
+            parallelNode.addEvent(event.getBaseEvent());
+        }
+        serialNode.flush();
+        parallelNode.flush();
+
+        assertFalse(serialNode.getConsensusRounds().isEmpty(), "Some rounds must reach consensus");
+        assertConsensusEvents(serialNode, parallelNode);
+    }
+
     private static void assertConsensusEvents(final TestIntake node1, final TestIntake node2) {
         ConsensusRoundValidation.validateIterableRounds(
                 node1.getConsensusRounds().iterator(),
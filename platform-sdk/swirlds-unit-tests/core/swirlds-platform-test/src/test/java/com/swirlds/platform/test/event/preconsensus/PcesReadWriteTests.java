@@ -40,6 +40,7 @@ import com.swirlds.platform.test.fixtures.event.generator.StandardGraphGenerator
 import com.swirlds.platform.test.fixtures.event.source.StandardEventSource;
 import edu.umd.cs.findbugs.annotations.NonNull;
 import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.time.Instant;
@@ -141,6 +142,56 @@ class PcesReadWriteTests {
         }
     }
 
+    @ParameterizedTest
+    @MethodSource("buildArguments")
+    @DisplayName("Write Then Read Small Buffer Test")
+    void writeThenReadSmallBufferTest(@NonNull final AncientMode ancientMode) throws IOException {
+        final Random random = RandomUtils.getRandomPrintSeed();
+
+        final int numEvents = 100;
+
+        final StandardGraphGenerator generator = new StandardGraphGenerator(
+                random.nextLong(),
+                new StandardEventSource(),
+                new StandardEventSource(),
+                new StandardEventSource(),
+                new StandardEventSource());
+
+        final List<GossipEvent> events = new ArrayList<>();
+        long upperBound = Long.MIN_VALUE;
+        for (int i = 0; i < numEvents; i++) {
+            final GossipEvent event = generator.generateEvent().getBaseEvent();
+            events.add(event);
+            upperBound = Math.max(upperBound, event.getAncientIndicator(ancientMode));
+        }
+
+        final PcesFile file = PcesFile.of(
+                ancientMode,
+                RandomUtils.randomInstant(random),
+                random.nextInt(0, 100),
+                0,
+                upperBound,
+                0,
+                testDirectory);
+
+        // the buffer is much smaller than a single event, so events are split across multiple channel writes
+        final PcesMutableFile mutableFile = file.getMutableFile(ByteBuffer.allocateDirect(16));
+        for (int i = 0; i < events.size(); i++) {
+            mutableFile.writeEvent(events.get(i));
+            if (i % 10 == 0) {
+                mutableFile.sync();
+                assertEquals(Files.size(file.getPath()), mutableFile.fileSize(), "All data must be in the file");
+            }
+        }
+        mutableFile.close();
+        assertEquals(Files.size(file.getPath()), mutableFile.fileSize(), "All data must be in the file");
+
+        final IOIterator<GossipEvent> iterator = file.iterator(Long.MIN_VALUE);
+        final List<GossipEvent> deserializedEvents = new ArrayList<>();
+        iterator.forEachRemaining(deserializedEvents::add);
+        assertEquals(events, deserializedEvents, "Deserialized events must match written events");
+    }
+
     @ParameterizedTest
     @MethodSource("buildArguments")
     @DisplayName("Read Files After Minimum Test")
@@ -145,6 +145,16 @@ class PcesWriterTests {
         assertFalse(eventsIterator.hasNext());
         assertEquals(truncatedFileCount, eventsIterator.getTruncatedFileCount());
 
+        // Reading files ahead in parallel must yield the same events in the same order
+        try (final PcesMultiFileIterator readAheadIterator = pcesFiles.getEventIterator(0, 0, 3)) {
+            for (final GossipEvent event : events) {
+                assertTrue(readAheadIterator.hasNext());
+                assertEquals(event, readAheadIterator.next());
+            }
+            assertFalse(readAheadIterator.hasNext());
+            assertEquals(truncatedFileCount, readAheadIterator.getTruncatedFileCount());
+        }
+
         // Make sure things look good when iterating starting in the middle of the stream that was written
         final long startingLowerBound = lastAncientIdentifier / 2;
         final IOIterator<GossipEvent> eventsIterator2 = pcesFiles.getEventIterator(startingLowerBound, 0);
@@ -566,4 +566,77 @@ class TipsetWeightCalculatorTests {
             calculator.addEventAndGetAdvancementWeight(eventA2);
         });
     }
+
+    @Test
+    @DisplayName("Theoretical Advancement Weight Matches Merged Parent Tipsets Test")
+    void theoreticalAdvancementWeightMatchesMergedTipsetsTest() {
+        final Random random = getRandomPrintSeed();
+        final int nodeCount = random.nextInt(10, 20);
+
+        final AddressBook addressBook =
+                new RandomAddressBookGenerator(random).setSize(nodeCount).build();
+        final NodeId selfId = addressBook.getNodeId(0);
+
+        final PlatformContext platformContext =
+                TestPlatformContextBuilder.create().build();
+
+        // FUTURE WORK: Expand test to include birth round based ancient threshold.
+        final TipsetTracker builder =
+                new TipsetTracker(Time.getCurrent(), addressBook, AncientMode.GENERATION_THRESHOLD);
+        final ChildlessEventTracker childlessEventTracker = new ChildlessEventTracker();
+        final TipsetWeightCalculator calculator = new TipsetWeightCalculator(
+                platformContext, Time.getCurrent(), addressBook, selfId, builder, childlessEventTracker);
+
+        // Other nodes create events, each on top of a random set of the latest events.
+        // No self events are created, so the snapshot never advances.
+        final Map<NodeId, EventDescriptor> latestEvents = new HashMap<>();
+        for (int eventIndex = 0; eventIndex < 500; eventIndex++) {
+            final NodeId creator = addressBook.getNodeId(random.nextInt(1, nodeCount));
+            final EventDescriptor selfParent = latestEvents.get(creator);
+            final long generation = selfParent == null ? 1 : selfParent.getGeneration() + 1;
+            final List<EventDescriptor> parents = new ArrayList<>();
+            if (selfParent != null) {
+                parents.add(selfParent);
+            }
+            for (final EventDescriptor latestEvent : latestEvents.values()) {
+                if (!latestEvent.getCreator().equals(creator) && random.nextBoolean()) {
+                    parents.add(latestEvent);
+                }
+            }
+            final EventDescriptor event = newEventDescriptor(randomHash(random), creator, generation);
+            builder.addEvent(event, parents);
+            latestEvents.put(creator, event);
+        }
+
+        // Parent tipsets are merged into a tipset reused between calls. Results must not depend on earlier calls,
+        // and must be the same as if parent tipsets were merged into a new tipset.
+        final List<EventDescriptor> candidates = new ArrayList<>(latestEvents.values());
+        final List<List<EventDescriptor>> parentLists = new ArrayList<>();
+        final List<TipsetAdvancementWeight> weights = new ArrayList<>();
+        for (int iteration = 0; iteration < 100; iteration++) {
+            final List<EventDescriptor> parents = new ArrayList<>();
+            for (final EventDescriptor candidate : candidates) {
+                if (random.nextBoolean()) {
+                    parents.add(candidate);
+                }
+            }
+            if (parents.isEmpty()) {
+                parents.add(candidates.get(random.nextInt(candidates.size())));
+            }
+            final List<Tipset> parentTipsets = new ArrayList<>();
+            for (final EventDescriptor parent : parents) {
+                parentTipsets.add(builder.getTipset(parent));
+            }
+
+            final TipsetAdvancementWeight expected =
+                    calculator.getSnapshot().getTipAdvancementWeight(selfId, merge(parentTipsets));
+            final TipsetAdvancementWeight actual = calculator.getTheoreticalAdvancementWeight(parents);
+            assertEquals(expected, actual);
+            parentLists.add(parents);
+            weights.add(actual);
+        }
+        for (int index = 0; index < parentLists.size(); index++) {
+            assertEquals(weights.get(index), calculator.getTheoreticalAdvancementWeight(parentLists.get(index)));
+        }
+    }
 }
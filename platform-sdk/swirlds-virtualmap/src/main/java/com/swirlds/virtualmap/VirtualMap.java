@@ -26,6 +26,7 @@ import com.swirlds.common.io.streams.SerializableDataOutputStream;
 import com.swirlds.common.merkle.MerkleInternal;
 import com.swirlds.common.merkle.MerkleNode;
 import com.swirlds.common.merkle.impl.PartialBinaryMerkleInternal;
+import com.swirlds.common.threading.interrupt.InterruptableConsumer;
 import com.swirlds.common.utility.Labeled;
 import com.swirlds.common.utility.RuntimeObjectRecord;
 import com.swirlds.common.utility.RuntimeObjectRegistry;
@@ -33,9 +34,12 @@ import com.swirlds.common.utility.ValueReference;
 import com.swirlds.metrics.api.Metrics;
 import com.swirlds.virtualmap.datasource.VirtualDataSource;
 import com.swirlds.virtualmap.datasource.VirtualDataSourceBuilder;
+import com.swirlds.virtualmap.datasource.VirtualLeafRecord;
 import com.swirlds.virtualmap.internal.merkle.VirtualMapState;
 import com.swirlds.virtualmap.internal.merkle.VirtualRootNode;
 import com.swirlds.virtualmap.internal.merkle.VirtualStateAccessorImpl;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import edu.umd.cs.findbugs.annotations.Nullable;
 import java.io.BufferedInputStream;
 import java.io.BufferedOutputStream;
 import java.io.FileInputStream;
@@ -44,6 +48,7 @@ import java.io.IOException;
 import java.nio.file.Path;
 import java.util.List;
 import java.util.Objects;
+import java.util.function.Predicate;
 
 /**
  * A {@link MerkleInternal} node that virtualizes all of its children, such that the child nodes
@@ -508,4 +513,27 @@ public final class VirtualMap<K extends VirtualKey, V extends VirtualValue> exte
     public void warm(final K key) {
         root.warm(key);
     }
+
+    /**
+     * Passes all key-value pairs in this map to the given consumer, in no particular order, possibly from
+     * multiple threads. Unlike looking leaves up by path, most leaves are read from disk sequentially, in
+     * data file order, so this method is much faster for bulk extraction of all or most map entries, e.g.
+     * for state dumps or migrations.
+     *
+     * <p>An optional key filter is checked before leaf values are read, so entries not needed by the
+     * caller are mostly skipped without deserializing their values. The map must not be modified while
+     * being scanned.
+     *
+     * @param keyFilter the filter to check keys, must be thread safe, or null to accept all keys
+     * @param consumer the consumer to pass leaf records to, must be thread safe
+     * @param threadCount the max number of threads to read leaves from disk
+     * @throws InterruptedException if the calling thread is interrupted, or the consumer throws it
+     */
+    public void scanLeaves(
+            @Nullable final Predicate<K> keyFilter,
+            @NonNull final InterruptableConsumer<VirtualLeafRecord<K, V>> consumer,
+            final int threadCount)
+            throws InterruptedException {
+        root.scanLeaves(keyFilter, consumer, threadCount);
+    }
 }
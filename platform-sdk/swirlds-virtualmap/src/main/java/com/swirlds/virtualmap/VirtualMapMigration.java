@@ -27,7 +27,7 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.LinkedBlockingQueue;
-import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Predicate;
 
 /**
  * A utility for migrating data within a virtual map from one format to another.
@@ -133,10 +133,13 @@ public final class VirtualMapMigration {
     }
 
     /**
-     * Extract all key-value pairs from a virtual map and pass it to a handler concurrently.
+     * Extract all key-value pairs from a virtual map and pass it to a handler concurrently. The pairs are
+     * passed in no particular order. Leaves are read in data file order using {@link VirtualMap#scanLeaves(
+     * Predicate, InterruptableConsumer, int)}, which is much faster than to look them up by path.
      *
      * @param threadManager
-     * 		responsible for creating and managing threads
+     * 		responsible for creating and managing threads, not used, since reader threads are created by
+     * 		the virtual map data source
      * @param source
      * 		a virtual map to read from, will not be modified by this method
      * @param threadCount
@@ -152,47 +155,45 @@ public final class VirtualMapMigration {
             final InterruptableConsumer<Pair<K, V>> handler,
             final int threadCount)
             throws InterruptedException {
+        extractVirtualMapDataC(threadManager, source, null, handler, threadCount);
+    }
 
-        final long firstLeafPath = source.getState().getFirstLeafPath();
-        final long lastLeafPath = source.getState().getLastLeafPath();
-        if (firstLeafPath == Path.INVALID_PATH || lastLeafPath == Path.INVALID_PATH) {
-            return;
-        }
-
-        final RecordAccessor<K, V> recordAccessor = source.getRoot().getRecords();
-
-        // A collection of threads iterate over the map. Each thread writes into its own output queue.
-        final List<Thread> threads = new ArrayList<>(threadCount);
-        final AtomicReference<Throwable> throwable = new AtomicReference<>();
-
-        for (int threadIndex = 0; threadIndex < threadCount; threadIndex++) {
-
-            final long firstPath = firstLeafPath + threadIndex;
-
-            threads.add(new ThreadConfiguration(threadManager)
-                    .setComponent(COMPONENT_NAME)
-                    .setThreadName("reader-" + threadCount)
-                    .setInterruptableRunnable(() -> {
-                        try {
-                            for (long path = firstPath; path <= lastLeafPath; path += threadCount) {
-                                final VirtualLeafRecord<K, V> leafRecord = recordAccessor.findLeafRecord(path, false);
-                                handler.accept(Pair.of(leafRecord.getKey(), leafRecord.getValue()));
-                            }
-                        } catch (final Throwable t) {
-                            if (throwable.compareAndSet(null, t)) {
-                                threads.forEach(Thread::interrupt);
-                            }
-                        }
-                    })
-                    .build(true));
-        }
-
-        for (Thread thread : threads) {
-            thread.join();
-        }
-
-        if (throwable.get() != null) {
-            throw new InterruptedException(throwable.get().toString());
+    /**
+     * Extract all key-value pairs with keys accepted by the given filter from a virtual map and pass it
+     * to a handler concurrently. The filter is checked before values are read from disk, so pairs not
+     * needed by the handler are mostly skipped without deserializing their values.
+     *
+     * @param threadManager
+     * 		responsible for creating and managing threads, not used, since reader threads are created by
+     * 		the virtual map data source
+     * @param source
+     * 		a virtual map to read from, will not be modified by this method
+     * @param keyFilter
+     * 		the filter to check keys, must be thread safe, or null to accept all keys
+     * @param threadCount
+     * 		the number of threads used for reading from the original map
+     * @param <K>
+     * 		the type of the key
+     * @param <V>
+     * 		the type of the value
+     */
+    public static <K extends VirtualKey, V extends VirtualValue> void extractVirtualMapDataC(
+            final ThreadManager threadManager,
+            final VirtualMap<K, V> source,
+            final Predicate<K> keyFilter,
+            final InterruptableConsumer<Pair<K, V>> handler,
+            final int threadCount)
+            throws InterruptedException {
+        try {
+            source.scanLeaves(
+                    keyFilter,
+                    leafRecord -> handler.accept(Pair.of(leafRecord.getKey(), leafRecord.getValue())),
+                    threadCount);
+        } catch (final InterruptedException e) {
+            throw e;
+        } catch (final Exception e) {
+            // Callers expect all handler failures to be reported as interrupts
+            throw new InterruptedException(e.toString());
         }
     }
 }
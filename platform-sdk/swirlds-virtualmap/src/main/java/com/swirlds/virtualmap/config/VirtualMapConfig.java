@@ -30,19 +30,19 @@ import java.time.Duration;
 /**
  * Instance-wide config for {@code VirtualMap}.
  *
- * @param percentHashThreads
- * 		Gets the percentage (from 0.0 to 100.0) of available processors to devote to hashing
- * 		threads. Ignored if an explicit number of threads is given via {@code virtualMap.numHashThreads}.
- * @param numHashThreads
- * 		The number of threads to devote to hashing. If not set, defaults to the number of threads implied by
- *        {@code virtualMap.percentHashThreads} and {@link Runtime#availableProcessors()}.
  * @param virtualHasherChunkHeight
- *      The number of ranks minus one to handle in a single virtual hasher task. That is, when height is
- *      1, every task takes 2 inputs. Height 2 corresponds to tasks with 4 inputs. And so on.
+ *      The max number of ranks minus one to handle in a single virtual hasher task. That is, when height is
+ *      1, every task takes 2 inputs. Height 2 corresponds to tasks with 4 inputs. And so on. When there are
+ *      too few dirty leaves to keep all hashing threads busy, the hasher uses smaller chunks. Virtual maps are
+ *      hashed in the hashing pool shared with other hashing components, see {@code crypto.hashingPoolThreadRatio}.
  * @param reconnectFlushInterval
  *      During reconnect, virtual nodes are periodically flushed to disk after they are hashed. This
  *      interval indicates the number of nodes to hash before they are flushed to disk. If zero, all
  *      hashed nodes are flushed in the end of reconnect hashing only.
+ * @param reconnectPrefetchThreads
+ *      The number of threads a reconnect teacher uses to read hashes and leaves of queued lessons from disk,
+ *      before the lessons are serialized. Reads are mostly waiting for disk, so this number may exceed the
+ *      number of CPU cores. If zero, node data is read on the output stream thread when lessons are serialized.
  * @param percentCleanerThreads
  * 		Gets the percentage (from 0.0 to 100.0) of available processors to devote to cache
  * 		cleaner threads. Ignored if an explicit number of threads is given via {@code virtualMap.numCleanerThreads}.
@@ -86,11 +86,9 @@ import java.time.Duration;
  */
 @ConfigData("virtualMap")
 public record VirtualMapConfig(
-        @Min(0) @Max(100) @ConfigProperty(defaultValue = "50.0")
-                double percentHashThreads, // FUTURE WORK: We need to add min/max support for double values
-        @Min(-1) @ConfigProperty(defaultValue = "-1") int numHashThreads,
         @Min(1) @Max(64) @ConfigProperty(defaultValue = "6") int virtualHasherChunkHeight,
         @Min(0) @ConfigProperty(defaultValue = "500000") int reconnectFlushInterval,
+        @Min(0) @ConfigProperty(defaultValue = "8") int reconnectPrefetchThreads,
         @Min(0) @Max(100) @ConfigProperty(defaultValue = "25.0")
                 double percentCleanerThreads, // FUTURE WORK: We need to add min/max support for double values
         @Min(-1) @ConfigProperty(defaultValue = "-1") int numCleanerThreads,
@@ -137,14 +135,6 @@ public record VirtualMapConfig(
         return null;
     }
 
-    public int getNumHashThreads() {
-        final int threads = (numHashThreads() == -1)
-                ? (int) (Runtime.getRuntime().availableProcessors() * (percentHashThreads() / UNIT_FRACTION_PERCENT))
-                : numHashThreads();
-
-        return Math.max(1, threads);
-    }
-
     public int getNumCleanerThreads() {
         final int numProcessors = Runtime.getRuntime().availableProcessors();
         final int threads = (numCleanerThreads() == -1)
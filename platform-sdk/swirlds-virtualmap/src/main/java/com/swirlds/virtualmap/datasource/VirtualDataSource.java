@@ -18,11 +18,16 @@ package com.swirlds.virtualmap.datasource;
 
 import com.swirlds.common.crypto.Hash;
 import com.swirlds.common.io.streams.SerializableDataOutputStream;
+import com.swirlds.common.threading.interrupt.InterruptableConsumer;
 import com.swirlds.metrics.api.Metrics;
 import com.swirlds.virtualmap.VirtualKey;
 import com.swirlds.virtualmap.VirtualValue;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import edu.umd.cs.findbugs.annotations.Nullable;
 import java.io.IOException;
 import java.nio.file.Path;
+import java.util.function.LongPredicate;
+import java.util.function.Predicate;
 import java.util.stream.Stream;
 
 /**
@@ -109,6 +114,53 @@ public interface VirtualDataSource<K extends VirtualKey, V extends VirtualValue>
      */
     VirtualLeafRecord<K, V> loadLeafRecord(final long path) throws IOException;
 
+    /**
+     * Passes all leaf records stored in this data source to the given consumer. Records are passed in no
+     * particular order, possibly from multiple threads. Data sources that store leaves in files should read
+     * the files sequentially, which is much faster than to load leaves by path one at a time when most
+     * leaves are to be read.
+     *
+     * <p>The path filter is called exactly once for every leaf path in this data source, before the leaf
+     * key and value are deserialized. If it returns false, the leaf is skipped. The key filter, if not null,
+     * is called for every leaf accepted by the path filter, before the leaf value is deserialized.
+     *
+     * <p>The default implementation loads leaves by path, in path order, on the calling thread.
+     *
+     * @param pathFilter
+     * 		the filter to check leaf paths, must be thread safe
+     * @param keyFilter
+     * 		the filter to check leaf keys, must be thread safe, or null to accept all keys
+     * @param consumer
+     * 		the consumer to pass leaf records to, must be thread safe
+     * @param threadCount
+     * 		the max number of threads to read leaves
+     * @throws IOException
+     * 		If there was a problem reading leaf records
+     * @throws InterruptedException
+     * 		If the calling thread is interrupted, or the consumer throws it
+     */
+    default void scanLeafRecords(
+            @NonNull final LongPredicate pathFilter,
+            @Nullable final Predicate<K> keyFilter,
+            @NonNull final InterruptableConsumer<VirtualLeafRecord<K, V>> consumer,
+            final int threadCount)
+            throws IOException, InterruptedException {
+        final long firstLeafPath = getFirstLeafPath();
+        final long lastLeafPath = getLastLeafPath();
+        if (firstLeafPath == INVALID_PATH || lastLeafPath == INVALID_PATH) {
+            return;
+        }
+        for (long path = firstLeafPath; path <= lastLeafPath; path++) {
+            if (!pathFilter.test(path)) {
+                continue;
+            }
+            final VirtualLeafRecord<K, V> leafRecord = loadLeafRecord(path);
+            if ((leafRecord != null) && ((keyFilter == null) || keyFilter.test(leafRecord.getKey()))) {
+                consumer.accept(leafRecord);
+            }
+        }
+    }
+
     /**
      * Find the path of the given key
      * @param key
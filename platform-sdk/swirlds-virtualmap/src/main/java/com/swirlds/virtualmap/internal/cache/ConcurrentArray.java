@@ -295,6 +295,33 @@ final class ConcurrentArray<T> {
         return StreamSupport.stream(new ConcurrentArraySpliterator<>(numberOfElements, head), false);
     }
 
+    /**
+     * Performs the given action for every element in this concurrent array, in the current thread.
+     * Unlike {@link #stream()}, this method doesn't allocate any objects per element.
+     *
+     * <p>This method can only be called on immutable instances. It may be called concurrently.
+     *
+     * @param action
+     * 		The action to perform. Cannot be null
+     * @throws IllegalStateException
+     * 		If this instance is not immutable
+     */
+    void forEach(final Consumer<T> action) {
+        if (!immutable.get()) {
+            throw new IllegalStateException("You can not call forEach() on a mutable ConcurrentArray");
+        }
+        Objects.requireNonNull(action);
+        int remaining = elementCount.get();
+        for (SubArray<T> cur = head; cur != null && remaining > 0; cur = cur.next) {
+            final T[] array = cur.array;
+            final int size = Math.min(cur.size.get(), remaining);
+            for (int i = 0; i < size; i++) {
+                action.accept(array[i]);
+            }
+            remaining -= size;
+        }
+    }
+
     public StandardFuture<Void> parallelTraverse(Executor executor, Consumer<T> action) {
         if (!isImmutable()) {
             throw new IllegalArgumentException("You can not call parallelTraverse on a mutable ConcurrentArray");
@@ -0,0 +1,374 @@
+/*
+ * Copyright (C) 2024 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.swirlds.virtualmap.internal.cache;
+
+import java.util.Objects;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * A concurrent map from primitive {@code long} keys to object values, optimized for use by the
+ * {@link VirtualNodeCache} path indexes.
+ * <p>
+ * The cache indexes millions of dirty paths every round. With a {@code Map<Long, ...>}, every
+ * put, lookup and compute call boxes the path to a {@link Long}, and every map entry is a
+ * separate node object. This class stores keys in a plain {@code long[]} array and values in a
+ * parallel {@code Object[]} array using open addressing with linear probing, so no objects are
+ * allocated per operation or per entry.
+ * <p>
+ * The map is split into a power of two number of segments, each with its own table and its own
+ * {@link StampedLock}. Lookups are optimistic and lock-free in the absence of concurrent writes
+ * to the same segment. Updates take the segment write lock, so concurrent updates to paths in
+ * different segments don't contend. Removed entries are replaced with a tombstone marker, which
+ * is dropped the next time the segment table is rehashed.
+ * <p>
+ * Null values are not supported. Similar to {@link java.util.concurrent.ConcurrentHashMap#compute},
+ * returning null from a remapping function removes the entry.
+ *
+ * @param <V>
+ * 		the value type
+ */
+final class ConcurrentLongObjectMap<V> {
+
+    /**
+     * The default number of segments. Must be a power of two
+     */
+    private static final int DEFAULT_SEGMENTS = 64;
+
+    /**
+     * Initial table length of every segment. Must be a power of two. It's kept small, as many
+     * maps are created for short-lived cache snapshots
+     */
+    private static final int INITIAL_SEGMENT_CAPACITY = 16;
+
+    /**
+     * Marks a slot with a removed entry. Lookups continue probing past tombstones, while inserts
+     * may reuse them
+     */
+    private static final Object TOMBSTONE = new Object();
+
+    /**
+     * A function to compute a new value for a key, given the current value.
+     *
+     * @param <V>
+     * 		the value type
+     */
+    @FunctionalInterface
+    interface RemappingFunction<V> {
+        /**
+         * Computes a new value.
+         *
+         * @param key
+         * 		the key
+         * @param value
+         * 		the current value, or null if there is no value for the key
+         * @return the new value, or null to remove the entry
+         */
+        V apply(long key, V value);
+    }
+
+    /**
+     * An action to perform for every map entry. May throw a checked exception, so map entries
+     * can be written directly to a stream.
+     *
+     * @param <V>
+     * 		the value type
+     * @param <E>
+     * 		the exception type
+     */
+    @FunctionalInterface
+    interface EntryConsumer<V, E extends Exception> {
+        void accept(long key, V value) throws E;
+    }
+
+    /**
+     * Map segments. A key is always stored in the segment selected by the higher bits of its hash
+     */
+    private final Segment<V>[] segments;
+
+    /**
+     * The number of bits to shift a key hash to the right to get a segment index
+     */
+    private final int segmentShift;
+
+    /**
+     * Create a new map with the default number of segments.
+     */
+    ConcurrentLongObjectMap() {
+        this(DEFAULT_SEGMENTS);
+    }
+
+    /**
+     * Create a new map.
+     *
+     * @param segmentCount
+     * 		the number of segments, must be a positive power of two
+     */
+    @SuppressWarnings("unchecked")
+    ConcurrentLongObjectMap(final int segmentCount) {
+        if ((segmentCount <= 0) || (Integer.bitCount(segmentCount) != 1)) {
+            throw new IllegalArgumentException("The number of segments must be a positive power of two");
+        }
+        segments = new Segment[segmentCount];
+        for (int i = 0; i < segmentCount; i++) {
+            segments[i] = new Segment<>();
+        }
+        // For a single segment, the shift is 32, which is the same as zero for ints. Handle it
+        // separately in segmentFor()
+        segmentShift = Integer.SIZE - Integer.numberOfTrailingZeros(segmentCount);
+    }
+
+    /**
+     * Gets the value for the given key. This method never blocks unless there is a concurrent
+     * update in the same segment.
+     *
+     * @param key
+     * 		the key
+     * @return the value, or null if there is no value for the key
+     */
+    V get(final long key) {
+        final int hash = hash(key);
+        return segmentFor(hash).get(key, hash);
+    }
+
+    /**
+     * Puts a value for the given key, replacing the current value, if any.
+     *
+     * @param key
+     * 		the key
+     * @param value
+     * 		the value, must not be null
+     * @throws NullPointerException
+     * 		if the value is null
+     */
+    void put(final long key, final V value) {
+        Objects.requireNonNull(value);
+        compute(key, (k, v) -> value);
+    }
+
+    /**
+     * Atomically computes a new value for the given key. The function is called under the segment
+     * write lock, so it must be fast and must not access this map.
+     *
+     * @param key
+     * 		the key
+     * @param function
+     * 		the function to compute the new value. Cannot be null
+     * @return the new value, or null if the entry was removed or never existed
+     */
+    V compute(final long key, final RemappingFunction<V> function) {
+        Objects.requireNonNull(function);
+        final int hash = hash(key);
+        return segmentFor(hash).compute(key, hash, function);
+    }
+
+    /**
+     * Gets the number of entries in this map. The result is only accurate if there are no
+     * concurrent updates.
+     *
+     * @return the number of entries
+     */
+    int size() {
+        int size = 0;
+        for (final Segment<V> segment : segments) {
+            size += segment.size;
+        }
+        return size;
+    }
+
+    /**
+     * Performs the given action for every entry in this map. Every segment is read locked while
+     * its entries are processed, so the action must not update this map. Updates to other
+     * segments may or may not be visited.
+     *
+     * @param action
+     * 		the action to perform. Cannot be null
+     * @param <E>
+     * 		the exception type thrown by the action
+     * @throws E
+     * 		if the action throws
+     */
+    <E extends Exception> void forEach(final EntryConsumer<V, E> action) throws E {
+        Objects.requireNonNull(action);
+        for (final Segment<V> segment : segments) {
+            segment.forEach(action);
+        }
+    }
+
+    private Segment<V> segmentFor(final int hash) {
+        return segments.length == 1 ? segments[0] : segments[hash >>> segmentShift];
+    }
+
+    /**
+     * Mixes all key bits into a hash. Paths are sequential numbers, so without mixing adjacent
+     * paths would be stored in adjacent slots of the same segment.
+     */
+    private static int hash(final long key) {
+        final long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+
+    /**
+     * A single map segment. Segment tables are accessed under the segment lock only, except
+     * for optimistic reads, which are validated after the fact.
+     *
+     * @param <V>
+     * 		the value type
+     */
+    private static final class Segment<V> {
+
+        private final StampedLock lock = new StampedLock();
+
+        // Keys and values. A slot is empty if its value is null, and removed if its value is TOMBSTONE
+        private long[] keys = new long[INITIAL_SEGMENT_CAPACITY];
+        private Object[] values = new Object[INITIAL_SEGMENT_CAPACITY];
+
+        // The number of live entries. Updated under the write lock, read without locks by size()
+        private volatile int size = 0;
+
+        // The number of live entries and tombstones. Used to decide when to rehash
+        private int used = 0;
+
+        V get(final long key, final int hash) {
+            final long stamp = lock.tryOptimisticRead();
+            if (stamp != 0) {
+                // The arrays may be replaced or modified concurrently. The index is always within
+                // bounds as both arrays are read once, and the result is discarded if invalid
+                final V value = find(keys, values, key, hash);
+                if (lock.validate(stamp)) {
+                    return value;
+                }
+            }
+            final long readStamp = lock.readLock();
+            try {
+                return find(keys, values, key, hash);
+            } finally {
+                lock.unlockRead(readStamp);
+            }
+        }
+
+        V compute(final long key, final int hash, final RemappingFunction<V> function) {
+            final long stamp = lock.writeLock();
+            try {
+                final long[] k = keys;
+                final Object[] v = values;
+                final int mask = k.length - 1;
+                int index = hash & mask;
+                int free = -1;
+                // Tables are never full, there is always an empty slot to stop at
+                while (v[index] != null) {
+                    if (v[index] == TOMBSTONE) {
+                        if (free < 0) {
+                            free = index;
+                        }
+                    } else if (k[index] == key) {
+                        @SuppressWarnings("unchecked")
+                        final V newValue = function.apply(key, (V) v[index]);
+                        if (newValue == null) {
+                            v[index] = TOMBSTONE;
+                            size--;
+                        } else {
+                            v[index] = newValue;
+                        }
+                        return newValue;
+                    }
+                    index = (index + 1) & mask;
+                }
+                final V newValue = function.apply(key, null);
+                if (newValue != null) {
+                    if (free < 0) {
+                        free = index;
+                        used++;
+                    }
+                    // Key first, so optimistic readers never see a value with a stale key
+                    // in a valid read
+                    k[free] = key;
+                    v[free] = newValue;
+                    size++;
+                    if (used * 4 >= k.length * 3) {
+                        rehash();
+                    }
+                }
+                return newValue;
+            } finally {
+                lock.unlockWrite(stamp);
+            }
+        }
+
+        <E extends Exception> void forEach(final EntryConsumer<V, E> action) throws E {
+            final long stamp = lock.readLock();
+            try {
+                final long[] k = keys;
+                final Object[] v = values;
+                for (int i = 0; i < k.length; i++) {
+                    final Object value = v[i];
+                    if ((value != null) && (value != TOMBSTONE)) {
+                        //noinspection unchecked
+                        action.accept(k[i], (V) value);
+                    }
+                }
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+
+        /**
+         * Rebuilds the table without tombstones. The table is doubled if it's at least half full of
+         * live entries, otherwise the same length is kept. Must be called under the write lock.
+         */
+        private void rehash() {
+            final long[] oldKeys = keys;
+            final Object[] oldValues = values;
+            final int length = (size * 2 >= oldKeys.length) ? oldKeys.length * 2 : oldKeys.length;
+            final long[] newKeys = new long[length];
+            final Object[] newValues = new Object[length];
+            final int mask = length - 1;
+            for (int i = 0; i < oldKeys.length; i++) {
+                final Object value = oldValues[i];
+                if ((value != null) && (value != TOMBSTONE)) {
+                    int index = hash(oldKeys[i]) & mask;
+                    while (newValues[index] != null) {
+                        index = (index + 1) & mask;
+                    }
+                    newKeys[index] = oldKeys[i];
+                    newValues[index] = value;
+                }
+            }
+            keys = newKeys;
+            values = newValues;
+            used = size;
+        }
+
+        @SuppressWarnings("unchecked")
+        private static <V> V find(final long[] keys, final Object[] values, final long key, final int hash) {
+            final int length = Math.min(keys.length, values.length);
+            final int mask = length - 1;
+            int index = hash & mask;
+            // Bounded by the table length in case of a torn optimistic read
+            for (int i = 0; i < length; i++) {
+                final Object value = values[index];
+                if (value == null) {
+                    return null;
+                }
+                if ((value != TOMBSTONE) && (keys[index] == key)) {
+                    return (V) value;
+                }
+                index = (index + 1) & mask;
+            }
+            return null;
+        }
+    }
+}
@@ -0,0 +1,207 @@
+/*
+ * Copyright (C) 2024 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.swirlds.virtualmap.internal.cache;
+
+import com.swirlds.virtualmap.VirtualKey;
+import com.swirlds.virtualmap.VirtualValue;
+import com.swirlds.virtualmap.datasource.VirtualLeafRecord;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * A list of dirty leaves from a single {@link VirtualNodeCache} version, sorted by path, for hashing.
+ * <p>
+ * Leaves are collected into an array along with a parallel {@code long[]} array of their paths. Then
+ * both arrays are sorted using LSD radix sort on path offsets from the first leaf path, one byte at a
+ * time. Only as many passes are made as there are significant bytes in the leaf path range, and passes
+ * where all paths have the same digit are skipped. Compared to sorting a stream of leaves with a
+ * {@code Comparator}, this doesn't allocate per leaf, and is linear in the number of dirty leaves.
+ * <p>
+ * This class is not thread safe. It's populated and sorted by {@link VirtualNodeCache}, then
+ * iterated by a single hashing thread.
+ *
+ * @param <K>
+ * 		The type of key used for leaves
+ * @param <V>
+ * 		The type of value used for leaves
+ */
+final class SortedDirtyLeaves<K extends VirtualKey, V extends VirtualValue>
+        implements Iterator<VirtualLeafRecord<K, V>> {
+
+    /**
+     * Number of bits in a single radix sort digit
+     */
+    private static final int DIGIT_BITS = 8;
+
+    /**
+     * Number of buckets in a single radix sort pass
+     */
+    private static final int BUCKETS = 1 << DIGIT_BITS;
+
+    /**
+     * The first leaf path. All leaves in this list must have paths greater or equal to it
+     */
+    private final long firstLeafPath;
+
+    /**
+     * The last leaf path. All leaves in this list must have paths less or equal to it
+     */
+    private final long lastLeafPath;
+
+    /**
+     * Leaf paths. {@code paths[i]} is always the path of {@code leaves[i]}
+     */
+    private long[] paths;
+
+    /**
+     * Leaves
+     */
+    private VirtualLeafRecord<K, V>[] leaves;
+
+    /**
+     * The number of leaves added to this list
+     */
+    private int size = 0;
+
+    /**
+     * The index of the next leaf to return from {@link #next()}
+     */
+    private int nextIndex = 0;
+
+    /**
+     * Creates a new list.
+     *
+     * @param capacity
+     * 		the max number of leaves to add to this list
+     * @param firstLeafPath
+     * 		the first leaf path
+     * @param lastLeafPath
+     * 		the last leaf path
+     */
+    @SuppressWarnings("unchecked")
+    SortedDirtyLeaves(final int capacity, final long firstLeafPath, final long lastLeafPath) {
+        this.firstLeafPath = firstLeafPath;
+        this.lastLeafPath = lastLeafPath;
+        paths = new long[capacity];
+        leaves = new VirtualLeafRecord[capacity];
+    }
+
+    /**
+     * Adds a leaf to this list. Must be called before {@link #sort()}.
+     *
+     * @param leaf
+     * 		the leaf to add, its path must be in the first to last leaf path range
+     */
+    void add(final VirtualLeafRecord<K, V> leaf) {
+        final long path = leaf.getPath();
+        assert (path >= firstLeafPath) && (path <= lastLeafPath) : "Leaf path out of range";
+        paths[size] = path;
+        leaves[size] = leaf;
+        size++;
+    }
+
+    /**
+     * Gets the number of leaves in this list.
+     *
+     * @return the number of leaves
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Sorts the leaves in this list by path.
+     *
+     * @return this list
+     */
+    @SuppressWarnings("unchecked")
+    SortedDirtyLeaves<K, V> sort() {
+        if (isSorted()) {
+            return this;
+        }
+        final int significantBits = Long.SIZE - Long.numberOfLeadingZeros(lastLeafPath - firstLeafPath);
+        long[] srcPaths = paths;
+        VirtualLeafRecord<K, V>[] srcLeaves = leaves;
+        long[] dstPaths = new long[size];
+        VirtualLeafRecord<K, V>[] dstLeaves = new VirtualLeafRecord[size];
+        final int[] counts = new int[BUCKETS];
+        for (int shift = 0; shift < significantBits; shift += DIGIT_BITS) {
+            Arrays.fill(counts, 0);
+            for (int i = 0; i < size; i++) {
+                counts[digit(srcPaths[i], shift)]++;
+            }
+            // If all paths have the same digit, the pass would not change the order
+            if (counts[digit(srcPaths[0], shift)] == size) {
+                continue;
+            }
+            // Convert counts to bucket start positions
+            int position = 0;
+            for (int b = 0; b < BUCKETS; b++) {
+                final int count = counts[b];
+                counts[b] = position;
+                position += count;
+            }
+            for (int i = 0; i < size; i++) {
+                final int index = counts[digit(srcPaths[i], shift)]++;
+                dstPaths[index] = srcPaths[i];
+                dstLeaves[index] = srcLeaves[i];
+            }
+            final long[] tmpPaths = srcPaths;
+            srcPaths = dstPaths;
+            dstPaths = tmpPaths;
+            final VirtualLeafRecord<K, V>[] tmpLeaves = srcLeaves;
+            srcLeaves = dstLeaves;
+            dstLeaves = tmpLeaves;
+        }
+        paths = srcPaths;
+        leaves = srcLeaves;
+        return this;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean hasNext() {
+        return nextIndex < size;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public VirtualLeafRecord<K, V> next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        return leaves[nextIndex++];
+    }
+
+    private boolean isSorted() {
+        for (int i = 1; i < size; i++) {
+            if (paths[i - 1] > paths[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private int digit(final long path, final int shift) {
+        return (int) (((path - firstLeafPath) >>> shift) & (BUCKETS - 1));
+    }
+}
@@ -36,9 +36,11 @@ import com.swirlds.virtualmap.config.VirtualMapConfig;
 import com.swirlds.virtualmap.datasource.VirtualHashRecord;
 import com.swirlds.virtualmap.datasource.VirtualLeafRecord;
 import java.io.IOException;
-import java.util.Comparator;
+import java.util.Iterator;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Spliterator;
+import java.util.Spliterators;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Executor;
 import java.util.concurrent.LinkedBlockingQueue;
@@ -50,6 +52,7 @@ import java.util.concurrent.atomic.AtomicReference;
 import java.util.concurrent.locks.ReentrantLock;
 import java.util.function.Consumer;
 import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
@@ -213,18 +216,20 @@ public final class VirtualNodeCache<K extends VirtualKey, V extends VirtualValue
     private final Map<K, Mutation<K, VirtualLeafRecord<K, V>>> keyToDirtyLeafIndex;
 
     /**
-     * A shared index of paths to leaves, via {@link Mutation}s. Works the same as {@link #keyToDirtyLeafIndex}.
+     * A shared index of paths to leaves, via {@link PathMutation}s. Works the same as {@link #keyToDirtyLeafIndex}.
+     * Paths are primitive longs, this index doesn't box them.
      * <p>
      * <strong>ONE PER CHAIN OF CACHES</strong>.
      */
-    private final Map<Long, Mutation<Long, K>> pathToDirtyLeafIndex;
+    private final ConcurrentLongObjectMap<PathMutation<K>> pathToDirtyLeafIndex;
 
     /**
-     * A shared index of paths to internals, via {@link Mutation}s. Works the same as {@link #keyToDirtyLeafIndex}.
+     * A shared index of paths to internals, via {@link PathMutation}s. Works the same as {@link #keyToDirtyLeafIndex}.
+     * Paths are primitive longs, this index doesn't box them.
      * <p>
      * <strong>ONE PER CHAIN OF CACHES</strong>.
      */
-    private final Map<Long, Mutation<Long, Hash>> pathToDirtyHashIndex;
+    private final ConcurrentLongObjectMap<PathMutation<Hash>> pathToDirtyHashIndex;
 
     /**
      * Whether this instance is released. A released cache is often the last in the
@@ -270,7 +275,7 @@ public final class VirtualNodeCache<K extends VirtualKey, V extends VirtualValue
      * <p>
      * <strong>ONE PER CACHE INSTANCE</strong>.
      */
-    private ConcurrentArray<Mutation<Long, K>> dirtyLeafPaths = new ConcurrentArray<>();
+    private ConcurrentArray<PathMutation<K>> dirtyLeafPaths = new ConcurrentArray<>();
 
     /**
      * A set of all modifications to node hashes that occurred in this version of the cache.
@@ -280,7 +285,7 @@ public final class VirtualNodeCache<K extends VirtualKey, V extends VirtualValue
      * <p>
      * <strong>ONE PER CACHE INSTANCE</strong>.
      */
-    private ConcurrentArray<Mutation<Long, Hash>> dirtyHashes = new ConcurrentArray<>();
+    private ConcurrentArray<PathMutation<Hash>> dirtyHashes = new ConcurrentArray<>();
 
     /**
      * Indicates if this virtual cache instance contains mutations from older cache versions
@@ -319,8 +324,8 @@ public final class VirtualNodeCache<K extends VirtualKey, V extends VirtualValue
      */
     public VirtualNodeCache() {
         this.keyToDirtyLeafIndex = new ConcurrentHashMap<>();
-        this.pathToDirtyLeafIndex = new ConcurrentHashMap<>();
-        this.pathToDirtyHashIndex = new ConcurrentHashMap<>();
+        this.pathToDirtyLeafIndex = new ConcurrentLongObjectMap<>();
+        this.pathToDirtyHashIndex = new ConcurrentLongObjectMap<>();
         this.releaseLock = new ReentrantLock();
         this.lastReleased = new AtomicLong(-1L);
     }
@@ -434,8 +439,8 @@ public final class VirtualNodeCache<K extends VirtualKey, V extends VirtualValue
         // to be there anymore.
         CLEANING_POOL.execute(() -> {
             purge(dirtyLeaves, keyToDirtyLeafIndex);
-            purge(dirtyLeafPaths, pathToDirtyLeafIndex);
-            purge(dirtyHashes, pathToDirtyHashIndex);
+            purgePaths(dirtyLeafPaths, pathToDirtyLeafIndex);
+            purgePaths(dirtyHashes, pathToDirtyHashIndex);
 
             dirtyLeaves = null;
             dirtyLeafPaths = null;
@@ -716,7 +721,7 @@ public final class VirtualNodeCache<K extends VirtualKey, V extends VirtualValue
         // Note that the mutations in pathToDirtyLeafIndex contain the *path* as the key,
         // and a leaf record *key* as the value. Thus, we look up a mutation first in the
         // pathToDirtyLeafIndex, get the leaf key, and then lookup based on that key.
-        final Mutation<Long, K> mutation = lookup(pathToDirtyLeafIndex.get(path));
+        final PathMutation<K> mutation = lookup(pathToDirtyLeafIndex.get(path));
         // If mutation is null (path is unknown), return null regardless of forModify
         if (mutation == null) {
             return null;
@@ -740,11 +745,66 @@ public final class VirtualNodeCache<K extends VirtualKey, V extends VirtualValue
      *      A stream of dirty leaves for hashing
      */
     public Stream<VirtualLeafRecord<K, V>> dirtyLeavesForHash(final long firstLeafPath, final long lastLeafPath) {
+        final SortedDirtyLeaves<K, V> leaves = sortedDirtyLeaves(firstLeafPath, lastLeafPath);
+        return StreamSupport.stream(
+                Spliterators.spliterator(
+                        leaves, leaves.size(), Spliterator.ORDERED | Spliterator.SORTED | Spliterator.NONNULL),
+                false);
+    }
+
+    /**
+     * Returns an iterator over dirty leaves from this cache instance to hash this virtual map copy. The
+     * leaves are sorted by paths. This method is similar to {@link #dirtyLeavesForHash(long, long)}, but
+     * the leaves are sorted using primitive paths rather than by a stream with a comparator, which saves
+     * time and allocations on the critical path from handling a round to signing its state.
+     *
+     * @param firstLeafPath
+     * 		The first leaf path to include to the iterator
+     * @param lastLeafPath
+     *      The last leaf path to include to the iterator
+     * @return
+     *      An iterator over dirty leaves for hashing
+     */
+    public Iterator<VirtualLeafRecord<K, V>> sortedDirtyLeavesForHash(
+            final long firstLeafPath, final long lastLeafPath) {
+        return sortedDirtyLeaves(firstLeafPath, lastLeafPath);
+    }
+
+    /**
+     * Collects dirty leaves from this cache instance in the given path range, and sorts them by path.
+     * Deleted leaves are not included. No duplicate leaves are expected, as within a single version
+     * there may not be duplicates, but filtered mutations are skipped anyway when assertions are
+     * disabled.
+     *
+     * @param firstLeafPath
+     * 		The first leaf path to include
+     * @param lastLeafPath
+     * 		The last leaf path to include
+     * @return Dirty leaves sorted by path
+     * @throws MutabilityException
+     * 		if called on a cache that still allows dirty leaves to be added
+     */
+    private SortedDirtyLeaves<K, V> sortedDirtyLeaves(final long firstLeafPath, final long lastLeafPath) {
         if (mergedCopy.get()) {
             throw new IllegalStateException("Cannot get dirty leaves for hashing on a merged cache copy");
         }
-        final Stream<VirtualLeafRecord<K, V>> result = dirtyLeaves(firstLeafPath, lastLeafPath, false);
-        return result.sorted(Comparator.comparingLong(VirtualLeafRecord::getPath));
+        if (!dirtyLeaves.isImmutable()) {
+            throw new MutabilityException("Cannot call on a cache that is still mutable for dirty leaves");
+        }
+        final SortedDirtyLeaves<K, V> result =
+                new SortedDirtyLeaves<>(dirtyLeaves.size(), firstLeafPath, lastLeafPath);
+        dirtyLeaves.forEach(mutation -> {
+            assert !mutation.isFiltered();
+            if (mutation.isFiltered() || mutation.isDeleted()) {
+                return;
+            }
+            final VirtualLeafRecord<K, V> leaf = mutation.value;
+            final long path = leaf.getPath();
+            if ((path >= firstLeafPath) && (path <= lastLeafPath)) {
+                result.add(leaf);
+            }
+        });
+        return result.sort();
     }
 
     /**
@@ -759,7 +819,7 @@ public final class VirtualNodeCache<K extends VirtualKey, V extends VirtualValue
      *      A stream of dirty leaves for flushes
      */
     public Stream<VirtualLeafRecord<K, V>> dirtyLeavesForFlush(final long firstLeafPath, final long lastLeafPath) {
-        return dirtyLeaves(firstLeafPath, lastLeafPath, true);
+        return dirtyLeaves(firstLeafPath, lastLeafPath);
     }
 
     /**
@@ -767,10 +827,9 @@ public final class VirtualNodeCache<K extends VirtualKey, V extends VirtualValue
      * in this stream.
      *
      * <p>
-     * This method is called for two purposes. First, to get dirty leaves to hash a single virtual map copy. The
-     * resulting stream is expected to be sorted. No duplicate entries are expected in this case, as within a
-     * single version there may not be duplicates. Second, to get dirty leaves to flush them to disk. In this
-     * case, the stream doesn't need to be sorted, but there may be duplicated entries from different versions.
+     * This method is called to get dirty leaves to flush them to disk. The stream doesn't need to be sorted,
+     * but there may be duplicated entries from different versions. To get dirty leaves to hash a single virtual
+     * map copy, see {@link #sortedDirtyLeaves(long, long)}.
      *
      * <p>
      * This method may be called concurrently from multiple threads (although in practice, this should never happen).
@@ -783,30 +842,22 @@ public final class VirtualNodeCache<K extends VirtualKey, V extends VirtualValue
      * 		The last leaf path to receive in the results. It is possible, through merging of multiple rounds,
      * 		for the data to have leaf data that is outside the expected range for the {@link VirtualMap} of
      * 		this cache. We need to provide the leaf boundaries to compensate for this.
-     * @param dedupe
-     *      Indicates if the duplicated entries should be removed from the stream
      * @return A non-null stream of dirty leaves. May be empty. Will not contain duplicate records
      * @throws MutabilityException
      * 		if called on a cache that still allows dirty leaves to be added
      */
-    private Stream<VirtualLeafRecord<K, V>> dirtyLeaves(
-            final long firstLeafPath, final long lastLeafPath, final boolean dedupe) {
+    private Stream<VirtualLeafRecord<K, V>> dirtyLeaves(final long firstLeafPath, final long lastLeafPath) {
         if (!dirtyLeaves.isImmutable()) {
             throw new MutabilityException("Cannot call on a cache that is still mutable for dirty leaves");
         }
-        if (dedupe) {
-            // Mark obsolete mutations to filter later
-            filterMutations(dirtyLeaves);
-        }
+        // Mark obsolete mutations to filter later
+        filterMutations(dirtyLeaves);
         return dirtyLeaves.stream()
                 .filter(mutation -> {
                     final long path = mutation.value.getPath();
                     return path >= firstLeafPath && path <= lastLeafPath;
                 })
-                .filter(mutation -> {
-                    assert dedupe || !mutation.isFiltered();
-                    return !mutation.isFiltered();
-                })
+                .filter(mutation -> !mutation.isFiltered())
                 .filter(mutation -> !mutation.isDeleted())
                 .map(mutation -> mutation.value);
     }
@@ -940,7 +991,7 @@ public final class VirtualNodeCache<K extends VirtualKey, V extends VirtualValue
             return null;
         }
 
-        final Mutation<Long, Hash> mutation = lookup(pathToDirtyHashIndex.get(path));
+        final PathMutation<Hash> mutation = lookup(pathToDirtyHashIndex.get(path));
 
         // Always return null if there is no mutation regardless of forModify
         if ((mutation == null) || (mutation.value == NULL_HASH)) {
@@ -984,10 +1035,10 @@ public final class VirtualNodeCache<K extends VirtualKey, V extends VirtualValue
         // Mark obsolete mutations to filter later
         filterMutations(dirtyHashes);
         return dirtyHashes.stream()
-                .filter(mutation -> mutation.key <= lastLeafPath)
+                .filter(mutation -> mutation.path <= lastLeafPath)
                 .filter(mutation -> !mutation.isFiltered())
                 .map(mutation ->
-                        new VirtualHashRecord(mutation.key, mutation.value != NULL_HASH ? mutation.value : null));
+                        new VirtualHashRecord(mutation.path, mutation.value != NULL_HASH ? mutation.value : null));
     }
 
     /**
@@ -1165,14 +1216,14 @@ public final class VirtualNodeCache<K extends VirtualKey, V extends VirtualValue
     private <V1> void updatePaths(
             final V1 value,
             final long path,
-            final Map<Long, Mutation<Long, V1>> index,
-            final ConcurrentArray<Mutation<Long, V1>> dirtyPaths) {
+            final ConcurrentLongObjectMap<PathMutation<V1>> index,
+            final ConcurrentArray<PathMutation<V1>> dirtyPaths) {
         index.compute(path, (key, mutation) -> {
             // If there is no mutation or the mutation isn't for this version, then we need to create a new mutation.
             // Note that this code DEPENDS on hashing only a single round at a time. VirtualPipeline
             // enforces this constraint.
-            Mutation<Long, V1> nextMutation = mutation;
-            Mutation<Long, V1> previousMutation = null;
+            PathMutation<V1> nextMutation = mutation;
+            PathMutation<V1> previousMutation = null;
             while (nextMutation != null && nextMutation.version > fastCopyVersion.get()) {
                 previousMutation = nextMutation;
                 nextMutation = nextMutation.next;
@@ -1181,7 +1232,7 @@ public final class VirtualNodeCache<K extends VirtualKey, V extends VirtualValue
                 // It must be that there is *NO* mutation in the dirtyPaths for this cache version.
                 // I don't have an easy way to assert it programmatically, but by inspection, it must be true.
                 // Create a mutation for this version pointing to the next oldest mutation (if any).
-                nextMutation = new Mutation<>(nextMutation, path, value, fastCopyVersion.get());
+                nextMutation = new PathMutation<>(nextMutation, path, value, fastCopyVersion.get());
                 nextMutation.setDeleted(value == null);
                 // Hold a reference to this newest mutation in this cache
                 dirtyPaths.add(nextMutation);
@@ -1208,12 +1259,11 @@ public final class VirtualNodeCache<K extends VirtualKey, V extends VirtualValue
      *
      * @param mutation
      * 		The mutation list, can be null.
-     * @param <K1> The key type held by the mutation. Either a Key or a path.
-     * @param <V1>>
-     * 		The value type held by the mutation. It will be either a Key, leaf record, or a hash.
+     * @param <M> The mutation type. Either a key-based or a path-based mutation.
      * @return null if the mutation could be found, or the mutation.
      */
-    private <K1, V1> Mutation<K1, V1> lookup(Mutation<K1, V1> mutation) {
+    @SuppressWarnings("unchecked")
+    private <M extends AbstractMutation<?>> M lookup(M mutation) {
         // Walk the list of values until we find the best match for our version
         for (; ; ) {
             // If mutation is null, then there is nothing else to look for. We're done.
@@ -1227,7 +1277,7 @@ public final class VirtualNodeCache<K extends VirtualKey, V extends VirtualValue
             }
 
             // Look up the next mutation
-            mutation = mutation.next;
+            mutation = (M) mutation.getNext();
         }
     }
 
@@ -1300,6 +1350,34 @@ public final class VirtualNodeCache<K extends VirtualKey, V extends VirtualValue
                 }));
     }
 
+    /**
+     * Called by one of the purge threads to purge entries from a path index that no longer have a referent
+     * for the mutation list. This can be called concurrently. Works the same as {@link #purge(ConcurrentArray, Map)}.
+     *
+     * @param index
+     * 		The index to look through for entries to purge
+     * @param <V>
+     * 		The value type referenced by the mutation list
+     */
+    private static <V> void purgePaths(
+            final ConcurrentArray<PathMutation<V>> array, final ConcurrentLongObjectMap<PathMutation<V>> index) {
+        array.parallelTraverse(
+                CLEANING_POOL,
+                element -> index.compute(element.path, (path, mutation) -> {
+                    if (mutation == null || element.equals(mutation)) {
+                        // Already removed for a more recent mutation
+                        return null;
+                    }
+                    for (PathMutation<V> m = mutation; m.next != null; m = m.next) {
+                        if (element.equals(m.next)) {
+                            m.next = null;
+                            break;
+                        }
+                    }
+                    return mutation;
+                }));
+    }
+
     /**
      * Node cache contains lists of hash and leaf mutations for every cache version. When caches
      * are merged, the lists are merged, too. To make merges very fast, duplicates aren't removed
@@ -1311,16 +1389,14 @@ public final class VirtualNodeCache<K extends VirtualKey, V extends VirtualValue
      * obsolete, if there is a newer mutation for the same key.
      *
      * @param array
-     * @param <K>
-     * 		The key type used in the index
-     * @param <V>
-     * 		The value type referenced by the mutation list
+     * @param <M>
+     * 		The mutation type. Either a key-based or a path-based mutation
      */
-    private static <K, V> void filterMutations(final ConcurrentArray<Mutation<K, V>> array) {
-        final Consumer<Mutation<K, V>> action = mutation -> {
+    private static <M extends AbstractMutation<?>> void filterMutations(final ConcurrentArray<M> array) {
+        final Consumer<M> action = mutation -> {
             // local variable is required because mutation.next can be changed by another thread to null
             // see https://github.com/hashgraph/hedera-services/issues/7046 for the context
-            Mutation<K, V> nextMutation = mutation.next;
+            final AbstractMutation<?> nextMutation = mutation.getNext();
             if (nextMutation != null) {
                 nextMutation.setFiltered();
             }
@@ -1374,6 +1450,39 @@ public final class VirtualNodeCache<K extends VirtualKey, V extends VirtualValue
         }
     }
 
+    /**
+     * Copies the mutations from {@code src} path index into {@code dst} path index with the same
+     * constraints as {@link #setMapSnapshotAndArray(Map, Map, ConcurrentArray)}.
+     *
+     * @param src
+     * 		Path index that contains the original mutations
+     * @param dst
+     * 		Path index that acts as the destination of mutations
+     * @param <L2>
+     * 		Value type
+     */
+    private <L2> void setMapSnapshotAndArray(
+            final ConcurrentLongObjectMap<PathMutation<L2>> src,
+            final ConcurrentLongObjectMap<PathMutation<L2>> dst,
+            final ConcurrentArray<PathMutation<L2>> array) {
+        final long accepted = fastCopyVersion.get();
+        final long rejected = lastReleased.get();
+        src.forEach((path, value) -> {
+            PathMutation<L2> mutation = value;
+
+            while (mutation != null && mutation.version > accepted) {
+                mutation = mutation.next;
+            }
+
+            if (mutation == null || mutation.version <= rejected) {
+                return;
+            }
+
+            dst.put(path, mutation);
+            array.add(mutation);
+        });
+    }
+
     /**
      * Serialize the {@link #pathToDirtyHashIndex}.
      *
@@ -1385,12 +1494,12 @@ public final class VirtualNodeCache<K extends VirtualKey, V extends VirtualValue
      * 		If something fails.
      */
     private void serializePathToDirtyHashIndex(
-            final Map<Long, Mutation<Long, Hash>> map, final SerializableDataOutputStream out) throws IOException {
+            final ConcurrentLongObjectMap<PathMutation<Hash>> map, final SerializableDataOutputStream out)
+            throws IOException {
         assert snapshot.get() : "Only snapshots can be serialized";
         out.writeInt(map.size());
-        for (final Map.Entry<Long, Mutation<Long, Hash>> entry : map.entrySet()) {
-            out.writeLong(entry.getKey());
-            final Mutation<Long, Hash> mutation = entry.getValue();
+        map.forEach((path, mutation) -> {
+            out.writeLong(path);
             assert mutation != null : "Mutations cannot be null in a snapshot";
             assert mutation.version <= this.fastCopyVersion.get()
                     : "Trying to serialize pathToDirtyInternalIndex with a version ahead";
@@ -1399,7 +1508,7 @@ public final class VirtualNodeCache<K extends VirtualKey, V extends VirtualValue
             if (!mutation.isDeleted()) {
                 out.writeSerializable(mutation.value, true);
             }
-        }
+        });
     }
 
     /**
@@ -1413,7 +1522,9 @@ public final class VirtualNodeCache<K extends VirtualKey, V extends VirtualValue
      * 		In case of trouble.
      */
     private void deserializePathToDirtyHashIndex(
-            final Map<Long, Mutation<Long, Hash>> map, final SerializableDataInputStream in, final int version)
+            final ConcurrentLongObjectMap<PathMutation<Hash>> map,
+            final SerializableDataInputStream in,
+            final int version)
             throws IOException {
         final int sizeOfMap = in.readInt();
         for (int index = 0; index < sizeOfMap; index++) {
@@ -1428,7 +1539,7 @@ public final class VirtualNodeCache<K extends VirtualKey, V extends VirtualValue
                 }
                 hash = in.readSerializable();
             }
-            final Mutation<Long, Hash> mutation = new Mutation<>(null, key, hash, mutationVersion);
+            final PathMutation<Hash> mutation = new PathMutation<>(null, key, hash, mutationVersion);
             mutation.setDeleted(deleted);
             map.put(key, mutation);
             dirtyHashes.add(mutation);
@@ -1446,12 +1557,12 @@ public final class VirtualNodeCache<K extends VirtualKey, V extends VirtualValue
      * 		If something fails.
      */
     private void serializePathToDirtyLeafIndex(
-            final Map<Long, Mutation<Long, K>> map, final SerializableDataOutputStream out) throws IOException {
+            final ConcurrentLongObjectMap<PathMutation<K>> map, final SerializableDataOutputStream out)
+            throws IOException {
         assert snapshot.get() : "Only snapshots can be serialized";
         out.writeInt(map.size());
-        for (final Map.Entry<Long, Mutation<Long, K>> entry : map.entrySet()) {
-            out.writeLong(entry.getKey());
-            final Mutation<Long, K> mutation = entry.getValue();
+        map.forEach((path, mutation) -> {
+            out.writeLong(path);
             assert mutation != null : "Mutations cannot be null in a snapshot";
             assert mutation.version <= this.fastCopyVersion.get()
                     : "Trying to serialize pathToDirtyLeafIndex with a version ahead";
@@ -1459,7 +1570,7 @@ public final class VirtualNodeCache<K extends VirtualKey, V extends VirtualValue
             out.writeSerializable(mutation.value, true);
             out.writeLong(mutation.version);
             out.writeBoolean(mutation.isDeleted());
-        }
+        });
     }
 
     /**
@@ -1473,15 +1584,16 @@ public final class VirtualNodeCache<K extends VirtualKey, V extends VirtualValue
      * 		In case of trouble.
      */
     private void deserializePathToDirtyLeafIndex(
-            final Map<Long, Mutation<Long, K>> map, final SerializableDataInputStream in) throws IOException {
+            final ConcurrentLongObjectMap<PathMutation<K>> map, final SerializableDataInputStream in)
+            throws IOException {
         final int sizeOfMap = in.readInt();
         for (int index = 0; index < sizeOfMap; index++) {
-            final Long path = in.readLong();
+            final long path = in.readLong();
             final K key = in.readSerializable();
             final long mutationVersion = in.readLong();
             final boolean deleted = in.readBoolean();
 
-            final Mutation<Long, K> mutation = new Mutation<>(null, path, key, mutationVersion);
+            final PathMutation<K> mutation = new PathMutation<>(null, path, key, mutationVersion);
             mutation.setDeleted(deleted);
             map.put(path, mutation);
             dirtyLeafPaths.add(mutation);
@@ -1568,15 +1680,14 @@ public final class VirtualNodeCache<K extends VirtualKey, V extends VirtualValue
 
     /**
      * A mutation. Mutations are linked together within the mutation list. Each mutation
-     * has a pointer to the next oldest mutation in the list.
-     * @param <K> The key type of data held by the mutation.
+     * has a pointer to the next oldest mutation in the list. This is a base class for
+     * mutations in key-based and path-based lists, see {@link Mutation} and {@link PathMutation}.
      * @param <V> The type of data held by the mutation.
      */
-    private static final class Mutation<K, V> {
-        private volatile Mutation<K, V> next;
-        private final long version; // The version of the cache that owns this mutation
-        private final K key;
-        private volatile V value;
+    private abstract static class AbstractMutation<V> {
+        // Not private, as private fields aren't accessible through subclass references
+        final long version; // The version of the cache that owns this mutation
+        volatile V value;
         private volatile byte flags = 0;
 
         // A bit in the flags field, which indicates whether this mutation is for a deleted op
@@ -1585,13 +1696,16 @@ public final class VirtualNodeCache<K extends VirtualKey, V extends VirtualValue
         // into resulting stream of dirty hashes / leaves
         private static final int FLAG_BIT_FILTERED = 1;
 
-        Mutation(Mutation<K, V> next, K key, V value, long version) {
-            this.next = next;
-            this.key = key;
+        AbstractMutation(V value, long version) {
             this.value = value;
             this.version = version;
         }
 
+        abstract AbstractMutation<V> getNext();
+
+        // Used in debug output only
+        abstract Object getKey();
+
         boolean getFlag(int bit) {
             return ((0xFF & flags) & (1 << bit)) != 0;
         }
@@ -1622,6 +1736,58 @@ public final class VirtualNodeCache<K extends VirtualKey, V extends VirtualValue
         }
     }
 
+    /**
+     * A mutation in a list for a given key, see {@link #keyToDirtyLeafIndex}.
+     * @param <K> The key type of data held by the mutation.
+     * @param <V> The type of data held by the mutation.
+     */
+    private static final class Mutation<K, V> extends AbstractMutation<V> {
+        private volatile Mutation<K, V> next;
+        private final K key;
+
+        Mutation(Mutation<K, V> next, K key, V value, long version) {
+            super(value, version);
+            this.next = next;
+            this.key = key;
+        }
+
+        @Override
+        Mutation<K, V> getNext() {
+            return next;
+        }
+
+        @Override
+        Object getKey() {
+            return key;
+        }
+    }
+
+    /**
+     * A mutation in a list for a given path, see {@link #pathToDirtyLeafIndex} and {@link #pathToDirtyHashIndex}.
+     * Paths are stored as primitive longs to avoid boxing on every hash and leaf path update and lookup.
+     * @param <V> The type of data held by the mutation.
+     */
+    private static final class PathMutation<V> extends AbstractMutation<V> {
+        private volatile PathMutation<V> next;
+        private final long path;
+
+        PathMutation(PathMutation<V> next, long path, V value, long version) {
+            super(value, version);
+            this.next = next;
+            this.path = path;
+        }
+
+        @Override
+        PathMutation<V> getNext() {
+            return next;
+        }
+
+        @Override
+        Object getKey() {
+            return path;
+        }
+    }
+
     /**
      * Given some cache, print out the contents of all the data structures and mark specially the set of mutations
      * that apply to this cache.
@@ -1638,20 +1804,13 @@ public final class VirtualNodeCache<K extends VirtualKey, V extends VirtualValue
         //noinspection unchecked
         builder.append(toDebugStringIndex("keyToDirtyLeafIndex", (Map<Object, Mutation>) (Object) keyToDirtyLeafIndex))
                 .append("\n");
-        //noinspection unchecked
-        builder.append(toDebugStringIndex(
-                        "pathToDirtyLeafIndex", (Map<Object, Mutation>) (Object) pathToDirtyLeafIndex))
+        builder.append(toDebugStringPathIndex("pathToDirtyLeafIndex", pathToDirtyLeafIndex))
                 .append("\n");
-        //noinspection unchecked
-        builder.append(toDebugStringIndex(
-                        "pathToDirtyHashIndex", (Map<Object, Mutation>) (Object) pathToDirtyHashIndex))
+        builder.append(toDebugStringPathIndex("pathToDirtyHashIndex", pathToDirtyHashIndex))
                 .append("\n");
-        //noinspection unchecked
-        builder.append(toDebugStringArray("dirtyLeaves", (ConcurrentArray<Mutation>) (Object) dirtyLeaves));
-        //noinspection unchecked
-        builder.append(toDebugStringArray("dirtyLeafPaths", (ConcurrentArray<Mutation>) (Object) dirtyLeafPaths));
-        //noinspection unchecked
-        builder.append(toDebugStringArray("dirtyHashes", (ConcurrentArray<Mutation>) (Object) dirtyHashes));
+        builder.append(toDebugStringArray("dirtyLeaves", dirtyLeaves));
+        builder.append(toDebugStringArray("dirtyLeafPaths", dirtyLeafPaths));
+        builder.append(toDebugStringArray("dirtyHashes", dirtyHashes));
         return builder.toString();
     }
 
@@ -1682,37 +1841,49 @@ public final class VirtualNodeCache<K extends VirtualKey, V extends VirtualValue
         final StringBuilder builder = new StringBuilder();
         builder.append(indexName).append(":\n");
 
-        index.forEach((key, mutation) -> {
-            builder.append("\t").append(key).append(":==> ");
-            while (mutation != null) {
-                builder.append("[")
-                        .append(mutation.key)
-                        .append(",")
-                        .append(mutation.value)
-                        .append(",")
-                        .append(mutation.isDeleted() ? "D," : "")
-                        .append("V")
-                        .append(mutation.version)
-                        .append(mutation.version == this.fastCopyVersion.get() ? "*" : "")
-                        .append("]->");
-                mutation = mutation.next;
-            }
-            builder.append("\n");
-        });
+        index.forEach((key, mutation) -> toDebugStringMutations(builder, key, mutation));
 
         return builder.toString();
     }
 
-    private String toDebugStringArray(
-            final String name, @SuppressWarnings("rawtypes") final ConcurrentArray<Mutation> arr) {
+    private <V1> String toDebugStringPathIndex(
+            final String indexName, final ConcurrentLongObjectMap<PathMutation<V1>> index) {
+        final StringBuilder builder = new StringBuilder();
+        builder.append(indexName).append(":\n");
+
+        index.forEach((path, mutation) -> toDebugStringMutations(builder, path, mutation));
+
+        return builder.toString();
+    }
+
+    private void toDebugStringMutations(
+            final StringBuilder builder, final Object key, AbstractMutation<?> mutation) {
+        builder.append("\t").append(key).append(":==> ");
+        while (mutation != null) {
+            builder.append("[")
+                    .append(mutation.getKey())
+                    .append(",")
+                    .append(mutation.value)
+                    .append(",")
+                    .append(mutation.isDeleted() ? "D," : "")
+                    .append("V")
+                    .append(mutation.version)
+                    .append(mutation.version == this.fastCopyVersion.get() ? "*" : "")
+                    .append("]->");
+            mutation = mutation.getNext();
+        }
+        builder.append("\n");
+    }
+
+    private String toDebugStringArray(final String name, final ConcurrentArray<? extends AbstractMutation<?>> arr) {
         final StringBuilder builder = new StringBuilder();
         builder.append(name).append(":\n");
 
         final int size = arr.size();
         for (int i = 0; i < size; i++) {
-            final var mutation = arr.get(i);
+            final AbstractMutation<?> mutation = arr.get(i);
             builder.append("\t")
-                    .append(mutation.key)
+                    .append(mutation.getKey())
                     .append(",")
                     .append(mutation.value)
                     .append(",")
@@ -25,6 +25,7 @@ import com.swirlds.common.crypto.Cryptography;
 import com.swirlds.common.crypto.CryptographyHolder;
 import com.swirlds.common.crypto.Hash;
 import com.swirlds.common.crypto.HashBuilder;
+import com.swirlds.common.crypto.HashingPool;
 import com.swirlds.common.wiring.tasks.AbstractTask;
 import com.swirlds.virtualmap.VirtualKey;
 import com.swirlds.virtualmap.VirtualMap;
@@ -69,10 +70,11 @@ public final class VirtualHasher<K extends VirtualKey, V extends VirtualValue> {
     private static final VirtualMapConfig CONFIG = ConfigurationHolder.getConfigData(VirtualMapConfig.class);
 
     /**
-     * The number of threads to use when hashing. Can either be supplied by a system property, or
-     * will compute a default based on "percentHashThreads".
+     * When chunk height is adjusted to the number of dirty leaves, the min number of leaf parent
+     * tasks to create per hashing thread. Smaller chunks mean more tasks and more overhead, but
+     * better parallelism when there are few dirty leaves.
      */
-    private static final int HASHING_THREAD_COUNT = CONFIG.getNumHashThreads();
+    private static final int MIN_CHUNKS_PER_THREAD = 8;
 
     /**
      * This thread-local gets a HashBuilder that can be used for hashing on a per-thread basis.
@@ -109,7 +111,15 @@ public final class VirtualHasher<K extends VirtualKey, V extends VirtualValue> {
      */
     private final AtomicBoolean shutdown = new AtomicBoolean(false);
 
-    private static final ForkJoinPool HASHING_POOL = new ForkJoinPool(HASHING_THREAD_COUNT);
+    /**
+     * The hashing pool shared by all virtual maps and other hashing components.
+     */
+    private static final HashingPool SHARED_HASHING_POOL = HashingPool.getInstance();
+
+    /**
+     * The fork-join pool to run hashing tasks in, from the shared hashing pool.
+     */
+    private static final ForkJoinPool HASHING_POOL = SHARED_HASHING_POOL.getPool();
 
     /**
      * Indicate to the virtual hasher that it has been shut down. This method does not interrupt threads, but
@@ -273,7 +283,84 @@ public final class VirtualHasher<K extends VirtualKey, V extends VirtualValue> {
             final Iterator<VirtualLeafRecord<K, V>> sortedDirtyLeaves,
             final long firstLeafPath,
             final long lastLeafPath,
-            VirtualHashListener<K, V> listener) {
+            final VirtualHashListener<K, V> listener) {
+        return hash(hashReader, sortedDirtyLeaves, firstLeafPath, lastLeafPath, listener, HashingPool.Lane.STATE, -1);
+    }
+
+    /**
+     * Hash the given dirty leaves and the minimal subset of the tree necessary to produce a single root hash.
+     * This method is similar to {@link #hash(LongFunction, Iterator, long, long, VirtualHashListener)}, but
+     * also accepts a hashing lane and an estimated number of dirty leaves.
+     *
+     * <p>Hashing in {@link HashingPool.Lane#BACKGROUND} lane periodically yields to state hashing in the
+     * shared hashing pool. If the number of dirty leaves is known, the hasher uses smaller chunks (up to
+     * {@link VirtualMapConfig#virtualHasherChunkHeight()}) when there are too few dirty leaves to keep all
+     * hashing threads busy.
+     *
+     * @param hashReader
+     * 		Return a {@link Hash} by path. Used when this method needs to look up clean nodes.
+     * @param sortedDirtyLeaves
+     * 		A stream of dirty leaves sorted in <strong>ASCENDING PATH ORDER</strong>
+     * @param firstLeafPath
+     * 		The firstLeafPath of the tree that is being hashed
+     * @param lastLeafPath
+     * 		The lastLeafPath of the tree that is being hashed
+     * @param listener
+     * 		Hash listener, may be null
+     * @param lane
+     * 		The hashing lane
+     * @param dirtyLeafCount
+     * 		The estimated number of dirty leaves, or -1 if unknown
+     * @return The hash of the root of the tree
+     */
+    public Hash hash(
+            final LongFunction<Hash> hashReader,
+            final Iterator<VirtualLeafRecord<K, V>> sortedDirtyLeaves,
+            final long firstLeafPath,
+            final long lastLeafPath,
+            final VirtualHashListener<K, V> listener,
+            final HashingPool.Lane lane,
+            final long dirtyLeafCount) {
+        final long startNanos = SHARED_HASHING_POOL.enter(lane);
+        try {
+            return hashImpl(hashReader, sortedDirtyLeaves, firstLeafPath, lastLeafPath, listener, lane, dirtyLeafCount);
+        } finally {
+            SHARED_HASHING_POOL.exit(lane, startNanos);
+        }
+    }
+
+    /**
+     * Calculates virtual hasher chunk height for the given number of dirty leaves. When there are
+     * many dirty leaves, the max chunk height is used. When there are few dirty leaves, the height
+     * is decreased, so there are at least {@link #MIN_CHUNKS_PER_THREAD} leaf parent chunks per
+     * hashing thread.
+     *
+     * @param maxChunkHeight max chunk height, from config
+     * @param dirtyLeafCount the estimated number of dirty leaves, or -1 if unknown
+     * @param parallelism the number of hashing threads
+     * @return chunk height, from 1 to max chunk height inclusive
+     */
+    static int adaptiveChunkHeight(final int maxChunkHeight, final long dirtyLeafCount, final int parallelism) {
+        if (dirtyLeafCount <= 0) {
+            return maxChunkHeight;
+        }
+        final long leavesPerChunk = dirtyLeafCount / ((long) parallelism * MIN_CHUNKS_PER_THREAD);
+        if (leavesPerChunk <= 2) {
+            return 1;
+        }
+        // floor(log2(leavesPerChunk))
+        final int height = 63 - Long.numberOfLeadingZeros(leavesPerChunk);
+        return Math.min(maxChunkHeight, height);
+    }
+
+    private Hash hashImpl(
+            final LongFunction<Hash> hashReader,
+            final Iterator<VirtualLeafRecord<K, V>> sortedDirtyLeaves,
+            final long firstLeafPath,
+            final long lastLeafPath,
+            VirtualHashListener<K, V> listener,
+            final HashingPool.Lane lane,
+            final long dirtyLeafCount) {
 
         // If the first or last leaf path are invalid, then there is nothing to hash.
         if (firstLeafPath < 1 || lastLeafPath < 1) {
@@ -320,8 +407,12 @@ public final class VirtualHasher<K extends VirtualKey, V extends VirtualValue> {
         // is calculated, it is set as a input dependency of that task. Output dependency value
         // may not be null.
 
-        // Default chunk height, from config
-        final int chunkHeight = CONFIG.virtualHasherChunkHeight();
+        // Chunk height, up to the default height from config, depending on the number of dirty leaves
+        final int chunkHeight = adaptiveChunkHeight(
+                CONFIG.virtualHasherChunkHeight(), dirtyLeafCount, SHARED_HASHING_POOL.getParallelism());
+        // Background hashing yields to state hashing, see HashingPool.yieldToStateHashing()
+        boolean yieldToStateHashing = lane == HashingPool.Lane.BACKGROUND;
+        long stateHashingEpoch = 0;
         int firstLeafRank = Path.getRank(firstLeafPath);
         int lastLeafRank = Path.getRank(lastLeafPath);
 
@@ -370,6 +461,15 @@ public final class VirtualHasher<K extends VirtualKey, V extends VirtualValue> {
         // it completes all task dependencies, so the task is executed.
 
         while (sortedDirtyLeaves.hasNext()) {
+            if (yieldToStateHashing) {
+                try {
+                    stateHashingEpoch = SHARED_HASHING_POOL.yieldToStateHashing(stateHashingEpoch);
+                } catch (final InterruptedException e) {
+                    // Stop yielding, but keep hashing, let the caller handle the interrupt
+                    Thread.currentThread().interrupt();
+                    yieldToStateHashing = false;
+                }
+            }
             VirtualLeafRecord<K, V> leaf = sortedDirtyLeaves.next();
             long curPath = leaf.getPath();
             ChunkHashTask curTask = map.remove(curPath);
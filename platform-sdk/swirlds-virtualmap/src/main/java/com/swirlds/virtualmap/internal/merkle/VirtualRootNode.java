@@ -41,6 +41,7 @@ import static java.util.concurrent.TimeUnit.SECONDS;
 
 import com.swirlds.common.config.singleton.ConfigurationHolder;
 import com.swirlds.common.crypto.Hash;
+import com.swirlds.common.crypto.HashingPool;
 import com.swirlds.common.io.ExternalSelfSerializable;
 import com.swirlds.common.io.streams.SerializableDataInputStream;
 import com.swirlds.common.io.streams.SerializableDataOutputStream;
@@ -56,6 +57,7 @@ import com.swirlds.common.merkle.synchronization.views.LearnerTreeView;
 import com.swirlds.common.merkle.synchronization.views.TeacherTreeView;
 import com.swirlds.common.merkle.utility.DebugIterationEndpoint;
 import com.swirlds.common.threading.framework.config.ThreadConfiguration;
+import com.swirlds.common.threading.interrupt.InterruptableConsumer;
 import com.swirlds.metrics.api.Metrics;
 import com.swirlds.virtualmap.VirtualKey;
 import com.swirlds.virtualmap.VirtualMap;
@@ -90,7 +92,10 @@ import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.LongPredicate;
+import java.util.function.Predicate;
 import java.util.stream.Stream;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -477,8 +482,14 @@ public final class VirtualRootNode<K extends VirtualKey, V extends VirtualValue>
         new ThreadConfiguration(getStaticThreadManager())
                 .setComponent("virtualmap")
                 .setThreadName("leafRehasher")
-                .setRunnable(() -> fullRehashFuture.complete(
-                        hasher.hash(records::findHash, rehashIterator, firstLeafPath, lastLeafPath, hashListener)))
+                .setRunnable(() -> fullRehashFuture.complete(hasher.hash(
+                        records::findHash,
+                        rehashIterator,
+                        firstLeafPath,
+                        lastLeafPath,
+                        hashListener,
+                        HashingPool.Lane.BACKGROUND,
+                        -1)))
                 .setExceptionHandler((thread, exception) -> {
                     // Shut down the iterator.
                     rehashIterator.close();
@@ -1292,11 +1303,12 @@ public final class VirtualRootNode<K extends VirtualKey, V extends VirtualValue>
         };
         Hash virtualHash = hasher.hash(
                 records::findHash,
-                cache.dirtyLeavesForHash(state.getFirstLeafPath(), state.getLastLeafPath())
-                        .iterator(),
+                cache.sortedDirtyLeavesForHash(state.getFirstLeafPath(), state.getLastLeafPath()),
                 state.getFirstLeafPath(),
                 state.getLastLeafPath(),
-                hashListener);
+                hashListener,
+                HashingPool.Lane.STATE,
+                cache.estimatedDirtyLeavesCount(state.getFirstLeafPath(), state.getLastLeafPath()));
 
         if (virtualHash == null) {
             final Hash rootHash = (state.size() == 0) ? null : records.findHash(0);
@@ -1365,7 +1377,8 @@ public final class VirtualRootNode<K extends VirtualKey, V extends VirtualValue>
      */
     @Override
     public TeacherTreeView<Long> buildTeacherView() {
-        return new VirtualTeacherTreeView<>(getStaticThreadManager(), this, state, pipeline);
+        return new VirtualTeacherTreeView<>(
+                getStaticThreadManager(), this, state, pipeline, config.reconnectPrefetchThreads());
     }
 
     /**
@@ -1481,7 +1494,13 @@ public final class VirtualRootNode<K extends VirtualKey, V extends VirtualValue>
                 .setComponent("virtualmap")
                 .setThreadName("hasher")
                 .setRunnable(() -> reconnectHashingFuture.complete(hasher.hash(
-                        reconnectRecords::findHash, reconnectIterator, firstLeafPath, lastLeafPath, hashListener)))
+                        reconnectRecords::findHash,
+                        reconnectIterator,
+                        firstLeafPath,
+                        lastLeafPath,
+                        hashListener,
+                        HashingPool.Lane.BACKGROUND,
+                        -1)))
                 .setExceptionHandler((thread, exception) -> {
                     // Shut down the iterator. This will cause reconnect to terminate.
                     reconnectIterator.close();
@@ -1529,6 +1548,65 @@ public final class VirtualRootNode<K extends VirtualKey, V extends VirtualValue>
         records.findLeafRecord(key, false);
     }
 
+    /**
+     * Passes all leaves of this map to the given consumer, in no particular order, possibly from multiple
+     * threads. Most leaves are read by the data source in bulk, see {@link VirtualDataSource#scanLeafRecords(
+     * LongPredicate, Predicate, InterruptableConsumer, int)}, and only the leaves that are in the node cache,
+     * or that the data source didn't provide, are then looked up by path.
+     *
+     * <p>The map must not be modified while being scanned.
+     *
+     * @param keyFilter the filter to check leaf keys, must be thread safe, or null to accept all keys
+     * @param consumer the consumer to pass leaf records to, must be thread safe
+     * @param threadCount the max number of threads to read leaves from the data source
+     * @throws InterruptedException if the calling thread is interrupted, or the consumer throws it
+     */
+    public void scanLeaves(
+            @Nullable final Predicate<K> keyFilter,
+            @NonNull final InterruptableConsumer<VirtualLeafRecord<K, V>> consumer,
+            final int threadCount)
+            throws InterruptedException {
+        Objects.requireNonNull(consumer);
+        final long firstLeafPath = state.getFirstLeafPath();
+        final long lastLeafPath = state.getLastLeafPath();
+        if (firstLeafPath == INVALID_PATH || lastLeafPath == INVALID_PATH) {
+            return;
+        }
+        // Bit set of leaf paths, relative to the first leaf path, provided by the data source
+        final AtomicLongArray scannedPaths =
+                new AtomicLongArray(Math.toIntExact((lastLeafPath - firstLeafPath) / Long.SIZE + 1));
+        final LongPredicate pathFilter = path -> {
+            if ((path < firstLeafPath) || (path > lastLeafPath)) {
+                return false;
+            }
+            // If the leaf at this path was changed in this copy or any of the previous copies, which
+            // aren't flushed yet, the data source has a stale leaf for this path
+            if (cache.lookupLeafByPath(path, false) != null) {
+                return false;
+            }
+            final long index = path - firstLeafPath;
+            final long bit = 1L << index;
+            scannedPaths.getAndAccumulate((int) (index / Long.SIZE), bit, (a, b) -> a | b);
+            return true;
+        };
+        try {
+            dataSource.scanLeafRecords(pathFilter, keyFilter, consumer, threadCount);
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        // Now look up all leaves not provided by the data source
+        for (long path = firstLeafPath; path <= lastLeafPath; path++) {
+            final long index = path - firstLeafPath;
+            if ((scannedPaths.get((int) (index / Long.SIZE)) & (1L << index)) != 0) {
+                continue;
+            }
+            final VirtualLeafRecord<K, V> leafRecord = records.findLeafRecord(path, false);
+            if ((leafRecord != null) && ((keyFilter == null) || keyFilter.test(leafRecord.getKey()))) {
+                consumer.accept(leafRecord);
+            }
+        }
+    }
+
     ////////////////////////
 
     /**
@@ -37,12 +37,23 @@ import com.swirlds.virtualmap.internal.VirtualStateAccessor;
 import com.swirlds.virtualmap.internal.merkle.VirtualRootNode;
 import com.swirlds.virtualmap.internal.pipeline.VirtualPipeline;
 import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
 /**
  * An implementation of {@link TeacherTreeView} designed for virtual merkle trees.
+ * <p>
+ * Lessons are serialized on the output stream thread, one node at a time, and for large maps most hashes and
+ * leaves are read from disk. To keep the output stream busy, this view reads data for queued lessons on a pool
+ * of prefetch threads, see {@link #prefetch(Long)}. Lessons are queued in breadth-first order, so prefetch reads
+ * are issued in ascending path order within every rank.
  *
  * @param <K>
  * 		The key
@@ -80,6 +91,18 @@ public final class VirtualTeacherTreeView<K extends VirtualKey, V extends Virtua
      */
     private final CountDownLatch ready = new CountDownLatch(1);
 
+    /**
+     * Threads to read node data for queued lessons, or {@code null} if prefetching is disabled.
+     */
+    private final ExecutorService prefetchExecutor;
+
+    /**
+     * Node data read for queued lessons, by path. Leaf paths are mapped to leaf records, internal paths to
+     * arrays of child hashes. Entries are removed when lessons are serialized. The number of entries is limited
+     * by the capacity of the async output stream, since lessons are queued there right after they are prefetched.
+     */
+    private final Map<Long, Future<?>> prefetched = new ConcurrentHashMap<>();
+
     /**
      * Create a new {@link VirtualTeacherTreeView}.
      *
@@ -91,12 +114,40 @@ public final class VirtualTeacherTreeView<K extends VirtualKey, V extends Virtua
      * 		The state of the virtual tree that we are synchronizing.
      * @param pipeline
      * 		The pipeline managing the virtual map.
+     * @param prefetchThreads
+     * 		The number of threads to read node data for queued lessons. If zero, data is read when
+     * 		lessons are serialized.
      */
     public VirtualTeacherTreeView(
             final ThreadManager threadManager,
             final VirtualRootNode<K, V> root,
             final VirtualStateAccessor state,
-            final VirtualPipeline pipeline) {
+            final VirtualPipeline pipeline,
+            final int prefetchThreads) {
+        this(threadManager, root, state, pipeline, createPrefetchExecutor(threadManager, prefetchThreads));
+    }
+
+    /**
+     * Create a new {@link VirtualTeacherTreeView} with the given prefetch executor.
+     *
+     * @param threadManager
+     * 		responsible for creating and managing threads
+     * @param root
+     * 		The root node on the teacher side of the saved state that we are going to reconnect.
+     * @param state
+     * 		The state of the virtual tree that we are synchronizing.
+     * @param pipeline
+     * 		The pipeline managing the virtual map.
+     * @param prefetchExecutor
+     * 		The executor to read node data for queued lessons, or {@code null} to read data when lessons
+     * 		are serialized. The view shuts the executor down when closed.
+     */
+    VirtualTeacherTreeView(
+            final ThreadManager threadManager,
+            final VirtualRootNode<K, V> root,
+            final VirtualStateAccessor state,
+            final VirtualPipeline pipeline,
+            final ExecutorService prefetchExecutor) {
 
         // There is no distinction between originalState and reconnectState in this implementation
         super(root, state, state);
@@ -110,6 +161,31 @@ public final class VirtualTeacherTreeView<K extends VirtualKey, V extends Virtua
                 .setThreadName("detacher")
                 .build()
                 .start();
+
+        this.prefetchExecutor = prefetchExecutor;
+    }
+
+    /**
+     * Create a pool of threads to read node data for queued lessons.
+     *
+     * @param threadManager
+     * 		responsible for creating and managing threads
+     * @param prefetchThreads
+     * 		the number of threads
+     * @return the executor, or {@code null} if the number of threads is zero
+     */
+    private static ExecutorService createPrefetchExecutor(
+            final ThreadManager threadManager, final int prefetchThreads) {
+        if (prefetchThreads <= 0) {
+            return null;
+        }
+        return Executors.newFixedThreadPool(
+                prefetchThreads,
+                new ThreadConfiguration(threadManager)
+                        .setComponent("virtualmap")
+                        .setThreadName("reconnect-prefetch")
+                        .setDaemon(true)
+                        .buildFactory());
     }
 
     /**
@@ -202,9 +278,77 @@ public final class VirtualTeacherTreeView<K extends VirtualKey, V extends Virtua
      * {@inheritDoc}
      */
     @Override
+    public void prefetch(final Long node) {
+        if (prefetchExecutor == null) {
+            return;
+        }
+        final long path = node;
+        if (isInternal(node, true)) {
+            final int childCount = getNumberOfChildren(node);
+            if (childCount == 0) {
+                return;
+            }
+            prefetched.put(path, prefetchExecutor.submit(() -> {
+                final Hash[] hashes = new Hash[childCount];
+                hashes[0] = records.findHash(getLeftChildPath(path));
+                if (childCount == 2) {
+                    hashes[1] = records.findHash(getRightChildPath(path));
+                }
+                return hashes;
+            }));
+        } else {
+            prefetched.put(path, prefetchExecutor.submit(() -> records.findLeafRecord(path, false)));
+        }
+    }
+
+    /**
+     * Removes and returns node data read by {@link #prefetch(Long)}, waiting for the read to complete.
+     *
+     * @param path
+     * 		the node path
+     * @return the node data, or {@code null} if the node wasn't prefetched
+     * @throws IOException
+     * 		if the data couldn't be read
+     */
+    // Package-private for testing purposes
+    Object takePrefetched(final long path) throws IOException {
+        final Future<?> future = prefetched.remove(path);
+        if (future == null) {
+            return null;
+        }
+        try {
+            return future.get();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting for prefetched data, path = " + path, e);
+        } catch (final ExecutionException e) {
+            throw new IOException("Failed to prefetch data, path = " + path, e.getCause());
+        }
+    }
+
+    /**
+     * Get the pending or completed read issued by {@link #prefetch(Long)} for a node, without removing it.
+     *
+     * @param path
+     * 		the node path
+     * @return the read, or {@code null} if the node wasn't prefetched or its data has been taken
+     */
+    // For testing purposes
+    Future<?> getPrefetchFuture(final long path) {
+        return prefetched.get(path);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @SuppressWarnings("unchecked")
     public void serializeLeaf(final SerializableDataOutputStream out, final Long leaf) throws IOException {
         checkValidLeaf(leaf, reconnectState);
-        final VirtualLeafRecord<K, V> leafRecord = records.findLeafRecord(leaf, false);
+        final Object prefetchedRecord = takePrefetched(leaf);
+        final VirtualLeafRecord<K, V> leafRecord = prefetchedRecord != null
+                ? (VirtualLeafRecord<K, V>) prefetchedRecord
+                : records.findLeafRecord(leaf, false);
         assert leafRecord != null : "Unexpected null leaf record at path=" + leaf;
         out.writeSerializable(leafRecord, false);
     }
@@ -243,15 +387,15 @@ public final class VirtualTeacherTreeView<K extends VirtualKey, V extends Virtua
         // All same class? true
         out.writeBoolean(true);
 
+        final Hash[] hashes = (Hash[]) takePrefetched(parent);
+
         final long leftPath = getLeftChildPath(parent);
         // Is null? false
         out.writeBoolean(false);
         // Class version is written for the first entry only
         out.writeInt(Hash.CLASS_VERSION);
         // Write hash in SelfSerializable format
-        if (!records.findAndWriteHash(leftPath, out)) {
-            throw new MerkleSynchronizationException("Null hash for path = " + leftPath);
-        }
+        writeHash(leftPath, hashes == null ? null : hashes[0], hashes != null, out);
 
         if (size == 2) {
             final long rightPath = getRightChildPath(parent);
@@ -259,9 +403,23 @@ public final class VirtualTeacherTreeView<K extends VirtualKey, V extends Virtua
             out.writeBoolean(false);
             // Class version is not written
             // Write hash in SelfSerializable format
-            if (!records.findAndWriteHash(rightPath, out)) {
-                throw new MerkleSynchronizationException("Null hash for path = " + rightPath);
+            writeHash(rightPath, hashes == null ? null : hashes[1], hashes != null, out);
+        }
+    }
+
+    /**
+     * Writes a hash in SelfSerializable format, either a prefetched one, or read from the records.
+     */
+    private void writeHash(
+            final long path, final Hash hash, final boolean isPrefetched, final SerializableDataOutputStream out)
+            throws IOException {
+        if (isPrefetched) {
+            if (hash == null) {
+                throw new MerkleSynchronizationException("Null hash for path = " + path);
             }
+            hash.serialize(out);
+        } else if (!records.findAndWriteHash(path, out)) {
+            throw new MerkleSynchronizationException("Null hash for path = " + path);
         }
     }
 
@@ -278,6 +436,11 @@ public final class VirtualTeacherTreeView<K extends VirtualKey, V extends Virtua
      */
     @Override
     public void close() {
+        if (prefetchExecutor != null) {
+            prefetched.values().forEach(future -> future.cancel(true));
+            prefetched.clear();
+            prefetchExecutor.shutdownNow();
+        }
         try {
             waitUntilReady();
             records.getDataSource().close();
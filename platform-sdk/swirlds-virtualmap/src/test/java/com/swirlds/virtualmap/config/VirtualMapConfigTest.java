@@ -33,34 +33,6 @@ class VirtualMapConfigTest {
         Assertions.assertDoesNotThrow(() -> configurationBuilder.build(), "All default values should be valid");
     }
 
-    @Test
-    public void testPercentHashThreadsOutOfRangeMin() {
-        // given
-        final ConfigurationBuilder configurationBuilder = ConfigurationBuilder.create()
-                .withSources(new SimpleConfigSource("virtualMap.percentHashThreads", -1))
-                .withConfigDataType(VirtualMapConfig.class);
-
-        // then
-        final ConfigViolationException exception = Assertions.assertThrows(
-                ConfigViolationException.class, () -> configurationBuilder.build(), "init must end in a violation");
-
-        Assertions.assertEquals(1, exception.getViolations().size(), "We must exactly have 1 violation");
-    }
-
-    @Test
-    public void testPercentHashThreadsOutOfRangeMax() {
-        // given
-        final ConfigurationBuilder configurationBuilder = ConfigurationBuilder.create()
-                .withSources(new SimpleConfigSource("virtualMap.percentHashThreads", 101))
-                .withConfigDataType(VirtualMapConfig.class);
-
-        // then
-        final ConfigViolationException exception = Assertions.assertThrows(
-                ConfigViolationException.class, () -> configurationBuilder.build(), "init must end in a violation");
-
-        Assertions.assertEquals(1, exception.getViolations().size(), "We must exactly have 1 violation");
-    }
-
     @Test
     public void testPercentCleanerThreadsOutOfRangeMin() {
         // given
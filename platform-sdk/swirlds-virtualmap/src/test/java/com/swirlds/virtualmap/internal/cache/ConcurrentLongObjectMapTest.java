@@ -0,0 +1,139 @@
+/*
+ * Copyright (C) 2024 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.swirlds.virtualmap.internal.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Tags;
+import org.junit.jupiter.api.Test;
+
+class ConcurrentLongObjectMapTest {
+
+    @Test
+    @Tags({@Tag("VirtualMerkle"), @Tag("VirtualNodeCache")})
+    @DisplayName("The number of segments must be a positive power of two")
+    void invalidSegmentCountThrows() {
+        assertThrows(IllegalArgumentException.class, () -> new ConcurrentLongObjectMap<String>(0), "Expected IAE");
+        assertThrows(IllegalArgumentException.class, () -> new ConcurrentLongObjectMap<String>(3), "Expected IAE");
+    }
+
+    @Test
+    @Tags({@Tag("VirtualMerkle"), @Tag("VirtualNodeCache")})
+    @DisplayName("Null values cannot be put")
+    void nullValueThrows() {
+        final ConcurrentLongObjectMap<String> map = new ConcurrentLongObjectMap<>();
+        assertThrows(NullPointerException.class, () -> map.put(1, null), "Expected NPE");
+    }
+
+    @Test
+    @Tags({@Tag("VirtualMerkle"), @Tag("VirtualNodeCache")})
+    @DisplayName("Put, get, compute, and remove")
+    void putGetCompute() {
+        final ConcurrentLongObjectMap<String> map = new ConcurrentLongObjectMap<>();
+        assertNull(map.get(0), "Empty map");
+
+        map.put(0, "zero");
+        map.put(-1, "minus one");
+        map.put(Long.MAX_VALUE, "max");
+        assertEquals("zero", map.get(0), "Wrong value");
+        assertEquals("minus one", map.get(-1), "Wrong value");
+        assertEquals("max", map.get(Long.MAX_VALUE), "Wrong value");
+        assertEquals(3, map.size(), "Wrong size");
+
+        assertEquals("zero!", map.compute(0, (k, v) -> v + "!"), "Wrong computed value");
+        assertEquals("zero!", map.get(0), "Computed value must be stored");
+        assertEquals("one", map.compute(1, (k, v) -> v == null ? "one" : "unexpected"), "Wrong computed value");
+        assertEquals(4, map.size(), "Wrong size");
+
+        assertNull(map.compute(0, (k, v) -> null), "Null must be returned for a removed entry");
+        assertNull(map.get(0), "Entry must be removed");
+        assertNull(map.compute(2, (k, v) -> null), "Absent entry must not be created");
+        assertEquals(3, map.size(), "Wrong size");
+    }
+
+    @Test
+    @Tags({@Tag("VirtualMerkle"), @Tag("VirtualNodeCache")})
+    @DisplayName("Random updates match a reference map")
+    void randomUpdatesMatchReference() {
+        // A single segment to test growth and tombstone reuse of a single table
+        final ConcurrentLongObjectMap<Long> map = new ConcurrentLongObjectMap<>(1);
+        final Map<Long, Long> reference = new HashMap<>();
+        final Random random = new Random(42);
+        for (int i = 0; i < 200_000; i++) {
+            final long key = random.nextInt(10_000);
+            if (random.nextBoolean()) {
+                map.put(key, (long) i);
+                reference.put(key, (long) i);
+            } else {
+                map.compute(key, (k, v) -> null);
+                reference.remove(key);
+            }
+        }
+        assertEquals(reference.size(), map.size(), "Wrong size");
+        for (long key = 0; key < 10_000; key++) {
+            assertEquals(reference.get(key), map.get(key), "Wrong value for key " + key);
+        }
+        final Map<Long, Long> visited = new HashMap<>();
+        map.forEach((k, v) -> visited.put(k, v));
+        assertEquals(reference, visited, "All entries must be visited once");
+    }
+
+    @Test
+    @Tags({@Tag("VirtualMerkle"), @Tag("VirtualNodeCache")})
+    @DisplayName("Concurrent updates to different keys")
+    void concurrentUpdates() throws Exception {
+        final ConcurrentLongObjectMap<Long> map = new ConcurrentLongObjectMap<>();
+        final int threads = 8;
+        final int keysPerThread = 50_000;
+        final ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            final List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                final int thread = t;
+                futures.add(executor.submit(() -> {
+                    for (long i = 0; i < keysPerThread; i++) {
+                        final long key = i * threads + thread;
+                        map.put(key, key);
+                        assertEquals(key, map.get(key), "Value must be visible to the same thread");
+                        map.compute(key, (k, v) -> v + 1);
+                    }
+                }));
+            }
+            for (final Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(threads * keysPerThread, map.size(), "Wrong size");
+        for (long key = 0; key < (long) threads * keysPerThread; key++) {
+            assertEquals(key + 1, map.get(key), "Wrong value for key " + key);
+        }
+    }
+}
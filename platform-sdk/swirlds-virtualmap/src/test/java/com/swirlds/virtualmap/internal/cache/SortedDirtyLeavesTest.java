@@ -0,0 +1,80 @@
+/*
+ * Copyright (C) 2024 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.swirlds.virtualmap.internal.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.swirlds.virtualmap.datasource.VirtualLeafRecord;
+import com.swirlds.virtualmap.test.fixtures.TestKey;
+import com.swirlds.virtualmap.test.fixtures.TestValue;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Tags;
+import org.junit.jupiter.api.Test;
+
+class SortedDirtyLeavesTest {
+
+    @Test
+    @Tags({@Tag("VirtualMerkle"), @Tag("VirtualNodeCache")})
+    @DisplayName("Empty list")
+    void emptyList() {
+        final SortedDirtyLeaves<TestKey, TestValue> leaves = new SortedDirtyLeaves<>(0, 1, 2).sort();
+        assertEquals(0, leaves.size(), "Wrong size");
+        assertFalse(leaves.hasNext(), "No leaves expected");
+        assertThrows(NoSuchElementException.class, leaves::next, "Expected NoSuchElementException");
+    }
+
+    @Test
+    @Tags({@Tag("VirtualMerkle"), @Tag("VirtualNodeCache")})
+    @DisplayName("Leaves are sorted by path")
+    void leavesAreSortedByPath() {
+        final Random random = new Random(7);
+        // Leaf path ranges of different sizes, to use different number of radix sort passes
+        for (final long firstLeafPath : new long[] {1, 1_000, 1L << 20, 1L << 35}) {
+            final long lastLeafPath = firstLeafPath * 2;
+            final List<Long> paths = new ArrayList<>();
+            final long stride = Math.max(1, (lastLeafPath - firstLeafPath) / 10_000);
+            for (long path = firstLeafPath; path <= lastLeafPath; path += stride + random.nextInt(2)) {
+                paths.add(path);
+            }
+            Collections.shuffle(paths, random);
+
+            final SortedDirtyLeaves<TestKey, TestValue> leaves =
+                    new SortedDirtyLeaves<>(paths.size(), firstLeafPath, lastLeafPath);
+            for (final long path : paths) {
+                leaves.add(new VirtualLeafRecord<>(path, new TestKey(path), new TestValue(path)));
+            }
+            leaves.sort();
+            assertEquals(paths.size(), leaves.size(), "Wrong size");
+
+            Collections.sort(paths);
+            for (final long path : paths) {
+                final VirtualLeafRecord<TestKey, TestValue> leaf = leaves.next();
+                assertEquals(path, leaf.getPath(), "Leaves must be sorted by path");
+                assertEquals(new TestKey(path), leaf.getKey(), "Leaf must be moved along with its path");
+            }
+            assertFalse(leaves.hasNext(), "No more leaves expected");
+        }
+    }
+}
@@ -25,6 +25,7 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 
 import com.swirlds.common.crypto.Hash;
+import com.swirlds.common.crypto.HashingPool;
 import com.swirlds.common.test.fixtures.junit.tags.TestComponentTags;
 import com.swirlds.virtualmap.datasource.VirtualHashRecord;
 import com.swirlds.virtualmap.datasource.VirtualLeafRecord;
@@ -146,6 +147,43 @@ class VirtualHasherTest extends VirtualHasherTestBase {
         assertCallsAreBalanced(listener);
     }
 
+    /**
+     * Same as {@link #hashingPermutations(long, long, List)}, but with the number of dirty leaves
+     * provided to the hasher, so it uses smaller chunks, and in the background lane.
+     */
+    @ParameterizedTest
+    @MethodSource("hashingPermutations")
+    @Tag(TestComponentTags.VMAP)
+    @DisplayName("Test various dirty nodes in a tree with adaptive chunk height")
+    void hashingPermutationsAdaptiveChunkHeight(
+            final long firstLeafPath, final long lastLeafPath, final List<Long> dirtyPaths) {
+        final TestDataSource ds = new TestDataSource(firstLeafPath, lastLeafPath);
+        final HashingListener listener = new HashingListener();
+        final VirtualHasher<TestKey, TestValue> hasher = new VirtualHasher<>();
+        final Hash expected = hashTree(ds);
+        final List<VirtualLeafRecord<TestKey, TestValue>> leaves = invalidateNodes(ds, dirtyPaths.stream());
+        final Hash rootHash = hasher.hash(
+                ds::loadHash,
+                leaves.iterator(),
+                firstLeafPath,
+                lastLeafPath,
+                listener,
+                HashingPool.Lane.BACKGROUND,
+                leaves.size());
+        assertEquals(expected, rootHash, "Hash value does not match expected");
+        assertCallsAreBalanced(listener);
+    }
+
+    @Test
+    @Tag(TestComponentTags.VMAP)
+    @DisplayName("Chunk height depends on the number of dirty leaves")
+    void adaptiveChunkHeight() {
+        assertEquals(6, VirtualHasher.adaptiveChunkHeight(6, -1, 16), "Max height expected if count is unknown");
+        assertEquals(6, VirtualHasher.adaptiveChunkHeight(6, 1_000_000, 16), "Max height expected for many leaves");
+        assertEquals(1, VirtualHasher.adaptiveChunkHeight(6, 100, 16), "Min height expected for few leaves");
+        assertEquals(3, VirtualHasher.adaptiveChunkHeight(6, 1024, 16), "Wrong chunk height");
+    }
+
     /**
      * Generate permutations of trees for testing hashing.
      *
@@ -0,0 +1,168 @@
+/*
+ * Copyright (C) 2024 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.swirlds.virtualmap.internal.reconnect;
+
+import static com.swirlds.common.threading.manager.AdHocThreadManager.getStaticThreadManager;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.swirlds.common.crypto.Hash;
+import com.swirlds.virtualmap.VirtualMap;
+import com.swirlds.virtualmap.datasource.VirtualDataSourceBuilder;
+import com.swirlds.virtualmap.datasource.VirtualLeafRecord;
+import com.swirlds.virtualmap.internal.merkle.VirtualRootNode;
+import com.swirlds.virtualmap.test.fixtures.InMemoryBuilder;
+import com.swirlds.virtualmap.test.fixtures.TestKey;
+import com.swirlds.virtualmap.test.fixtures.TestValue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Tags;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("Virtual Teacher Tree View Test")
+class VirtualTeacherTreeViewTest extends VirtualMapReconnectTestBase {
+
+    private VirtualMap<TestKey, TestValue> teacherCopy;
+    private VirtualRootNode<TestKey, TestValue> teacherRoot;
+    private ExecutorService prefetchExecutor;
+
+    @Override
+    protected VirtualDataSourceBuilder<TestKey, TestValue> createBuilder() {
+        return new InMemoryBuilder();
+    }
+
+    @BeforeEach
+    void setupTeacher() {
+        teacherMap.put(A_KEY, APPLE);
+        teacherMap.put(B_KEY, BANANA);
+        teacherMap.put(C_KEY, CHERRY);
+        // paths 0 and 1 are internal nodes, paths 2 to 4 are leaves
+        teacherCopy = teacherMap.copy();
+        teacherRoot = teacherMap.getChild(1);
+        teacherRoot.getHash(); // forces the map to become hashed, so it can be detached
+        prefetchExecutor = Executors.newSingleThreadExecutor();
+    }
+
+    @AfterEach
+    void tearDownTeacher() {
+        prefetchExecutor.shutdownNow();
+        teacherMap.release();
+        teacherCopy.release();
+    }
+
+    private VirtualTeacherTreeView<TestKey, TestValue> createView() throws InterruptedException {
+        final VirtualTeacherTreeView<TestKey, TestValue> view = new VirtualTeacherTreeView<>(
+                getStaticThreadManager(),
+                teacherRoot,
+                teacherRoot.getState(),
+                teacherRoot.getPipeline(),
+                prefetchExecutor);
+        view.waitUntilReady();
+        return view;
+    }
+
+    @Test
+    @Tags({@Tag("VirtualMerkle"), @Tag("Reconnect")})
+    @DisplayName("Prefetched leaf records and child hashes are returned once")
+    void prefetchHit() throws Exception {
+        final VirtualTeacherTreeView<TestKey, TestValue> view = createView();
+        try {
+            final long leafPath = 3;
+            view.prefetch(leafPath);
+            view.prefetch(1L);
+
+            final Object leaf = view.takePrefetched(leafPath);
+            assertTrue(leaf instanceof VirtualLeafRecord, "A leaf record should be prefetched for a leaf path");
+            assertEquals(
+                    teacherRoot.getRecords().findLeafRecord(leafPath, false),
+                    leaf,
+                    "The prefetched leaf record should match the map");
+
+            final Object hashes = view.takePrefetched(1);
+            assertTrue(hashes instanceof Hash[], "Child hashes should be prefetched for an internal path");
+            assertEquals(2, ((Hash[]) hashes).length, "Both children of the internal node should be prefetched");
+            assertEquals(
+                    teacherRoot.getRecords().findHash(3),
+                    ((Hash[]) hashes)[0],
+                    "The prefetched left child hash should match the map");
+            assertEquals(
+                    teacherRoot.getRecords().findHash(4),
+                    ((Hash[]) hashes)[1],
+                    "The prefetched right child hash should match the map");
+
+            assertNull(view.takePrefetched(leafPath), "Prefetched data should only be returned once");
+            assertNull(view.takePrefetched(1), "Prefetched data should only be returned once");
+        } finally {
+            view.close();
+        }
+    }
+
+    @Test
+    @Tags({@Tag("VirtualMerkle"), @Tag("Reconnect")})
+    @DisplayName("Nodes that were never prefetched have no prefetched data")
+    void prefetchMiss() throws Exception {
+        final VirtualTeacherTreeView<TestKey, TestValue> view = createView();
+        try {
+            view.prefetch(3L);
+            assertNull(view.getPrefetchFuture(4), "A node that was never prefetched should have no pending read");
+            assertNull(view.takePrefetched(4), "A node that was never prefetched should have no prefetched data");
+            assertNull(view.takePrefetched(0), "A node that was never prefetched should have no prefetched data");
+        } finally {
+            view.close();
+        }
+    }
+
+    @Test
+    @Tags({@Tag("VirtualMerkle"), @Tag("Reconnect")})
+    @DisplayName("Closing the view cancels pending prefetch reads")
+    void closeCancelsPendingPrefetches() throws Exception {
+        final VirtualTeacherTreeView<TestKey, TestValue> view = createView();
+
+        // occupy the only prefetch thread, so prefetch reads stay queued
+        final CountDownLatch release = new CountDownLatch(1);
+        prefetchExecutor.submit(() -> {
+            release.await();
+            return null;
+        });
+
+        view.prefetch(3L);
+        view.prefetch(1L);
+        final Future<?> leafFuture = view.getPrefetchFuture(3);
+        final Future<?> internalFuture = view.getPrefetchFuture(1);
+        assertNotNull(leafFuture, "The leaf read should be pending");
+        assertNotNull(internalFuture, "The internal node read should be pending");
+        assertFalse(leafFuture.isDone(), "The leaf read should not complete while the thread is busy");
+
+        view.close();
+        release.countDown();
+
+        assertTrue(leafFuture.isCancelled(), "Pending reads should be cancelled on close");
+        assertTrue(internalFuture.isCancelled(), "Pending reads should be cancelled on close");
+        assertNull(view.getPrefetchFuture(3), "Pending reads should be removed on close");
+        assertNull(view.getPrefetchFuture(1), "Pending reads should be removed on close");
+        assertTrue(prefetchExecutor.isShutdown(), "The prefetch executor should be shut down on close");
+    }
+}